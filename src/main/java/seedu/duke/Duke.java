@@ -1,12 +1,13 @@
 package seedu.duke;
 
 import seedu.duke.classes.StateManager;
-import seedu.duke.classes.TransactionRecurrence;
 import seedu.duke.command.Command;
 import seedu.duke.command.ExitCommand;
 import seedu.duke.exception.DukeException;
 import seedu.duke.parser.Parser;
+import seedu.duke.storage.LedgerManager;
 import seedu.duke.storage.Storage;
+import seedu.duke.storage.StorageConfig;
 import seedu.duke.ui.Ui;
 
 /**
@@ -15,32 +16,93 @@ import seedu.duke.ui.Ui;
 public class Duke {
 
     private static Ui ui;
-    private static Storage storage;
+    private static LedgerManager ledgers;
 
     public Duke() {
         ui = new Ui();
-        storage = new Storage();
+        ledgers = new LedgerManager(Storage.STORAGE_DIR, StorageConfig.getLedgerMemoryCap(), Duke::createStorage);
+        LedgerManager.setLedgerManager(ledgers);
+    }
+
+    /**
+     * Creates the Storage of a ledger with the storage options it was launched with.
+     *
+     * @param directory directory of the storage files of the ledger.
+     * @return the Storage.
+     */
+    private static Storage createStorage(String directory) {
+        Storage storage = new Storage(directory);
+        if (StorageConfig.isBinaryBackend()) {
+            storage.enableBinaryBackend();
+        }
+        if (StorageConfig.isPartitioned()) {
+            storage.enablePartitions();
+        }
+        if (StorageConfig.isCompressed()) {
+            storage.enableCompression();
+        }
+        if (StorageConfig.isSnapshotEnabled()) {
+            storage.enableSnapshot();
+        }
+        if (StorageConfig.isJournalEnabled()) {
+            storage.enableJournal(StorageConfig.getJournalThreshold());
+        } else if (StorageConfig.isWriteBehindEnabled()) {
+            storage.enableWriteBehind(StorageConfig.getMaxStaleness());
+        }
+        if (StorageConfig.getHistoryWindowMonths() > 0) {
+            storage.enableHistoryWindow(StorageConfig.getHistoryWindowMonths());
+        }
+        if (StorageConfig.isWatchEnabled()) {
+            storage.enableWatch();
+        }
+        if (StorageConfig.getAutoBackupInterval() >= 0) {
+            storage.enableAutoBackup(StorageConfig.getAutoBackupInterval());
+        }
+        return storage;
     }
 
     public void load() {
         try {
-            storage.load();
-            syncTransactions();
+            ledgers.use(LedgerManager.DEFAULT_LEDGER);
         } catch (DukeException e) {
             System.out.println(e.getMessage());
         }
+        Storage storage = ledgers.getActiveStorage();
+        if (storage != null) {
+            for (String notice : storage.takeNotices()) {
+                ui.print(notice);
+            }
+        }
+        syncTransactions();
     }
 
     public void save() throws DukeException {
         syncTransactions();
-        storage.save();
+        ledgers.getActiveStorage().saveChanges();
+    }
+
+    /**
+     * Merges the storage files changed by other programs into the ledger in use, and tells the user about them.
+     *
+     * @throws DukeException if a changed file cannot be read or the merged state cannot be saved.
+     */
+    public void reloadChangedFiles() throws DukeException {
+        for (String notice : ledgers.getActiveStorage().reloadChangedFiles()) {
+            ui.print(notice);
+        }
+    }
+
+    /**
+     * Prints the messages that the loaded ledgers recorded for the user, such as a failed save or backup.
+     */
+    private static void printNotices() {
+        for (String notice : ledgers.takeNotices()) {
+            ui.print(notice);
+        }
     }
 
     public void syncTransactions() {
-        TransactionRecurrence.generateRecurrentTransactions(
-                StateManager.getStateManager().getAllIncomes(),
-                StateManager.getStateManager().getAllExpenses()
-        );
+        StateManager.getStateManager().generateRecurrentTransactions();
     }
 
 
@@ -56,6 +118,7 @@ public class Duke {
 
             try {
                 userInput = ui.readUserInput();
+                reloadChangedFiles();
                 Command command = new Parser().parse(userInput);
                 command.execute(ui);
 
@@ -63,6 +126,14 @@ public class Duke {
                     continueRunning = false;
                 }
                 save();
+                if (!continueRunning) {
+                    try {
+                        ledgers.getActiveStorage().flush();
+                        reloadChangedFiles();
+                    } finally {
+                        printNotices();
+                    }
+                }
 
             } catch (DukeException e) {
                 System.out.println(e.getMessage());
@@ -78,6 +149,15 @@ public class Duke {
      */
     public static void main(String[] args) {
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (ledgers != null) {
+                try {
+                    ledgers.close();
+                } catch (DukeException e) {
+                    ui.print(e.getMessage());
+                } finally {
+                    printNotices();
+                }
+            }
             System.out.print("\n");
             ui.printBye();
         }));
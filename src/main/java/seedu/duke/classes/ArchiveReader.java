@@ -0,0 +1,29 @@
+package seedu.duke.classes;
+
+import seedu.duke.exception.DukeException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+/**
+ * Reads the transactions that were moved out of the StateManager into the archive.
+ */
+public interface ArchiveReader {
+    /**
+     * Reads the archived incomes on or after the given date.
+     *
+     * @param since earliest date of the incomes to be read
+     * @return archived incomes, sorted by date from the latest
+     * @throws DukeException if the archive cannot be read
+     */
+    ArrayList<Income> readIncomes(LocalDate since) throws DukeException;
+
+    /**
+     * Reads the archived expenses on or after the given date.
+     *
+     * @param since earliest date of the expenses to be read
+     * @return archived expenses, sorted by date from the latest
+     * @throws DukeException if the archive cannot be read
+     */
+    ArrayList<Expense> readExpenses(LocalDate since) throws DukeException;
+}
@@ -0,0 +1,199 @@
+package seedu.duke.classes;
+
+import seedu.duke.classes.StateChange.Entity;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Totals of the archived incomes and expenses for every month and goal or category, which keep the summary and
+ * the goal and category status correct without reading the archived transactions. Goals and categories are
+ * matched by name regardless of case, like the storage files.
+ */
+public class ArchivedTotals {
+    private final EnumMap<Entity, TreeMap<YearMonth, LinkedHashMap<String, Aggregate>>> aggregates =
+            new EnumMap<>(Entity.class);
+    private LocalDate archivedBefore = LocalDate.MIN;
+
+    /**
+     * Total and number of the archived transactions of one type, month and goal or category.
+     */
+    public static class Aggregate {
+        private final Entity entity;
+        private final YearMonth month;
+        private final String classification;
+        private double total;
+        private long count;
+
+        private Aggregate(Entity entity, YearMonth month, String classification) {
+            this.entity = entity;
+            this.month = month;
+            this.classification = classification;
+        }
+
+        public Entity getEntity() {
+            return entity;
+        }
+
+        public YearMonth getMonth() {
+            return month;
+        }
+
+        public String getClassification() {
+            return classification;
+        }
+
+        public double getTotal() {
+            return total;
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+
+    public ArchivedTotals() {
+        aggregates.put(Entity.INCOME, new TreeMap<>());
+        aggregates.put(Entity.EXPENSE, new TreeMap<>());
+    }
+
+    /**
+     * Creates a copy that can be added to without changing these totals.
+     *
+     * @return copy of the totals
+     */
+    public ArchivedTotals copy() {
+        ArchivedTotals copy = new ArchivedTotals();
+        copy.archivedBefore = archivedBefore;
+        for (Aggregate aggregate : getAggregates()) {
+            copy.add(aggregate.entity, aggregate.month, aggregate.classification, aggregate.total, aggregate.count);
+        }
+        return copy;
+    }
+
+    /**
+     * Adds archived transactions to the totals.
+     *
+     * @param entity         {@code INCOME} or {@code EXPENSE}
+     * @param month          month of the transactions
+     * @param classification name of their goal or category
+     * @param total          sum of their amounts
+     * @param count          number of transactions
+     */
+    public void add(Entity entity, YearMonth month, String classification, double total, long count) {
+        assert entity == Entity.INCOME || entity == Entity.EXPENSE;
+        Aggregate aggregate = aggregates.get(entity).computeIfAbsent(month, key -> new LinkedHashMap<>())
+                .computeIfAbsent(StateManager.foldCase(classification),
+                        key -> new Aggregate(entity, month, classification));
+        aggregate.total += total;
+        aggregate.count += count;
+    }
+
+    public void addIncome(Income income) {
+        Transaction transaction = income.getTransaction();
+        add(Entity.INCOME, YearMonth.from(transaction.getDate()), income.getGoal().getDescription(),
+                transaction.getAmount(), 1);
+    }
+
+    public void addExpense(Expense expense) {
+        Transaction transaction = expense.getTransaction();
+        add(Entity.EXPENSE, YearMonth.from(transaction.getDate()), expense.getCategory().getName(),
+                transaction.getAmount(), 1);
+    }
+
+    /**
+     * Returns the date before which transactions have been archived.
+     *
+     * @return the latest date the archive was made with, or the earliest date if nothing has been archived
+     */
+    public LocalDate getArchivedBefore() {
+        return archivedBefore;
+    }
+
+    /**
+     * Records that transactions before the given date have been archived.
+     *
+     * @param date date the archive was made with
+     */
+    public void setArchivedBefore(LocalDate date) {
+        if (date.isAfter(archivedBefore)) {
+            archivedBefore = date;
+        }
+    }
+
+    /**
+     * Returns the total of the archived transactions of a type from the given month onwards.
+     *
+     * @param entity {@code INCOME} or {@code EXPENSE}
+     * @param month  earliest month to be included
+     * @return sum of the amounts
+     */
+    public double getTotalSince(Entity entity, YearMonth month) {
+        double total = 0;
+        for (LinkedHashMap<String, Aggregate> monthAggregates : aggregates.get(entity).tailMap(month).values()) {
+            for (Aggregate aggregate : monthAggregates.values()) {
+                total += aggregate.total;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Returns the number of archived transactions of a type.
+     *
+     * @param entity {@code INCOME} or {@code EXPENSE}
+     * @return number of transactions
+     */
+    public long getCount(Entity entity) {
+        long count = 0;
+        for (LinkedHashMap<String, Aggregate> monthAggregates : aggregates.get(entity).values()) {
+            for (Aggregate aggregate : monthAggregates.values()) {
+                count += aggregate.count;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the total of the archived transactions of a type for every goal or category.
+     *
+     * @param entity {@code INCOME} or {@code EXPENSE}
+     * @return totals by the name of the goal or category, as it was first archived
+     */
+    public HashMap<String, Double> getTotalsByClassification(Entity entity) {
+        LinkedHashMap<String, String> names = new LinkedHashMap<>();
+        HashMap<String, Double> totals = new HashMap<>();
+        for (LinkedHashMap<String, Aggregate> monthAggregates : aggregates.get(entity).values()) {
+            for (Map.Entry<String, Aggregate> entry : monthAggregates.entrySet()) {
+                String name = names.computeIfAbsent(entry.getKey(), key -> entry.getValue().classification);
+                totals.merge(name, entry.getValue().total, Double::sum);
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Returns every total, by type, month and goal or category.
+     *
+     * @return the totals, with the incomes first and each type sorted by month
+     */
+    public ArrayList<Aggregate> getAggregates() {
+        ArrayList<Aggregate> all = new ArrayList<>();
+        for (TreeMap<YearMonth, LinkedHashMap<String, Aggregate>> months : aggregates.values()) {
+            for (LinkedHashMap<String, Aggregate> monthAggregates : months.values()) {
+                all.addAll(monthAggregates.values());
+            }
+        }
+        return all;
+    }
+
+    public boolean isEmpty() {
+        return aggregates.get(Entity.INCOME).isEmpty() && aggregates.get(Entity.EXPENSE).isEmpty();
+    }
+}
@@ -11,7 +11,19 @@ public class Category {
         return name;
     }
 
-    public void setName(String name) {
+    /**
+     * Changes the name of the category. Only the StateManager renames categories, as it indexes them by name.
+     */
+    void setName(String name) {
         this.name = name;
     }
+
+    /**
+     * Creates a copy of this category.
+     *
+     * @return new Category with the same name
+     */
+    public Category copy() {
+        return new Category(name);
+    }
 }
@@ -0,0 +1,101 @@
+package seedu.duke.classes;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+/**
+ * Dense ids of the goals or categories of a state, so that their totals can be kept in an array indexed by id.
+ * The ids are kept by the state rather than in the goals or categories themselves, as a goal or category can be
+ * shared with copies of the state. The id of a removed goal or category is given to the next one that is added,
+ * so the ids stay below the largest number of goals or categories that the state has held at once.
+ *
+ * @param <T> Goal or Category.
+ */
+class ClassificationIds<T> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final IdentityHashMap<T, Integer> ids = new IdentityHashMap<>();
+    private final ArrayDeque<Integer> freeIds = new ArrayDeque<>();
+    private Object[] byId = new Object[INITIAL_CAPACITY];
+    private int limit = 0;
+
+    /**
+     * Gives a goal or category an id, reusing the id of a removed one if there is any.
+     *
+     * @param classification Goal or category to add.
+     * @return id of the goal or category.
+     */
+    int register(T classification) {
+        Integer existing = ids.get(classification);
+        if (existing != null) {
+            return existing;
+        }
+        int id = freeIds.isEmpty() ? limit++ : freeIds.pop();
+        if (id >= byId.length) {
+            byId = Arrays.copyOf(byId, byId.length * 2);
+        }
+        byId[id] = classification;
+        ids.put(classification, id);
+        return id;
+    }
+
+    /**
+     * Frees the id of a removed goal or category.
+     *
+     * @param classification Goal or category that was removed.
+     */
+    void unregister(T classification) {
+        Integer id = ids.remove(classification);
+        if (id == null) {
+            return;
+        }
+        byId[id] = null;
+        freeIds.push(id);
+    }
+
+    /**
+     * Returns the id of a goal or category.
+     *
+     * @param classification Goal or category.
+     * @return its id, or -1 if it is not part of the state.
+     */
+    int getId(T classification) {
+        Integer id = ids.get(classification);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Returns the goal or category with the given id.
+     *
+     * @param id Id below {@link #getLimit()}.
+     * @return the goal or category, or null if the id is free.
+     */
+    @SuppressWarnings("unchecked")
+    T get(int id) {
+        return (T) byId[id];
+    }
+
+    /**
+     * Returns the number of ids in use or free, which every id is below.
+     *
+     * @return upper bound of the ids.
+     */
+    int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Creates a copy with the same ids, for a copy of the state that holds the same goals or categories.
+     *
+     * @return copy of the ids.
+     */
+    ClassificationIds<T> copy() {
+        ClassificationIds<T> copy = new ClassificationIds<>();
+        copy.ids.putAll(ids);
+        copy.freeIds.addAll(freeIds);
+        copy.byId = byId.clone();
+        copy.limit = limit;
+        return copy;
+    }
+}
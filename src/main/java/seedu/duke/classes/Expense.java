@@ -25,6 +25,15 @@ public class Expense {
         this.category = category;
     }
 
+    /**
+     * Creates a copy of this expense. The category is shared with the original.
+     *
+     * @return new Expense with a copied transaction
+     */
+    public Expense copy() {
+        return new Expense(transaction.copy(), category);
+    }
+
     /**
      * Generate next recurrent entry for expense
      *
@@ -13,7 +13,7 @@ public class Goal {
         return amount;
     }
 
-    public void setAmount(int amount) {
+    public void setAmount(double amount) {
         this.amount = amount;
     }
 
@@ -21,8 +21,20 @@ public class Goal {
         return description;
     }
 
-    public void setDescription(String description) {
+    /**
+     * Changes the description of the goal. Only the StateManager renames goals, as it indexes them by description.
+     */
+    void setDescription(String description) {
         this.description = description;
     }
 
+    /**
+     * Creates a copy of this goal.
+     *
+     * @return new Goal with the same description and amount
+     */
+    public Goal copy() {
+        return new Goal(description, amount);
+    }
+
 }
@@ -0,0 +1,18 @@
+package seedu.duke.classes;
+
+import seedu.duke.exception.DukeException;
+
+import java.time.LocalDate;
+
+/**
+ * Loads older transactions that were left out of the StateManager when the storage was loaded.
+ */
+public interface HistoryLoader {
+    /**
+     * Adds all transactions on or after the given date that have not been loaded yet to the StateManager.
+     *
+     * @param date earliest date of the transactions to be loaded
+     * @throws DukeException if the transactions cannot be read
+     */
+    void loadSince(LocalDate date) throws DukeException;
+}
@@ -25,6 +25,15 @@ public class Income {
         this.goal = goal;
     }
 
+    /**
+     * Creates a copy of this income. The goal is shared with the original.
+     *
+     * @return new Income with a copied transaction
+     */
+    public Income copy() {
+        return new Income(transaction.copy(), goal);
+    }
+
     /**
      * Generate next recurrent entry for income
      *
@@ -0,0 +1,56 @@
+package seedu.duke.classes;
+
+/**
+ * Represents a single mutation made to the {@link StateManager}.
+ * The entities held are copies taken when the change was recorded, so later edits to the live
+ * objects do not alter the change.
+ */
+public class StateChange {
+    public enum Action {
+        ADD, REMOVE, EDIT
+    }
+
+    public enum Entity {
+        GOAL, CATEGORY, INCOME, EXPENSE
+    }
+
+    private final Action action;
+    private final Entity entity;
+    private final Object before;
+    private final Object after;
+
+    public StateChange(Action action, Entity entity, Object before, Object after) {
+        assert action != Action.ADD || after != null;
+        assert action != Action.REMOVE || before != null;
+        this.action = action;
+        this.entity = entity;
+        this.before = before;
+        this.after = after;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    public Entity getEntity() {
+        return entity;
+    }
+
+    /**
+     * Returns the entity as it was before the change.
+     *
+     * @return copy of the entity, or {@code null} for {@link Action#ADD}
+     */
+    public Object getBefore() {
+        return before;
+    }
+
+    /**
+     * Returns the entity as it was after the change.
+     *
+     * @return copy of the entity, or {@code null} for {@link Action#REMOVE}
+     */
+    public Object getAfter() {
+        return after;
+    }
+}
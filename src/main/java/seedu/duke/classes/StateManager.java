@@ -1,22 +1,89 @@
 package seedu.duke.classes;
 
+import seedu.duke.classes.StateChange.Action;
+import seedu.duke.classes.StateChange.Entity;
+import seedu.duke.exception.DukeException;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.stream.IntStream;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 public class StateManager {
     public static final String UNCATEGORISED_CLASS = "Uncategorised";
+    public static final Comparator<Income> INCOME_ORDER =
+            Comparator.comparing((Income i) -> i.getTransaction().getDate(), Comparator.reverseOrder());
+    public static final Comparator<Expense> EXPENSE_ORDER =
+            Comparator.comparing((Expense e) -> e.getTransaction().getDate(), Comparator.reverseOrder());
     private static StateManager stateManager = null;
+    private static long nextStateId = 0;
     private final ArrayList<Goal> goals = new ArrayList<>();
-    private final Goal uncategorisedGoal = new Goal(UNCATEGORISED_CLASS, 0);
+    private final Goal uncategorisedGoal;
     private final ArrayList<Category> categories = new ArrayList<>();
-    private final Category uncategorisedCategory = new Category(UNCATEGORISED_CLASS);
-    private final ArrayList<Income> incomes = new ArrayList<>();
-    private final ArrayList<Expense> expenses = new ArrayList<>();
-
+    private final Category uncategorisedCategory;
+    private final HashMap<String, Integer> goalIndexes = new HashMap<>();
+    private final HashMap<String, Integer> categoryIndexes = new HashMap<>();
+    private ClassificationIds<Goal> goalIds = new ClassificationIds<>();
+    private ClassificationIds<Category> categoryIds = new ClassificationIds<>();
+    private ArrayList<Income> incomes = new ArrayList<>();
+    private ArrayList<Expense> expenses = new ArrayList<>();
+    private final ArrayList<StateChange> changes = new ArrayList<>();
+    private boolean isRecordingChanges = true;
+    private boolean isKeepingChanges = true;
+    private final long stateId;
+    private long goalsVersion = 0;
+    private long categoriesVersion = 0;
+    private long incomesVersion = 0;
+    private long expensesVersion = 0;
+    private final HashMap<YearMonth, Long> incomeMonthVersions = new HashMap<>();
+    private final HashMap<YearMonth, Long> expenseMonthVersions = new HashMap<>();
+    private HistoryLoader historyLoader;
+    private LocalDate loadedSince = LocalDate.MIN;
+    private ArchivedTotals archivedTotals = new ArchivedTotals();
+    private ArchiveReader archiveReader;
+    private IdentityHashMap<Goal, Goal> goalCopies;
+    private IdentityHashMap<Category, Category> categoryCopies;
 
     private StateManager() {
+        this(nextStateId++, new Goal(UNCATEGORISED_CLASS, 0), new Category(UNCATEGORISED_CLASS));
+    }
+
+    private StateManager(long stateId, Goal uncategorisedGoal, Category uncategorisedCategory) {
+        this.stateId = stateId;
+        this.uncategorisedGoal = uncategorisedGoal;
+        this.uncategorisedCategory = uncategorisedCategory;
+        registerGoal(uncategorisedGoal);
+        registerCategory(uncategorisedCategory);
+    }
+
+    /**
+     * Gives a goal an id of this state. The uncategorised goal is registered first and never removed, so it always
+     * has id 0.
+     */
+    private void registerGoal(Goal goal) {
+        goalIds.register(goal);
+    }
+
+    /**
+     * Gives a category an id of this state. The uncategorised category is registered first and never removed, so
+     * it always has id 0.
+     */
+    private void registerCategory(Category category) {
+        categoryIds.register(category);
+    }
+
+    int getGoalId(Goal goal) {
+        return goalIds.getId(goal);
+    }
+
+    int getCategoryId(Category category) {
+        return categoryIds.getId(category);
     }
 
     public static StateManager getStateManager() {
@@ -30,9 +97,269 @@ public class StateManager {
         stateManager = new StateManager();
     }
 
+    /**
+     * Makes the given state the current one, such as the state of another ledger.
+     *
+     * @param state state to make current
+     */
+    public static void setStateManager(StateManager state) {
+        assert state != null;
+        stateManager = state;
+    }
+
+    /**
+     * Creates a detached copy of the current state that can be read from another thread
+     * while this instance keeps changing.
+     *
+     * @return copy of all goals, categories, incomes and expenses
+     */
+    public StateManager snapshot() {
+        return snapshot(null);
+    }
+
+    /**
+     * Creates a detached copy of the current state, reusing the copies of an earlier snapshot of this state for
+     * the collections that have not changed since it was taken. Incomes are copied again whenever the goals
+     * changed, and expenses whenever the categories changed, as their copies refer to the copied goals and
+     * categories. The uncategorised goal and category are never changed, so every snapshot shares them.
+     *
+     * @param previous earlier snapshot of this state that is no longer changed, or {@code null} to copy everything
+     * @return copy of all goals, categories, incomes and expenses
+     */
+    public StateManager snapshot(StateManager previous) {
+        if (previous != null && previous.stateId != stateId) {
+            previous = null;
+        }
+        StateManager copy = new StateManager(stateId, uncategorisedGoal, uncategorisedCategory);
+        copy.setRecordingChanges(false);
+        copy.goalsVersion = goalsVersion;
+        copy.categoriesVersion = categoriesVersion;
+        copy.incomesVersion = incomesVersion;
+        copy.expensesVersion = expensesVersion;
+        copy.incomeMonthVersions.putAll(incomeMonthVersions);
+        copy.expenseMonthVersions.putAll(expenseMonthVersions);
+        copy.archivedTotals = archivedTotals;
+        copy.archiveReader = archiveReader;
+        boolean isGoalsReused = previous != null && previous.goalsVersion == goalsVersion;
+        boolean isCategoriesReused = previous != null && previous.categoriesVersion == categoriesVersion;
+        if (isGoalsReused) {
+            copy.goalCopies = previous.goalCopies;
+            copy.goals.addAll(previous.goals);
+            copy.goalIds = previous.goalIds.copy();
+        } else {
+            copy.goalCopies = new IdentityHashMap<>();
+            copy.goalCopies.put(uncategorisedGoal, uncategorisedGoal);
+            for (Goal goal : goals) {
+                Goal goalCopy = goal.copy();
+                copy.goalCopies.put(goal, goalCopy);
+                copy.goals.add(goalCopy);
+                copy.registerGoal(goalCopy);
+            }
+        }
+        copy.goalIndexes.putAll(goalIndexes);
+        if (isCategoriesReused) {
+            copy.categoryCopies = previous.categoryCopies;
+            copy.categories.addAll(previous.categories);
+            copy.categoryIds = previous.categoryIds.copy();
+        } else {
+            copy.categoryCopies = new IdentityHashMap<>();
+            copy.categoryCopies.put(uncategorisedCategory, uncategorisedCategory);
+            for (Category category : categories) {
+                Category categoryCopy = category.copy();
+                copy.categoryCopies.put(category, categoryCopy);
+                copy.categories.add(categoryCopy);
+                copy.registerCategory(categoryCopy);
+            }
+        }
+        copy.categoryIndexes.putAll(categoryIndexes);
+        if (isGoalsReused && previous.incomesVersion == incomesVersion) {
+            copy.incomes = previous.incomes;
+        } else {
+            copy.incomes.ensureCapacity(incomes.size());
+            for (Income income : incomes) {
+                Goal goal = copy.goalCopies.getOrDefault(income.getGoal(), income.getGoal());
+                copy.incomes.add(new Income(income.getTransaction().copy(), goal));
+            }
+        }
+        if (isCategoriesReused && previous.expensesVersion == expensesVersion) {
+            copy.expenses = previous.expenses;
+        } else {
+            copy.expenses.ensureCapacity(expenses.size());
+            for (Expense expense : expenses) {
+                Category category = copy.categoryCopies.getOrDefault(expense.getCategory(), expense.getCategory());
+                copy.expenses.add(new Expense(expense.getTransaction().copy(), category));
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Pre-sizes the collections before a known number of entities is added.
+     *
+     * @param goalCount     number of goals
+     * @param categoryCount number of categories
+     * @param incomeCount   number of incomes
+     * @param expenseCount  number of expenses
+     */
+    public void ensureCapacity(int goalCount, int categoryCount, int incomeCount, int expenseCount) {
+        goals.ensureCapacity(goals.size() + goalCount);
+        categories.ensureCapacity(categories.size() + categoryCount);
+        incomes.ensureCapacity(incomes.size() + incomeCount);
+        expenses.ensureCapacity(expenses.size() + expenseCount);
+    }
+
+    /**
+     * Records that only the transactions on or after the given date have been loaded, and how the older ones
+     * can be loaded when they are needed.
+     *
+     * @param historyLoader loader of the older transactions
+     * @param loadedSince   earliest date of the loaded transactions
+     */
+    public void setHistoryLoader(HistoryLoader historyLoader, LocalDate loadedSince) {
+        assert historyLoader != null && loadedSince != null;
+        this.historyLoader = historyLoader;
+        this.loadedSince = loadedSince;
+    }
+
+    /**
+     * Makes sure that all transactions on or after the given date are loaded.
+     *
+     * @param date earliest date of the transactions that are needed
+     * @throws DukeException if the older transactions cannot be loaded
+     */
+    public void ensureLoadedSince(LocalDate date) throws DukeException {
+        if (historyLoader == null || !date.isBefore(loadedSince)) {
+            return;
+        }
+        historyLoader.loadSince(date);
+        loadedSince = date;
+    }
+
+    /**
+     * Makes sure that every transaction is loaded.
+     *
+     * @throws DukeException if the older transactions cannot be loaded
+     */
+    public void ensureAllLoaded() throws DukeException {
+        ensureLoadedSince(LocalDate.MIN);
+    }
+
+    /**
+     * Records the totals of the archived transactions, and how the archived transactions can be read when a
+     * command asks for them.
+     *
+     * @param archiveReader  reader of the archived transactions
+     * @param archivedTotals totals of the archived transactions
+     */
+    public void setArchive(ArchiveReader archiveReader, ArchivedTotals archivedTotals) {
+        assert archiveReader != null && archivedTotals != null;
+        this.archiveReader = archiveReader;
+        this.archivedTotals = archivedTotals;
+    }
+
+    public ArchivedTotals getArchivedTotals() {
+        return archivedTotals;
+    }
+
+    /**
+     * Removes transactions that have been written into the archive. The removal is not recorded as a change, as
+     * the storage files are saved in full once the archive has been written.
+     *
+     * @param archivedIncomes  incomes that have been archived
+     * @param archivedExpenses expenses that have been archived
+     */
+    public void removeArchived(ArrayList<Income> archivedIncomes, ArrayList<Expense> archivedExpenses) {
+        Set<Object> archived = Collections.newSetFromMap(new IdentityHashMap<>());
+        archived.addAll(archivedIncomes);
+        archived.addAll(archivedExpenses);
+        if (incomes.removeIf(archived::contains)) {
+            markModified(Entity.INCOME);
+            archivedIncomes.forEach(this::markMonthModified);
+        }
+        if (expenses.removeIf(archived::contains)) {
+            markModified(Entity.EXPENSE);
+            archivedExpenses.forEach(this::markMonthModified);
+        }
+    }
+
+    /**
+     * Reads the archived incomes on or after the given date.
+     *
+     * @param since earliest date of the incomes
+     * @return archived incomes, or an empty list if nothing has been archived
+     * @throws DukeException if the archive cannot be read
+     */
+    public ArrayList<Income> getArchivedIncomes(LocalDate since) throws DukeException {
+        if (archiveReader == null || archivedTotals.getCount(Entity.INCOME) == 0) {
+            return new ArrayList<>();
+        }
+        return archiveReader.readIncomes(since);
+    }
+
+    /**
+     * Reads the archived expenses on or after the given date.
+     *
+     * @param since earliest date of the expenses
+     * @return archived expenses, or an empty list if nothing has been archived
+     * @throws DukeException if the archive cannot be read
+     */
+    public ArrayList<Expense> getArchivedExpenses(LocalDate since) throws DukeException {
+        if (archiveReader == null || archivedTotals.getCount(Entity.EXPENSE) == 0) {
+            return new ArrayList<>();
+        }
+        return archiveReader.readExpenses(since);
+    }
+
+    /**
+     * Returns the total of the archived incomes on or after the given date. Whole months are taken from the
+     * archived totals, and the archived incomes are only read if the date is in the middle of an archived month.
+     *
+     * @param since earliest date of the incomes
+     * @return sum of their amounts
+     * @throws DukeException if the archive cannot be read
+     */
+    public double getArchivedIncomeTotal(LocalDate since) throws DukeException {
+        if (!since.isBefore(archivedTotals.getArchivedBefore())) {
+            return 0;
+        }
+        if (since.getDayOfMonth() == 1) {
+            return archivedTotals.getTotalSince(Entity.INCOME, YearMonth.from(since));
+        }
+        double total = 0;
+        for (Income income : getArchivedIncomes(since)) {
+            total += income.getTransaction().getAmount();
+        }
+        return total;
+    }
+
+    /**
+     * Returns the total of the archived expenses on or after the given date. Whole months are taken from the
+     * archived totals, and the archived expenses are only read if the date is in the middle of an archived month.
+     *
+     * @param since earliest date of the expenses
+     * @return sum of their amounts
+     * @throws DukeException if the archive cannot be read
+     */
+    public double getArchivedExpenseTotal(LocalDate since) throws DukeException {
+        if (!since.isBefore(archivedTotals.getArchivedBefore())) {
+            return 0;
+        }
+        if (since.getDayOfMonth() == 1) {
+            return archivedTotals.getTotalSince(Entity.EXPENSE, YearMonth.from(since));
+        }
+        double total = 0;
+        for (Expense expense : getArchivedExpenses(since)) {
+            total += expense.getTransaction().getAmount();
+        }
+        return total;
+    }
+
     public void addGoal(Goal goal) {
         assert goal != null;
         goals.add(goal);
+        registerGoal(goal);
+        goalIndexes.putIfAbsent(foldCase(goal.getDescription()), goals.size() - 1);
+        recordChange(Action.ADD, Entity.GOAL, null, isLoggingChanges() ? goal.copy() : goal);
     }
 
     public Goal getGoal(int idx) {
@@ -44,7 +371,16 @@ public class StateManager {
 
     public boolean removeGoal(Goal goal) {
         assert goal != null;
-        return goals.remove(goal);
+        int position = goals.indexOf(goal);
+        if (position < 0) {
+            return false;
+        }
+        goals.remove(position);
+        goalIds.unregister(goal);
+        goalIndexes.replaceAll((key, index) -> index > position ? index - 1 : index);
+        unindex(goalIndexes, goals, Goal::getDescription, foldCase(goal.getDescription()), position);
+        recordChange(Action.REMOVE, Entity.GOAL, isLoggingChanges() ? goal.copy() : goal, null);
+        return true;
     }
 
     public boolean removeGoal(int idx) {
@@ -56,6 +392,24 @@ public class StateManager {
         return removeGoal(goal);
     }
 
+    /**
+     * Renames a goal of this state, keeping the goals findable by their new name.
+     *
+     * @param goal        goal to rename
+     * @param description new description of the goal
+     */
+    public void renameGoal(Goal goal, String description) {
+        assert goal != null && description != null;
+        int position = goals.indexOf(goal);
+        String previousKey = foldCase(goal.getDescription());
+        goal.setDescription(description);
+        markModified(Entity.GOAL);
+        if (position >= 0) {
+            unindex(goalIndexes, goals, Goal::getDescription, previousKey, position);
+            indexFirst(goalIndexes, foldCase(description), position);
+        }
+    }
+
     public Goal getUncategorisedGoal() {
         return uncategorisedGoal;
     }
@@ -63,6 +417,9 @@ public class StateManager {
     public void addCategory(Category category) {
         assert category != null;
         categories.add(category);
+        registerCategory(category);
+        categoryIndexes.putIfAbsent(foldCase(category.getName()), categories.size() - 1);
+        recordChange(Action.ADD, Entity.CATEGORY, null, isLoggingChanges() ? category.copy() : category);
     }
 
     public Category getCategory(int idx) {
@@ -72,13 +429,40 @@ public class StateManager {
         return categories.get(idx);
     }
 
+    /**
+     * Renames a category of this state, keeping the categories findable by their new name.
+     *
+     * @param category category to rename
+     * @param name     new name of the category
+     */
+    public void renameCategory(Category category, String name) {
+        assert category != null && name != null;
+        int position = categories.indexOf(category);
+        String previousKey = foldCase(category.getName());
+        category.setName(name);
+        markModified(Entity.CATEGORY);
+        if (position >= 0) {
+            unindex(categoryIndexes, categories, Category::getName, previousKey, position);
+            indexFirst(categoryIndexes, foldCase(name), position);
+        }
+    }
+
     public Category getUncategorisedCategory() {
         return uncategorisedCategory;
     }
 
     public boolean removeCategory(Category category) {
         assert category != null;
-        return categories.remove(category);
+        int position = categories.indexOf(category);
+        if (position < 0) {
+            return false;
+        }
+        categories.remove(position);
+        categoryIds.unregister(category);
+        categoryIndexes.replaceAll((key, index) -> index > position ? index - 1 : index);
+        unindex(categoryIndexes, categories, Category::getName, foldCase(category.getName()), position);
+        recordChange(Action.REMOVE, Entity.CATEGORY, isLoggingChanges() ? category.copy() : category, null);
+        return true;
     }
 
     public boolean removeCategory(int idx) {
@@ -93,6 +477,7 @@ public class StateManager {
     public void addIncome(Income income) {
         assert income != null;
         incomes.add(income);
+        recordChange(Action.ADD, Entity.INCOME, null, isLoggingChanges() ? income.copy() : income);
     }
 
     public Income getIncome(int idx) {
@@ -104,7 +489,11 @@ public class StateManager {
 
     public boolean removeIncome(Income income) {
         assert income != null;
-        return incomes.remove(income);
+        boolean isRemoved = incomes.remove(income);
+        if (isRemoved) {
+            recordChange(Action.REMOVE, Entity.INCOME, isLoggingChanges() ? income.copy() : income, null);
+        }
+        return isRemoved;
     }
 
     public boolean removeIncome(int idx) {
@@ -119,6 +508,7 @@ public class StateManager {
     public void addExpense(Expense expense) {
         assert expense != null;
         expenses.add(expense);
+        recordChange(Action.ADD, Entity.EXPENSE, null, isLoggingChanges() ? expense.copy() : expense);
     }
 
     public Expense getExpense(int idx) {
@@ -130,7 +520,33 @@ public class StateManager {
 
     public boolean removeExpense(Expense expense) {
         assert expense != null;
-        return expenses.remove(expense);
+        boolean isRemoved = expenses.remove(expense);
+        if (isRemoved) {
+            recordChange(Action.REMOVE, Entity.EXPENSE, isLoggingChanges() ? expense.copy() : expense, null);
+        }
+        return isRemoved;
+    }
+
+    /**
+     * Records that an income has been edited in place.
+     *
+     * @param previous copy of the income taken before the edit
+     * @param income   the edited income
+     */
+    public void recordIncomeEdit(Income previous, Income income) {
+        assert previous != null && income != null;
+        recordChange(Action.EDIT, Entity.INCOME, previous, isLoggingChanges() ? income.copy() : income);
+    }
+
+    /**
+     * Records that an expense has been edited in place.
+     *
+     * @param previous copy of the expense taken before the edit
+     * @param expense  the edited expense
+     */
+    public void recordExpenseEdit(Expense previous, Expense expense) {
+        assert previous != null && expense != null;
+        recordChange(Action.EDIT, Entity.EXPENSE, previous, isLoggingChanges() ? expense.copy() : expense);
     }
 
     public boolean removeExpense(int idx) {
@@ -166,60 +582,325 @@ public class StateManager {
         return expenses.size();
     }
 
+    /**
+     * Returns the index of the first category with the given name, ignoring case.
+     *
+     * @param categoryToCheck name of the category
+     * @return index of the category, or -1 if there is none
+     */
     public int getCategoryIndex(String categoryToCheck) {
-        return IntStream.range(0, categories.size())
-                .filter(i -> categories.get(i).getName().equalsIgnoreCase(categoryToCheck))
-                .findFirst()
-                .orElse(-1);
+        if (categoryToCheck == null) {
+            return -1;
+        }
+        return categoryIndexes.getOrDefault(foldCase(categoryToCheck), -1);
     }
 
+    /**
+     * Returns the index of the first goal with the given description, ignoring case.
+     *
+     * @param goalToCheck description of the goal
+     * @return index of the goal, or -1 if there is none
+     */
     public int getGoalIndex(String goalToCheck) {
-        return IntStream.range(0, goals.size())
-                .filter(i -> goals.get(i).getDescription().equalsIgnoreCase(goalToCheck))
-                .findFirst()
-                .orElse(-1);
+        if (goalToCheck == null) {
+            return -1;
+        }
+        return goalIndexes.getOrDefault(foldCase(goalToCheck), -1);
+    }
+
+    /**
+     * Returns a key under which names that are equal ignoring case are the same, in the way that
+     * {@link String#equalsIgnoreCase(String)} compares them. Unlike {@link String#toLowerCase()}, the key does not
+     * depend on the default locale, so every lookup of names ignoring case uses it.
+     *
+     * @param name name of a goal, category or transaction
+     * @return the case-folded name
+     */
+    public static String foldCase(String name) {
+        StringBuilder folded = null;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            char foldedChar = Character.toLowerCase(Character.toUpperCase(c));
+            if (folded == null && foldedChar != c) {
+                folded = new StringBuilder(name.length()).append(name, 0, i);
+            }
+            if (folded != null) {
+                folded.append(foldedChar);
+            }
+        }
+        return folded == null ? name : folded.toString();
+    }
+
+    /**
+     * Removes a case-folded name from an index of the first position of each name, once the entry at the given
+     * position no longer has that name. The next entry with the same name, if any, takes its place.
+     */
+    private static <T> void unindex(HashMap<String, Integer> index, ArrayList<T> entries, Function<T, String> nameOf,
+            String key, int position) {
+        Integer first = index.get(key);
+        if (first == null || first != position) {
+            return;
+        }
+        index.remove(key);
+        for (int i = position; i < entries.size(); i++) {
+            if (foldCase(nameOf.apply(entries.get(i))).equals(key)) {
+                index.put(key, i);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Records the given position under a case-folded name, unless an earlier entry already has the name.
+     */
+    private static void indexFirst(HashMap<String, Integer> index, String key, int position) {
+        Integer first = index.get(key);
+        if (first == null || first > position) {
+            index.put(key, position);
+        }
     }
 
     public void sortIncomes() {
-        Comparator<Income> dateComparator = Comparator.comparing((Income i) -> i.getTransaction().getDate(),
-                Comparator.reverseOrder());
-        incomes.sort(dateComparator);
+        incomes.sort(INCOME_ORDER);
     }
 
     public void sortExpenses() {
-        Comparator<Expense> dateComparator = Comparator.comparing((Expense e) -> e.getTransaction().getDate(),
-                Comparator.reverseOrder());
-        expenses.sort(dateComparator);
+        expenses.sort(EXPENSE_ORDER);
     }
 
-    public HashMap<Goal, Double> getGoalsStatus() {
-        HashMap<Goal, Double> map = new HashMap<>();
+    /**
+     * Totals the incomes of each goal, including the archived incomes, which are added to the goal of the same
+     * name, or to the uncategorised goal if it no longer exists.
+     *
+     * @return totals of the goals that have incomes
+     */
+    public StatusTotals<Goal> getGoalsStatus() {
+        StatusTotals<Goal> status = new StatusTotals<>(goalIds);
         for (Income i : incomes) {
-            Goal key = i.getGoal();
-            map.put(key, map.getOrDefault(key, 0.0) + i.getTransaction().getAmount());
+            status.add(i.getGoal(), i.getTransaction().getAmount());
+        }
+        for (Map.Entry<String, Double> entry : archivedTotals.getTotalsByClassification(Entity.INCOME).entrySet()) {
+            Goal goal = getGoal(getGoalIndex(entry.getKey()));
+            status.add(goal == null ? uncategorisedGoal : goal, entry.getValue());
         }
-        return map;
+        return status;
     }
 
-    public HashMap<Category, Double> getCategoriesStatus() {
-        HashMap<Category, Double> map = new HashMap<>();
+    /**
+     * Totals the expenses of each category, including the archived expenses, which are added to the category of
+     * the same name, or to the uncategorised category if it no longer exists.
+     *
+     * @return totals of the categories that have expenses
+     */
+    public StatusTotals<Category> getCategoriesStatus() {
+        StatusTotals<Category> status = new StatusTotals<>(categoryIds);
         for (Expense e : expenses) {
-            Category key = e.getCategory();
-            map.put(key, map.getOrDefault(key, 0.0) + e.getTransaction().getAmount());
+            status.add(e.getCategory(), e.getTransaction().getAmount());
+        }
+        for (Map.Entry<String, Double> entry
+                : archivedTotals.getTotalsByClassification(Entity.EXPENSE).entrySet()) {
+            Category category = getCategory(getCategoryIndex(entry.getKey()));
+            status.add(category == null ? uncategorisedCategory : category, entry.getValue());
+        }
+        return status;
+    }
+
+    /**
+     * Generates the recurrent transactions that are due and records every income and expense that
+     * was added or flagged as having generated its next recurrence.
+     */
+    public void generateRecurrentTransactions() {
+        ArrayList<Income> dueIncomes = new ArrayList<>();
+        ArrayList<Income> previousIncomes = new ArrayList<>();
+        for (Income income : incomes) {
+            if (income.getTransaction().shouldGenerateNextRecurrence()) {
+                dueIncomes.add(income);
+                previousIncomes.add(isLoggingChanges() ? income.copy() : income);
+            }
+        }
+        ArrayList<Expense> dueExpenses = new ArrayList<>();
+        ArrayList<Expense> previousExpenses = new ArrayList<>();
+        for (Expense expense : expenses) {
+            if (expense.getTransaction().shouldGenerateNextRecurrence()) {
+                dueExpenses.add(expense);
+                previousExpenses.add(isLoggingChanges() ? expense.copy() : expense);
+            }
+        }
+        if (dueIncomes.isEmpty() && dueExpenses.isEmpty()) {
+            return;
+        }
+
+        ArrayList<Income> generatedIncomes = TransactionRecurrence.generateRecurrentIncomes(incomes);
+        ArrayList<Expense> generatedExpenses = TransactionRecurrence.generateRecurrentExpenses(expenses);
+        incomes.addAll(generatedIncomes);
+        expenses.addAll(generatedExpenses);
+        for (int i = 0; i < dueIncomes.size(); i++) {
+            recordIncomeEdit(previousIncomes.get(i), dueIncomes.get(i));
+        }
+        for (int i = 0; i < dueExpenses.size(); i++) {
+            recordExpenseEdit(previousExpenses.get(i), dueExpenses.get(i));
+        }
+        generatedIncomes.forEach(income -> recordChange(Action.ADD, Entity.INCOME, null,
+                isLoggingChanges() ? income.copy() : income));
+        generatedExpenses.forEach(expense -> recordChange(Action.ADD, Entity.EXPENSE, null,
+                isLoggingChanges() ? expense.copy() : expense));
+    }
+
+    /**
+     * Sets whether mutations are recorded as {@link StateChange}s.
+     * Recording is switched off while storage is populating the state.
+     *
+     * @param isRecordingChanges {@code true} to record changes
+     */
+    public void setRecordingChanges(boolean isRecordingChanges) {
+        this.isRecordingChanges = isRecordingChanges;
+    }
+
+    /**
+     * Sets whether recorded changes are kept until they are drained, which only a journal needs.
+     * Without it, mutations still update the versions but do not copy the changed entities.
+     *
+     * @param isKeepingChanges {@code true} to keep the recorded changes
+     */
+    public void setKeepingChanges(boolean isKeepingChanges) {
+        this.isKeepingChanges = isKeepingChanges;
+    }
+
+    private boolean isLoggingChanges() {
+        return isRecordingChanges && isKeepingChanges;
+    }
+
+    /**
+     * Returns the changes recorded since the last call and clears them.
+     *
+     * @return changes in the order they were made
+     */
+    public ArrayList<StateChange> drainChanges() {
+        ArrayList<StateChange> drained = new ArrayList<>(changes);
+        changes.clear();
+        return drained;
+    }
+
+    /**
+     * Returns the id of this state. A snapshot shares the id of the state it was taken from.
+     *
+     * @return id of the state
+     */
+    public long getStateId() {
+        return stateId;
+    }
+
+    /**
+     * Returns the modification version of the goals, which increases whenever a goal is changed.
+     *
+     * @return version of the goals
+     */
+    public long getGoalsVersion() {
+        return goalsVersion;
+    }
+
+    /**
+     * Returns the modification version of the categories, which increases whenever a category is changed.
+     *
+     * @return version of the categories
+     */
+    public long getCategoriesVersion() {
+        return categoriesVersion;
+    }
+
+    /**
+     * Returns the modification version of the incomes, which increases whenever an income is changed.
+     *
+     * @return version of the incomes
+     */
+    public long getIncomesVersion() {
+        return incomesVersion;
+    }
+
+    /**
+     * Returns the modification version of the expenses, which increases whenever an expense is changed.
+     *
+     * @return version of the expenses
+     */
+    public long getExpensesVersion() {
+        return expensesVersion;
+    }
+
+    /**
+     * Returns the version of the incomes when an income dated in the given month was last changed.
+     *
+     * @param month month of the incomes
+     * @return version of the incomes after the last change in the month, or 0 if there was none
+     */
+    public long getIncomeMonthVersion(YearMonth month) {
+        return incomeMonthVersions.getOrDefault(month, 0L);
+    }
+
+    /**
+     * Returns the version of the expenses when an expense dated in the given month was last changed.
+     *
+     * @param month month of the expenses
+     * @return version of the expenses after the last change in the month, or 0 if there was none
+     */
+    public long getExpenseMonthVersion(YearMonth month) {
+        return expenseMonthVersions.getOrDefault(month, 0L);
+    }
+
+    private void markMonthModified(Object entity) {
+        if (entity instanceof Income) {
+            YearMonth month = YearMonth.from(((Income) entity).getTransaction().getDate());
+            incomeMonthVersions.put(month, incomesVersion);
+        } else if (entity instanceof Expense) {
+            YearMonth month = YearMonth.from(((Expense) entity).getTransaction().getDate());
+            expenseMonthVersions.put(month, expensesVersion);
+        }
+    }
+
+    private void markModified(Entity entity) {
+        switch (entity) {
+        case GOAL:
+            goalsVersion++;
+            break;
+        case CATEGORY:
+            categoriesVersion++;
+            break;
+        case INCOME:
+            incomesVersion++;
+            break;
+        default:
+            expensesVersion++;
+            break;
+        }
+    }
+
+    private void recordChange(Action action, Entity entity, Object before, Object after) {
+        markModified(entity);
+        markMonthModified(before);
+        markMonthModified(after);
+        if (!isLoggingChanges()) {
+            return;
         }
-        return map;
+        changes.add(new StateChange(action, entity, before, after));
     }
 
     public void unassignCategoryTransactions(Category category) {
+        markModified(Entity.EXPENSE);
         expenses.stream()
                 .filter(e -> e.getCategory() == category)
-                .forEach(e -> e.setCategory(uncategorisedCategory));
+                .forEach(e -> {
+                    e.setCategory(uncategorisedCategory);
+                    markMonthModified(e);
+                });
     }
 
     public void unassignGoalTransactions(Goal goal) {
+        markModified(Entity.INCOME);
         incomes.stream()
                 .filter(g -> g.getGoal() == goal)
-                .forEach(g -> g.setGoal(uncategorisedGoal));
+                .forEach(g -> {
+                    g.setGoal(uncategorisedGoal);
+                    markMonthModified(g);
+                });
     }
 
 }
@@ -0,0 +1,92 @@
+package seedu.duke.classes;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Totals of the transactions of each goal or category, kept in an array indexed by the id that the state gave it.
+ * A goal or category that is not part of the state, such as one that was removed while a transaction still
+ * refers to it, is totalled separately. The ids are read from the state as they are, so the totals are meant to be
+ * read before goals or categories are added to or removed from the state again.
+ *
+ * @param <T> Goal or Category.
+ */
+public class StatusTotals<T> {
+    private final ClassificationIds<T> ids;
+    private final double[] totals;
+    private final boolean[] isUsed;
+    private final IdentityHashMap<T, Double> others = new IdentityHashMap<>();
+
+    /**
+     * Creates empty totals for the goals or categories with the given ids.
+     *
+     * @param ids Ids of the goals or categories of the state.
+     */
+    StatusTotals(ClassificationIds<T> ids) {
+        this.ids = ids;
+        this.totals = new double[ids.getLimit()];
+        this.isUsed = new boolean[ids.getLimit()];
+    }
+
+    private int getIndex(T classification) {
+        int id = ids.getId(classification);
+        return id < totals.length ? id : -1;
+    }
+
+    /**
+     * Adds an amount to the total of a goal or category.
+     *
+     * @param classification Goal or category of the amount.
+     * @param amount Amount to add.
+     */
+    void add(T classification, double amount) {
+        int index = getIndex(classification);
+        if (index < 0) {
+            others.merge(classification, amount, Double::sum);
+            return;
+        }
+        totals[index] += amount;
+        isUsed[index] = true;
+    }
+
+    /**
+     * Checks if any transaction was added to a goal or category.
+     *
+     * @param classification Goal or category.
+     * @return true if it has a total.
+     */
+    public boolean isUsed(T classification) {
+        int index = getIndex(classification);
+        return index < 0 ? others.containsKey(classification) : isUsed[index];
+    }
+
+    /**
+     * Returns the total of a goal or category.
+     *
+     * @param classification Goal or category.
+     * @return total of its transactions, or 0 if it has none.
+     */
+    public double getTotal(T classification) {
+        int index = getIndex(classification);
+        return index < 0 ? others.getOrDefault(classification, 0.0) : totals[index];
+    }
+
+    /**
+     * Returns the goals or categories that have a total.
+     *
+     * @return goals or categories in the order of their ids, followed by those that are not part of the state.
+     */
+    public ArrayList<T> getUsed() {
+        ArrayList<T> used = new ArrayList<>();
+        for (int i = 0; i < totals.length; i++) {
+            if (isUsed[i]) {
+                used.add(ids.get(i));
+            }
+        }
+        for (Map.Entry<T, Double> entry : others.entrySet()) {
+            used.add(entry.getKey());
+        }
+        return used;
+    }
+}
@@ -60,6 +60,18 @@ public class Transaction {
         this.hasGeneratedNextRecurrence = hasGeneratedNextRecurrence;
     }
 
+    /**
+     * Creates a copy of this transaction, including its recurrence state.
+     *
+     * @return new Transaction with the same values
+     */
+    public Transaction copy() {
+        Transaction transaction = new Transaction(description, amount, date);
+        transaction.setRecurrence(recurrence);
+        transaction.setHasGeneratedNextRecurrence(hasGeneratedNextRecurrence);
+        return transaction;
+    }
+
     /**
      * Checks if next recurrent entry should be generated.
      *
@@ -29,8 +29,7 @@ public class AddExpenseCommand extends AddTransactionCommand {
      */
     @Override
     public void execute(Ui ui) throws DukeException {
-        throwIfInvalidDescOrArgs();
-        Transaction transaction = prepareTransaction();
+        Transaction transaction = prepareValidTransaction();
         Expense expense = addNewExpense(transaction);
         printSuccess(ui, expense);
         StateManager.getStateManager().sortExpenses();
@@ -43,12 +42,23 @@ public class AddExpenseCommand extends AddTransactionCommand {
      * @throws DukeException if category is invalid, or any issue is encountered when adding expense
      */
     private Expense addNewExpense(Transaction transaction) throws DukeException {
-        Category category = handleCategory();
-        Expense expense = new Expense(transaction, category);
+        Expense expense = createExpense(transaction);
         StateManager.getStateManager().addExpense(expense);
         return expense;
     }
 
+    /**
+     * Creates an Expense of the given transaction for the category specified by the user, without adding it.
+     * The category is created if it does not exist yet.
+     * @param transaction transaction to add to Expense object
+     * @return Expense object of the transaction
+     * @throws DukeException if category user input is invalid
+     */
+    Expense createExpense(Transaction transaction) throws DukeException {
+        Category category = handleCategory();
+        return new Expense(transaction, category);
+    }
+
     /**
      * Print successful addition of expense transaction message
      * @param ui Ui class for printing
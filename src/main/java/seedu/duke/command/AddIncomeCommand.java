@@ -28,8 +28,7 @@ public class AddIncomeCommand extends AddTransactionCommand {
      */
     @Override
     public void execute(Ui ui) throws DukeException {
-        throwIfInvalidDescOrArgs();
-        Transaction transaction = prepareTransaction();
+        Transaction transaction = prepareValidTransaction();
         Income income = addNewIncome(transaction);
         printSuccess(ui, income);
         StateManager.getStateManager().sortIncomes();
@@ -42,12 +41,22 @@ public class AddIncomeCommand extends AddTransactionCommand {
      * @throws DukeException if income is invalid, or any issue is encountered when adding income
      */
     private Income addNewIncome(Transaction transaction) throws DukeException {
-        Goal goal = handleGoal();
-        Income income = new Income(transaction, goal);
+        Income income = createIncome(transaction);
         StateManager.getStateManager().addIncome(income);
         return income;
     }
 
+    /**
+     * Creates an Income of the given transaction towards the goal specified by the user, without adding it
+     * @param transaction transaction to add to Income object
+     * @return Income object of the transaction
+     * @throws DukeException if goal user input is invalid
+     */
+    Income createIncome(Transaction transaction) throws DukeException {
+        Goal goal = handleGoal();
+        return new Income(transaction, goal);
+    }
+
     /**
      * Print successful addition of income transaction message
      * @param ui Ui class for printing
@@ -49,6 +49,16 @@ public abstract class AddTransactionCommand extends Command {
         return transaction;
     }
 
+    /**
+     * Validates user input and prepares the transaction it describes, without adding it
+     * @return Transaction object described by the user input
+     * @throws DukeException if user input is invalid
+     */
+    Transaction prepareValidTransaction() throws DukeException {
+        throwIfInvalidDescOrArgs();
+        return prepareTransaction();
+    }
+
     /**
      * Validates user input
      * @throws DukeException if user input is invalid
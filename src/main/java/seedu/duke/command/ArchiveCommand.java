@@ -0,0 +1,54 @@
+package seedu.duke.command;
+
+import seedu.duke.exception.DukeException;
+import seedu.duke.parser.Parser;
+import seedu.duke.storage.LedgerManager;
+import seedu.duke.ui.Ui;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+
+public class ArchiveCommand extends Command {
+    private static final String BEFORE_ARG = "before";
+    private static final String MISSING_DATE = "Please specify the date to archive transactions before with /before.";
+    private static final String BAD_DATE = "Invalid date specified...";
+    private static final String FUTURE_DATE = "The /before date cannot be after today.";
+    private static final String UNAVAILABLE = "Archiving is not available.";
+
+    public ArchiveCommand(String description, HashMap<String, String> args) {
+        super(description, args);
+    }
+
+    /**
+     * Executes the command. The transactions dated before the given date are moved into the archive of the
+     * ledger in use.
+     *
+     * @param ui Ui class that is used to print the number of archived transactions.
+     * @throws DukeException if the date is missing, invalid or after today, or the archive cannot be written.
+     */
+    @Override
+    public void execute(Ui ui) throws DukeException {
+        String value = getArg(BEFORE_ARG);
+        if (value == null || value.isBlank()) {
+            throw new DukeException(MISSING_DATE);
+        }
+        LocalDate before = Parser.parseDate(value);
+        if (before == null) {
+            throw new DukeException(BAD_DATE);
+        }
+        if (before.isAfter(LocalDate.now())) {
+            throw new DukeException(FUTURE_DATE);
+        }
+        LedgerManager ledgers = LedgerManager.getLedgerManager();
+        if (ledgers == null || ledgers.getActiveStorage() == null) {
+            throw new DukeException(UNAVAILABLE);
+        }
+
+        int archived = ledgers.getActiveStorage().archive(before);
+        if (archived == 0) {
+            ui.print("There are no transactions dated before " + before + " to archive.");
+            return;
+        }
+        ui.print("Archived " + archived + " transaction(s) dated before " + before + ".");
+    }
+}
@@ -0,0 +1,59 @@
+package seedu.duke.command;
+
+import seedu.duke.exception.DukeException;
+import seedu.duke.storage.BackupResult;
+import seedu.duke.storage.LedgerManager;
+import seedu.duke.storage.Storage;
+import seedu.duke.ui.Ui;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+public class BackupCommand extends Command {
+    static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+    private static final String LIST_ARG = "list";
+    private static final String UNAVAILABLE = "Backups are not available.";
+
+    public BackupCommand(String description, HashMap<String, String> args) {
+        super(description, args);
+    }
+
+    /**
+     * Executes the command. The storage files of the ledger in use are backed up, or with /list, the times of
+     * their backups are printed.
+     *
+     * @param ui Ui class that is used to print what was backed up, or the backups.
+     * @throws DukeException if the storage files cannot be read or the backup cannot be written.
+     */
+    @Override
+    public void execute(Ui ui) throws DukeException {
+        LedgerManager ledgers = LedgerManager.getLedgerManager();
+        if (ledgers == null || ledgers.getActiveStorage() == null) {
+            throw new DukeException(UNAVAILABLE);
+        }
+        Storage storage = ledgers.getActiveStorage();
+        if (getArgs().containsKey(LIST_ARG)) {
+            printBackups(ui, storage.listBackups());
+            return;
+        }
+
+        storage.saveChanges();
+        BackupResult result = storage.backup();
+        ui.print("Backed up " + result.getFileCount() + " file(s) at " + result.getTime().format(TIME_FORMAT)
+                + ", writing " + result.getNewChunkCount() + " new chunk(s) of "
+                + String.format("%.1f KB", result.getWrittenBytes() / 1024.0) + ".");
+    }
+
+    private static void printBackups(Ui ui, ArrayList<LocalDateTime> times) {
+        if (times.isEmpty()) {
+            ui.print("There are no backups yet.");
+            return;
+        }
+        ui.print("Backups:");
+        for (LocalDateTime time : times) {
+            ui.print(time.format(TIME_FORMAT));
+        }
+    }
+}
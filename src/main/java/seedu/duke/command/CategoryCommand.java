@@ -68,6 +68,7 @@ public class CategoryCommand extends ClassificationCommand {
         Category categoryToRemove = state.getCategory(index);
         boolean removedClassification = false;
         if (index != -1) {
+            state.ensureAllLoaded();
             state.unassignCategoryTransactions(categoryToRemove);
             removedClassification = state.removeCategory(categoryToRemove);
         }
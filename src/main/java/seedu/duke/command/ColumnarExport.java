@@ -0,0 +1,215 @@
+package seedu.duke.command;
+
+import seedu.duke.classes.Transaction;
+import seedu.duke.csv.CsvWriter;
+import seedu.duke.exception.DukeException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Writes exported transactions into a directory with one binary file per column, so that analysis tools can
+ * memory-map only the columns they need. Every column holds one fixed-width little-endian value per transaction,
+ * in the same order:
+ * <ul>
+ *     <li>{@code type.bin}: one byte, 0 for an income and 1 for an expense.</li>
+ *     <li>{@code date.bin}: the date as an int of days since 1970-01-01.</li>
+ *     <li>{@code amount.bin}: the amount as a long of cents.</li>
+ *     <li>{@code classification.bin}: the goal or category as an int id from {@code dictionary.csv}.</li>
+ *     <li>{@code recurrence.bin}: one byte, 0 to 3 for none, daily, weekly and monthly.</li>
+ *     <li>{@code description-offsets.bin}: a long per transaction plus one, where the description of transaction
+ *     i is the UTF-8 bytes between offsets i and i + 1 of {@code description.bin}.</li>
+ * </ul>
+ */
+class ColumnarExport {
+    static final byte INCOME = 0;
+    static final byte EXPENSE = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String[] DICTIONARY_HEADER = {"Id", "Type", "Name"};
+    private static final String GOAL_TYPE = "Goal";
+    private static final String CATEGORY_TYPE = "Category";
+    private static final String WRITE_ERROR = "Error Writing File";
+
+    private final List<ColumnFile> columns = new ArrayList<>();
+    private final ColumnFile types;
+    private final ColumnFile dates;
+    private final ColumnFile amounts;
+    private final ColumnFile classifications;
+    private final ColumnFile recurrences;
+    private final ColumnFile descriptionOffsets;
+    private final ColumnFile descriptions;
+    private final IdentityHashMap<Object, Integer> classificationIds = new IdentityHashMap<>();
+    private final CsvWriter dictionary;
+    private long descriptionEnd = 0;
+
+    /**
+     * Creates the directory and opens every column, replacing any previous export.
+     *
+     * @param directory Directory to write the columns into.
+     * @throws DukeException if the directory or any of the files cannot be created.
+     */
+    ColumnarExport(File directory) throws DukeException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new DukeException("Cannot create file");
+        }
+        try {
+            types = open(directory, "type.bin");
+            dates = open(directory, "date.bin");
+            amounts = open(directory, "amount.bin");
+            classifications = open(directory, "classification.bin");
+            recurrences = open(directory, "recurrence.bin");
+            descriptionOffsets = open(directory, "description-offsets.bin");
+            descriptions = open(directory, "description.bin");
+            descriptionOffsets.putLong(0);
+        } catch (IOException e) {
+            closeQuietly();
+            throw new DukeException("Cannot create file");
+        }
+        try {
+            dictionary = new CsvWriter(new File(directory, "dictionary.csv").getPath());
+        } catch (DukeException e) {
+            closeQuietly();
+            throw e;
+        }
+        dictionary.write(DICTIONARY_HEADER);
+    }
+
+    private ColumnFile open(File directory, String name) throws IOException {
+        ColumnFile column = new ColumnFile(new File(directory, name));
+        columns.add(column);
+        return column;
+    }
+
+    /**
+     * Appends a transaction to every column.
+     *
+     * @param type {@link #INCOME} or {@link #EXPENSE}.
+     * @param transaction Transaction to append.
+     * @param classification Goal or Category of the transaction.
+     * @param name Name of the goal or category.
+     * @throws DukeException if a column cannot be written.
+     */
+    void write(byte type, Transaction transaction, Object classification, String name) throws DukeException {
+        Integer id = classificationIds.get(classification);
+        if (id == null) {
+            id = classificationIds.size();
+            classificationIds.put(classification, id);
+            dictionary.write(new String[]{Integer.toString(id), type == INCOME ? GOAL_TYPE : CATEGORY_TYPE, name});
+        }
+        byte[] description = transaction.getDescription().getBytes(StandardCharsets.UTF_8);
+        descriptionEnd += description.length;
+        try {
+            types.putByte(type);
+            dates.putInt((int) transaction.getDate().toEpochDay());
+            amounts.putLong(Math.round(transaction.getAmount() * 100));
+            classifications.putInt(id);
+            recurrences.putByte((byte) transaction.getRecurrence().ordinal());
+            descriptions.put(description);
+            descriptionOffsets.putLong(descriptionEnd);
+        } catch (IOException e) {
+            throw new DukeException(WRITE_ERROR);
+        }
+    }
+
+    /**
+     * Flushes and closes every column and the dictionary.
+     *
+     * @throws DukeException if any of the files cannot be written.
+     */
+    void close() throws DukeException {
+        boolean hasFailed = false;
+        for (ColumnFile column : columns) {
+            try {
+                column.close();
+            } catch (IOException e) {
+                hasFailed = true;
+            }
+        }
+        try {
+            dictionary.flush();
+        } finally {
+            dictionary.close();
+        }
+        if (hasFailed) {
+            throw new DukeException(WRITE_ERROR);
+        }
+    }
+
+    private void closeQuietly() {
+        for (ColumnFile column : columns) {
+            try {
+                column.close();
+            } catch (IOException e) {
+                // The export has already failed.
+            }
+        }
+    }
+
+    /**
+     * A column file that is written through a little-endian buffer.
+     */
+    private static class ColumnFile {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        ColumnFile(File file) throws IOException {
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        void putByte(byte value) throws IOException {
+            ensureRemaining(Byte.BYTES);
+            buffer.put(value);
+        }
+
+        void putInt(int value) throws IOException {
+            ensureRemaining(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            ensureRemaining(Long.BYTES);
+            buffer.putLong(value);
+        }
+
+        void put(byte[] bytes) throws IOException {
+            int offset = 0;
+            while (offset < bytes.length) {
+                ensureRemaining(1);
+                int length = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, length);
+                offset += length;
+            }
+        }
+
+        private void ensureRemaining(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
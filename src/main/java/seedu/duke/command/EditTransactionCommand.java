@@ -2,6 +2,7 @@ package seedu.duke.command;
 
 import seedu.duke.classes.Expense;
 import seedu.duke.classes.Goal;
+import seedu.duke.classes.Income;
 import seedu.duke.classes.Category;
 import seedu.duke.classes.StateManager;
 import seedu.duke.exception.DukeException;
@@ -165,8 +166,7 @@ public class EditTransactionCommand extends Command {
 
     private void editTransaction(Ui ui) throws DukeException {
         String type = getArg(TYPE_ARG).toLowerCase();
-        int maxSize = getTransactionMaxSize(type);
-        int idx = parseIdx(maxSize) - 1; //-1 due to 0 based indexing for arraylist
+        int idx = parseIdx(type) - 1; //-1 due to 0 based indexing for arraylist
         assert idx >= 0 : "Index should be a valid integer greater than 0";
 
         String transactionDescription = "";
@@ -196,9 +196,12 @@ public class EditTransactionCommand extends Command {
         return maxSize;
     }
 
-    private int parseIdx(int maxSize) throws DukeException {
+    private int parseIdx(String type) throws DukeException {
         int index = Integer.parseInt(getDescription());
-        if (index < 1 || index > maxSize) {
+        if (index > getTransactionMaxSize(type)) {
+            StateManager.getStateManager().ensureAllLoaded();
+        }
+        if (index < 1 || index > getTransactionMaxSize(type)) {
             throw new DukeException(INVALID_IDX);
         }
         return index;
@@ -242,6 +245,8 @@ public class EditTransactionCommand extends Command {
     }
 
     private void editIncome(int idx) {
+        StateManager stateManager = StateManager.getStateManager();
+        Income previous = stateManager.getIncome(idx).copy();
         if (getArgs().containsKey(DESCRIPTION_ARG)) {
             StateManager.getStateManager().getIncome(idx)
                     .getTransaction().setDescription(getArg(DESCRIPTION_ARG));
@@ -253,9 +258,12 @@ public class EditTransactionCommand extends Command {
         if (getArgs().containsKey(GOAL_ARG)) {
             handleGoalEdit(idx);
         }
+        stateManager.recordIncomeEdit(previous, stateManager.getIncome(idx));
     }
 
     private void editExpense(int idx) {
+        StateManager stateManager = StateManager.getStateManager();
+        Expense previous = stateManager.getExpense(idx).copy();
         if (getArgs().containsKey(DESCRIPTION_ARG)) {
             StateManager.getStateManager().getExpense(idx)
                     .getTransaction().setDescription(getArg(DESCRIPTION_ARG));
@@ -267,6 +275,7 @@ public class EditTransactionCommand extends Command {
         if (getArgs().containsKey(CATEGORY_ARG)) {
             handleCategoryEdit(idx);
         }
+        stateManager.recordExpenseEdit(previous, stateManager.getExpense(idx));
     }
 
 }
@@ -6,9 +6,16 @@ import seedu.duke.classes.Income;
 import seedu.duke.classes.StateManager;
 import seedu.duke.csv.CsvWriter;
 import seedu.duke.exception.DukeException;
+import seedu.duke.json.NdjsonWriter;
+import seedu.duke.parser.Parser;
 import seedu.duke.ui.Ui;
 
-import java.util.ArrayList;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.HashMap;
 
 import static seedu.duke.storage.Storage.exportStorageFileName;
@@ -18,9 +25,35 @@ public class ExportCommand extends Command {
         IN, OUT, ALL, ERROR
     }
 
+    enum ExportFormat {
+        CSV, COLUMNAR, NDJSON
+    }
+
     private static final String SUCESSFUL_MSG = "Transaction Data extracted";
     private static final String TYPE_ARG = "type";
+    private static final String FROM_ARG = "from";
+    private static final String TO_ARG = "to";
+    private static final String GOAL_ARG = "goal";
+    private static final String CATEGORY_ARG = "category";
+    private static final String FORMAT_ARG = "format";
+    private static final String ARCHIVED_ARG = "archived";
+    private static final String CSV_FORMAT = "csv";
+    private static final String COLUMNAR_FORMAT = "columnar";
+    private static final String NDJSON_FORMAT = "ndjson";
+    private static final String CSV_EXTENSION = ".csv";
+    private static final String COLUMNS_SUFFIX = "-columns";
+    private static final String NDJSON_EXTENSION = ".ndjson";
     private static final String WRONG_TYPE_MSG = "Wrong type entered. Please enter /type in, /type out or blank";
+    private static final String WRONG_FORMAT_MSG = "Wrong format entered. Please enter /format csv, " +
+            "/format columnar, /format ndjson or blank";
+    private static final String BAD_DATE = "Invalid date specified...";
+    private static final String BAD_DATE_RANGE = "The /from date cannot be after the /to date";
+    private static final String INVALID_GOAL = "You have entered /goal, but you have entered an invalid goal";
+    private static final String INVALID_CATEGORY = "You have entered /category, but you have entered an " +
+            "invalid category";
+    private static final String GOAL_AND_CATEGORY = "You can't use both /goal and /category";
+    private static final String CATEGORY_WITH_IN = "'export /type in' should be used with /goal, not /category";
+    private static final String GOAL_WITH_OUT = "'export /type out' should be used with /category, not /goal";
     private static final String[] HEADERS = {"Type", "Description", "Date", "Amount", "Goal", "Category", "Recurrence"};
     private static final int TYPE = 0;
     private static final int DESCRIPTION = 1;
@@ -31,18 +64,29 @@ public class ExportCommand extends Command {
     private static final int RECURRENCE = 6;
     private static final String EMPTY_DATA = null;
     private static final int DATA_LENGTH = 7;
-    private static final String INCOME_STRING = "Income";
-    private static final String EXPENSE_STRING = "Expense";
-    private ArrayList<Income> incomeArray;
-    private ArrayList<Expense> expenseArray;
+    private static final int BUFFER_SIZE = 1024 * 1024;
+    static final String INCOME_STRING = "Income";
+    static final String EXPENSE_STRING = "Expense";
+    static final String TYPE_FIELD = "type";
+    static final String DESCRIPTION_FIELD = "description";
+    static final String DATE_FIELD = "date";
+    static final String AMOUNT_FIELD = "amount";
+    static final String GOAL_FIELD = "goal";
+    static final String CATEGORY_FIELD = "category";
+    static final String RECURRENCE_FIELD = "recurrence";
+    static final String HAS_GENERATED_FIELD = "hasGeneratedNextRecurrence";
+    private final String[] row = new String[DATA_LENGTH];
+    private LocalDate from;
+    private LocalDate to;
+    private String goal;
+    private String category;
     private CsvWriter csvFile;
+    private ColumnarExport columnarExport;
+    private NdjsonWriter ndjsonFile;
     private Ui ui;
 
-    public ExportCommand(String description, HashMap<String, String> args) throws DukeException {
+    public ExportCommand(String description, HashMap<String, String> args) {
         super(description, args);
-        this.incomeArray = StateManager.getStateManager().getAllIncomes();
-        this.expenseArray = StateManager.getStateManager().getAllExpenses();
-        this.csvFile = new CsvWriter(exportStorageFileName);
     }
 
     /**
@@ -71,41 +115,129 @@ public class ExportCommand extends Command {
     }
 
     /**
-     * Exports all Income Transactions and writes to the CSV File.
+     * Writes a transaction as a record of the JSON File.
+     *
+     * @param type Type of the transaction.
+     * @param transaction Transaction to be written.
+     * @param classificationField Name of the goal or category field.
+     * @param classification Name of the goal or category.
+     * @throws DukeException if the record cannot be written.
+     */
+    private void writeRecord(String type, Transaction transaction, String classificationField,
+                             String classification) throws DukeException {
+        ndjsonFile.startRecord();
+        ndjsonFile.writeString(TYPE_FIELD, type);
+        ndjsonFile.writeString(DESCRIPTION_FIELD, transaction.getDescription());
+        ndjsonFile.writeString(DATE_FIELD, transaction.getDate().toString());
+        ndjsonFile.writeNumber(AMOUNT_FIELD, ui.formatAmount(transaction.getAmount()));
+        ndjsonFile.writeString(classificationField, classification);
+        ndjsonFile.writeString(RECURRENCE_FIELD, transaction.getRecurrence().toString());
+        ndjsonFile.writeBoolean(HAS_GENERATED_FIELD, transaction.getHasGeneratedNextRecurrence());
+        ndjsonFile.endRecord();
+    }
+
+    /**
+     * Checks if the transaction is within the /from and /to dates.
+     *
+     * @param transaction Transaction to check.
+     * @return true if the transaction should be exported.
      */
-    public void exportIncomeData() {
-        for (Income i : this.incomeArray) {
-            Transaction currentTransaction = i.getTransaction();
-            String[] row = new String[DATA_LENGTH];
-            row[TYPE] = INCOME_STRING;
-            row[GOAL] = i.getGoal().getDescription();
-            row[CATEGORY] = EMPTY_DATA;
-            this.csvFile.write(extractTransactionData(currentTransaction, row));
+    private boolean isInRange(Transaction transaction) {
+        LocalDate date = transaction.getDate();
+        return (from == null || !date.isBefore(from)) && (to == null || !date.isAfter(to));
+    }
+
+    /**
+     * Exports the Income Transactions that match the filters and writes them to the file of the chosen format.
+     * With /archived, the archived incomes are exported after them.
+     *
+     * @throws DukeException if the archive cannot be read, or the columns or the JSON File cannot be written.
+     */
+    public void exportIncomeData() throws DukeException {
+        row[TYPE] = INCOME_STRING;
+        row[CATEGORY] = EMPTY_DATA;
+        for (Income i : StateManager.getStateManager().getAllIncomes()) {
+            exportIncome(i);
+        }
+        if (getArgs().containsKey(ARCHIVED_ARG)) {
+            LocalDate since = from == null ? LocalDate.MIN : from;
+            for (Income i : StateManager.getStateManager().getArchivedIncomes(since)) {
+                exportIncome(i);
+            }
         }
     }
 
+    private void exportIncome(Income i) throws DukeException {
+        Transaction currentTransaction = i.getTransaction();
+        String goalDescription = i.getGoal().getDescription();
+        if (!isInRange(currentTransaction) || (goal != null && !goal.equalsIgnoreCase(goalDescription))) {
+            return;
+        }
+        if (columnarExport != null) {
+            columnarExport.write(ColumnarExport.INCOME, currentTransaction, i.getGoal(), goalDescription);
+            return;
+        }
+        if (ndjsonFile != null) {
+            writeRecord(INCOME_STRING, currentTransaction, GOAL_FIELD, goalDescription);
+            return;
+        }
+        row[GOAL] = goalDescription;
+        this.csvFile.write(extractTransactionData(currentTransaction, row));
+    }
+
     /**
-     * Exports all Expense Transactions and writes to the CSV File.
+     * Exports the Expense Transactions that match the filters and writes them to the file of the chosen format.
+     * With /archived, the archived expenses are exported after them.
+     *
+     * @throws DukeException if the archive cannot be read, or the columns or the JSON File cannot be written.
      */
-    public void exportExpenseData() {
-        for (Expense e : this.expenseArray) {
-            Transaction currentTransaction = e.getTransaction();
-            String[] row = new String[DATA_LENGTH];
-            row[TYPE] = EXPENSE_STRING;
-            row[GOAL] = EMPTY_DATA;
-            row[CATEGORY] = e.getCategory().getName();
-            this.csvFile.write(extractTransactionData(currentTransaction, row));
+    public void exportExpenseData() throws DukeException {
+        row[TYPE] = EXPENSE_STRING;
+        row[GOAL] = EMPTY_DATA;
+        for (Expense e : StateManager.getStateManager().getAllExpenses()) {
+            exportExpense(e);
         }
+        if (getArgs().containsKey(ARCHIVED_ARG)) {
+            LocalDate since = from == null ? LocalDate.MIN : from;
+            for (Expense e : StateManager.getStateManager().getArchivedExpenses(since)) {
+                exportExpense(e);
+            }
+        }
+    }
+
+    private void exportExpense(Expense e) throws DukeException {
+        Transaction currentTransaction = e.getTransaction();
+        String categoryName = e.getCategory().getName();
+        if (!isInRange(currentTransaction) || (category != null && !category.equalsIgnoreCase(categoryName))) {
+            return;
+        }
+        if (columnarExport != null) {
+            columnarExport.write(ColumnarExport.EXPENSE, currentTransaction, e.getCategory(), categoryName);
+            return;
+        }
+        if (ndjsonFile != null) {
+            writeRecord(EXPENSE_STRING, currentTransaction, CATEGORY_FIELD, categoryName);
+            return;
+        }
+        row[CATEGORY] = categoryName;
+        this.csvFile.write(extractTransactionData(currentTransaction, row));
     }
 
     /**
-     * Check which transaction to be exported.
+     * Check which transaction to be exported. Without /type, a goal filter only exports incomes and a category
+     * filter only exports expenses.
      *
      * @return returns the correct transaction type to be exported.
      */
     public TransactionType checkType() {
         String type = getArg(TYPE_ARG);
         if (type == null) {
+            if (getArg(GOAL_ARG) != null && getArg(CATEGORY_ARG) == null) {
+                return TransactionType.IN;
+            }
+            if (getArg(CATEGORY_ARG) != null && getArg(GOAL_ARG) == null) {
+                return TransactionType.OUT;
+            }
             return TransactionType.ALL;
         }
         if (type.equalsIgnoreCase("in")) {
@@ -118,11 +250,140 @@ public class ExportCommand extends Command {
     }
 
     /**
-     * Export the right data to the CSV File
+     * Checks which format the transactions should be exported in.
+     *
+     * @return the format to export in, which is CSV by default.
+     * @throws DukeException if the format is not csv, columnar or ndjson.
+     */
+    private ExportFormat getFormat() throws DukeException {
+        String format = getArg(FORMAT_ARG);
+        if (format == null || format.equalsIgnoreCase(CSV_FORMAT)) {
+            return ExportFormat.CSV;
+        }
+        if (format.equalsIgnoreCase(COLUMNAR_FORMAT)) {
+            return ExportFormat.COLUMNAR;
+        }
+        if (format.equalsIgnoreCase(NDJSON_FORMAT)) {
+            return ExportFormat.NDJSON;
+        }
+        throw new DukeException(WRONG_FORMAT_MSG);
+    }
+
+    /**
+     * Returns a file named after the export CSV File, with its extension replaced.
+     *
+     * @param suffix Text to replace the extension with.
+     * @return the file.
+     */
+    private static File getExportFile(String suffix) {
+        String name = exportStorageFileName;
+        if (name.endsWith(CSV_EXTENSION)) {
+            name = name.substring(0, name.length() - CSV_EXTENSION.length());
+        }
+        return new File(name + suffix);
+    }
+
+    /**
+     * Returns the directory of the columnar export, which is named after the export CSV File.
+     *
+     * @return the directory of the columns.
+     */
+    static File getColumnDirectory() {
+        return getExportFile(COLUMNS_SUFFIX);
+    }
+
+    /**
+     * Returns the JSON File of the ndjson export, which is named after the export CSV File.
+     *
+     * @return the JSON File.
+     */
+    static File getNdjsonFile() {
+        return getExportFile(NDJSON_EXTENSION);
+    }
+
+    /**
+     * Validates the date range and the goal or category to export.
+     *
+     * @param type The type of transaction to be exported.
+     * @throws DukeException if any of the filters is invalid.
+     */
+    private void throwIfInvalidFilters(TransactionType type) throws DukeException {
+        from = parseDateArg(FROM_ARG);
+        to = parseDateArg(TO_ARG);
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new DukeException(BAD_DATE_RANGE);
+        }
+
+        goal = getArg(GOAL_ARG);
+        category = getArg(CATEGORY_ARG);
+        if (goal != null && category != null) {
+            throw new DukeException(GOAL_AND_CATEGORY);
+        }
+        if (type == TransactionType.IN && category != null) {
+            throw new DukeException(CATEGORY_WITH_IN);
+        }
+        if (type == TransactionType.OUT && goal != null) {
+            throw new DukeException(GOAL_WITH_OUT);
+        }
+
+        StateManager state = StateManager.getStateManager();
+        if (goal != null && (goal.isBlank()
+                || !goal.equalsIgnoreCase(StateManager.UNCATEGORISED_CLASS) && state.getGoalIndex(goal) == -1)) {
+            throw new DukeException(INVALID_GOAL);
+        }
+        if (category != null && (category.isBlank() || !category.equalsIgnoreCase(StateManager.UNCATEGORISED_CLASS)
+                && state.getCategoryIndex(category) == -1)) {
+            throw new DukeException(INVALID_CATEGORY);
+        }
+    }
+
+    private LocalDate parseDateArg(String arg) throws DukeException {
+        String value = getArg(arg);
+        if (value == null) {
+            return null;
+        }
+        LocalDate date = Parser.parseDate(value);
+        if (date == null) {
+            throw new DukeException(BAD_DATE);
+        }
+        return date;
+    }
+
+    /**
+     * Opens the export file through a large buffer, truncating any previous export.
+     *
+     * @throws DukeException if the file cannot be created.
+     */
+    private void openFile() throws DukeException {
+        try {
+            csvFile = new CsvWriter(new BufferedWriter(new FileWriter(exportStorageFileName), BUFFER_SIZE));
+        } catch (IOException e) {
+            throw new DukeException("Cannot create file");
+        }
+    }
+
+    /**
+     * Opens the JSON File through a large buffer, truncating any previous export.
+     *
+     * @param file The JSON File.
+     * @throws DukeException if the file cannot be created.
+     */
+    private void openNdjsonFile(File file) throws DukeException {
+        try {
+            ndjsonFile = new NdjsonWriter(new BufferedWriter(new FileWriter(file, StandardCharsets.UTF_8),
+                    BUFFER_SIZE));
+        } catch (IOException e) {
+            throw new DukeException("Cannot create file");
+        }
+    }
+
+    /**
+     * Export the right data to the file of the chosen format
      *
      * @param type The type of transaction to be export.
+     * @throws DukeException if the columns or the JSON File cannot be written.
      */
-    void exportData(TransactionType type) {
+    void exportData(TransactionType type) throws DukeException {
         switch (type) {
         case IN:
             exportIncomeData();
@@ -137,10 +398,12 @@ public class ExportCommand extends Command {
     }
 
     /**
-     * Executes the command.
+     * Executes the command. The export file is only opened once the arguments are valid, so an invalid command
+     * leaves the previous export untouched.
      *
      * @param ui Ui class that is used to print in table format.
-     * @throws DukeException If the file cannot be created during the exporting process.
+     * @throws DukeException If the arguments are invalid or the file cannot be created during the exporting
+     *     process.
      */
     @Override
     public void execute(Ui ui) throws DukeException {
@@ -150,9 +413,44 @@ public class ExportCommand extends Command {
             ui.print(WRONG_TYPE_MSG);
             return;
         }
-        writeHeader();
-        exportData(transactionType);
+        ExportFormat format = getFormat();
+        throwIfInvalidFilters(transactionType);
+        if (from == null) {
+            StateManager.getStateManager().ensureAllLoaded();
+        } else {
+            StateManager.getStateManager().ensureLoadedSince(from);
+        }
+        if (format == ExportFormat.COLUMNAR) {
+            File directory = getColumnDirectory();
+            columnarExport = new ColumnarExport(directory);
+            try {
+                exportData(transactionType);
+            } finally {
+                columnarExport.close();
+            }
+            ui.print(SUCESSFUL_MSG + " into " + directory.getPath());
+            return;
+        }
+        if (format == ExportFormat.NDJSON) {
+            File file = getNdjsonFile();
+            openNdjsonFile(file);
+            try {
+                exportData(transactionType);
+                ndjsonFile.flush();
+            } finally {
+                ndjsonFile.close();
+            }
+            ui.print(SUCESSFUL_MSG + " into " + file.getPath());
+            return;
+        }
+        openFile();
+        try {
+            writeHeader();
+            exportData(transactionType);
+            csvFile.flush();
+        } finally {
+            csvFile.close();
+        }
         ui.print(SUCESSFUL_MSG);
-        csvFile.close();
     }
 }
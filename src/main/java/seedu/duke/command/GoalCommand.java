@@ -90,6 +90,7 @@ public class GoalCommand extends ClassificationCommand {
         Goal goalToRemove = state.getGoal(index);
         boolean removedGoal = false;
         if (index != -1) {
+            state.ensureAllLoaded();
             state.unassignGoalTransactions(goalToRemove);
             removedGoal = state.removeGoal(goalToRemove);
         }
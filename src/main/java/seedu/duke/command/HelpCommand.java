@@ -41,9 +41,10 @@ public class HelpCommand extends Command {
     private static final String LIST_COMMAND = "list";
     private static final String LIST_DESCRIPTION = "Shows a list of all added transactions based on type";
     private static final String LIST_COMMAND_USAGE_TRANSACTION = " /type (in | out) [/goal GOAL] [/category CATEGORY]" +
-                                                                 " [/week] [/month]";
+                                                                 " [/week] [/month] [/archived]";
     private static final String LIST_COMMAND_USAGE_GOALCAT = " (goal | category)";
-    private static final String[] LIST_COMMAND_FLAGS = {"/type", "/goal", "/category", "/week", "/month"};
+    private static final String[] LIST_COMMAND_FLAGS = {"/type", "/goal", "/category", "/week", "/month",
+                                                        "/archived"};
     private static final String[] LIST_COMMAND_FLAGS_DESCRIPTION = {"To set whether to display \"in\" or" +
                                                                     " \"out\" transactions",
                                                                     "The goal which it is classified under",
@@ -52,14 +53,43 @@ public class HelpCommand extends Command {
                                                                     "To filter the transactions to those in the " +
                                                                     "current week",
                                                                     "To filter the transactions to those in the " +
-                                                                    "current month"};
+                                                                    "current month",
+                                                                    "To also list the archived transactions"};
     private static final String EXPORT_COMMAND = "export";
     private static final String EXPORT_DESCRIPTION = "Exports the transactions stored into a CSV File. " +
                                                      "By Default, it will export ALL transactions";
-    private static final String EXPORT_COMMAND_USAGE = " [/type (in | out)]";
-    private static final String[] EXPORT_COMMAND_FLAGS = {"/type"};
+    private static final String EXPORT_COMMAND_USAGE = " [/type (in | out)] [/from DATE in DDMMYYYY] " +
+                                                       "[/to DATE in DDMMYYYY] [/goal GOAL] [/category CATEGORY] " +
+                                                       "[/format (csv | columnar | ndjson)] [/archived]";
+    private static final String[] EXPORT_COMMAND_FLAGS = {"/type", "/from", "/to", "/goal", "/category", "/format",
+                                                          "/archived"};
     private static final String[] EXPORT_COMMAND_FLAGS_DESCRIPTION = {"To set whether to extract all" +
-                                                                      " \"in\" or \"out\" transactions"};
+                                                                      " \"in\" or \"out\" transactions",
+                                                                      "Earliest date of the transactions",
+                                                                      "Latest date of the transactions",
+                                                                      "To only extract incomes towards this goal",
+                                                                      "To only extract expenses of this category",
+                                                                      "To extract into a CSV File, into one " +
+                                                                      "file per column or into a JSON File",
+                                                                      "To also extract the archived transactions"};
+    private static final String IMPORT_COMMAND = "import";
+    private static final String IMPORT_DESCRIPTION = "Imports the transactions of a CSV File, such as a bank statement";
+    private static final String IMPORT_COMMAND_USAGE = " FILE /type (in | out) [/description COLUMN] " +
+                                                       "[/amount COLUMN] [/date COLUMN] [/goal COLUMN] " +
+                                                       "[/category COLUMN] [/dateformat FORMAT]";
+    private static final String IMPORT_NDJSON_USAGE = " FILE /format ndjson [/type (in | out)]";
+    private static final String[] IMPORT_COMMAND_FLAGS = {"/type", "/description", "/amount", "/date", "/goal",
+                                                          "/category", "/dateformat", "/format"};
+    private static final String[] IMPORT_COMMAND_FLAGS_DESCRIPTION = {"To set whether to import \"in\" or " +
+                                                                      "\"out\" transactions",
+                                                                      "Column of the description",
+                                                                      "Column of the amount",
+                                                                      "Column of the date",
+                                                                      "Column of the goal of in transactions",
+                                                                      "Column of the category of out transactions",
+                                                                      "Format of the dates, such as dd/MM/yyyy",
+                                                                      "To import a CSV File or a JSON File " +
+                                                                      "from 'export /format ndjson'"};
     private static final String GOAL_COMMAND = "goal";
     private static final String GOAL_DESCRIPTION = "Add or remove goals";
     private static final String GOAL_ADD_USAGE = " /add NAME /amount AMOUNT";
@@ -86,6 +116,29 @@ public class HelpCommand extends Command {
                                                                     "New amount to be specified",
                                                                     "New goal to be specified",
                                                                     "New category to be specified"};
+    private static final String LEDGER_COMMAND = "ledger";
+    private static final String LEDGER_DESCRIPTION = "Switches to another ledger, or shows the ledger in use";
+    private static final String LEDGER_COMMAND_USAGE = " [/use NAME]";
+    private static final String[] LEDGER_COMMAND_FLAGS = {"/use"};
+    private static final String[] LEDGER_COMMAND_FLAGS_DESCRIPTION = {"Name of the ledger to switch to, which is " +
+                                                                      "created if it does not exist"};
+    private static final String ARCHIVE_COMMAND = "archive";
+    private static final String ARCHIVE_DESCRIPTION = "Moves older transactions into a compressed archive";
+    private static final String ARCHIVE_COMMAND_USAGE = " /before DATE in DDMMYYYY";
+    private static final String[] ARCHIVE_COMMAND_FLAGS = {"/before"};
+    private static final String[] ARCHIVE_COMMAND_FLAGS_DESCRIPTION = {"Transactions dated before this date are " +
+                                                                       "archived"};
+    private static final String BACKUP_COMMAND = "backup";
+    private static final String BACKUP_DESCRIPTION = "Backs up the ledger in use, or lists its backups";
+    private static final String BACKUP_COMMAND_USAGE = " [/list]";
+    private static final String[] BACKUP_COMMAND_FLAGS = {"/list"};
+    private static final String[] BACKUP_COMMAND_FLAGS_DESCRIPTION = {"To list the times of the backups instead"};
+    private static final String RESTORE_COMMAND = "restore";
+    private static final String RESTORE_DESCRIPTION = "Restores the ledger in use from an earlier backup";
+    private static final String RESTORE_COMMAND_USAGE = " /at DATE in DDMMYYYY [TIME in HHMM]";
+    private static final String[] RESTORE_COMMAND_FLAGS = {"/at"};
+    private static final String[] RESTORE_COMMAND_FLAGS_DESCRIPTION = {"The latest backup made at or before this " +
+                                                                       "date, or time of the date, is restored"};
     private static final String SUMMARY_COMMAND = "summary";
     private static final String SUMMARY_DESCRIPTION = "Shows the summarised total of transactions";
     private static final String SUMMARY_COMMAND_USAGE = " /type (in | out) [/day] [/week] [/month]";
@@ -147,8 +200,13 @@ public class HelpCommand extends Command {
         this.helpList.add(printCommandDescription(CATEGORY_COMMAND, CATEGORY_DESCRIPTION));
         this.helpList.add(printCommandDescription(GOAL_COMMAND, GOAL_DESCRIPTION));
         this.helpList.add(printCommandDescription(EXPORT_COMMAND, EXPORT_DESCRIPTION));
+        this.helpList.add(printCommandDescription(IMPORT_COMMAND, IMPORT_DESCRIPTION));
         this.helpList.add(printCommandDescription(EDIT_COMMAND, EDIT_DESCRIPTION));
         this.helpList.add(printCommandDescription(SUMMARY_COMMAND, SUMMARY_DESCRIPTION));
+        this.helpList.add(printCommandDescription(LEDGER_COMMAND, LEDGER_DESCRIPTION));
+        this.helpList.add(printCommandDescription(ARCHIVE_COMMAND, ARCHIVE_DESCRIPTION));
+        this.helpList.add(printCommandDescription(BACKUP_COMMAND, BACKUP_DESCRIPTION));
+        this.helpList.add(printCommandDescription(RESTORE_COMMAND, RESTORE_DESCRIPTION));
         this.helpList.add(printCommandDescription(BYE_COMMAND, BYE_DESCRIPTION));
         assert this.helpList != null;
     }
@@ -224,6 +282,60 @@ public class HelpCommand extends Command {
         return USAGE_PREFIX + EXPORT_COMMAND + EXPORT_COMMAND_USAGE;
     }
 
+    /**
+     * Crafts the import usage string.
+     *
+     * @return import usage string.
+     */
+    public String importUsage() {
+        return USAGE_PREFIX + IMPORT_COMMAND + IMPORT_COMMAND_USAGE;
+    }
+
+    /**
+     * Crafts the import ndjson string.
+     *
+     * @return import ndjson usage string.
+     */
+    public String importNdjsonUsage() {
+        return USAGE_PREFIX + IMPORT_COMMAND + IMPORT_NDJSON_USAGE;
+    }
+
+    /**
+     * Crafts the ledger usage string.
+     *
+     * @return ledger usage string.
+     */
+    public String ledgerUsage() {
+        return USAGE_PREFIX + LEDGER_COMMAND + LEDGER_COMMAND_USAGE;
+    }
+
+    /**
+     * Crafts the archive usage string.
+     *
+     * @return archive usage string.
+     */
+    public String archiveUsage() {
+        return USAGE_PREFIX + ARCHIVE_COMMAND + ARCHIVE_COMMAND_USAGE;
+    }
+
+    /**
+     * Crafts the backup usage string.
+     *
+     * @return backup usage string.
+     */
+    public String backupUsage() {
+        return USAGE_PREFIX + BACKUP_COMMAND + BACKUP_COMMAND_USAGE;
+    }
+
+    /**
+     * Crafts the restore usage string.
+     *
+     * @return restore usage string.
+     */
+    public String restoreUsage() {
+        return USAGE_PREFIX + RESTORE_COMMAND + RESTORE_COMMAND_USAGE;
+    }
+
     /**
      * Crafts the category add string.
      *
@@ -330,6 +442,27 @@ public class HelpCommand extends Command {
             ui.print(exportUsage());
             convertIntoList(EXPORT_COMMAND_FLAGS, EXPORT_COMMAND_FLAGS_DESCRIPTION);
             break;
+        case "import":
+            ui.print(importUsage());
+            ui.print(importNdjsonUsage());
+            convertIntoList(IMPORT_COMMAND_FLAGS, IMPORT_COMMAND_FLAGS_DESCRIPTION);
+            break;
+        case "ledger":
+            ui.print(ledgerUsage());
+            convertIntoList(LEDGER_COMMAND_FLAGS, LEDGER_COMMAND_FLAGS_DESCRIPTION);
+            break;
+        case "archive":
+            ui.print(archiveUsage());
+            convertIntoList(ARCHIVE_COMMAND_FLAGS, ARCHIVE_COMMAND_FLAGS_DESCRIPTION);
+            break;
+        case "backup":
+            ui.print(backupUsage());
+            convertIntoList(BACKUP_COMMAND_FLAGS, BACKUP_COMMAND_FLAGS_DESCRIPTION);
+            break;
+        case "restore":
+            ui.print(restoreUsage());
+            convertIntoList(RESTORE_COMMAND_FLAGS, RESTORE_COMMAND_FLAGS_DESCRIPTION);
+            break;
         case "goal":
             ui.print(goalAddUsage());
             ui.print(goalRemoveUsage());
@@ -0,0 +1,490 @@
+package seedu.duke.command;
+
+import seedu.duke.classes.Expense;
+import seedu.duke.classes.Income;
+import seedu.duke.classes.StateManager;
+import seedu.duke.classes.Transaction;
+import seedu.duke.classes.TransactionRecurrence;
+import seedu.duke.csv.CsvReader;
+import seedu.duke.exception.DukeException;
+import seedu.duke.json.NdjsonReader;
+import seedu.duke.parser.Parser;
+import seedu.duke.ui.Ui;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+
+/**
+ * Imports the transactions of an external CSV File, such as a bank statement. The file is read row by row, and
+ * each row is validated with the same rules as the in and out commands. Valid rows are appended to the
+ * StateManager, which is sorted once at the end, so the whole import is saved once like any other command.
+ *
+ * <p>A row with the same description, date and amount as a transaction that is already tracked, including one
+ * that has been archived, is taken to be a duplicate, so importing the same statement again adds nothing. Each
+ * tracked transaction only matches one row, so identical rows within a statement are all imported the first time.
+ *
+ * <p>With /format ndjson, the file is instead read as newline-delimited JSON in the layout written by
+ * {@code export /format ndjson}, so each record holds its own type, goal or category, recurrence and whether its
+ * next recurrence has been generated. The records are streamed one at a time, so the file is never held in
+ * memory.
+ */
+public class ImportCommand extends Command {
+    private static final String TYPE_ARG = "type";
+    private static final String DESCRIPTION_ARG = "description";
+    private static final String AMOUNT_ARG = "amount";
+    private static final String DATE_ARG = "date";
+    private static final String GOAL_ARG = "goal";
+    private static final String CATEGORY_ARG = "category";
+    private static final String DATE_FORMAT_ARG = "dateformat";
+    private static final String FORMAT_ARG = "format";
+    private static final String CSV_FORMAT = "csv";
+    private static final String NDJSON_FORMAT = "ndjson";
+    private static final String[] CSV_ONLY_ARGS = {DESCRIPTION_ARG, AMOUNT_ARG, DATE_ARG, GOAL_ARG, CATEGORY_ARG,
+        DATE_FORMAT_ARG};
+    private static final String[] NDJSON_FIELDS = {ExportCommand.TYPE_FIELD, ExportCommand.DESCRIPTION_FIELD,
+        ExportCommand.DATE_FIELD, ExportCommand.AMOUNT_FIELD, ExportCommand.GOAL_FIELD, ExportCommand.CATEGORY_FIELD,
+        ExportCommand.RECURRENCE_FIELD, ExportCommand.HAS_GENERATED_FIELD};
+    private static final int TYPE_FIELD = 0;
+    private static final int DESCRIPTION_FIELD = 1;
+    private static final int DATE_FIELD = 2;
+    private static final int AMOUNT_FIELD = 3;
+    private static final int GOAL_FIELD = 4;
+    private static final int CATEGORY_FIELD = 5;
+    private static final int RECURRENCE_FIELD = 6;
+    private static final int HAS_GENERATED_FIELD = 7;
+    private static final String TYPE_IN = "in";
+    private static final String TYPE_OUT = "out";
+    private static final String DEFAULT_DESCRIPTION_COLUMN = "Description";
+    private static final String DEFAULT_AMOUNT_COLUMN = "Amount";
+    private static final String DEFAULT_DATE_COLUMN = "Date";
+    private static final int NO_COLUMN = -1;
+    private static final char KEY_SEPARATOR = '\0';
+
+    private static final String MISSING_FILE = "Please specify the CSV file to import.";
+    private static final String MISSING_TYPE = "Please indicate the transaction type.";
+    private static final String INVALID_TYPE = "Please indicate either /type in or /type out.";
+    private static final String GOAL_WITH_OUT = "/goal can only be used with /type in.";
+    private static final String CATEGORY_WITH_IN = "/category can only be used with /type out.";
+    private static final String BAD_DATE_FORMAT = "Invalid date format specified...";
+    private static final String BAD_DATE = "Invalid date specified...";
+    private static final String EMPTY_FILE = "The file to import is empty.";
+    private static final String INVALID_FORMAT = "Please indicate either /format csv or /format ndjson.";
+    private static final String BAD_TYPE = "Invalid transaction type specified...";
+    private static final String BAD_RECURRENCE = "Invalid recurrence period specified...";
+    private static final String BAD_HAS_GENERATED = "Invalid hasGeneratedNextRecurrence value specified...";
+
+    private boolean isNdjson;
+    private boolean isIncome;
+    private boolean isExpense;
+    private DateTimeFormatter dateFormatter;
+    private int descriptionColumn;
+    private int amountColumn;
+    private int dateColumn;
+    private int classificationColumn;
+    private HashMap<String, Integer> existingIncomes;
+    private HashMap<String, Integer> existingExpenses;
+    private int importedIncomes = 0;
+    private int importedExpenses = 0;
+    private int duplicateCount = 0;
+    private int invalidCount = 0;
+
+    public ImportCommand(String description, HashMap<String, String> args) {
+        super(description, args);
+    }
+
+    /**
+     * Executes the command.
+     *
+     * @param ui Ui class that is used to print the rows that were skipped and the result of the import.
+     * @throws DukeException if the arguments are invalid or the file cannot be read.
+     */
+    @Override
+    public void execute(Ui ui) throws DukeException {
+        throwIfInvalidDescOrArgs();
+        String filePath = getDescription();
+        if (!new File(filePath).isFile()) {
+            throw new DukeException("Cannot read file " + filePath);
+        }
+
+        StateManager state = StateManager.getStateManager();
+        state.ensureAllLoaded();
+        existingIncomes = isIncome ? countExistingIncomes(state) : null;
+        existingExpenses = isExpense ? countExistingExpenses(state) : null;
+        try {
+            if (isNdjson) {
+                importRecords(filePath, state, ui);
+            } else {
+                importRows(filePath, state, ui);
+            }
+        } finally {
+            if (isIncome) {
+                state.sortIncomes();
+            }
+            if (isExpense) {
+                state.sortExpenses();
+            }
+        }
+        ui.print("Imported " + getImportedCounts() + " from " + filePath + ". Skipped " + duplicateCount
+                + " duplicate(s) and " + invalidCount + " invalid row(s).");
+    }
+
+    private String getImportedCounts() {
+        if (!isExpense) {
+            return importedIncomes + " income(s)";
+        }
+        if (!isIncome) {
+            return importedExpenses + " expense(s)";
+        }
+        return importedIncomes + " income(s) and " + importedExpenses + " expense(s)";
+    }
+
+    /**
+     * Imports the rows of a CSV File through the column mapping.
+     *
+     * @param filePath Path of the CSV File.
+     * @param state State to append the transactions to.
+     * @param ui Ui class that is used to print the rows that were skipped.
+     * @throws DukeException if the file cannot be read or a column cannot be found.
+     */
+    private void importRows(String filePath, StateManager state, Ui ui) throws DukeException {
+        CsvReader csvFile = new CsvReader(filePath, 0);
+        try {
+            mapColumns(csvFile.readLine());
+            String[] row;
+            int rowNumber = 1;
+            while ((row = csvFile.readLine()) != null) {
+                rowNumber++;
+                try {
+                    importRow(row, state);
+                } catch (DukeException e) {
+                    invalidCount++;
+                    ui.print("Row " + rowNumber + ": " + e.getMessage());
+                }
+            }
+        } finally {
+            csvFile.close();
+        }
+    }
+
+    /**
+     * Imports the records of a newline-delimited JSON File one at a time.
+     *
+     * @param filePath Path of the JSON File.
+     * @param state State to append the transactions to.
+     * @param ui Ui class that is used to print the records that were skipped.
+     * @throws DukeException if the file cannot be read.
+     */
+    private void importRecords(String filePath, StateManager state, Ui ui) throws DukeException {
+        NdjsonReader jsonFile = new NdjsonReader(filePath, NDJSON_FIELDS);
+        try {
+            while (jsonFile.nextRecord()) {
+                try {
+                    importRecord(jsonFile.getValues(), state);
+                } catch (DukeException e) {
+                    invalidCount++;
+                    ui.print("Line " + jsonFile.getLineNumber() + ": " + e.getMessage());
+                }
+            }
+        } finally {
+            jsonFile.close();
+        }
+    }
+
+    private void throwIfInvalidDescOrArgs() throws DukeException {
+        assert getDescription() != null;
+        assert getArgs() != null;
+
+        if (getDescription().isBlank()) {
+            throw new DukeException(MISSING_FILE);
+        }
+
+        String format = getArg(FORMAT_ARG);
+        if (format != null && !format.equalsIgnoreCase(CSV_FORMAT) && !format.equalsIgnoreCase(NDJSON_FORMAT)) {
+            throw new DukeException(INVALID_FORMAT);
+        }
+        isNdjson = format != null && format.equalsIgnoreCase(NDJSON_FORMAT);
+        if (isNdjson) {
+            throwIfInvalidNdjsonArgs();
+            return;
+        }
+
+        String typeArg = getArg(TYPE_ARG);
+        if (typeArg == null) {
+            throw new DukeException(MISSING_TYPE);
+        }
+        if (!(typeArg.equalsIgnoreCase(TYPE_IN) || typeArg.equalsIgnoreCase(TYPE_OUT))) {
+            throw new DukeException(INVALID_TYPE);
+        }
+        isIncome = typeArg.equalsIgnoreCase(TYPE_IN);
+        isExpense = !isIncome;
+        if (!isIncome && getArg(GOAL_ARG) != null) {
+            throw new DukeException(GOAL_WITH_OUT);
+        }
+        if (isIncome && getArg(CATEGORY_ARG) != null) {
+            throw new DukeException(CATEGORY_WITH_IN);
+        }
+
+        String dateFormat = getArg(DATE_FORMAT_ARG);
+        if (dateFormat != null) {
+            try {
+                dateFormatter = DateTimeFormatter.ofPattern(dateFormat);
+            } catch (IllegalArgumentException e) {
+                throw new DukeException(BAD_DATE_FORMAT);
+            }
+        }
+    }
+
+    /**
+     * Validates the arguments of a JSON import, where /type only selects which records to import and the
+     * columns are named by the fields of each record.
+     *
+     * @throws DukeException if /type is invalid or a CSV column is given.
+     */
+    private void throwIfInvalidNdjsonArgs() throws DukeException {
+        String typeArg = getArg(TYPE_ARG);
+        if (typeArg != null && !(typeArg.equalsIgnoreCase(TYPE_IN) || typeArg.equalsIgnoreCase(TYPE_OUT))) {
+            throw new DukeException(INVALID_TYPE);
+        }
+        isIncome = typeArg == null || typeArg.equalsIgnoreCase(TYPE_IN);
+        isExpense = typeArg == null || typeArg.equalsIgnoreCase(TYPE_OUT);
+        for (String arg : CSV_ONLY_ARGS) {
+            if (getArg(arg) != null) {
+                throw new DukeException("/" + arg + " can only be used with /format csv.");
+            }
+        }
+    }
+
+    /**
+     * Counts the tracked incomes, including the archived ones, by their description, date and amount.
+     *
+     * @param state State holding the tracked transactions.
+     * @return the number of tracked incomes with each key.
+     * @throws DukeException if the archive cannot be read.
+     */
+    private HashMap<String, Integer> countExistingIncomes(StateManager state) throws DukeException {
+        HashMap<String, Integer> counts = new HashMap<>();
+        for (Income income : state.getAllIncomes()) {
+            counts.merge(getKey(income.getTransaction()), 1, Integer::sum);
+        }
+        for (Income income : state.getArchivedIncomes(LocalDate.MIN)) {
+            counts.merge(getKey(income.getTransaction()), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * Counts the tracked expenses, including the archived ones, by their description, date and amount.
+     *
+     * @param state State holding the tracked transactions.
+     * @return the number of tracked expenses with each key.
+     * @throws DukeException if the archive cannot be read.
+     */
+    private HashMap<String, Integer> countExistingExpenses(StateManager state) throws DukeException {
+        HashMap<String, Integer> counts = new HashMap<>();
+        for (Expense expense : state.getAllExpenses()) {
+            counts.merge(getKey(expense.getTransaction()), 1, Integer::sum);
+        }
+        for (Expense expense : state.getArchivedExpenses(LocalDate.MIN)) {
+            counts.merge(getKey(expense.getTransaction()), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    private String getKey(Transaction transaction) {
+        return transaction.getDescription() + KEY_SEPARATOR + transaction.getDate() + KEY_SEPARATOR
+                + transaction.getAmount();
+    }
+
+    /**
+     * Finds the columns to import from the header of the file.
+     *
+     * @param header Names of the columns.
+     * @throws DukeException if the file is empty or a column cannot be found.
+     */
+    private void mapColumns(String[] header) throws DukeException {
+        if (header == null) {
+            throw new DukeException(EMPTY_FILE);
+        }
+        descriptionColumn = findColumn(header, getColumnName(DESCRIPTION_ARG, DEFAULT_DESCRIPTION_COLUMN));
+        amountColumn = findColumn(header, getColumnName(AMOUNT_ARG, DEFAULT_AMOUNT_COLUMN));
+        dateColumn = findColumn(header, getColumnName(DATE_ARG, DEFAULT_DATE_COLUMN));
+        String classificationName = getArg(isIncome ? GOAL_ARG : CATEGORY_ARG);
+        classificationColumn = classificationName == null ? NO_COLUMN : findColumn(header, classificationName);
+    }
+
+    private String getColumnName(String arg, String defaultName) {
+        String name = getArg(arg);
+        return name == null ? defaultName : name;
+    }
+
+    private int findColumn(String[] header, String name) throws DukeException {
+        for (int i = 0; i < header.length; i++) {
+            if (header[i].strip().equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        throw new DukeException("Column '" + name + "' not found in " + getDescription());
+    }
+
+    /**
+     * Validates a row like the in or out command would, and appends it to the state unless it is a duplicate.
+     *
+     * @param row Row of the file.
+     * @param state State to append the transaction to.
+     * @throws DukeException if the row is invalid.
+     */
+    private void importRow(String[] row, StateManager state) throws DukeException {
+        HashMap<String, String> args = new HashMap<>();
+        args.put(AMOUNT_ARG, getCell(row, amountColumn));
+        args.put(DATE_ARG, convertDate(getCell(row, dateColumn)));
+        String classification = getCell(row, classificationColumn);
+        if (!classification.isBlank()) {
+            args.put(isIncome ? GOAL_ARG : CATEGORY_ARG, classification);
+        }
+        String description = getCell(row, descriptionColumn);
+        importTransaction(isIncome, description, args, TransactionRecurrence.NONE, false, state);
+    }
+
+    /**
+     * Validates a JSON record like the in or out command would, and appends it to the state unless it is a
+     * duplicate or of a type that is not being imported. The recurrence is restored as it was exported, so a
+     * recurring transaction may be dated further in the past than the in and out commands allow.
+     *
+     * @param values Values of the fields of the record.
+     * @param state State to append the transaction to.
+     * @throws DukeException if the record is invalid.
+     */
+    private void importRecord(String[] values, StateManager state) throws DukeException {
+        String type = values[TYPE_FIELD];
+        boolean isIncomeRecord = ExportCommand.INCOME_STRING.equalsIgnoreCase(type);
+        if (!isIncomeRecord && !ExportCommand.EXPENSE_STRING.equalsIgnoreCase(type)) {
+            throw new DukeException(BAD_TYPE);
+        }
+        if (isIncomeRecord ? !isIncome : !isExpense) {
+            return;
+        }
+
+        HashMap<String, String> args = new HashMap<>();
+        args.put(AMOUNT_ARG, values[AMOUNT_FIELD]);
+        if (values[DATE_FIELD] != null) {
+            args.put(DATE_ARG, convertIsoDate(values[DATE_FIELD]));
+        }
+        String classification = values[isIncomeRecord ? GOAL_FIELD : CATEGORY_FIELD];
+        if (classification != null && !classification.isBlank()) {
+            args.put(isIncomeRecord ? GOAL_ARG : CATEGORY_ARG, classification);
+        }
+        TransactionRecurrence recurrence = TransactionRecurrence.NONE;
+        if (values[RECURRENCE_FIELD] != null) {
+            recurrence = TransactionRecurrence.getRecurrence(values[RECURRENCE_FIELD]);
+            if (recurrence == null) {
+                throw new DukeException(BAD_RECURRENCE);
+            }
+        }
+        String hasGenerated = values[HAS_GENERATED_FIELD];
+        if (hasGenerated != null && !hasGenerated.equals("true") && !hasGenerated.equals("false")) {
+            throw new DukeException(BAD_HAS_GENERATED);
+        }
+        String description = values[DESCRIPTION_FIELD] == null ? "" : values[DESCRIPTION_FIELD].strip();
+        importTransaction(isIncomeRecord, description, args, recurrence, Boolean.parseBoolean(hasGenerated), state);
+    }
+
+    /**
+     * Validates a transaction with the in or out command, and appends it to the state unless it is a duplicate.
+     *
+     * @param isIncomeTransaction Whether the transaction is an income.
+     * @param description Description of the transaction.
+     * @param args Arguments of the in or out command.
+     * @param recurrence Recurrence of the transaction.
+     * @param hasGeneratedNextRecurrence Whether the next recurrence of the transaction has been generated.
+     * @param state State to append the transaction to.
+     * @throws DukeException if the transaction is invalid.
+     */
+    private void importTransaction(boolean isIncomeTransaction, String description, HashMap<String, String> args,
+            TransactionRecurrence recurrence, boolean hasGeneratedNextRecurrence, StateManager state)
+            throws DukeException {
+        if (isIncomeTransaction) {
+            AddIncomeCommand command = new AddIncomeCommand(description, args);
+            Transaction transaction = command.prepareValidTransaction();
+            transaction.setRecurrence(recurrence);
+            transaction.setHasGeneratedNextRecurrence(hasGeneratedNextRecurrence);
+            if (!isDuplicate(transaction, existingIncomes)) {
+                state.addIncome(command.createIncome(transaction));
+                importedIncomes++;
+            }
+        } else {
+            AddExpenseCommand command = new AddExpenseCommand(description, args);
+            Transaction transaction = command.prepareValidTransaction();
+            transaction.setRecurrence(recurrence);
+            transaction.setHasGeneratedNextRecurrence(hasGeneratedNextRecurrence);
+            if (!isDuplicate(transaction, existingExpenses)) {
+                state.addExpense(command.createExpense(transaction));
+                importedExpenses++;
+            }
+        }
+    }
+
+    private String getCell(String[] row, int column) {
+        if (column == NO_COLUMN || column >= row.length) {
+            return "";
+        }
+        return row[column].strip();
+    }
+
+    /**
+     * Converts a date in the format given by /dateformat into the format of the in and out commands.
+     *
+     * @param date Date in the given format.
+     * @return the date in the format of the in and out commands.
+     * @throws DukeException if the date does not match the given format.
+     */
+    private String convertDate(String date) throws DukeException {
+        if (dateFormatter == null) {
+            return date;
+        }
+        try {
+            return LocalDate.parse(date, dateFormatter).format(Parser.DATE_INPUT_FORMATTER);
+        } catch (DateTimeParseException e) {
+            throw new DukeException(BAD_DATE);
+        }
+    }
+
+    /**
+     * Converts a date in the ISO format written by the export command into the format of the in and out commands.
+     *
+     * @param date Date in the ISO format.
+     * @return the date in the format of the in and out commands.
+     * @throws DukeException if the date is not in the ISO format.
+     */
+    private String convertIsoDate(String date) throws DukeException {
+        try {
+            return LocalDate.parse(date).format(Parser.DATE_INPUT_FORMATTER);
+        } catch (DateTimeParseException e) {
+            throw new DukeException(BAD_DATE);
+        }
+    }
+
+    /**
+     * Checks if the transaction matches a tracked transaction that no earlier row has matched.
+     *
+     * @param transaction Transaction of the row.
+     * @param existingTransactions Number of tracked transactions of the same type with each key.
+     * @return true if the transaction is a duplicate.
+     */
+    private boolean isDuplicate(Transaction transaction, HashMap<String, Integer> existingTransactions) {
+        String key = getKey(transaction);
+        Integer count = existingTransactions.get(key);
+        if (count == null) {
+            return false;
+        }
+        if (count == 1) {
+            existingTransactions.remove(key);
+        } else {
+            existingTransactions.put(key, count - 1);
+        }
+        duplicateCount++;
+        return true;
+    }
+}
@@ -0,0 +1,36 @@
+package seedu.duke.command;
+
+import seedu.duke.exception.DukeException;
+import seedu.duke.storage.LedgerManager;
+import seedu.duke.ui.Ui;
+
+import java.util.HashMap;
+
+public class LedgerCommand extends Command {
+    private static final String USE_ARG = "use";
+    private static final String UNAVAILABLE = "Ledgers are not available.";
+
+    public LedgerCommand(String description, HashMap<String, String> args) {
+        super(description, args);
+    }
+
+    /**
+     * Executes the command. Without /use, the ledger in use is printed.
+     *
+     * @param ui Ui class that is used to print the ledger in use.
+     * @throws DukeException if the ledger name is invalid, or either ledger cannot be saved or loaded.
+     */
+    @Override
+    public void execute(Ui ui) throws DukeException {
+        LedgerManager ledgers = LedgerManager.getLedgerManager();
+        if (ledgers == null) {
+            throw new DukeException(UNAVAILABLE);
+        }
+        if (getArg(USE_ARG) == null) {
+            ui.print("Using ledger " + ledgers.getActiveName());
+            return;
+        }
+        ledgers.use(getArg(USE_ARG));
+        ui.print("Switched to ledger " + ledgers.getActiveName());
+    }
+}
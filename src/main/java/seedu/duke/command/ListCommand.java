@@ -1,8 +1,6 @@
 package seedu.duke.command;
 
-import seedu.duke.classes.Category;
 import seedu.duke.classes.Expense;
-import seedu.duke.classes.Goal;
 import seedu.duke.classes.Income;
 import seedu.duke.classes.StateManager;
 import seedu.duke.classes.Transaction;
@@ -27,11 +25,14 @@ public class ListCommand extends Command {
     private static final String[] OUT_HEADERS = {"ID", "Description", "Date", "Amount", "Category", "Recurrence"};
     private static final String IN = "IN TRANSACTIONS";
     private static final String OUT = "OUT TRANSACTIONS";
+    private static final String ARCHIVED_IN = "ARCHIVED IN TRANSACTIONS";
+    private static final String ARCHIVED_OUT = "ARCHIVED OUT TRANSACTIONS";
     private static final String GOAL = "goal";
     private static final String CATEGORY = "category";
     private static final String TYPE = "type";
     private static final String WEEK = "week";
     private static final String MONTH = "month";
+    private static final String ARCHIVED = "archived";
     private static final String UNCATEGORISED = "Uncategorised";
     private static final int INVALID_VALUE = -1;
     private Ui ui;
@@ -198,14 +199,14 @@ public class ListCommand extends Command {
     /**
      * Determines whether to print a list of goals or categories
      * @param description user's input in the description field
+     * @throws DukeException if the older transactions cannot be loaded
      */
-    private void printTypeStatus(String description) {
+    private void printTypeStatus(String description) throws DukeException {
+        StateManager.getStateManager().ensureAllLoaded();
         if (description.equalsIgnoreCase(GOAL)) {
-            HashMap<Goal, Double> map = StateManager.getStateManager().getGoalsStatus();
-            ui.printGoalsStatus(map);
+            ui.printGoalsStatus(StateManager.getStateManager().getGoalsStatus());
         } else if (description.equalsIgnoreCase(CATEGORY)) {
-            HashMap<Category, Double> map = StateManager.getStateManager().getCategoriesStatus();
-            ui.printCategoryStatus(map);
+            ui.printCategoryStatus(StateManager.getStateManager().getCategoriesStatus());
         }
     }
 
@@ -215,35 +216,55 @@ public class ListCommand extends Command {
      * @param headerMessage message to print for the header
      */
     private void printList(ArrayList<ArrayList<String>> listArray, String headerMessage) {
-        if (headerMessage.equals(IN)) {
+        if (headerMessage.equals(IN) || headerMessage.equals(ARCHIVED_IN)) {
             ui.listTransactions(listArray, IN_HEADERS, headerMessage);
-        } else if (headerMessage.equals(OUT)) {
+        } else if (headerMessage.equals(OUT) || headerMessage.equals(ARCHIVED_OUT)) {
             ui.listTransactions(listArray, OUT_HEADERS, headerMessage);
         }
 
     }
 
     /**
-     * Retrieves list of income transactions
-     * @throws DukeException when list of income transactions is empty
+     * Retrieves list of income transactions. With /archived, the archived incomes are listed after them.
+     * @throws DukeException when list of income transactions is empty, or the archive cannot be read
      */
     private void listIncome() throws DukeException {
         String filterGoal = null;
         if (getArgs().containsKey(GOAL)) {
             filterGoal = getArg(GOAL).toLowerCase();
         }
+        StateManager.getStateManager().ensureLoadedSince(getListStart());
         ArrayList<Income> incomeArray = StateManager.getStateManager().getAllIncomes();
-        ArrayList<ArrayList<String>> printIncomes = new ArrayList<>();
-        if (incomeArray == null || incomeArray.isEmpty()) {
+        ArrayList<Income> archivedArray = new ArrayList<>();
+        if (getArgs().containsKey(ARCHIVED)) {
+            archivedArray = StateManager.getStateManager().getArchivedIncomes(getListStart());
+        }
+        if ((incomeArray == null || incomeArray.isEmpty()) && archivedArray.isEmpty()) {
             throw new DukeException(EMPTY_LIST);
         }
 
+        if (!incomeArray.isEmpty()) {
+            printList(formatIncomes(incomeArray, filterGoal), IN);
+        }
+        if (!archivedArray.isEmpty()) {
+            printList(formatIncomes(archivedArray, filterGoal), ARCHIVED_IN);
+        }
+    }
+
+    /**
+     * Formats the incomes that match the filters into rows to print
+     * @param incomeArray incomes to format
+     * @param filterGoal goal to filter by, or null to include every goal
+     * @return The formatted incomes
+     */
+    private ArrayList<ArrayList<String>> formatIncomes(ArrayList<Income> incomeArray, String filterGoal) {
         if (getArgs().containsKey(WEEK)) {
             incomeArray = filterIncome(incomeArray, false);
         } else if (getArgs().containsKey(MONTH)) {
             incomeArray = filterIncome(incomeArray, true);
         }
 
+        ArrayList<ArrayList<String>> printIncomes = new ArrayList<>();
         int index = 1;
         for (Income i : incomeArray) {
             String goal = i.getGoal().getDescription();
@@ -253,31 +274,50 @@ public class ListCommand extends Command {
                 index++;
             }
         }
-        printList(printIncomes, IN);
-
+        return printIncomes;
     }
 
     /**
-     * Prints list of expenses
-     * @throws DukeException when expense transaction list is empty
+     * Prints list of expenses. With /archived, the archived expenses are listed after them.
+     * @throws DukeException when expense transaction list is empty, or the archive cannot be read
      */
     private void listExpenses() throws DukeException {
         String filterCategory = null;
         if (getArgs().containsKey(CATEGORY)) {
             filterCategory = getArg(CATEGORY).toLowerCase();
         }
+        StateManager.getStateManager().ensureLoadedSince(getListStart());
         ArrayList<Expense> expenseArray = StateManager.getStateManager().getAllExpenses();
-        ArrayList<ArrayList<String>> printExpenses = new ArrayList<>();
-        if (expenseArray == null || expenseArray.isEmpty()) {
+        ArrayList<Expense> archivedArray = new ArrayList<>();
+        if (getArgs().containsKey(ARCHIVED)) {
+            archivedArray = StateManager.getStateManager().getArchivedExpenses(getListStart());
+        }
+        if ((expenseArray == null || expenseArray.isEmpty()) && archivedArray.isEmpty()) {
             throw new DukeException(EMPTY_LIST);
         }
 
+        if (!expenseArray.isEmpty()) {
+            printList(formatExpenses(expenseArray, filterCategory), OUT);
+        }
+        if (!archivedArray.isEmpty()) {
+            printList(formatExpenses(archivedArray, filterCategory), ARCHIVED_OUT);
+        }
+    }
+
+    /**
+     * Formats the expenses that match the filters into rows to print
+     * @param expenseArray expenses to format
+     * @param filterCategory category to filter by, or null to include every category
+     * @return The formatted expenses
+     */
+    private ArrayList<ArrayList<String>> formatExpenses(ArrayList<Expense> expenseArray, String filterCategory) {
         if (getArgs().containsKey(WEEK)) {
             expenseArray = filterExpense(expenseArray, false);
         } else if (getArgs().containsKey(MONTH)) {
             expenseArray = filterExpense(expenseArray, true);
         }
 
+        ArrayList<ArrayList<String>> printExpenses = new ArrayList<>();
         int index = 1;
         for (Expense i : expenseArray) {
             String category = i.getCategory().getName();
@@ -287,7 +327,21 @@ public class ListCommand extends Command {
                 index++;
             }
         }
-        printList(printExpenses, OUT);
+        return printExpenses;
+    }
+
+    /**
+     * Returns the earliest date of the transactions that can be listed with the given filter
+     * @return start of this week or month, or the earliest date if the list is not filtered by date
+     */
+    private LocalDate getListStart() {
+        LocalDate currentDate = LocalDate.now();
+        if (getArgs().containsKey(WEEK)) {
+            return currentDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        } else if (getArgs().containsKey(MONTH)) {
+            return currentDate.withDayOfMonth(1);
+        }
+        return LocalDate.MIN;
     }
 
     /**
@@ -85,8 +85,7 @@ public class RemoveTransactionCommand extends Command {
      */
     private void removeTransaction(Ui ui) throws DukeException {
         String type = getArg(TYPE_ARG).toLowerCase();
-        int maxSize = getTransactionMaxSize(type);
-        int idx = parseIdx(maxSize) - 1; //-1 due to 0 based indexing for arraylist
+        int idx = parseIdx(type) - 1; //-1 due to 0 based indexing for arraylist
         assert idx >= 0 : "Index should be a valid integer greater than 0";
 
         boolean isSuccess = false;
@@ -125,13 +124,16 @@ public class RemoveTransactionCommand extends Command {
     /**
      * Returns the valid index.
      *
-     * @param maxSize max number of transactions based on the type.
+     * @param type type of transaction (in/out).
      * @return int valid index.
      * @throws DukeException if the index is not in range of the number of transactions.
      */
-    private int parseIdx(int maxSize) throws DukeException {
+    private int parseIdx(String type) throws DukeException {
         int index = Integer.parseInt(getDescription());
-        if (index < 1 || index > maxSize) {
+        if (index > getTransactionMaxSize(type)) {
+            StateManager.getStateManager().ensureAllLoaded();
+        }
+        if (index < 1 || index > getTransactionMaxSize(type)) {
             throw new DukeException(INVALID_IDX);
         }
         return index;
@@ -0,0 +1,65 @@
+package seedu.duke.command;
+
+import seedu.duke.exception.DukeException;
+import seedu.duke.parser.Parser;
+import seedu.duke.storage.LedgerManager;
+import seedu.duke.ui.Ui;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+
+public class RestoreCommand extends Command {
+    private static final String AT_ARG = "at";
+    private static final DateTimeFormatter HOUR_MINUTE_FORMAT = DateTimeFormatter.ofPattern("HHmm");
+    private static final String MISSING_TIME = "Please specify the time to restore the backup of with /at.";
+    private static final String BAD_TIME = "Invalid time specified, use /at DDMMYYYY or /at DDMMYYYY HHMM.";
+    private static final String UNAVAILABLE = "Backups are not available.";
+
+    public RestoreCommand(String description, HashMap<String, String> args) {
+        super(description, args);
+    }
+
+    /**
+     * Executes the command. The ledger in use is restored from the latest backup made at or before the given
+     * date, or the given minute of that date.
+     *
+     * @param ui Ui class that is used to print the time of the restored backup.
+     * @throws DukeException if the time is missing or invalid, there is no such backup, or it cannot be restored.
+     */
+    @Override
+    public void execute(Ui ui) throws DukeException {
+        LedgerManager ledgers = LedgerManager.getLedgerManager();
+        if (ledgers == null || ledgers.getActiveStorage() == null) {
+            throw new DukeException(UNAVAILABLE);
+        }
+        LocalDateTime restored = ledgers.restore(parseTime(getArg(AT_ARG)));
+        ui.print("Restored the backup made at " + restored.format(BackupCommand.TIME_FORMAT) + ".");
+    }
+
+    /**
+     * Returns the latest moment of the given date, or of the given minute of that date.
+     */
+    private static LocalDateTime parseTime(String value) throws DukeException {
+        if (value == null || value.isBlank()) {
+            throw new DukeException(MISSING_TIME);
+        }
+        String[] parts = value.strip().split("\\s+");
+        LocalDate date = Parser.parseDate(parts[0]);
+        if (date == null || parts.length > 2) {
+            throw new DukeException(BAD_TIME);
+        }
+        if (parts.length == 1) {
+            return date.atTime(LocalTime.MAX);
+        }
+        try {
+            LocalTime time = LocalTime.parse(parts[1], HOUR_MINUTE_FORMAT);
+            return date.atTime(time).plusMinutes(1).minusNanos(1);
+        } catch (DateTimeParseException e) {
+            throw new DukeException(BAD_TIME);
+        }
+    }
+}
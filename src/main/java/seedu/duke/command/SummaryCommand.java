@@ -2,6 +2,7 @@ package seedu.duke.command;
 
 import seedu.duke.classes.Expense;
 import seedu.duke.classes.Income;
+import seedu.duke.classes.StateChange.Entity;
 import seedu.duke.classes.StateManager;
 import seedu.duke.exception.DukeException;
 import seedu.duke.ui.Ui;
@@ -54,6 +55,7 @@ public class SummaryCommand extends Command {
         this.ui = ui;
         throwIfInvalidDescOrArgs();
         getFilter();
+        StateManager.getStateManager().ensureLoadedSince(getFilterStart());
         printSummary();
     }
 
@@ -81,20 +83,38 @@ public class SummaryCommand extends Command {
     }
 
     /**
-     * Returns the total sum of the income transaction.
+     * Returns the earliest date of the transactions that are included by the filter.
+     *
+     * @return LocalDate start of the filtered period, or the earliest date if there is no filter.
+     */
+    private LocalDate getFilterStart() {
+        if (filterByDay) {
+            return currentDate;
+        } else if (filterByWeek) {
+            return currentDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        } else if (filterByMonth) {
+            return currentDate.withDayOfMonth(1);
+        }
+        return LocalDate.MIN;
+    }
+
+    /**
+     * Returns the total sum of the income transaction, including the archived ones.
      *
      * @return double total income.
      * @throws DukeException if there is no income transaction available.
      */
     private double getIncomeSummary() throws DukeException {
-        ArrayList<Income> incomeArray = StateManager.getStateManager().getAllIncomes();
-        if (incomeArray == null || incomeArray.isEmpty()) {
+        StateManager state = StateManager.getStateManager();
+        ArrayList<Income> incomeArray = state.getAllIncomes();
+        boolean hasArchived = state.getArchivedTotals().getCount(Entity.INCOME) > 0;
+        if ((incomeArray == null || incomeArray.isEmpty()) && !hasArchived) {
             throw new DukeException(EMPTY_LIST);
         }
         if (filterByDay || filterByWeek || filterByMonth) {
             incomeArray = filterIncome(incomeArray);
         }
-        double totalSum = 0;
+        double totalSum = state.getArchivedIncomeTotal(getFilterStart());
         for (Income income : incomeArray) {
             totalSum = totalSum + income.getTransaction().getAmount();
         }
@@ -125,20 +145,22 @@ public class SummaryCommand extends Command {
     }
 
     /**
-     * Returns the total sum of the expense transaction.
+     * Returns the total sum of the expense transaction, including the archived ones.
      *
      * @return double total expense.
      * @throws DukeException if there is no expense transaction available.
      */
     private double getExpenseSummary() throws DukeException {
-        ArrayList<Expense> expenseArray = StateManager.getStateManager().getAllExpenses();
-        if (expenseArray == null || expenseArray.isEmpty()) {
+        StateManager state = StateManager.getStateManager();
+        ArrayList<Expense> expenseArray = state.getAllExpenses();
+        boolean hasArchived = state.getArchivedTotals().getCount(Entity.EXPENSE) > 0;
+        if ((expenseArray == null || expenseArray.isEmpty()) && !hasArchived) {
             throw new DukeException(EMPTY_LIST);
         }
         if (filterByDay || filterByWeek || filterByMonth) {
             expenseArray = filterExpense(expenseArray);
         }
-        double totalSum = 0;
+        double totalSum = state.getArchivedExpenseTotal(getFilterStart());
         for (Expense expense : expenseArray) {
             totalSum = totalSum + expense.getTransaction().getAmount();
         }
@@ -0,0 +1,72 @@
+package seedu.duke.csv;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Reads and writes CSV Files that are compressed with GZIP. Compressed files keep their name and are recognised
+ * by the GZIP magic number at the start of the file, so plain and compressed files can be read the same way.
+ */
+public class CsvCompression {
+    private static final int GZIP_MAGIC_FIRST = 0x1f;
+    private static final int GZIP_MAGIC_SECOND = 0x8b;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private CsvCompression() {
+    }
+
+    /**
+     * Checks if a file starts with the GZIP magic number
+     *
+     * @param file file to check
+     * @return true if the file is compressed, false if it is plain or cannot be read
+     */
+    public static boolean isCompressed(File file) {
+        try (InputStream input = new FileInputStream(file)) {
+            return isCompressed(input.read(), input.read());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static boolean isCompressed(int first, int second) {
+        return first == GZIP_MAGIC_FIRST && second == GZIP_MAGIC_SECOND;
+    }
+
+    /**
+     * Opens a file for reading, decompressing it while it is read if it is compressed
+     *
+     * @param file file to read
+     * @return stream of the uncompressed content
+     * @throws IOException if the file cannot be opened
+     */
+    public static InputStream openInput(File file) throws IOException {
+        BufferedInputStream input = new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE);
+        try {
+            input.mark(2);
+            boolean isCompressed = isCompressed(input.read(), input.read());
+            input.reset();
+            return isCompressed ? new GZIPInputStream(input, BUFFER_SIZE) : input;
+        } catch (IOException e) {
+            input.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Wraps a stream so that everything written to it is compressed
+     *
+     * @param output stream to write the compressed content to
+     * @return stream to write the uncompressed content to
+     * @throws IOException if the GZIP header cannot be written
+     */
+    public static GZIPOutputStream compress(OutputStream output) throws IOException {
+        return new GZIPOutputStream(output, BUFFER_SIZE);
+    }
+}
@@ -1,45 +1,61 @@
-package seedu.duke.csv;
-
-import com.opencsv.CSVReader;
-import com.opencsv.CSVReaderBuilder;
-import com.opencsv.exceptions.CsvValidationException;
-import seedu.duke.exception.DukeException;
-
-import java.io.FileReader;
-import java.io.IOException;
-
-public class CsvReader {
-    private CSVReader reader;
-
-    public CsvReader(String filePath) throws DukeException {
-        try {
-            FileReader fileReader = new FileReader(filePath);
-            this.reader = new CSVReaderBuilder(fileReader).withSkipLines(1).build();
-        } catch (IOException e) {
-            throw new DukeException("");
-        }
-    }
-
-    /**
-     * Reads a line in CSV File
-     *
-     * @return Array of String from a row in CSV File
-     * @throws DukeException if unable to read the file
-     */
-    public String[] readLine() throws DukeException{
-        try {
-            String[] line = reader.readNext();
-            return line;
-        } catch (IOException | CsvValidationException e) {
-            throw new DukeException("Cannot read file");
-        }
-    }
-
-    public void close() throws DukeException {
-        try {
-            reader.close();
-        } catch (IOException e) {
-            throw new DukeException("Error Closing File");
-        }
-    }
-}
+package seedu.duke.csv;
+
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+import com.opencsv.exceptions.CsvValidationException;
+import seedu.duke.exception.DukeException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+
+/**
+ * Reads a CSV File row by row, decompressing it while it is read if it was written compressed.
+ */
+public class CsvReader implements AutoCloseable {
+    private CSVReader reader;
+
+    public CsvReader(String filePath) throws DukeException {
+        this(filePath, 1);
+    }
+
+    /**
+     * Opens a CSV File, skipping the given number of lines at its start.
+     *
+     * @param filePath Path of the CSV File.
+     * @param skipLines Number of lines to skip, such as 0 to read the header as well.
+     * @throws DukeException if the file cannot be opened.
+     */
+    public CsvReader(String filePath, int skipLines) throws DukeException {
+        try {
+            InputStreamReader fileReader = new InputStreamReader(CsvCompression.openInput(new File(filePath)));
+            this.reader = new CSVReaderBuilder(fileReader).withSkipLines(skipLines).build();
+        } catch (IOException e) {
+            throw new DukeException("");
+        }
+    }
+
+    /**
+     * Reads a line in CSV File
+     *
+     * @return Array of String from a row in CSV File
+     * @throws DukeException if unable to read the file
+     */
+    public String[] readLine() throws DukeException{
+        try {
+            String[] line = reader.readNext();
+            return line;
+        } catch (IOException | CsvValidationException e) {
+            throw new DukeException("Cannot read file");
+        }
+    }
+
+    @Override
+    public void close() throws DukeException {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new DukeException("Error Closing File");
+        }
+    }
+}
@@ -10,6 +10,7 @@ import seedu.duke.exception.DukeException;
 public class CsvWriter {
 
     private CSVWriter writer;
+    private long rowCount = 0;
 
     public CsvWriter(String fullPath) throws DukeException {
         this(fullPath, false);
@@ -18,15 +19,28 @@ public class CsvWriter {
     public CsvWriter(String fullPath, boolean isAppend) throws DukeException {
         try {
             Writer fileWriter = new FileWriter(fullPath, isAppend);
-            this.writer = new CSVWriter(fileWriter, CSVWriter.DEFAULT_SEPARATOR,
-                                        CSVWriter.DEFAULT_QUOTE_CHARACTER,
-                                        CSVWriter.DEFAULT_ESCAPE_CHARACTER,
-                                        System.getProperty("line.separator"));
+            this.writer = createWriter(fileWriter);
         } catch (IOException e) {
             throw new DukeException("Cannot create file");
         }
     }
 
+    /**
+     * Creates a CsvWriter that writes to the given writer, which is closed together with the CsvWriter.
+     *
+     * @param output writer to write the CSV data to
+     */
+    public CsvWriter(Writer output) {
+        this.writer = createWriter(output);
+    }
+
+    private static CSVWriter createWriter(Writer output) {
+        return new CSVWriter(output, CSVWriter.DEFAULT_SEPARATOR,
+                             CSVWriter.DEFAULT_QUOTE_CHARACTER,
+                             CSVWriter.DEFAULT_ESCAPE_CHARACTER,
+                             System.getProperty("line.separator"));
+    }
+
     /**
      * Writes data to the CSV File
      *
@@ -35,6 +49,32 @@ public class CsvWriter {
     public void write(String[] data) {
         assert writer != null;
         writer.writeNext(data);
+        rowCount++;
+    }
+
+    /**
+     * Returns the number of rows written so far, including any header.
+     *
+     * @return number of rows written
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Flushes the written data to the underlying file
+     *
+     * @throws DukeException if any of the data could not be written
+     */
+    public void flush() throws DukeException {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new DukeException("Error Writing File");
+        }
+        if (writer.checkError()) {
+            throw new DukeException("Error Writing File");
+        }
     }
 
     /**
@@ -0,0 +1,456 @@
+package seedu.duke.csv;
+
+import seedu.duke.exception.DukeException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Reads a CSV File by memory-mapping it and splitting each row into fields directly in the mapped buffer.
+ * Only the positions of the fields are recorded while reading a row, and a field is only turned into a String
+ * when it is requested. The quoting produced by {@link CsvWriter} is supported, including quoted separators,
+ * line breaks and doubled quotes. Like {@link CsvReader}, the first line is skipped as the header.
+ *
+ * <p>A buffer cannot be larger than {@code Integer.MAX_VALUE} bytes, so a larger file is mapped one window at
+ * a time. When a row runs past the end of the window, the next window is mapped from the start of that row and
+ * the row is read again. Offsets are always offsets in the file.
+ *
+ * <p>Windows does not allow a mapped file to be replaced or deleted until the mapping is garbage collected,
+ * so the file is read into memory there instead of being mapped. A file compressed by {@link CsvCompression}
+ * cannot be mapped either, so it is decompressed into memory, and offsets refer to the uncompressed content.
+ */
+public class MappedCsvReader {
+    private static final byte SEPARATOR = ',';
+    private static final byte QUOTE = '"';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final byte LINE_FEED = '\n';
+    private static final int INITIAL_FIELDS = 8;
+    private static final int MAX_WINDOW_SIZE = Integer.MAX_VALUE;
+    private static final boolean IS_MAPPING_SUPPORTED =
+            !System.getProperty("os.name", "").toLowerCase().startsWith("windows");
+
+    private final Charset charset = Charset.defaultCharset();
+    private final Path path;
+    private final int windowSize;
+    private final long length;
+    private long rangeEnd;
+    private ByteBuffer buffer;
+    private long base = 0;
+    private int position = 0;
+    private int end;
+    private int rowStart = 0;
+    private int fieldCount = 0;
+    private int[] fieldStarts = new int[INITIAL_FIELDS];
+    private int[] fieldEnds = new int[INITIAL_FIELDS];
+    private boolean[] hasEscapedQuotes = new boolean[INITIAL_FIELDS];
+    private byte[] scratch = new byte[64];
+
+    public MappedCsvReader(String filePath) throws DukeException {
+        this(filePath, MAX_WINDOW_SIZE);
+    }
+
+    /**
+     * Creates a reader that maps at most the given number of bytes of the file at a time.
+     *
+     * @param filePath Path of the file.
+     * @param windowSize Largest number of bytes that are mapped at once.
+     * @throws DukeException if the file cannot be read.
+     */
+    MappedCsvReader(String filePath, int windowSize) throws DukeException {
+        this.windowSize = windowSize;
+        if (CsvCompression.isCompressed(new File(filePath))) {
+            path = null;
+            buffer = readCompressed(filePath);
+            length = buffer.limit();
+        } else {
+            path = Path.of(filePath);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                length = channel.size();
+                buffer = map(channel, 0, (int) Math.min(length, windowSize));
+            } catch (NoSuchFileException e) {
+                throw new DukeException("");
+            } catch (IOException e) {
+                throw new DukeException("Cannot read file");
+            }
+        }
+        rangeEnd = length;
+        end = buffer.limit();
+        nextRow();
+    }
+
+    private static ByteBuffer map(FileChannel channel, long offset, int size) throws IOException {
+        if (IS_MAPPING_SUPPORTED) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+        }
+        ByteBuffer content = ByteBuffer.allocate(size);
+        while (content.hasRemaining() && channel.read(content, offset + content.position()) >= 0) {
+            // Keep reading until the whole window is in memory.
+        }
+        content.flip();
+        return content;
+    }
+
+    private static ByteBuffer readCompressed(String filePath) throws DukeException {
+        try (InputStream input = CsvCompression.openInput(new File(filePath))) {
+            return ByteBuffer.wrap(input.readAllBytes());
+        } catch (IOException | OutOfMemoryError e) {
+            throw new DukeException("Cannot read file");
+        }
+    }
+
+    /**
+     * Creates a reader over a byte range of the same file. A range within the current window shares its buffer,
+     * and any other range is mapped when its first row is read.
+     */
+    private MappedCsvReader(MappedCsvReader file, long start, long end) {
+        this.path = file.path;
+        this.windowSize = file.windowSize;
+        this.length = file.length;
+        this.rangeEnd = end;
+        if (start >= file.base && end <= file.base + file.buffer.limit()) {
+            this.buffer = file.buffer;
+            this.base = file.base;
+            this.position = (int) (start - base);
+            this.end = (int) (end - base);
+        } else {
+            this.buffer = ByteBuffer.allocate(0);
+            this.base = start;
+            this.end = 0;
+        }
+    }
+
+    private boolean hasNextWindow() {
+        return base + end < rangeEnd;
+    }
+
+    /**
+     * Maps the window of the file that starts at the given offset.
+     *
+     * @throws UncheckedIOException if the window cannot be mapped.
+     */
+    private void moveWindow(long offset) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = map(channel, offset, (int) Math.min(windowSize, rangeEnd - offset));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        base = offset;
+        position = 0;
+        rowStart = 0;
+        end = buffer.limit();
+        fieldCount = 0;
+    }
+
+    /**
+     * Splits the rows that have not been read yet into readers over consecutive byte ranges that can be read
+     * on separate threads. The ranges always end at a line break outside quotes, which is found by counting
+     * the quotes before each range in parallel, since every quote of a quoted field comes in pairs.
+     *
+     * @param parts number of ranges to split into
+     * @return readers of the ranges in file order
+     */
+    public MappedCsvReader[] split(int parts) {
+        if (hasNextWindow()) {
+            // The rows past the current window are not mapped yet, so they are read by one reader.
+            return new MappedCsvReader[]{new MappedCsvReader(this, base + position, rangeEnd)};
+        }
+        int start = position;
+        int length = end - start;
+        if (parts <= 1 || length < parts) {
+            return new MappedCsvReader[]{new MappedCsvReader(this, base + start, base + end)};
+        }
+
+        int[] nominalStarts = new int[parts + 1];
+        for (int i = 0; i <= parts; i++) {
+            nominalStarts[i] = start + (int) ((long) length * i / parts);
+        }
+        int[] quoteCounts = IntStream.range(0, parts).parallel()
+                .map(i -> countQuotes(nominalStarts[i], nominalStarts[i + 1]))
+                .toArray();
+        int[] boundaries = new int[parts + 1];
+        boundaries[0] = start;
+        boundaries[parts] = end;
+        int quotesBefore = 0;
+        for (int i = 1; i < parts; i++) {
+            quotesBefore += quoteCounts[i - 1];
+            int boundary = findRecordStart(nominalStarts[i], quotesBefore % 2 == 1);
+            boundaries[i] = Math.max(boundary, boundaries[i - 1]);
+        }
+
+        MappedCsvReader[] readers = new MappedCsvReader[parts];
+        for (int i = 0; i < parts; i++) {
+            readers[i] = new MappedCsvReader(this, base + boundaries[i], base + boundaries[i + 1]);
+        }
+        return readers;
+    }
+
+    /**
+     * Creates a reader over a byte range of the same file, which must start and end at row boundaries
+     *
+     * @param start offset of the first row in the range
+     * @param end   offset after the last row in the range
+     * @return reader of the range
+     */
+    public MappedCsvReader slice(long start, long end) {
+        assert start >= 0 && start <= end && end <= length;
+        return new MappedCsvReader(this, start, end);
+    }
+
+    /**
+     * Returns the length of the file, which is the length of its uncompressed content if it is compressed
+     *
+     * @return length in bytes
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Returns the offset in the file at which the current row starts
+     *
+     * @return offset of the current row
+     */
+    public long getRowStart() {
+        return base + rowStart;
+    }
+
+    /**
+     * Returns the offset in the file after the current row, including its line break
+     *
+     * @return offset after the current row
+     */
+    public long getRowEnd() {
+        return base + position;
+    }
+
+    private int countQuotes(int from, int to) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == QUOTE) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int findRecordStart(int from, boolean isInQuotes) {
+        for (int i = from; i < end; i++) {
+            byte value = buffer.get(i);
+            if (value == QUOTE) {
+                isInQuotes = !isInQuotes;
+            } else if (value == LINE_FEED && !isInQuotes) {
+                return i + 1;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Moves to the next row in the CSV File
+     *
+     * @return true if there is a next row, false if the end of the file has been reached
+     */
+    public boolean nextRow() {
+        fieldCount = 0;
+        rowStart = position;
+        if (position >= end) {
+            if (!hasNextWindow()) {
+                return false;
+            }
+            moveWindow(base + position);
+        }
+        while (!readRow()) {
+            moveWindow(base + rowStart);
+        }
+        return true;
+    }
+
+    /**
+     * Reads the row at the current position of the window.
+     *
+     * @return false if the row runs past the end of the window and the window has to be moved to read it.
+     */
+    private boolean readRow() {
+        int limit = end;
+        while (true) {
+            int start;
+            int end;
+            boolean isEscaped = false;
+            if (position < limit && buffer.get(position) == QUOTE) {
+                position++;
+                start = position;
+                end = limit;
+                while (position < limit) {
+                    if (buffer.get(position) != QUOTE) {
+                        position++;
+                    } else if (position + 1 < limit && buffer.get(position + 1) == QUOTE) {
+                        isEscaped = true;
+                        position += 2;
+                    } else {
+                        end = position;
+                        position++;
+                        break;
+                    }
+                }
+                while (position < limit && !isFieldEnd(buffer.get(position))) {
+                    position++;
+                }
+            } else {
+                start = position;
+                while (position < limit && !isFieldEnd(buffer.get(position))) {
+                    position++;
+                }
+                end = position;
+            }
+            addField(start, end, isEscaped);
+
+            if (position < limit && buffer.get(position) == SEPARATOR) {
+                position++;
+                continue;
+            }
+            if (position < limit && buffer.get(position) == CARRIAGE_RETURN) {
+                position++;
+            }
+            if (position < limit && buffer.get(position) == LINE_FEED) {
+                position++;
+                return true;
+            }
+            return position < limit || !hasNextWindow() || rowStart == 0;
+        }
+    }
+
+    private static boolean isFieldEnd(byte value) {
+        return value == SEPARATOR || value == LINE_FEED || value == CARRIAGE_RETURN;
+    }
+
+    private void addField(int start, int end, boolean isEscaped) {
+        if (fieldCount == fieldStarts.length) {
+            int capacity = fieldCount * 2;
+            fieldStarts = Arrays.copyOf(fieldStarts, capacity);
+            fieldEnds = Arrays.copyOf(fieldEnds, capacity);
+            hasEscapedQuotes = Arrays.copyOf(hasEscapedQuotes, capacity);
+        }
+        fieldStarts[fieldCount] = start;
+        fieldEnds[fieldCount] = end;
+        hasEscapedQuotes[fieldCount] = isEscaped;
+        fieldCount++;
+    }
+
+    /**
+     * Returns the number of fields in the current row
+     *
+     * @return number of fields
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Checks if a field of the current row is empty or only contains whitespace, without creating a String
+     *
+     * @param index index of the field
+     * @return true if the field is blank
+     */
+    public boolean isFieldBlank(int index) {
+        for (int i = fieldStarts[index]; i < fieldEnds[index]; i++) {
+            byte value = buffer.get(i);
+            if (value != ' ' && value != '\t' && value != LINE_FEED && value != CARRIAGE_RETURN) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if any field of the current row is blank
+     *
+     * @return true if there is a blank field
+     */
+    public boolean hasBlankField() {
+        for (int i = 0; i < fieldCount; i++) {
+            if (isFieldBlank(i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Creates a String of a field in the current row
+     *
+     * @param index index of the field
+     * @return value of the field
+     */
+    public String getField(int index) {
+        int start = fieldStarts[index];
+        int length = fieldEnds[index] - start;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        for (int i = 0; i < length; i++) {
+            scratch[i] = buffer.get(start + i);
+        }
+        if (hasEscapedQuotes[index]) {
+            length = removeEscapes(length);
+        }
+        return new String(scratch, 0, length, charset);
+    }
+
+    private int removeEscapes(int length) {
+        int write = 0;
+        for (int read = 0; read < length; read++) {
+            scratch[write++] = scratch[read];
+            if (scratch[read] == QUOTE && read + 1 < length && scratch[read + 1] == QUOTE) {
+                read++;
+            }
+        }
+        return write;
+    }
+
+    /**
+     * Creates Strings of all fields in the current row
+     *
+     * @return Array of String from the current row
+     */
+    public String[] getFields() {
+        String[] fields = new String[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            fields[i] = getField(i);
+        }
+        return fields;
+    }
+
+    /**
+     * Reads the next row in the CSV File
+     *
+     * @return Array of String from the next row, or null if the end of the file has been reached
+     */
+    public String[] readLine() {
+        if (!nextRow()) {
+            return null;
+        }
+        return getFields();
+    }
+
+    /**
+     * Releases the file. A mapped file is unmapped once the reader is garbage collected.
+     */
+    public void close() {
+        buffer = ByteBuffer.allocate(0);
+        base = 0;
+        rangeEnd = 0;
+        position = 0;
+        end = 0;
+        fieldCount = 0;
+    }
+}
@@ -0,0 +1,371 @@
+package seedu.duke.json;
+
+import seedu.duke.exception.DukeException;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reads newline-delimited JSON record by record, where every record is a flat object on its own line. The
+ * characters are parsed straight from a fixed buffer into the values of the requested fields, so memory use
+ * does not grow with the file and no object tree is built for a record. Other fields are skipped, even if
+ * their values are nested objects or arrays.
+ *
+ * <p>A raw line break cannot appear inside a JSON value, so a malformed record only affects its own line and
+ * reading continues with the next one.
+ */
+public class NdjsonReader {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int END = -1;
+    private static final String INVALID_RECORD = "Invalid JSON record...";
+    private static final String NESTED_VALUE = "Nested values are not supported for ";
+
+    private final Reader reader;
+    private final String[] fields;
+    private final String[] values;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder text = new StringBuilder();
+    private int position = 0;
+    private int limit = 0;
+    private int lineNumber = 0;
+    private int recordLine = 0;
+    private int lastRead = END;
+    private boolean hasReadFailed = false;
+    private String error;
+
+    /**
+     * Opens a JSON File to read the given fields of each record.
+     *
+     * @param filePath Path of the JSON File.
+     * @param fields Names of the fields to read.
+     * @throws DukeException if the file cannot be opened.
+     */
+    public NdjsonReader(String filePath, String[] fields) throws DukeException {
+        try {
+            this.reader = new InputStreamReader(new FileInputStream(filePath), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new DukeException("Cannot read file " + filePath);
+        }
+        this.fields = fields;
+        this.values = new String[fields.length];
+    }
+
+    /**
+     * Moves to the next record, skipping blank lines
+     *
+     * @return true if there is a next record, false if the end of the file has been reached
+     * @throws DukeException if unable to read the file
+     */
+    public boolean nextRecord() throws DukeException {
+        int c = skipBlankLines();
+        if (c == END) {
+            return false;
+        }
+        recordLine = lineNumber + 1;
+        Arrays.fill(values, null);
+        error = null;
+        try {
+            parseRecord(c);
+        } catch (DukeException e) {
+            if (hasReadFailed) {
+                throw e;
+            }
+            error = e.getMessage();
+            skipLine();
+        }
+        return true;
+    }
+
+    /**
+     * Returns the line number of the current record, starting from 1
+     *
+     * @return line number of the current record
+     */
+    public int getLineNumber() {
+        return recordLine;
+    }
+
+    /**
+     * Returns the values of the current record, in the order of the fields given to the constructor. A field
+     * that is missing or null has a null value, numbers and booleans are returned as they were written, and the
+     * array is reused for the next record.
+     *
+     * @return values of the current record
+     * @throws DukeException if the current record is not a valid JSON object
+     */
+    public String[] getValues() throws DukeException {
+        if (error != null) {
+            throw new DukeException(error);
+        }
+        return values;
+    }
+
+    private void parseRecord(int c) throws DukeException {
+        expect(c, '{');
+        c = skipWhitespace(read());
+        if (c == '}') {
+            expectLineEnd();
+            return;
+        }
+        while (true) {
+            expect(c, '"');
+            int field = findField(readString());
+            expect(skipWhitespace(read()), ':');
+            c = skipWhitespace(read());
+            if (field == -1) {
+                skipValue(c);
+            } else {
+                values[field] = readValue(c, fields[field]);
+            }
+            c = skipWhitespace(read());
+            if (c == '}') {
+                expectLineEnd();
+                return;
+            }
+            expect(c, ',');
+            c = skipWhitespace(read());
+        }
+    }
+
+    private int findField(String name) {
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private String readValue(int c, String field) throws DukeException {
+        switch (c) {
+        case '"':
+            return readString();
+        case '{':
+        case '[':
+            throw new DukeException(NESTED_VALUE + field);
+        default:
+            String literal = readLiteral(c);
+            return literal.equals("null") ? null : literal;
+        }
+    }
+
+    private void skipValue(int c) throws DukeException {
+        if (c == '"') {
+            readString();
+        } else if (c == '{' || c == '[') {
+            skipNested(c);
+        } else {
+            readLiteral(c);
+        }
+    }
+
+    private void skipNested(int open) throws DukeException {
+        int close = open == '{' ? '}' : ']';
+        while (true) {
+            int c = skipWhitespace(read());
+            if (c == close) {
+                return;
+            }
+            if (open == '{') {
+                expect(c, '"');
+                readString();
+                expect(skipWhitespace(read()), ':');
+                c = skipWhitespace(read());
+            }
+            skipValue(c);
+            c = skipWhitespace(read());
+            if (c == close) {
+                return;
+            }
+            expect(c, ',');
+        }
+    }
+
+    /**
+     * Reads a string after its opening quote, decoding its escapes.
+     */
+    private String readString() throws DukeException {
+        text.setLength(0);
+        while (true) {
+            int c = read();
+            if (c == '"') {
+                return text.toString();
+            }
+            if (c == END || c < ' ') {
+                throw new DukeException(INVALID_RECORD);
+            }
+            if (c == '\\') {
+                c = readEscape();
+            }
+            text.append((char) c);
+        }
+    }
+
+    private int readEscape() throws DukeException {
+        int c = read();
+        switch (c) {
+        case '"':
+        case '\\':
+        case '/':
+            return c;
+        case 'b':
+            return '\b';
+        case 'f':
+            return '\f';
+        case 'n':
+            return '\n';
+        case 'r':
+            return '\r';
+        case 't':
+            return '\t';
+        case 'u':
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+                int digit = Character.digit(read(), 16);
+                if (digit == -1) {
+                    throw new DukeException(INVALID_RECORD);
+                }
+                value = value * 16 + digit;
+            }
+            return value;
+        default:
+            throw new DukeException(INVALID_RECORD);
+        }
+    }
+
+    /**
+     * Reads a number, true, false or null, which ends at the first character that cannot be part of it.
+     */
+    private String readLiteral(int c) throws DukeException {
+        text.setLength(0);
+        while (c == '-' || c == '+' || c == '.' || (c >= '0' && c <= '9') || (c >= 'a' && c <= 'z')
+                || c == 'E') {
+            text.append((char) c);
+            c = read();
+        }
+        String literal = text.toString();
+        if (!literal.equals("true") && !literal.equals("false") && !literal.equals("null") && !isNumber(literal)) {
+            throw new DukeException(INVALID_RECORD);
+        }
+        if (c != END) {
+            position--;
+        }
+        return literal;
+    }
+
+    /**
+     * Checks if a literal follows the JSON grammar of a number.
+     */
+    private static boolean isNumber(String literal) {
+        int i = 0;
+        int length = literal.length();
+        if (i < length && literal.charAt(i) == '-') {
+            i++;
+        }
+        int digitsStart = i;
+        while (i < length && Character.isDigit(literal.charAt(i))) {
+            i++;
+        }
+        if (i == digitsStart || (literal.charAt(digitsStart) == '0' && i - digitsStart > 1)) {
+            return false;
+        }
+        if (i < length && literal.charAt(i) == '.') {
+            int fractionStart = ++i;
+            while (i < length && Character.isDigit(literal.charAt(i))) {
+                i++;
+            }
+            if (i == fractionStart) {
+                return false;
+            }
+        }
+        if (i < length && (literal.charAt(i) == 'e' || literal.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (literal.charAt(i) == '+' || literal.charAt(i) == '-')) {
+                i++;
+            }
+            int exponentStart = i;
+            while (i < length && Character.isDigit(literal.charAt(i))) {
+                i++;
+            }
+            if (i == exponentStart) {
+                return false;
+            }
+        }
+        return i == length;
+    }
+
+    private void expect(int c, char expected) throws DukeException {
+        if (c != expected) {
+            throw new DukeException(INVALID_RECORD);
+        }
+    }
+
+    private void expectLineEnd() throws DukeException {
+        int c = skipWhitespace(read());
+        if (c == '\n') {
+            lineNumber++;
+        } else if (c != END) {
+            throw new DukeException(INVALID_RECORD);
+        }
+    }
+
+    private int skipWhitespace(int c) throws DukeException {
+        while (c == ' ' || c == '\t' || c == '\r') {
+            c = read();
+        }
+        return c;
+    }
+
+    private int skipBlankLines() throws DukeException {
+        int c = skipWhitespace(read());
+        while (c == '\n') {
+            lineNumber++;
+            c = skipWhitespace(read());
+        }
+        return c;
+    }
+
+    /**
+     * Skips the rest of a malformed record, which may already have been read up to its line break.
+     */
+    private void skipLine() throws DukeException {
+        int c = lastRead;
+        while (c != '\n' && c != END) {
+            c = read();
+        }
+        if (c == '\n') {
+            lineNumber++;
+        }
+    }
+
+    private int read() throws DukeException {
+        if (position == limit) {
+            try {
+                limit = reader.read(buffer, 0, BUFFER_SIZE);
+            } catch (IOException e) {
+                hasReadFailed = true;
+                throw new DukeException("Cannot read file");
+            }
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                lastRead = END;
+                return END;
+            }
+        }
+        lastRead = buffer[position++];
+        return lastRead;
+    }
+
+    public void close() throws DukeException {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new DukeException("Error Closing File");
+        }
+    }
+}
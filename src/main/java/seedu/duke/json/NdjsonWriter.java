@@ -0,0 +1,161 @@
+package seedu.duke.json;
+
+import seedu.duke.exception.DukeException;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes newline-delimited JSON, one flat object per line. The fields of a record are escaped into one reused
+ * line buffer, which is handed to the underlying writer at the end of the record, so only the current line is
+ * held in memory.
+ */
+public class NdjsonWriter {
+    private static final String WRITE_ERROR = "Error Writing File";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final Writer writer;
+    private final StringBuilder line = new StringBuilder();
+    private boolean isFirstField = true;
+
+    /**
+     * Creates an NdjsonWriter that writes to the given writer, which is closed together with the NdjsonWriter.
+     *
+     * @param output writer to write the JSON data to
+     */
+    public NdjsonWriter(Writer output) {
+        this.writer = output;
+    }
+
+    /**
+     * Starts a new record
+     */
+    public void startRecord() {
+        isFirstField = true;
+        line.setLength(0);
+        line.append('{');
+    }
+
+    /**
+     * Ends the current record and its line
+     *
+     * @throws DukeException if the data could not be written
+     */
+    public void endRecord() throws DukeException {
+        line.append('}').append('\n');
+        try {
+            writer.append(line);
+        } catch (IOException e) {
+            throw new DukeException(WRITE_ERROR);
+        }
+    }
+
+    /**
+     * Writes a string field, or a null field if the value is null
+     *
+     * @param name name of the field
+     * @param value value of the field
+     */
+    public void writeString(String name, String value) {
+        writeName(name);
+        if (value == null) {
+            line.append("null");
+        } else {
+            writeQuoted(value);
+        }
+    }
+
+    /**
+     * Writes a number field
+     *
+     * @param name name of the field
+     * @param number value of the field, which must already be a valid JSON number
+     */
+    public void writeNumber(String name, String number) {
+        writeName(name);
+        line.append(number);
+    }
+
+    /**
+     * Writes a boolean field
+     *
+     * @param name name of the field
+     * @param value value of the field
+     */
+    public void writeBoolean(String name, boolean value) {
+        writeName(name);
+        line.append(value);
+    }
+
+    private void writeName(String name) {
+        if (!isFirstField) {
+            line.append(',');
+        }
+        isFirstField = false;
+        writeQuoted(name);
+        line.append(':');
+    }
+
+    private void writeQuoted(String value) {
+        line.append('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c != '"' && c != '\\' && c >= ' ') {
+                continue;
+            }
+            line.append(value, start, i);
+            writeEscape(c);
+            start = i + 1;
+        }
+        line.append(value, start, value.length());
+        line.append('"');
+    }
+
+    private void writeEscape(char c) {
+        line.append('\\');
+        switch (c) {
+        case '"':
+        case '\\':
+            line.append(c);
+            break;
+        case '\n':
+            line.append('n');
+            break;
+        case '\r':
+            line.append('r');
+            break;
+        case '\t':
+            line.append('t');
+            break;
+        default:
+            line.append("u00").append(HEX_DIGITS[c >> 4]).append(HEX_DIGITS[c & 0xf]);
+        }
+    }
+
+    /**
+     * Flushes the written data to the underlying file
+     *
+     * @throws DukeException if any of the data could not be written
+     */
+    public void flush() throws DukeException {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new DukeException(WRITE_ERROR);
+        }
+    }
+
+    /**
+     * Close the JSON File
+     *
+     * @throws DukeException if unable to close the JSON File
+     */
+    public void close() throws DukeException {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new DukeException("Error Closing File");
+        }
+    }
+}
@@ -12,6 +12,11 @@ import seedu.duke.command.CategoryCommand;
 import seedu.duke.command.GoalCommand;
 import seedu.duke.command.SummaryCommand;
 import seedu.duke.command.EditTransactionCommand;
+import seedu.duke.command.ImportCommand;
+import seedu.duke.command.LedgerCommand;
+import seedu.duke.command.ArchiveCommand;
+import seedu.duke.command.BackupCommand;
+import seedu.duke.command.RestoreCommand;
 import seedu.duke.exception.DukeException;
 
 import java.time.LocalDate;
@@ -83,6 +88,16 @@ public class Parser {
             return new HelpCommand(description, argsMap);
         case "export":
             return new ExportCommand(description, argsMap);
+        case "import":
+            return new ImportCommand(description, argsMap);
+        case "ledger":
+            return new LedgerCommand(description, argsMap);
+        case "archive":
+            return new ArchiveCommand(description, argsMap);
+        case "backup":
+            return new BackupCommand(description, argsMap);
+        case "restore":
+            return new RestoreCommand(description, argsMap);
         case "category":
             return new CategoryCommand(description, argsMap);
         case "goal":
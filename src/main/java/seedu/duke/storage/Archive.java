@@ -0,0 +1,217 @@
+package seedu.duke.storage;
+
+import seedu.duke.classes.ArchiveReader;
+import seedu.duke.classes.ArchivedTotals;
+import seedu.duke.classes.Expense;
+import seedu.duke.classes.Income;
+import seedu.duke.classes.StateChange.Entity;
+import seedu.duke.classes.StateManager;
+import seedu.duke.classes.Transaction;
+import seedu.duke.csv.CsvReader;
+import seedu.duke.csv.CsvWriter;
+import seedu.duke.exception.DukeException;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.function.BiFunction;
+
+/**
+ * Keeps the archived transactions of a ledger in files compressed with GZIP next to its storage files. Every
+ * archive writes its incomes and expenses as a new segment, and rewrites the totals file, in a single
+ * {@link SaveBatch}. The totals file holds the archived totals for every type, month and goal or category, and
+ * lists the segments, so a segment that was left behind by a crash is never read, and is overwritten by the next
+ * archive.
+ */
+class Archive implements ArchiveReader {
+    static final String TOTALS_FILE_NAME = "archive-totals.csv";
+    private static final String INVALID_TOTALS_ROW = "Skipping an invalid row of " + TOTALS_FILE_NAME;
+    private static final String INCOME_SEGMENT_PREFIX = "income-archive-";
+    private static final String EXPENSE_SEGMENT_PREFIX = "expense-archive-";
+    private static final String SEGMENT_EXTENSION = ".csv";
+    private static final String[] TOTALS_HEADER = {"Type", "Month", "Goal/Category", "Total", "Count"};
+    private static final String INCOME_TYPE = "Income";
+    private static final String EXPENSE_TYPE = "Expense";
+    private static final String SEGMENT_TYPE = "Segment";
+    private static final int TYPE = 0;
+    private static final int MONTH = 1;
+    private static final int SEGMENT_NUMBER = 1;
+    private static final int CLASSIFICATION = 2;
+    private static final int SEGMENT_BEFORE = 2;
+    private static final int TOTAL = 3;
+    private static final int COUNT = 4;
+    private static final int SEGMENT_ROW_LENGTH = 3;
+    private static final int TOTAL_ROW_LENGTH = 5;
+
+    private final Storage storage;
+    private final String directory;
+    private final StateManager stateManager;
+    private final ArrayList<Integer> segments = new ArrayList<>();
+    private final ArrayList<LocalDate> segmentDates = new ArrayList<>();
+
+    /**
+     * Creates the archive of the ledger in the given directory.
+     *
+     * @param storage Storage that decodes the archived rows.
+     * @param directory Directory of the storage files.
+     * @param stateManager State whose goals and categories the archived transactions refer to.
+     */
+    Archive(Storage storage, String directory, StateManager stateManager) {
+        this.storage = storage;
+        this.directory = directory;
+        this.stateManager = stateManager;
+    }
+
+    /**
+     * Reads the totals file, if anything has been archived.
+     *
+     * @return the archived totals, which are empty if nothing has been archived.
+     * @throws DukeException if the totals file cannot be read.
+     */
+    ArchivedTotals load() throws DukeException {
+        segments.clear();
+        segmentDates.clear();
+        ArchivedTotals totals = new ArchivedTotals();
+        File file = new File(directory, TOTALS_FILE_NAME);
+        if (!file.exists()) {
+            return totals;
+        }
+        CsvReader reader = new CsvReader(file.getPath());
+        try {
+            String[] row;
+            while ((row = reader.readLine()) != null) {
+                readTotalsRow(row, totals);
+            }
+        } finally {
+            reader.close();
+        }
+        return totals;
+    }
+
+    private void readTotalsRow(String[] row, ArchivedTotals totals) {
+        try {
+            if (row.length >= SEGMENT_ROW_LENGTH && row[TYPE].equals(SEGMENT_TYPE)) {
+                LocalDate before = LocalDate.parse(row[SEGMENT_BEFORE], Storage.FORMATTER);
+                segments.add(Integer.parseInt(row[SEGMENT_NUMBER]));
+                segmentDates.add(before);
+                totals.setArchivedBefore(before);
+            } else if (row.length >= TOTAL_ROW_LENGTH && storage.validRow(row)) {
+                Entity entity = row[TYPE].equals(INCOME_TYPE) ? Entity.INCOME : Entity.EXPENSE;
+                totals.add(entity, YearMonth.parse(row[MONTH]), row[CLASSIFICATION].strip(),
+                        Double.parseDouble(row[TOTAL]), Long.parseLong(row[COUNT]));
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            storage.addNotice(INVALID_TOTALS_ROW);
+        }
+    }
+
+    /**
+     * Writes the given transactions into a new segment, and the totals including them into the totals file.
+     * Either both files are replaced or neither is.
+     *
+     * @param incomes Incomes to be archived.
+     * @param expenses Expenses to be archived.
+     * @param before Date before which the transactions are archived.
+     * @param totals Totals of the transactions that have already been archived, which are not changed.
+     * @return totals of every archived transaction, including the given ones.
+     * @throws DukeException if the files cannot be written.
+     */
+    ArchivedTotals write(ArrayList<Income> incomes, ArrayList<Expense> expenses, LocalDate before,
+                         ArchivedTotals totals) throws DukeException {
+        ArchivedTotals updated = totals.copy();
+        int segment = segments.stream().mapToInt(Integer::intValue).max().orElse(0) + 1;
+        SaveBatch batch = new SaveBatch(true);
+        try {
+            CsvWriter incomeFile = batch.open(getSegmentPath(INCOME_SEGMENT_PREFIX, segment));
+            incomeFile.write(CsvBackend.INCOME_HEADER);
+            for (Income income : incomes) {
+                incomeFile.write(storage.incomeToRow(income));
+                updated.addIncome(income);
+            }
+            CsvWriter expenseFile = batch.open(getSegmentPath(EXPENSE_SEGMENT_PREFIX, segment));
+            expenseFile.write(CsvBackend.EXPENSE_HEADER);
+            for (Expense expense : expenses) {
+                expenseFile.write(storage.expenseToRow(expense));
+                updated.addExpense(expense);
+            }
+            updated.setArchivedBefore(before);
+
+            CsvWriter totalsFile = batch.open(new File(directory, TOTALS_FILE_NAME).getPath());
+            totalsFile.write(TOTALS_HEADER);
+            for (ArchivedTotals.Aggregate aggregate : updated.getAggregates()) {
+                String type = aggregate.getEntity() == Entity.INCOME ? INCOME_TYPE : EXPENSE_TYPE;
+                String[] row = {type, aggregate.getMonth().toString(), aggregate.getClassification(),
+                    Double.toString(aggregate.getTotal()), Long.toString(aggregate.getCount())};
+                totalsFile.write(row);
+            }
+            for (int i = 0; i < segments.size(); i++) {
+                writeSegmentRow(totalsFile, segments.get(i), segmentDates.get(i));
+            }
+            writeSegmentRow(totalsFile, segment, before);
+            batch.commit();
+        } finally {
+            batch.abort();
+        }
+        segments.add(segment);
+        segmentDates.add(before);
+        return updated;
+    }
+
+    private static void writeSegmentRow(CsvWriter totalsFile, int segment, LocalDate before) {
+        totalsFile.write(new String[]{SEGMENT_TYPE, Integer.toString(segment), before.format(Storage.FORMATTER)});
+    }
+
+    private String getSegmentPath(String prefix, int segment) {
+        return new File(directory, prefix + segment + SEGMENT_EXTENSION).getPath();
+    }
+
+    @Override
+    public ArrayList<Income> readIncomes(LocalDate since) throws DukeException {
+        SymbolTable symbols = new SymbolTable(stateManager);
+        ArrayList<Income> incomes = readSegments(INCOME_SEGMENT_PREFIX, since,
+                (row, transaction) -> new Income(transaction, symbols.getGoal(row[Storage.GOAL])));
+        incomes.sort(StateManager.INCOME_ORDER);
+        return incomes;
+    }
+
+    @Override
+    public ArrayList<Expense> readExpenses(LocalDate since) throws DukeException {
+        SymbolTable symbols = new SymbolTable(stateManager);
+        ArrayList<Expense> expenses = readSegments(EXPENSE_SEGMENT_PREFIX, since,
+                (row, transaction) -> new Expense(transaction, symbols.getCategory(row[Storage.CATEGORY])));
+        expenses.sort(StateManager.EXPENSE_ORDER);
+        return expenses;
+    }
+
+    /**
+     * Reads the transactions on or after the given date from every segment listed in the totals file. A segment
+     * only holds transactions before the date it was archived with, so later segments are skipped unopened.
+     */
+    private <T> ArrayList<T> readSegments(String prefix, LocalDate since,
+                                          BiFunction<String[], Transaction, T> converter) throws DukeException {
+        ArrayList<T> transactions = new ArrayList<>();
+        for (int i = 0; i < segments.size(); i++) {
+            if (!since.isBefore(segmentDates.get(i))) {
+                continue;
+            }
+            CsvReader reader = new CsvReader(getSegmentPath(prefix, segments.get(i)));
+            try {
+                String[] row;
+                while ((row = reader.readLine()) != null) {
+                    if (!storage.validRow(row) || row.length < Storage.TRANSACTIONS_ROW_LENGTH) {
+                        continue;
+                    }
+                    Transaction transaction = storage.prepareTransaction(row);
+                    if (transaction != null && !transaction.getDate().isBefore(since)) {
+                        transactions.add(converter.apply(row, transaction));
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        }
+        return transactions;
+    }
+}
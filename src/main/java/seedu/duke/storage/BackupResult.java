@@ -0,0 +1,44 @@
+package seedu.duke.storage;
+
+import java.time.LocalDateTime;
+
+/**
+ * What a backup of the storage files has written.
+ */
+public class BackupResult {
+    private final LocalDateTime time;
+    private final int fileCount;
+    private final int newChunkCount;
+    private final long writtenBytes;
+
+    /**
+     * Creates the result of a backup.
+     *
+     * @param time Time of the backup.
+     * @param fileCount Number of storage files in the backup.
+     * @param newChunkCount Number of chunks that no earlier backup had, and were written.
+     * @param writtenBytes Compressed size of the written chunks.
+     */
+    BackupResult(LocalDateTime time, int fileCount, int newChunkCount, long writtenBytes) {
+        this.time = time;
+        this.fileCount = fileCount;
+        this.newChunkCount = newChunkCount;
+        this.writtenBytes = writtenBytes;
+    }
+
+    public LocalDateTime getTime() {
+        return time;
+    }
+
+    public int getFileCount() {
+        return fileCount;
+    }
+
+    public int getNewChunkCount() {
+        return newChunkCount;
+    }
+
+    public long getWrittenBytes() {
+        return writtenBytes;
+    }
+}
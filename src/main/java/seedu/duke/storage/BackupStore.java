@@ -0,0 +1,465 @@
+package seedu.duke.storage;
+
+import seedu.duke.csv.CsvReader;
+import seedu.duke.csv.CsvWriter;
+import seedu.duke.exception.DukeException;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Random;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Keeps point-in-time backups of the storage files of a ledger in its {@code backups} directory. Every file is
+ * split into chunks at positions picked by a rolling hash of its content, so a row added to or removed from a
+ * file only changes the chunks around it. Chunks are named by their SHA-256 hash, and only chunks that the
+ * previous backup does not have are written, compressed, into the pack file of the new backup. Files whose size
+ * and modification time have not changed since the previous backup are not read at all.
+ *
+ * <p>The manifest of a backup lists every file with the pack, offset and length of each of its chunks, so a
+ * backup can be restored from its own manifest. The pack and the manifest are written in one {@link SaveBatch},
+ * with the manifest last, so a crash never leaves a manifest that refers to a missing pack.
+ */
+class BackupStore {
+    static final String BACKUP_DIR = "backups";
+    private static final String MANIFEST_DIR = "manifests";
+    private static final String PACK_DIR = "packs";
+    private static final String MANIFEST_EXTENSION = ".csv";
+    private static final String PACK_EXTENSION = ".pack";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final DateTimeFormatter ID_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final String[] MANIFEST_HEADER = {"Type", "Path/Hash", "Size/Pack", "Modified/Offset",
+        "Length", "Size"};
+    private static final String FILE_TYPE = "File";
+    private static final String CHUNK_TYPE = "Chunk";
+    private static final int MIN_CHUNK_SIZE = 4 * 1024;
+    private static final int MAX_CHUNK_SIZE = 128 * 1024;
+    private static final long BOUNDARY_MASK = -1L << (64 - 14);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long[] GEAR = createGear();
+    private static final String FAILED_BACKUP = "Unable to back up the storage files";
+    private static final String FAILED_RESTORE = "Unable to restore the backup";
+
+    private final File storageDirectory;
+    private final File backupDirectory;
+    private final String[] subdirectories;
+
+    /**
+     * Backed up file and the chunks it is made of.
+     */
+    private static class FileRecord {
+        private final String path;
+        private final long size;
+        private final long modified;
+        private final ArrayList<ChunkRecord> chunks = new ArrayList<>();
+
+        private FileRecord(String path, long size, long modified) {
+            this.path = path;
+            this.size = size;
+            this.modified = modified;
+        }
+    }
+
+    /**
+     * Chunk stored compressed in a pack file.
+     */
+    private static class ChunkRecord {
+        private final String hash;
+        private final String pack;
+        private final long offset;
+        private final int length;
+        private final int size;
+
+        private ChunkRecord(String hash, String pack, long offset, int length, int size) {
+            this.hash = hash;
+            this.pack = pack;
+            this.offset = offset;
+            this.length = length;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Writes the new chunks of a backup into its pack file, which is only created once a chunk is written.
+     */
+    private class PackWriter {
+        private final SaveBatch batch;
+        private final String name;
+        private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        private final MessageDigest digest;
+        private byte[] compressed = new byte[MAX_CHUNK_SIZE];
+        private DataOutputStream output;
+        private long offset = 0;
+        private int chunkCount = 0;
+
+        private PackWriter(SaveBatch batch, String name) {
+            this.batch = batch;
+            this.name = name;
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        /**
+         * Returns the stored chunk with the same content, or stores the chunk if there is none.
+         */
+        private ChunkRecord store(byte[] chunk, int size, HashMap<String, ChunkRecord> known)
+                throws DukeException, IOException {
+            digest.update(chunk, 0, size);
+            String hash = toHex(digest.digest());
+            ChunkRecord record = known.get(hash);
+            if (record != null) {
+                return record;
+            }
+            deflater.reset();
+            deflater.setInput(chunk, 0, size);
+            deflater.finish();
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == compressed.length) {
+                    compressed = Arrays.copyOf(compressed, compressed.length * 2);
+                }
+                length += deflater.deflate(compressed, length, compressed.length - length);
+            }
+            if (output == null) {
+                output = batch.openData(new File(getPackDirectory(), name + PACK_EXTENSION).getPath());
+            }
+            output.write(compressed, 0, length);
+            record = new ChunkRecord(hash, name, offset, length, size);
+            offset += length;
+            chunkCount++;
+            known.put(hash, record);
+            return record;
+        }
+    }
+
+    /**
+     * Creates the backups of the storage files in the given directory.
+     *
+     * @param storageDirectory Directory of the storage files.
+     * @param subdirectories Directories within it whose files are storage files as well, such as partitions.
+     */
+    BackupStore(File storageDirectory, String... subdirectories) {
+        this.storageDirectory = storageDirectory;
+        this.backupDirectory = new File(storageDirectory, BACKUP_DIR);
+        this.subdirectories = subdirectories;
+    }
+
+    private static long[] createGear() {
+        Random random = new Random(0x5eed);
+        long[] gear = new long[256];
+        for (int i = 0; i < gear.length; i++) {
+            gear[i] = random.nextLong();
+        }
+        return gear;
+    }
+
+    /**
+     * Returns the bytes of a digest as lowercase hexadecimal digits, which name the chunk in the manifest.
+     */
+    private static String toHex(byte[] bytes) {
+        char[] digits = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            digits[2 * i] = Character.forDigit((bytes[i] >> 4) & 0xf, 16);
+            digits[2 * i + 1] = Character.forDigit(bytes[i] & 0xf, 16);
+        }
+        return new String(digits);
+    }
+
+    private File getManifestDirectory() {
+        return new File(backupDirectory, MANIFEST_DIR);
+    }
+
+    private File getPackDirectory() {
+        return new File(backupDirectory, PACK_DIR);
+    }
+
+    /**
+     * Returns the times of the backups.
+     *
+     * @return times from the earliest to the latest backup.
+     */
+    ArrayList<LocalDateTime> list() {
+        ArrayList<LocalDateTime> times = new ArrayList<>();
+        String[] names = getManifestDirectory().list();
+        if (names == null) {
+            return times;
+        }
+        for (String name : names) {
+            if (!name.endsWith(MANIFEST_EXTENSION)) {
+                continue;
+            }
+            try {
+                String id = name.substring(0, name.length() - MANIFEST_EXTENSION.length());
+                times.add(LocalDateTime.parse(id, ID_FORMAT));
+            } catch (DateTimeParseException e) {
+                // Not a manifest written by a backup.
+            }
+        }
+        times.sort(LocalDateTime::compareTo);
+        return times;
+    }
+
+    private File getManifestFile(LocalDateTime time) {
+        return new File(getManifestDirectory(), time.format(ID_FORMAT) + MANIFEST_EXTENSION);
+    }
+
+    /**
+     * Backs up the storage files as they are on disk now.
+     *
+     * @param now Time of the backup, which is moved forward if a backup already has it.
+     * @return what the backup has written.
+     * @throws DukeException if a storage file cannot be read, or the backup cannot be written.
+     */
+    BackupResult backup(LocalDateTime now) throws DukeException {
+        ArrayList<LocalDateTime> times = list();
+        LocalDateTime time = now.withNano(now.getNano() / 1_000_000 * 1_000_000);
+        if (!times.isEmpty() && !time.isAfter(times.get(times.size() - 1))) {
+            time = times.get(times.size() - 1).plusNanos(1_000_000);
+        }
+        LinkedHashMap<String, FileRecord> previous = times.isEmpty()
+                ? new LinkedHashMap<>() : readManifest(getManifestFile(times.get(times.size() - 1)));
+        HashMap<String, ChunkRecord> known = new HashMap<>();
+        for (FileRecord record : previous.values()) {
+            for (ChunkRecord chunk : record.chunks) {
+                known.put(chunk.hash, chunk);
+            }
+        }
+
+        getManifestDirectory().mkdirs();
+        getPackDirectory().mkdirs();
+        SaveBatch batch = new SaveBatch();
+        try {
+            PackWriter pack = new PackWriter(batch, time.format(ID_FORMAT));
+            ArrayList<FileRecord> records = new ArrayList<>();
+            for (File file : listStorageFiles()) {
+                String path = getRelativePath(file);
+                FileRecord old = previous.get(path);
+                if (old != null && old.size == file.length() && old.modified == file.lastModified()) {
+                    records.add(old);
+                } else {
+                    records.add(storeFile(file, path, known, pack));
+                }
+            }
+            CsvWriter manifest = batch.open(getManifestFile(time).getPath());
+            writeManifest(manifest, records);
+            batch.commit();
+            return new BackupResult(time, records.size(), pack.chunkCount, pack.offset);
+        } catch (IOException e) {
+            throw new DukeException(FAILED_BACKUP);
+        } finally {
+            batch.abort();
+        }
+    }
+
+    /**
+     * Returns the storage files, which are the files in the storage directory and in its subdirectories that
+     * belong to the storage, apart from temporary files.
+     */
+    private ArrayList<File> listStorageFiles() {
+        ArrayList<File> files = new ArrayList<>();
+        addFiles(storageDirectory, files);
+        for (String subdirectory : subdirectories) {
+            addFiles(new File(storageDirectory, subdirectory), files);
+        }
+        return files;
+    }
+
+    private static void addFiles(File directory, ArrayList<File> files) {
+        File[] children = directory.listFiles();
+        if (children == null) {
+            return;
+        }
+        Arrays.sort(children);
+        for (File child : children) {
+            // The commit record only lists the files of the last save, which a restore replaces anyway.
+            if (child.isFile() && !child.getName().endsWith(TEMP_SUFFIX)
+                    && !child.getName().equals(Storage.COMMIT_RECORD_FILE_NAME)) {
+                files.add(child);
+            }
+        }
+    }
+
+    private String getRelativePath(File file) {
+        return storageDirectory.toPath().relativize(file.toPath()).toString().replace(File.separatorChar, '/');
+    }
+
+    /**
+     * Splits a file into chunks where the rolling hash of the last 64 bytes has its top bits clear, with a
+     * minimum and maximum chunk size, and stores the chunks that are not known yet.
+     */
+    private FileRecord storeFile(File file, String path, HashMap<String, ChunkRecord> known, PackWriter pack)
+            throws DukeException, IOException {
+        long modified = file.lastModified();
+        long size = 0;
+        byte[] chunk = new byte[MAX_CHUNK_SIZE];
+        int length = 0;
+        long hash = 0;
+        ArrayList<ChunkRecord> chunks = new ArrayList<>();
+        try (InputStream input = new FileInputStream(file)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = input.read(buffer)) > 0) {
+                size += read;
+                for (int i = 0; i < read; i++) {
+                    byte value = buffer[i];
+                    chunk[length++] = value;
+                    hash = (hash << 1) + GEAR[value & 0xff];
+                    if (length >= MIN_CHUNK_SIZE && (hash & BOUNDARY_MASK) == 0 || length == MAX_CHUNK_SIZE) {
+                        chunks.add(pack.store(chunk, length, known));
+                        length = 0;
+                        hash = 0;
+                    }
+                }
+            }
+        }
+        if (length > 0) {
+            chunks.add(pack.store(chunk, length, known));
+        }
+        FileRecord record = new FileRecord(path, size, modified);
+        record.chunks.addAll(chunks);
+        return record;
+    }
+
+    private static void writeManifest(CsvWriter manifest, ArrayList<FileRecord> records) {
+        manifest.write(MANIFEST_HEADER);
+        for (FileRecord record : records) {
+            manifest.write(new String[]{FILE_TYPE, record.path, Long.toString(record.size),
+                Long.toString(record.modified)});
+            for (ChunkRecord chunk : record.chunks) {
+                manifest.write(new String[]{CHUNK_TYPE, chunk.hash, chunk.pack, Long.toString(chunk.offset),
+                    Integer.toString(chunk.length), Integer.toString(chunk.size)});
+            }
+        }
+    }
+
+    private static LinkedHashMap<String, FileRecord> readManifest(File file) throws DukeException {
+        LinkedHashMap<String, FileRecord> records = new LinkedHashMap<>();
+        CsvReader reader = new CsvReader(file.getPath());
+        try {
+            FileRecord record = null;
+            String[] row;
+            while ((row = reader.readLine()) != null) {
+                if (row[0].equals(FILE_TYPE)) {
+                    record = new FileRecord(row[1], Long.parseLong(row[2]), Long.parseLong(row[3]));
+                    records.put(record.path, record);
+                } else if (row[0].equals(CHUNK_TYPE) && record != null) {
+                    record.chunks.add(new ChunkRecord(row[1], row[2], Long.parseLong(row[3]),
+                            Integer.parseInt(row[4]), Integer.parseInt(row[5])));
+                }
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new DukeException("The backup manifest " + file.getName() + " is damaged");
+        } finally {
+            reader.close();
+        }
+        return records;
+    }
+
+    /**
+     * Returns the time of the latest backup made at or before the given time.
+     *
+     * @param at Latest time of the backup.
+     * @return time of the backup.
+     * @throws DukeException if there is no such backup.
+     */
+    LocalDateTime find(LocalDateTime at) throws DukeException {
+        LocalDateTime time = null;
+        for (LocalDateTime backupTime : list()) {
+            if (!backupTime.isAfter(at)) {
+                time = backupTime;
+            }
+        }
+        if (time == null) {
+            throw new DukeException("There is no backup made at or before that time.");
+        }
+        return time;
+    }
+
+    /**
+     * Replaces the storage files with those of the backup made at the given time. Storage files that the backup
+     * does not have are deleted. Every file is replaced in one {@link SaveBatch}, and each chunk is checked
+     * against its hash before anything is replaced.
+     *
+     * @param time Time of the backup, as returned by {@link #find(LocalDateTime)}.
+     * @throws DukeException if the backup cannot be read, or the storage files cannot be written.
+     */
+    void restore(LocalDateTime time) throws DukeException {
+        LinkedHashMap<String, FileRecord> records = readManifest(getManifestFile(time));
+        HashMap<String, RandomAccessFile> packs = new HashMap<>();
+        SaveBatch batch = new SaveBatch();
+        try {
+            Inflater inflater = new Inflater();
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (FileRecord record : records.values()) {
+                File target = new File(storageDirectory, record.path);
+                target.getParentFile().mkdirs();
+                DataOutputStream output = batch.openData(target.getPath());
+                for (ChunkRecord chunk : record.chunks) {
+                    output.write(readChunk(chunk, packs, inflater, digest));
+                }
+            }
+            for (File file : listStorageFiles()) {
+                if (!records.containsKey(getRelativePath(file))) {
+                    batch.delete(file.getPath());
+                }
+            }
+            batch.commit();
+        } catch (IOException | DataFormatException | NoSuchAlgorithmException e) {
+            throw new DukeException(FAILED_RESTORE);
+        } finally {
+            batch.abort();
+            for (RandomAccessFile pack : packs.values()) {
+                try {
+                    pack.close();
+                } catch (IOException e) {
+                    // The pack was only read.
+                }
+            }
+        }
+    }
+
+    private byte[] readChunk(ChunkRecord chunk, HashMap<String, RandomAccessFile> packs, Inflater inflater,
+                             MessageDigest digest) throws IOException, DataFormatException, DukeException {
+        RandomAccessFile pack = packs.get(chunk.pack);
+        if (pack == null) {
+            pack = new RandomAccessFile(new File(getPackDirectory(), chunk.pack + PACK_EXTENSION), "r");
+            packs.put(chunk.pack, pack);
+        }
+        byte[] compressed = new byte[chunk.length];
+        pack.seek(chunk.offset);
+        pack.readFully(compressed);
+        inflater.reset();
+        inflater.setInput(compressed);
+        byte[] content = new byte[chunk.size];
+        int length = 0;
+        while (length < content.length && !inflater.finished()) {
+            int inflated = inflater.inflate(content, length, content.length - length);
+            if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                break;
+            }
+            length += inflated;
+        }
+        if (length != content.length || !toHex(digest.digest(content)).equals(chunk.hash)) {
+            throw new DukeException("The backup pack " + chunk.pack + PACK_EXTENSION + " is damaged");
+        }
+        return content;
+    }
+}
@@ -0,0 +1,253 @@
+package seedu.duke.storage;
+
+import seedu.duke.classes.Category;
+import seedu.duke.classes.Expense;
+import seedu.duke.classes.Goal;
+import seedu.duke.classes.Income;
+import seedu.duke.classes.StateChange;
+import seedu.duke.classes.StateManager;
+import seedu.duke.classes.Transaction;
+import seedu.duke.csv.CsvCompression;
+import seedu.duke.exception.DukeException;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Stores each kind of entity in its own binary file, which loads and saves several times faster than CSV.
+ * Values are encoded with {@link BinaryCodec}. Transactions refer to their goal or category through a table of
+ * names at the start of their file, so that every file can be saved on its own.
+ */
+class BinaryBackend implements StorageBackend {
+    private static final int MAGIC = 0x46544231;
+    private static final String GOAL_FILE_NAME = "goal-store.bin";
+    private static final String CATEGORY_FILE_NAME = "category-store.bin";
+    private static final String INCOME_FILE_NAME = "income-store.bin";
+    private static final String EXPENSE_FILE_NAME = "expense-store.bin";
+    private static final String FAILED_READ = "Cannot read file ";
+    private static final String FAILED_SAVE = "Unable to save the storage files";
+
+    private final EnumMap<StateChange.Entity, File> files = new EnumMap<>(StateChange.Entity.class);
+    private final boolean isCompressed;
+
+    /**
+     * Creates a backend that keeps its files in the given directory.
+     *
+     * @param directory Directory of the storage files.
+     * @param isCompressed Whether the files are compressed with GZIP when they are written.
+     */
+    BinaryBackend(String directory, boolean isCompressed) {
+        files.put(StateChange.Entity.GOAL, new File(directory, GOAL_FILE_NAME));
+        files.put(StateChange.Entity.CATEGORY, new File(directory, CATEGORY_FILE_NAME));
+        files.put(StateChange.Entity.INCOME, new File(directory, INCOME_FILE_NAME));
+        files.put(StateChange.Entity.EXPENSE, new File(directory, EXPENSE_FILE_NAME));
+        this.isCompressed = isCompressed;
+    }
+
+    @Override
+    public boolean exists(StateChange.Entity entity) {
+        return files.get(entity).exists();
+    }
+
+    @Override
+    public List<File> getFiles() {
+        return new ArrayList<>(files.values());
+    }
+
+    @Override
+    public void load(StateChange.Entity entity, StateManager stateManager) throws DukeException {
+        load(entity, stateManager, new SymbolTable(stateManager));
+    }
+
+    /**
+     * Loads every kind of entity, resolving the names of all files through one {@link SymbolTable}.
+     */
+    @Override
+    public void loadAll(StateManager stateManager) throws DukeException {
+        SymbolTable symbols = new SymbolTable(stateManager);
+        for (StateChange.Entity entity : StateChange.Entity.values()) {
+            load(entity, stateManager, symbols);
+        }
+    }
+
+    private void load(StateChange.Entity entity, StateManager stateManager, SymbolTable symbols)
+            throws DukeException {
+        File file = files.get(entity);
+        ByteBuffer buffer = read(file);
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new DukeException(FAILED_READ + file.getPath());
+            }
+            switch (entity) {
+            case GOAL:
+                readGoals(buffer, stateManager, symbols);
+                break;
+            case CATEGORY:
+                readCategories(buffer, stateManager, symbols);
+                break;
+            case INCOME:
+                readIncomes(buffer, stateManager, symbols);
+                break;
+            default:
+                readExpenses(buffer, stateManager, symbols);
+                break;
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException
+                 | DateTimeException e) {
+            throw new DukeException(FAILED_READ + file.getPath());
+        }
+    }
+
+    private static ByteBuffer read(File file) throws DukeException {
+        try (InputStream input = CsvCompression.openInput(file)) {
+            return ByteBuffer.wrap(input.readAllBytes());
+        } catch (FileNotFoundException e) {
+            throw new DukeException("");
+        } catch (IOException e) {
+            throw new DukeException(FAILED_READ + file.getPath());
+        }
+    }
+
+    private static void readGoals(ByteBuffer buffer, StateManager stateManager, SymbolTable symbols) {
+        int count = buffer.getInt();
+        stateManager.ensureCapacity(count, 0, 0, 0);
+        for (int i = 0; i < count; i++) {
+            String description = BinaryCodec.readString(buffer);
+            double amount = BinaryCodec.fromCents(buffer.getLong());
+            if (!symbols.containsGoal(description)) {
+                Goal goal = new Goal(description, amount);
+                symbols.addGoal(goal);
+                stateManager.addGoal(goal);
+            }
+        }
+    }
+
+    private static void readCategories(ByteBuffer buffer, StateManager stateManager, SymbolTable symbols) {
+        int count = buffer.getInt();
+        stateManager.ensureCapacity(0, count, 0, 0);
+        for (int i = 0; i < count; i++) {
+            String name = BinaryCodec.readString(buffer);
+            if (!symbols.containsCategory(name)) {
+                Category category = new Category(name);
+                symbols.addCategory(category);
+                stateManager.addCategory(category);
+            }
+        }
+    }
+
+    private static void readIncomes(ByteBuffer buffer, StateManager stateManager, SymbolTable symbols) {
+        Goal[] names = new Goal[buffer.getInt()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = symbols.getGoal(BinaryCodec.readString(buffer));
+        }
+        Income[] incomes = new Income[buffer.getInt()];
+        for (int i = 0; i < incomes.length; i++) {
+            Goal goal = names[buffer.getInt()];
+            incomes[i] = new Income(symbols.intern(BinaryCodec.readTransaction(buffer)), goal);
+        }
+        stateManager.ensureCapacity(0, 0, incomes.length, 0);
+        for (Income income : incomes) {
+            stateManager.addIncome(income);
+        }
+        stateManager.sortIncomes();
+    }
+
+    private static void readExpenses(ByteBuffer buffer, StateManager stateManager, SymbolTable symbols) {
+        Category[] names = new Category[buffer.getInt()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = symbols.getCategory(BinaryCodec.readString(buffer));
+        }
+        Expense[] expenses = new Expense[buffer.getInt()];
+        for (int i = 0; i < expenses.length; i++) {
+            Category category = names[buffer.getInt()];
+            expenses[i] = new Expense(symbols.intern(BinaryCodec.readTransaction(buffer)), category);
+        }
+        stateManager.ensureCapacity(0, 0, 0, expenses.length);
+        for (Expense expense : expenses) {
+            stateManager.addExpense(expense);
+        }
+        stateManager.sortExpenses();
+    }
+
+    @Override
+    public void save(StateManager stateManager, EnumMap<StateChange.Entity, Long> savedVersions,
+            SaveBatch.CommitRecord record) throws DukeException {
+        SaveBatch batch = new SaveBatch(isCompressed, record);
+        try {
+            for (StateChange.Entity entity : savedVersions.keySet()) {
+                DataOutputStream output = batch.openData(files.get(entity).getPath());
+                output.writeInt(MAGIC);
+                write(entity, output, stateManager);
+            }
+            batch.commit();
+        } catch (IOException e) {
+            throw new DukeException(FAILED_SAVE);
+        } finally {
+            batch.abort();
+        }
+    }
+
+    private static void write(StateChange.Entity entity, DataOutputStream output, StateManager stateManager)
+            throws IOException {
+        switch (entity) {
+        case GOAL:
+            ArrayList<Goal> goals = stateManager.getAllGoals();
+            output.writeInt(goals.size());
+            for (Goal goal : goals) {
+                BinaryCodec.writeString(output, goal.getDescription());
+                output.writeLong(BinaryCodec.toCents(goal.getAmount()));
+            }
+            break;
+        case CATEGORY:
+            ArrayList<Category> categories = stateManager.getAllCategories();
+            output.writeInt(categories.size());
+            for (Category category : categories) {
+                BinaryCodec.writeString(output, category.getName());
+            }
+            break;
+        case INCOME:
+            writeTransactions(output, stateManager.getAllIncomes(), income -> income.getGoal().getDescription(),
+                    Income::getTransaction);
+            break;
+        default:
+            writeTransactions(output, stateManager.getAllExpenses(), expense -> expense.getCategory().getName(),
+                    Expense::getTransaction);
+            break;
+        }
+    }
+
+    /**
+     * Writes the names of the goals or categories the transactions refer to, followed by the transactions with
+     * the position of their name.
+     */
+    private static <T> void writeTransactions(DataOutputStream output, ArrayList<T> transactions,
+            Function<T, String> nameOf, Function<T, Transaction> transactionOf) throws IOException {
+        LinkedHashMap<String, Integer> names = new LinkedHashMap<>();
+        int[] nameIndexes = new int[transactions.size()];
+        for (int i = 0; i < nameIndexes.length; i++) {
+            String name = nameOf.apply(transactions.get(i));
+            Integer index = names.putIfAbsent(name, names.size());
+            nameIndexes[i] = index == null ? names.size() - 1 : index;
+        }
+        output.writeInt(names.size());
+        for (String name : names.keySet()) {
+            BinaryCodec.writeString(output, name);
+        }
+        output.writeInt(nameIndexes.length);
+        for (int i = 0; i < nameIndexes.length; i++) {
+            output.writeInt(nameIndexes[i]);
+            BinaryCodec.writeTransaction(output, transactionOf.apply(transactions.get(i)));
+        }
+    }
+}
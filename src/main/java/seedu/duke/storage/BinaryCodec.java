@@ -0,0 +1,71 @@
+package seedu.duke.storage;
+
+import seedu.duke.classes.Transaction;
+import seedu.duke.classes.TransactionRecurrence;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Encoding shared by the binary storage formats. Strings are stored as length-prefixed UTF-8, dates as epoch
+ * days, amounts as cents and the recurrence of a transaction as its ordinal.
+ */
+final class BinaryCodec {
+    private static final double CENTS = 100.0;
+
+    private BinaryCodec() {
+    }
+
+    static void writeTransaction(DataOutputStream output, Transaction transaction) throws IOException {
+        writeString(output, transaction.getDescription());
+        output.writeLong(toCents(transaction.getAmount()));
+        output.writeInt((int) transaction.getDate().toEpochDay());
+        output.writeByte(transaction.getRecurrence().ordinal());
+        output.writeBoolean(transaction.getHasGeneratedNextRecurrence());
+    }
+
+    static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    static long toCents(double amount) {
+        return Math.round(amount * CENTS);
+    }
+
+    static double fromCents(long cents) {
+        return cents / CENTS;
+    }
+
+    static Transaction readTransaction(ByteBuffer buffer) {
+        String description = readString(buffer);
+        double amount = fromCents(buffer.getLong());
+        LocalDate date = LocalDate.ofEpochDay(buffer.getInt());
+        Transaction transaction = new Transaction(description, amount, date);
+        transaction.setRecurrence(TransactionRecurrence.values()[buffer.get()]);
+        transaction.setHasGeneratedNextRecurrence(buffer.get() != 0);
+        return transaction;
+    }
+
+    /**
+     * Reads a string from a heap buffer.
+     *
+     * @param buffer Buffer positioned at the length of the string.
+     * @return the string.
+     * @throws BufferUnderflowException if the buffer ends before the string.
+     */
+    static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+}
@@ -0,0 +1,299 @@
+package seedu.duke.storage;
+
+import seedu.duke.classes.Category;
+import seedu.duke.classes.Expense;
+import seedu.duke.classes.Goal;
+import seedu.duke.classes.Income;
+import seedu.duke.classes.StateManager;
+import seedu.duke.classes.Transaction;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.zip.CRC32C;
+
+/**
+ * Compact binary copy of the state that is written alongside the storage files and loads much faster than them.
+ * The snapshot records the name, size, a CRC32C hash of the contents and the number of rows of each storage file
+ * it was written with, and is only used while the storage files are unchanged, so the CSV files stay the source of
+ * truth. Rows in the snapshot were validated when it was written, so loading it skips parsing and validation
+ * altogether. The hashes of the files that a save has just written are taken from its {@link SaveBatch}, and the
+ * others are remembered from when they were last written or checked, so files are not read back to be hashed.
+ *
+ * <p>Values are encoded with {@link BinaryCodec}, and the goal or category of a transaction is stored as its index
+ * in the goal or category list, where -1 stands for the uncategorised one.
+ */
+class BinarySnapshot {
+    private static final int MAGIC = 0x46545333;
+    private static final int UNCATEGORISED = -1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final File file;
+    private final Supplier<List<File>> storeFiles;
+    private final HashMap<File, FileHash> hashes = new HashMap<>();
+
+    /**
+     * Creates a snapshot that belongs to the given storage files.
+     *
+     * @param file File holding the snapshot.
+     * @param storeFiles Lists the current goal, category, income and expense storage files.
+     */
+    BinarySnapshot(File file, Supplier<List<File>> storeFiles) {
+        this.file = file;
+        this.storeFiles = storeFiles;
+    }
+
+    boolean exists() {
+        return file.exists();
+    }
+
+    /**
+     * Writes the given state into the snapshot, hashing any storage file whose hash is not known yet.
+     *
+     * @param stateManager State that has just been loaded from the storage files.
+     */
+    void write(StateManager stateManager) {
+        write(stateManager, List.of());
+    }
+
+    /**
+     * Writes the given state into the snapshot. The snapshot is only a cache of the storage files, so it is not
+     * synced to disk, and a snapshot that cannot be written, or whose storage files cannot be hashed, is simply
+     * left out.
+     *
+     * @param stateManager State that has just been saved into the storage files.
+     * @param written Hashes of the storage files that the save has just written.
+     */
+    void write(StateManager stateManager, List<FileHash> written) {
+        for (FileHash fileHash : written) {
+            hashes.put(fileHash.getFile().getAbsoluteFile(), fileHash);
+        }
+        File temp = new File(file.getPath() + TEMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             DataOutputStream output = new DataOutputStream(
+                     new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE))) {
+            writeState(output, stateManager);
+        } catch (IOException e) {
+            temp.delete();
+            file.delete();
+            return;
+        }
+
+        try {
+            try {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            temp.delete();
+            file.delete();
+        }
+    }
+
+    private void writeState(DataOutputStream output, StateManager stateManager) throws IOException {
+        output.writeInt(MAGIC);
+        List<File> files = storeFiles.get();
+        output.writeInt(files.size());
+        for (File storeFile : files) {
+            FileHash fileHash = getHash(storeFile);
+            BinaryCodec.writeString(output, storeFile.getName());
+            output.writeLong(fileHash.getSize());
+            output.writeLong(fileHash.getHash());
+            output.writeLong(fileHash.getRows());
+        }
+
+        ArrayList<Goal> goals = stateManager.getAllGoals();
+        IdentityHashMap<Goal, Integer> goalIndexes = new IdentityHashMap<>();
+        output.writeInt(goals.size());
+        for (Goal goal : goals) {
+            goalIndexes.put(goal, goalIndexes.size());
+            BinaryCodec.writeString(output, goal.getDescription());
+            output.writeLong(BinaryCodec.toCents(goal.getAmount()));
+        }
+
+        ArrayList<Category> categories = stateManager.getAllCategories();
+        IdentityHashMap<Category, Integer> categoryIndexes = new IdentityHashMap<>();
+        output.writeInt(categories.size());
+        for (Category category : categories) {
+            categoryIndexes.put(category, categoryIndexes.size());
+            BinaryCodec.writeString(output, category.getName());
+        }
+
+        ArrayList<Income> incomes = stateManager.getAllIncomes();
+        output.writeInt(incomes.size());
+        for (Income income : incomes) {
+            output.writeInt(goalIndexes.getOrDefault(income.getGoal(), UNCATEGORISED));
+            BinaryCodec.writeTransaction(output, income.getTransaction());
+        }
+
+        ArrayList<Expense> expenses = stateManager.getAllExpenses();
+        output.writeInt(expenses.size());
+        for (Expense expense : expenses) {
+            output.writeInt(categoryIndexes.getOrDefault(expense.getCategory(), UNCATEGORISED));
+            BinaryCodec.writeTransaction(output, expense.getTransaction());
+        }
+    }
+
+    /**
+     * Loads the snapshot into the given empty state if the storage files have not changed since it was written.
+     *
+     * @param stateManager State to load the snapshot into.
+     * @return true if the snapshot was loaded, false if the storage files have to be loaded instead.
+     */
+    boolean read(StateManager stateManager) {
+        if (!file.exists()) {
+            return false;
+        }
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                return false;
+            }
+            buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Keep reading until the buffer is full.
+            }
+            buffer.flip();
+        } catch (IOException e) {
+            return false;
+        }
+
+        try {
+            return readState(buffer, stateManager);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException
+                 | DateTimeException | IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the known hash of the given storage file, or hashes it if it is not known or its size has changed.
+     * Rows are not counted when a file is hashed here.
+     */
+    private FileHash getHash(File storeFile) throws IOException {
+        File key = storeFile.getAbsoluteFile();
+        FileHash fileHash = hashes.get(key);
+        if (fileHash == null || fileHash.getSize() != storeFile.length()) {
+            fileHash = new FileHash(storeFile, storeFile.length(), hash(storeFile), FileHash.UNKNOWN_ROWS);
+            hashes.put(key, fileHash);
+        }
+        return fileHash;
+    }
+
+    /**
+     * Hashes the contents of the given file. The size of the file is compared before its hash, so most changes are
+     * noticed without reading the file.
+     *
+     * @param file File to hash.
+     * @return the CRC32C checksum of the file.
+     * @throws IOException if the file cannot be read.
+     */
+    private static long hash(File file) throws IOException {
+        CRC32C checksum = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                checksum.update(buffer);
+                buffer.clear();
+            }
+        }
+        return checksum.getValue();
+    }
+
+    private boolean readState(ByteBuffer buffer, StateManager stateManager) throws IOException {
+        if (buffer.getInt() != MAGIC) {
+            return false;
+        }
+        List<File> files = storeFiles.get();
+        if (buffer.getInt() != files.size()) {
+            return false;
+        }
+        long dataRows = 0;
+        boolean isCounted = true;
+        for (File storeFile : files) {
+            if (!BinaryCodec.readString(buffer).equals(storeFile.getName())) {
+                return false;
+            }
+            long size = buffer.getLong();
+            long hash = buffer.getLong();
+            long rows = buffer.getLong();
+            if (size != storeFile.length() || hash != hash(storeFile)) {
+                return false;
+            }
+            hashes.put(storeFile.getAbsoluteFile(), new FileHash(storeFile, size, hash, rows));
+            if (rows == FileHash.UNKNOWN_ROWS) {
+                isCounted = false;
+            } else {
+                // Each storage file starts with a header row.
+                dataRows += rows - 1;
+            }
+        }
+
+        Goal[] goals = new Goal[buffer.getInt()];
+        for (int i = 0; i < goals.length; i++) {
+            goals[i] = new Goal(BinaryCodec.readString(buffer), BinaryCodec.fromCents(buffer.getLong()));
+        }
+        Category[] categories = new Category[buffer.getInt()];
+        for (int i = 0; i < categories.length; i++) {
+            categories[i] = new Category(BinaryCodec.readString(buffer));
+        }
+
+        SymbolTable symbols = new SymbolTable(stateManager);
+        Income[] incomes = new Income[buffer.getInt()];
+        for (int i = 0; i < incomes.length; i++) {
+            int goal = buffer.getInt();
+            Transaction transaction = symbols.intern(BinaryCodec.readTransaction(buffer));
+            incomes[i] = new Income(transaction,
+                    goal == UNCATEGORISED ? stateManager.getUncategorisedGoal() : goals[goal]);
+        }
+        Expense[] expenses = new Expense[buffer.getInt()];
+        for (int i = 0; i < expenses.length; i++) {
+            int category = buffer.getInt();
+            Transaction transaction = symbols.intern(BinaryCodec.readTransaction(buffer));
+            expenses[i] = new Expense(transaction,
+                    category == UNCATEGORISED ? stateManager.getUncategorisedCategory() : categories[category]);
+        }
+        if (buffer.hasRemaining()) {
+            return false;
+        }
+        if (isCounted && dataRows != goals.length + categories.length + incomes.length + expenses.length) {
+            return false;
+        }
+
+        stateManager.ensureCapacity(goals.length, categories.length, incomes.length, expenses.length);
+        for (Goal goal : goals) {
+            stateManager.addGoal(goal);
+        }
+        for (Category category : categories) {
+            stateManager.addCategory(category);
+        }
+        for (Income income : incomes) {
+            stateManager.addIncome(income);
+        }
+        for (Expense expense : expenses) {
+            stateManager.addExpense(expense);
+        }
+        return true;
+    }
+}
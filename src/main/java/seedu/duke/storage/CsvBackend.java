@@ -0,0 +1,763 @@
+package seedu.duke.storage;
+
+import seedu.duke.classes.Category;
+import seedu.duke.classes.Expense;
+import seedu.duke.classes.Goal;
+import seedu.duke.classes.Income;
+import seedu.duke.classes.StateChange;
+import seedu.duke.classes.StateManager;
+import seedu.duke.classes.Transaction;
+import seedu.duke.csv.CsvReader;
+import seedu.duke.csv.CsvWriter;
+import seedu.duke.csv.MappedCsvReader;
+import seedu.duke.exception.DukeException;
+
+import java.io.File;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Stores the state in CSV files, one each for goals and categories and one each, or one per month, for incomes
+ * and expenses. Rows are converted with the methods of {@link Storage}, which the journal uses as well.
+ */
+class CsvBackend implements StorageBackend {
+    private static final String FAILED_READ = "Cannot read file";
+    private static final String INCOME_LOADER_THREAD = "income-loader";
+    private static final long PARALLEL_PARSE_THRESHOLD = 4 * 1024 * 1024;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final String[] GOAL_HEADER = {"Description", "Amount"};
+    private static final String[] CATEGORY_HEADER = {"Name"};
+    static final String[] INCOME_HEADER = {"Description", "Amount", "Date", "Goal",
+                                           "Recurrence", "Has Next Recurrence"};
+    static final String[] EXPENSE_HEADER = {"Description", "Amount", "Date", "Category",
+                                            "Recurrence", "Has Next Recurrence"};
+
+    private final Storage storage;
+    private final String goalStorageFileName;
+    private final String categoryStorageFileName;
+    private final String incomeStorageFileName;
+    private final String expenseStorageFileName;
+    private BinarySnapshot snapshot;
+    private LocalDate windowStart;
+    private TransactionPartitions incomePartitions;
+    private TransactionPartitions expensePartitions;
+    private boolean isCompressed = false;
+    private HashMap<String, UnloadedRows> unloadedIncomes = new HashMap<>();
+    private HashMap<String, UnloadedRows> unloadedExpenses = new HashMap<>();
+    private final HashMap<String, UnloadedRows> copiedRows = new HashMap<>();
+
+    CsvBackend(Storage storage, String goalFileName, String categoryFileName, String incomeFileName,
+            String expenseFileName) {
+        this.storage = storage;
+        this.goalStorageFileName = goalFileName;
+        this.categoryStorageFileName = categoryFileName;
+        this.incomeStorageFileName = incomeFileName;
+        this.expenseStorageFileName = expenseFileName;
+    }
+
+    /**
+     * Keeps a binary snapshot of the state in the given file, which is loaded instead of the CSV files while they
+     * are unchanged.
+     *
+     * @param file File holding the snapshot.
+     */
+    void enableSnapshot(File file) {
+        snapshot = new BinarySnapshot(file, this::getFiles);
+    }
+
+    /**
+     * Only loads the transactions on or after the given date. Older rows are recorded as unloaded rows of their
+     * file, and are copied over unchanged whenever the file is rewritten.
+     *
+     * @param windowStart Earliest date of the transactions that are loaded.
+     */
+    void enableHistoryWindow(LocalDate windowStart) {
+        this.windowStart = windowStart;
+    }
+
+    /**
+     * Stores incomes and expenses as one file per month in the given directories.
+     *
+     * @param incomeDirectory Directory of the income partitions.
+     * @param expenseDirectory Directory of the expense partitions.
+     */
+    void enablePartitions(File incomeDirectory, File expenseDirectory) {
+        incomePartitions = new TransactionPartitions(incomeDirectory);
+        expensePartitions = new TransactionPartitions(expenseDirectory);
+    }
+
+    void enableCompression() {
+        isCompressed = true;
+    }
+
+    LocalDate getWindowStart() {
+        return windowStart;
+    }
+
+    private boolean isWindowed() {
+        return windowStart != null;
+    }
+
+    boolean hasUnloadedRows() {
+        return !unloadedIncomes.isEmpty() || !unloadedExpenses.isEmpty();
+    }
+
+    @Override
+    public List<File> getFiles() {
+        ArrayList<File> files = new ArrayList<>();
+        files.add(new File(goalStorageFileName));
+        files.add(new File(categoryStorageFileName));
+        if (incomePartitions == null) {
+            files.add(new File(incomeStorageFileName));
+            files.add(new File(expenseStorageFileName));
+        } else {
+            files.addAll(incomePartitions.listFiles());
+            files.addAll(expensePartitions.listFiles());
+        }
+        return files;
+    }
+
+    @Override
+    public boolean exists(StateChange.Entity entity) {
+        switch (entity) {
+        case GOAL:
+            return new File(goalStorageFileName).exists();
+        case CATEGORY:
+            return new File(categoryStorageFileName).exists();
+        case INCOME:
+            return hasIncomeStore() || new File(incomeStorageFileName).exists();
+        default:
+            return hasExpenseStore() || new File(expenseStorageFileName).exists();
+        }
+    }
+
+    private boolean hasIncomeStore() {
+        if (incomePartitions != null) {
+            return incomePartitions.exists();
+        }
+        return new File(incomeStorageFileName).exists();
+    }
+
+    private boolean hasExpenseStore() {
+        if (expensePartitions != null) {
+            return expensePartitions.exists();
+        }
+        return new File(expenseStorageFileName).exists();
+    }
+
+    private boolean isMigrating(TransactionPartitions partitions) {
+        return partitions != null && !partitions.exists();
+    }
+
+    @Override
+    public void load(StateChange.Entity entity, StateManager stateManager) throws DukeException {
+        switch (entity) {
+        case GOAL:
+            loadGoal(stateManager, new SymbolTable(stateManager));
+            break;
+        case CATEGORY:
+            loadCategory(stateManager, new SymbolTable(stateManager));
+            break;
+        case INCOME:
+            unloadedIncomes = new HashMap<>();
+            addIncomes(readIncomes(new SymbolTable(stateManager)), stateManager);
+            break;
+        default:
+            unloadedExpenses = new HashMap<>();
+            addExpenses(readExpenses(new SymbolTable(stateManager)), stateManager);
+            break;
+        }
+    }
+
+    /**
+     * Loads every storage file, or the binary snapshot if it still matches them. The snapshot is written again
+     * once every storage file has been loaded in full. The names read from all files are resolved through one
+     * {@link SymbolTable}.
+     *
+     * @param stateManager State to load into.
+     * @throws DukeException if a storage file cannot be opened.
+     */
+    @Override
+    public void loadAll(StateManager stateManager) throws DukeException {
+        if (snapshot != null && !isWindowed() && snapshot.read(stateManager)) {
+            stateManager.sortIncomes();
+            stateManager.sortExpenses();
+            return;
+        }
+        unloadedIncomes = new HashMap<>();
+        unloadedExpenses = new HashMap<>();
+        SymbolTable symbols = new SymbolTable(stateManager);
+        loadGoal(stateManager, symbols);
+        loadCategory(stateManager, symbols);
+        loadTransactions(stateManager, symbols);
+        if (snapshot != null && !hasUnloadedRows() && hasAllStoreFiles()) {
+            snapshot.write(stateManager);
+        }
+    }
+
+    private boolean hasAllStoreFiles() {
+        return new File(goalStorageFileName).exists() && new File(categoryStorageFileName).exists()
+                && hasIncomeStore() && hasExpenseStore();
+    }
+
+    private void loadGoal(StateManager stateManager, SymbolTable symbols) throws DukeException {
+        for (Goal goal : readGoals()) {
+            if (!symbols.containsGoal(goal.getDescription())) {
+                symbols.addGoal(goal);
+                stateManager.addGoal(goal);
+            }
+        }
+    }
+
+    /**
+     * Reads the Goal objects from the CSV File without adding them to the StateManager.
+     *
+     * @return Valid goals in the order of the file, which may repeat a name.
+     * @throws DukeException if the goal storage file cannot be opened.
+     */
+    ArrayList<Goal> readGoals() throws DukeException {
+        ArrayList<Goal> goals = new ArrayList<>();
+        CsvReader goalCsvFile = new CsvReader(goalStorageFileName);
+        String[] row;
+        while ((row = goalCsvFile.readLine()) != null) {
+            if (storage.validRow(row) && row.length >= Storage.GOAL_ROW_LENGTH) {
+                Goal goal = storage.prepareGoal(row);
+                if (goal != null) {
+                    goals.add(goal);
+                }
+            }
+        }
+        goalCsvFile.close();
+        return goals;
+    }
+
+    private void loadCategory(StateManager stateManager, SymbolTable symbols) throws DukeException {
+        for (Category category : readCategories()) {
+            if (!symbols.containsCategory(category.getName())) {
+                symbols.addCategory(category);
+                stateManager.addCategory(category);
+            }
+        }
+    }
+
+    /**
+     * Reads the Category objects from the CSV File without adding them to the StateManager.
+     *
+     * @return Valid categories in the order of the file, which may repeat a name.
+     * @throws DukeException if the category storage file cannot be opened.
+     */
+    ArrayList<Category> readCategories() throws DukeException {
+        ArrayList<Category> categories = new ArrayList<>();
+        CsvReader categoryCsvFile = new CsvReader(categoryStorageFileName);
+        String[] row;
+        while ((row = categoryCsvFile.readLine()) != null) {
+            if (storage.validRow(row) && row.length >= Storage.CATEGORY_ROW_LENGTH) {
+                categories.add(new Category(row[Storage.DESCRIPTION].strip()));
+            }
+        }
+        categoryCsvFile.close();
+        return categories;
+    }
+
+    private static BiFunction<String[], Transaction, Income> createIncomeConverter(SymbolTable symbols) {
+        return (row, transaction) -> new Income(symbols.intern(transaction), symbols.getGoal(row[Storage.GOAL]));
+    }
+
+    /**
+     * Reads the Income objects from the CSV File, or from the income partitions, without adding them to the
+     * StateManager, so that it can run on another thread while the goals are not changed.
+     *
+     * @param symbols Resolves the goals and descriptions of the rows.
+     * @return Incomes sorted by date.
+     * @throws DukeException if the income storage file cannot be opened.
+     */
+    private ArrayList<Income> readIncomes(SymbolTable symbols) throws DukeException {
+        return readTransactionStore(incomeStorageFileName, incomePartitions, StateManager.INCOME_ORDER,
+                createIncomeConverter(symbols), unloadedIncomes);
+    }
+
+    /**
+     * Reads the Income objects from the single income file in full, without adding them to the StateManager.
+     *
+     * @param stateManager State whose goals the incomes refer to.
+     * @return Incomes sorted by date.
+     * @throws DukeException if the income storage file cannot be opened.
+     */
+    ArrayList<Income> readIncomes(StateManager stateManager) throws DukeException {
+        return readStoreFiles(List.of(incomeStorageFileName), null, StateManager.INCOME_ORDER,
+                createIncomeConverter(new SymbolTable(stateManager)), null, new HashMap<>());
+    }
+
+    private void addIncomes(ArrayList<Income> incomes, StateManager stateManager) {
+        stateManager.ensureCapacity(0, 0, incomes.size(), 0);
+        for (Income income : incomes) {
+            stateManager.addIncome(income);
+        }
+        stateManager.sortIncomes();
+    }
+
+    private static BiFunction<String[], Transaction, Expense> createExpenseConverter(SymbolTable symbols) {
+        return (row, transaction) ->
+                new Expense(symbols.intern(transaction), symbols.getCategory(row[Storage.CATEGORY]));
+    }
+
+    /**
+     * Reads the Expense objects from the CSV File, or from the expense partitions, without adding them to the
+     * StateManager, so that it can run on another thread while the categories are not changed.
+     *
+     * @param symbols Resolves the categories and descriptions of the rows.
+     * @return Expenses sorted by date.
+     * @throws DukeException if the expense storage file cannot be opened.
+     */
+    private ArrayList<Expense> readExpenses(SymbolTable symbols) throws DukeException {
+        return readTransactionStore(expenseStorageFileName, expensePartitions, StateManager.EXPENSE_ORDER,
+                createExpenseConverter(symbols), unloadedExpenses);
+    }
+
+    /**
+     * Reads the Expense objects from the single expense file in full, without adding them to the StateManager.
+     *
+     * @param stateManager State whose categories the expenses refer to.
+     * @return Expenses sorted by date.
+     * @throws DukeException if the expense storage file cannot be opened.
+     */
+    ArrayList<Expense> readExpenses(StateManager stateManager) throws DukeException {
+        return readStoreFiles(List.of(expenseStorageFileName), null, StateManager.EXPENSE_ORDER,
+                createExpenseConverter(new SymbolTable(stateManager)), null, new HashMap<>());
+    }
+
+    private void addExpenses(ArrayList<Expense> expenses, StateManager stateManager) {
+        stateManager.ensureCapacity(0, 0, 0, expenses.size());
+        for (Expense expense : expenses) {
+            stateManager.addExpense(expense);
+        }
+        stateManager.sortExpenses();
+    }
+
+    /**
+     * Reads a transaction store, which is either a single file or a directory of monthly partitions. If the
+     * history window is enabled, partitions of months before it are not read at all.
+     *
+     * @param fileName Path of the single transaction file.
+     * @param partitions Monthly partitions, or null if partitions are disabled.
+     * @param order Order in which the transactions are returned.
+     * @param converter Creates an Income or Expense from a valid row and its transaction.
+     * @param unloaded Receives the rows that are left out by file.
+     * @return Transactions in the given order.
+     * @throws DukeException if a file cannot be opened.
+     */
+    private <T> ArrayList<T> readTransactionStore(String fileName, TransactionPartitions partitions,
+            Comparator<T> order, BiFunction<String[], Transaction, T> converter,
+            HashMap<String, UnloadedRows> unloaded) throws DukeException {
+        if (partitions == null || !partitions.exists()) {
+            // Rows that are moved into partitions have to be loaded, since their month is only known once parsed.
+            LocalDate cutoff = isWindowed() && partitions == null ? windowStart : null;
+            return readStoreFiles(List.of(fileName), null, order, converter, cutoff, unloaded);
+        }
+
+        ArrayList<String> fileNames = new ArrayList<>();
+        for (YearMonth month : partitions.listMonths()) {
+            String partitionName = partitions.getFile(month).getPath();
+            if (isWindowed() && month.isBefore(YearMonth.from(windowStart))) {
+                skipStoreFile(partitionName, unloaded);
+            } else {
+                fileNames.add(partitionName);
+            }
+        }
+        return readStoreFiles(fileNames, null, order, converter, isWindowed() ? windowStart : null, unloaded);
+    }
+
+    private static void skipStoreFile(String fileName, HashMap<String, UnloadedRows> unloaded)
+            throws DukeException {
+        MappedCsvReader csvFile = new MappedCsvReader(fileName);
+        UnloadedRows rows = new UnloadedRows();
+        rows.add(csvFile.getRowEnd(), csvFile.getLength());
+        csvFile.close();
+        if (!rows.isEmpty()) {
+            unloaded.put(fileName, rows);
+        }
+    }
+
+    /**
+     * Reads transaction files. Large files are split into chunks at row boundaries, and the chunks of all files
+     * are parsed together in the common ForkJoinPool and concatenated in file order. Rows before the cutoff are
+     * only recorded as unloaded rows of their file.
+     *
+     * @param fileNames Paths of the transaction files.
+     * @param ranges Rows to read by file, or null to read every row of the files.
+     * @param order Order in which the transactions are returned.
+     * @param converter Creates an Income or Expense from a valid row and its transaction.
+     * @param cutoff Earliest date of the rows that are read, or null to read rows of any date.
+     * @param unloaded Receives the rows before the cutoff by file.
+     * @return Transactions in the given order.
+     * @throws DukeException if a file cannot be opened.
+     */
+    private <T> ArrayList<T> readStoreFiles(List<String> fileNames, HashMap<String, UnloadedRows> ranges,
+            Comparator<T> order, BiFunction<String[], Transaction, T> converter, LocalDate cutoff,
+            HashMap<String, UnloadedRows> unloaded) throws DukeException {
+        ArrayList<MappedCsvReader> csvFiles = new ArrayList<>();
+        ArrayList<MappedCsvReader> chunks = new ArrayList<>();
+        ArrayList<String> chunkFileNames = new ArrayList<>();
+        try {
+            for (String fileName : fileNames) {
+                MappedCsvReader csvFile = new MappedCsvReader(fileName);
+                csvFiles.add(csvFile);
+                UnloadedRows rows = ranges == null ? null : ranges.get(fileName);
+                if (rows == null) {
+                    chunks.addAll(List.of(csvFile.split(getChunkCount(csvFile.getLength()))));
+                } else {
+                    for (int i = 0; i < rows.getRangeCount(); i++) {
+                        long start = rows.getStart(i);
+                        long end = rows.getEnd(i);
+                        chunks.addAll(List.of(csvFile.slice(start, end).split(getChunkCount(end - start))));
+                    }
+                }
+                while (chunkFileNames.size() < chunks.size()) {
+                    chunkFileNames.add(fileName);
+                }
+            }
+
+            UnloadedRows[] chunkRows = new UnloadedRows[chunks.size()];
+            for (int i = 0; i < chunkRows.length; i++) {
+                chunkRows[i] = new UnloadedRows();
+            }
+            List<ArrayList<T>> results = IntStream.range(0, chunks.size())
+                    .parallel()
+                    .mapToObj(i -> readChunk(chunks.get(i), converter, cutoff, chunkRows[i]))
+                    .collect(Collectors.toList());
+
+            ArrayList<T> transactions = new ArrayList<>(results.stream().mapToInt(ArrayList::size).sum());
+            for (int i = 0; i < chunkRows.length; i++) {
+                transactions.addAll(results.get(i));
+                if (!chunkRows[i].isEmpty()) {
+                    unloaded.computeIfAbsent(chunkFileNames.get(i), fileName -> new UnloadedRows())
+                            .addAll(chunkRows[i]);
+                }
+            }
+            transactions.sort(order);
+            return transactions;
+        } catch (UncheckedIOException e) {
+            throw new DukeException(FAILED_READ);
+        } finally {
+            for (MappedCsvReader csvFile : csvFiles) {
+                csvFile.close();
+            }
+        }
+    }
+
+    private static int getChunkCount(long length) {
+        if (length >= PARALLEL_PARSE_THRESHOLD) {
+            return ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD;
+        }
+        return 1;
+    }
+
+    private <T> ArrayList<T> readChunk(MappedCsvReader chunk, BiFunction<String[], Transaction, T> converter,
+            LocalDate cutoff, UnloadedRows unloaded) {
+        ArrayList<T> transactions = new ArrayList<>();
+        while (chunk.nextRow()) {
+            if (chunk.getFieldCount() < Storage.TRANSACTIONS_ROW_LENGTH || chunk.hasBlankField()) {
+                continue;
+            }
+            if (cutoff != null && isBefore(chunk.getField(Storage.DATE), cutoff)) {
+                unloaded.add(chunk.getRowStart(), chunk.getRowEnd());
+                continue;
+            }
+            String[] row = chunk.getFields();
+            Transaction transaction = storage.validRow(row) ? storage.prepareTransaction(row) : null;
+            if (transaction != null) {
+                transactions.add(converter.apply(row, transaction));
+            }
+        }
+        chunk.close();
+        return transactions;
+    }
+
+    private static boolean isBefore(String date, LocalDate cutoff) {
+        LocalDate decoded = RowDecoder.decodeDate(date);
+        if (decoded != null) {
+            return decoded.isBefore(cutoff);
+        }
+        try {
+            return LocalDate.parse(date, Storage.FORMATTER).isBefore(cutoff);
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Reads the income and expense files at the same time, with the incomes read on a separate thread.
+     * Both only look up the goals and categories that are already loaded, and are added to the StateManager
+     * once both files have been read.
+     *
+     * @param stateManager State to load into.
+     * @param symbols Resolves the goals, categories and descriptions of the rows.
+     * @throws DukeException if either file cannot be opened.
+     */
+    private void loadTransactions(StateManager stateManager, SymbolTable symbols) throws DukeException {
+        FutureTask<ArrayList<Income>> incomeTask = new FutureTask<>(() -> readIncomes(symbols));
+        Thread incomeThread = new Thread(incomeTask, INCOME_LOADER_THREAD);
+        incomeThread.setDaemon(true);
+        incomeThread.start();
+
+        ArrayList<Expense> expenses = readExpenses(symbols);
+        ArrayList<Income> incomes = awaitResult(incomeTask);
+        addIncomes(incomes, stateManager);
+        addExpenses(expenses, stateManager);
+    }
+
+    private static <T> T awaitResult(FutureTask<T> task) throws DukeException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DukeException(FAILED_READ);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof DukeException) {
+                throw (DukeException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new DukeException(FAILED_READ);
+        }
+    }
+
+    /**
+     * Loads the transactions on or after the given date that were left out by the history window, without
+     * recording them as changes.
+     *
+     * @param since Earliest date of the transactions to be loaded, or LocalDate.MIN for all of them.
+     * @param stateManager State to load into.
+     * @throws DukeException if a storage file cannot be read.
+     */
+    synchronized void loadHistory(LocalDate since, StateManager stateManager) throws DukeException {
+        LocalDate cutoff = since.equals(LocalDate.MIN) ? null : since;
+        SymbolTable symbols = new SymbolTable(stateManager);
+        HashMap<String, UnloadedRows> remainingIncomes = new HashMap<>();
+        ArrayList<Income> incomes = readStoreFiles(new ArrayList<>(unloadedIncomes.keySet()), unloadedIncomes,
+                StateManager.INCOME_ORDER, createIncomeConverter(symbols), cutoff, remainingIncomes);
+        HashMap<String, UnloadedRows> remainingExpenses = new HashMap<>();
+        ArrayList<Expense> expenses = readStoreFiles(new ArrayList<>(unloadedExpenses.keySet()), unloadedExpenses,
+                StateManager.EXPENSE_ORDER, createExpenseConverter(symbols), cutoff, remainingExpenses);
+        unloadedIncomes = remainingIncomes;
+        unloadedExpenses = remainingExpenses;
+        stateManager.setRecordingChanges(false);
+        try {
+            addIncomes(incomes, stateManager);
+            addExpenses(expenses, stateManager);
+        } finally {
+            stateManager.setRecordingChanges(true);
+        }
+    }
+
+    /**
+     * Writes the given kinds of entity in one batch, followed by the binary snapshot if it is enabled.
+     * Incomes and expenses that are about to be moved into partitions are always written in full.
+     *
+     * @param stateManager State to save.
+     * @param savedVersions Kinds of entity to save with the version that is already stored.
+     * @param record Record to be replaced together with the storage files, or null.
+     * @throws DukeException if any of the storage files cannot be written.
+     */
+    @Override
+    public synchronized void save(StateManager stateManager, EnumMap<StateChange.Entity, Long> savedVersions,
+            SaveBatch.CommitRecord record) throws DukeException {
+        SaveBatch batch = new SaveBatch(isCompressed, record);
+        boolean isWritten;
+        try {
+            if (savedVersions.containsKey(StateChange.Entity.GOAL)) {
+                saveGoal(stateManager, batch);
+            }
+            if (savedVersions.containsKey(StateChange.Entity.CATEGORY)) {
+                saveCategory(stateManager, batch);
+            }
+            if (savedVersions.containsKey(StateChange.Entity.INCOME) || isMigrating(incomePartitions)) {
+                long savedVersion = isMigrating(incomePartitions) ? UNSAVED
+                        : savedVersions.get(StateChange.Entity.INCOME);
+                saveIncome(stateManager, batch, savedVersion);
+            }
+            if (savedVersions.containsKey(StateChange.Entity.EXPENSE) || isMigrating(expensePartitions)) {
+                long savedVersion = isMigrating(expensePartitions) ? UNSAVED
+                        : savedVersions.get(StateChange.Entity.EXPENSE);
+                saveExpense(stateManager, batch, savedVersion);
+            }
+            isWritten = commit(batch);
+        } finally {
+            abort(batch);
+        }
+        if (snapshot != null && !hasUnloadedRows() && (isWritten || !snapshot.exists())) {
+            snapshot.write(stateManager, batch.getCommittedFiles());
+        }
+    }
+
+    private void saveGoal(StateManager stateManager, SaveBatch batch) throws DukeException {
+        CsvWriter goalStorageFile = batch.open(goalStorageFileName);
+        ArrayList<Goal> goalList = stateManager.getAllGoals();
+        goalStorageFile.write(GOAL_HEADER);
+        for (Goal goal : goalList) {
+            goalStorageFile.write(storage.goalToRow(goal));
+        }
+    }
+
+    private void saveCategory(StateManager stateManager, SaveBatch batch) throws DukeException {
+        CsvWriter categoryStorageFile = batch.open(categoryStorageFileName);
+        ArrayList<Category> categoryList = stateManager.getAllCategories();
+        categoryStorageFile.write(CATEGORY_HEADER);
+        for (Category category : categoryList) {
+            categoryStorageFile.write(storage.categoryToRow(category));
+        }
+    }
+
+    private void saveIncome(StateManager stateManager, SaveBatch batch, long savedVersion) throws DukeException {
+        if (incomePartitions != null) {
+            savePartitions(incomePartitions, incomeStorageFileName, INCOME_HEADER, stateManager.getAllIncomes(),
+                    income -> income.getTransaction().getDate(), storage::incomeToRow,
+                    stateManager::getIncomeMonthVersion, savedVersion, unloadedIncomes, batch);
+            return;
+        }
+        CsvWriter incomeStorageFile = batch.open(incomeStorageFileName);
+        ArrayList<Income> incomesList = stateManager.getAllIncomes();
+        incomeStorageFile.write(INCOME_HEADER);
+        for (Income income : incomesList) {
+            incomeStorageFile.write(storage.incomeToRow(income));
+        }
+        UnloadedRows unloadedRows = unloadedIncomes.get(incomeStorageFileName);
+        if (unloadedRows != null) {
+            copiedRows.put(incomeStorageFileName, copyUnloadedRows(batch, incomeStorageFileName, unloadedRows));
+        }
+    }
+
+    private void saveExpense(StateManager stateManager, SaveBatch batch, long savedVersion) throws DukeException {
+        if (expensePartitions != null) {
+            savePartitions(expensePartitions, expenseStorageFileName, EXPENSE_HEADER, stateManager.getAllExpenses(),
+                    expense -> expense.getTransaction().getDate(), storage::expenseToRow,
+                    stateManager::getExpenseMonthVersion, savedVersion, unloadedExpenses, batch);
+            return;
+        }
+        CsvWriter expenseStorageFile = batch.open(expenseStorageFileName);
+        ArrayList<Expense> expensesList = stateManager.getAllExpenses();
+        expenseStorageFile.write(EXPENSE_HEADER);
+        for (Expense expense : expensesList) {
+            expenseStorageFile.write(storage.expenseToRow(expense));
+        }
+        UnloadedRows unloadedRows = unloadedExpenses.get(expenseStorageFileName);
+        if (unloadedRows != null) {
+            copiedRows.put(expenseStorageFileName, copyUnloadedRows(batch, expenseStorageFileName, unloadedRows));
+        }
+    }
+
+    /**
+     * Writes transactions into their monthly partitions. Only the months that changed since the saved version
+     * are rewritten, and the partitions of months that no longer have any transactions are deleted. The single
+     * transaction file is deleted once every month has been written into the partitions.
+     *
+     * @param partitions Monthly partitions to write into.
+     * @param fileName Path of the single transaction file.
+     * @param header Header of each partition.
+     * @param transactions Transactions in the order they are written.
+     * @param dateOf Returns the date of a transaction.
+     * @param toRow Converts a transaction into a row.
+     * @param monthVersion Returns the version of the collection after the last change in a month.
+     * @param savedVersion Version of the collection in the partitions, or UNSAVED to rewrite every month.
+     * @param unloaded Rows left out of the StateManager by file, which are kept in their partitions.
+     * @param batch Batch to write the partitions in.
+     * @throws DukeException if a partition cannot be written.
+     */
+    private <T> void savePartitions(TransactionPartitions partitions, String fileName, String[] header,
+            ArrayList<T> transactions, Function<T, LocalDate> dateOf, Function<T, String[]> toRow,
+            ToLongFunction<YearMonth> monthVersion, long savedVersion, HashMap<String, UnloadedRows> unloaded,
+            SaveBatch batch) throws DukeException {
+        LinkedHashMap<YearMonth, ArrayList<T>> months = new LinkedHashMap<>();
+        for (T transaction : transactions) {
+            months.computeIfAbsent(YearMonth.from(dateOf.apply(transaction)), month -> new ArrayList<>())
+                    .add(transaction);
+        }
+        LinkedHashSet<YearMonth> allMonths = new LinkedHashSet<>(months.keySet());
+        allMonths.addAll(partitions.listMonths());
+        partitions.create();
+
+        for (YearMonth month : allMonths) {
+            String partitionName = partitions.getFile(month).getPath();
+            ArrayList<T> monthTransactions = months.getOrDefault(month, new ArrayList<>());
+            boolean isChanged = savedVersion == UNSAVED || monthVersion.applyAsLong(month) > savedVersion
+                    || !monthTransactions.isEmpty() && !new File(partitionName).exists();
+            if (!isChanged) {
+                continue;
+            }
+            UnloadedRows unloadedRows = unloaded.get(partitionName);
+            if (monthTransactions.isEmpty() && unloadedRows == null) {
+                batch.delete(partitionName);
+                continue;
+            }
+            CsvWriter partition = batch.open(partitionName);
+            partition.write(header);
+            for (T transaction : monthTransactions) {
+                partition.write(toRow.apply(transaction));
+            }
+            if (unloadedRows != null) {
+                copiedRows.put(partitionName, copyUnloadedRows(batch, partitionName, unloadedRows));
+            }
+        }
+        if (savedVersion == UNSAVED && new File(fileName).exists()) {
+            batch.delete(fileName);
+        }
+    }
+
+    /**
+     * Copies the rows that were left out by the history window from the current storage file to the end of the
+     * new one, where they end up as a single range.
+     *
+     * @return Rows that are left out in the new storage file.
+     */
+    private static UnloadedRows copyUnloadedRows(SaveBatch batch, String fileName, UnloadedRows unloaded)
+            throws DukeException {
+        long start = batch.copyRows(fileName, new File(fileName), unloaded);
+        UnloadedRows copied = new UnloadedRows();
+        copied.add(start, start + unloaded.getLength());
+        return copied;
+    }
+
+    /**
+     * Commits the batch, after which the rows left out by the history window are found where they were copied.
+     *
+     * @return true if any file was written.
+     */
+    private boolean commit(SaveBatch batch) throws DukeException {
+        boolean isWritten = batch.commit();
+        for (String fileName : copiedRows.keySet()) {
+            if (unloadedIncomes.containsKey(fileName)) {
+                unloadedIncomes.put(fileName, copiedRows.get(fileName));
+            } else {
+                unloadedExpenses.put(fileName, copiedRows.get(fileName));
+            }
+        }
+        return isWritten;
+    }
+
+    private void abort(SaveBatch batch) {
+        batch.abort();
+        copiedRows.clear();
+    }
+}
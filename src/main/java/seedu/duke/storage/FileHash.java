@@ -0,0 +1,46 @@
+package seedu.duke.storage;
+
+import java.io.File;
+
+/**
+ * Size, CRC32C hash and number of rows of a storage file, as it was written or last checked.
+ */
+class FileHash {
+    static final long UNKNOWN_ROWS = -1;
+
+    private final File file;
+    private final long size;
+    private final long hash;
+    private final long rows;
+
+    /**
+     * Creates the hash of a storage file.
+     *
+     * @param file Storage file.
+     * @param size Size of the file in bytes.
+     * @param hash CRC32C checksum of the contents of the file.
+     * @param rows Number of rows in the file including its header, or UNKNOWN_ROWS if they were not counted.
+     */
+    FileHash(File file, long size, long hash, long rows) {
+        this.file = file;
+        this.size = size;
+        this.hash = hash;
+        this.rows = rows;
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    long getSize() {
+        return size;
+    }
+
+    long getHash() {
+        return hash;
+    }
+
+    long getRows() {
+        return rows;
+    }
+}
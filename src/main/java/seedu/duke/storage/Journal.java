@@ -0,0 +1,505 @@
+package seedu.duke.storage;
+
+import seedu.duke.classes.Category;
+import seedu.duke.classes.Expense;
+import seedu.duke.classes.Goal;
+import seedu.duke.classes.Income;
+import seedu.duke.classes.StateChange;
+import seedu.duke.classes.StateManager;
+import seedu.duke.csv.CsvReader;
+import seedu.duke.csv.CsvWriter;
+import seedu.duke.exception.DukeException;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Append-only log of {@link StateChange}s that sits on top of the storage files.
+ * The journal is split into numbered segments. Appends always go to the newest segment, and a checkpoint file
+ * records the last segment that has been folded back into the storage files. The checkpoint is committed in the
+ * same {@link SaveBatch} as the storage files, and segments are only deleted after that, so that a segment is
+ * never replayed onto storage files that already contain it.
+ */
+public class Journal {
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".csv";
+    private static final String CHECKPOINT_FILE_NAME = "journal-checkpoint";
+    private static final String[] HEADER = {"Action", "Entity", "Values"};
+    private static final String FAILED_COMPACTION = "Unable to compact the journal into the storage files";
+    private static final String FAILED_APPEND = "Unable to write the journal";
+    private static final String DAMAGED_CHECKPOINT = "The journal checkpoint cannot be read, so the journal is not "
+            + "replayed";
+    private static final String KEY_DELIMITER = "\u0000";
+    private static final int ACTION = 0;
+    private static final int ENTITY = 1;
+    private static final int VALUES = 2;
+    private static final int GOAL_VALUES = 2;
+    private static final int CATEGORY_VALUES = 1;
+    private static final int TRANSACTION_VALUES = 6;
+    private static final int NO_SEGMENT = 0;
+    private static final int INVALID_CHECKPOINT = -1;
+
+    private final File directory;
+    private final long compactThreshold;
+    private int segment;
+    private volatile Thread compactionThread;
+    private volatile DukeException compactionFailure;
+    private HashMap<String, ArrayDeque<Income>> incomeIndex;
+    private HashMap<String, ArrayDeque<Expense>> expenseIndex;
+
+    public Journal(String directory, long compactThreshold) {
+        this.directory = new File(directory);
+        this.compactThreshold = compactThreshold;
+        this.segment = Math.max(readCheckpoint(), NO_SEGMENT) + 1;
+    }
+
+    /**
+     * Finishes a compaction that was interrupted while its storage files and checkpoint were renamed into place.
+     *
+     * @throws DukeException if the compaction cannot be finished.
+     */
+    public void recover() throws DukeException {
+        if (SaveBatch.recover(getCheckpointFile())) {
+            segment = Math.max(segment, readCheckpoint() + 1);
+        }
+    }
+
+    /**
+     * Replays every segment that has not been compacted onto the StateManager.
+     *
+     * @param storage Storage used to convert journal values into objects.
+     * @return number of records replayed.
+     * @throws DukeException if a segment or the checkpoint cannot be read.
+     */
+    public int replay(Storage storage) throws DukeException {
+        int checkpoint = readCheckpoint();
+        if (checkpoint == INVALID_CHECKPOINT) {
+            throw new DukeException(DAMAGED_CHECKPOINT);
+        }
+        int replayed = 0;
+        for (int number : listSegments()) {
+            if (number <= checkpoint) {
+                getSegmentFile(number).delete();
+                continue;
+            }
+            try (CsvReader reader = new CsvReader(getSegmentFile(number).getPath())) {
+                String[] record;
+                while ((record = reader.readLine()) != null) {
+                    apply(record, storage);
+                    replayed++;
+                }
+            }
+            segment = Math.max(segment, number);
+        }
+        incomeIndex = null;
+        expenseIndex = null;
+        if (replayed > 0) {
+            StateManager.getStateManager().sortIncomes();
+            StateManager.getStateManager().sortExpenses();
+        }
+        return replayed;
+    }
+
+    /**
+     * Appends the changes to the current segment, and syncs them to disk before returning.
+     *
+     * @param changes Changes to be appended, in the order they were made.
+     * @param storage Storage used to convert objects into journal values.
+     * @throws DukeException if the segment cannot be written.
+     */
+    public void append(List<StateChange> changes, Storage storage) throws DukeException {
+        File segmentFile = getSegmentFile(segment);
+        boolean isNewSegment = !segmentFile.exists();
+        try (FileOutputStream output = new FileOutputStream(segmentFile, true)) {
+            CsvWriter writer = new CsvWriter(new BufferedWriter(new OutputStreamWriter(output)));
+            if (isNewSegment) {
+                writer.write(HEADER);
+            }
+            for (StateChange change : changes) {
+                writer.write(toRecord(change, storage));
+            }
+            writer.flush();
+            output.getFD().sync();
+        } catch (IOException e) {
+            throw new DukeException(FAILED_APPEND);
+        }
+        if (isNewSegment) {
+            SaveBatch.syncDirectory(directory.toPath());
+        }
+    }
+
+    /**
+     * Checks if the current segment has grown past the threshold and no compaction is running.
+     *
+     * @return true if the journal should be compacted.
+     */
+    public boolean shouldCompact() {
+        return !isCompacting() && getSegmentFile(segment).length() >= compactThreshold;
+    }
+
+    /**
+     * Closes the current segment so that further appends go to a new one.
+     *
+     * @return number of the segment that was closed.
+     */
+    public int rotate() {
+        int closedSegment = segment;
+        segment++;
+        return closedSegment;
+    }
+
+    /**
+     * Returns the checkpoint recording that every segment up to and including the given one is contained in the
+     * storage files, to be committed together with them.
+     *
+     * @param compactedSegment last segment contained in the storage files.
+     * @return the checkpoint record.
+     */
+    SaveBatch.CommitRecord getCheckpoint(int compactedSegment) {
+        return new SaveBatch.CommitRecord(getCheckpointFile(), Integer.toString(compactedSegment));
+    }
+
+    /**
+     * Deletes the segments up to and including the given one, once their checkpoint has been committed.
+     *
+     * @param compactedSegment last segment contained in the storage files.
+     */
+    public void deleteCompacted(int compactedSegment) {
+        for (int number : listSegments()) {
+            if (number <= compactedSegment) {
+                getSegmentFile(number).delete();
+            }
+        }
+    }
+
+    /**
+     * Rotates the journal and writes the snapshot into the storage files on a background thread. If the
+     * compaction fails, its segments are kept and the error is reported by {@link #rethrowFailure}.
+     *
+     * @param storage  Storage that writes the storage files.
+     * @param snapshot Detached copy of the state at the end of the current segment.
+     */
+    public void compactInBackground(Storage storage, StateManager snapshot) {
+        assert !isCompacting();
+        int compactedSegment = rotate();
+        Thread thread = new Thread(() -> {
+            try {
+                storage.saveStoreFiles(snapshot, getCheckpoint(compactedSegment));
+                deleteCompacted(compactedSegment);
+            } catch (DukeException e) {
+                compactionFailure = new DukeException(FAILED_COMPACTION);
+            }
+        }, "journal-compaction");
+        compactionThread = thread;
+        thread.start();
+    }
+
+    /**
+     * Throws the error of the last failed compaction, if any. The error is only reported once.
+     *
+     * @throws DukeException if the last compaction failed.
+     */
+    public void rethrowFailure() throws DukeException {
+        DukeException failure = compactionFailure;
+        if (failure != null) {
+            compactionFailure = null;
+            throw failure;
+        }
+    }
+
+    /**
+     * Blocks until the running compaction, if any, has finished.
+     */
+    public void awaitCompaction() {
+        Thread thread = compactionThread;
+        if (thread == null) {
+            return;
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Lists the segments that have not been compacted yet, and the checkpoint.
+     *
+     * @return Files of the journal that currently exist.
+     */
+    public List<File> listFiles() {
+        ArrayList<File> files = new ArrayList<>();
+        int checkpoint = readCheckpoint();
+        for (int number : listSegments()) {
+            if (number > checkpoint) {
+                files.add(getSegmentFile(number));
+            }
+        }
+        File checkpointFile = getCheckpointFile();
+        if (checkpointFile.exists()) {
+            files.add(checkpointFile);
+        }
+        return files;
+    }
+
+    private boolean isCompacting() {
+        Thread thread = compactionThread;
+        return thread != null && thread.isAlive();
+    }
+
+    private File getSegmentFile(int number) {
+        return new File(directory, SEGMENT_PREFIX + number + SEGMENT_SUFFIX);
+    }
+
+    private File getCheckpointFile() {
+        return new File(directory, CHECKPOINT_FILE_NAME);
+    }
+
+    private int readCheckpoint() {
+        try {
+            String checkpoint = SaveBatch.readRecord(getCheckpointFile());
+            return checkpoint == null ? NO_SEGMENT : Integer.parseInt(checkpoint.strip());
+        } catch (IOException | NumberFormatException e) {
+            return INVALID_CHECKPOINT;
+        }
+    }
+
+    private int[] listSegments() {
+        String[] names = directory.list();
+        if (names == null) {
+            return new int[0];
+        }
+        return Arrays.stream(names)
+                .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                .map(name -> name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()))
+                .filter(number -> number.matches("\\d+"))
+                .mapToInt(Integer::parseInt)
+                .sorted()
+                .toArray();
+    }
+
+    /**
+     * Converts a change into a journal record of the form action, entity, values before, values after.
+     */
+    private String[] toRecord(StateChange change, Storage storage) {
+        String[] before = toValues(change.getEntity(), change.getBefore(), storage);
+        String[] after = toValues(change.getEntity(), change.getAfter(), storage);
+        String[] record = new String[VALUES + before.length + after.length];
+        record[ACTION] = change.getAction().name();
+        record[ENTITY] = change.getEntity().name();
+        System.arraycopy(before, 0, record, VALUES, before.length);
+        System.arraycopy(after, 0, record, VALUES + before.length, after.length);
+        return record;
+    }
+
+    private String[] toValues(StateChange.Entity entity, Object value, Storage storage) {
+        if (value == null) {
+            return new String[0];
+        }
+        switch (entity) {
+        case GOAL:
+            return storage.goalToRow((Goal) value);
+        case CATEGORY:
+            return storage.categoryToRow((Category) value);
+        case INCOME:
+            return storage.incomeToRow((Income) value);
+        default:
+            return storage.expenseToRow((Expense) value);
+        }
+    }
+
+    private void apply(String[] record, Storage storage) {
+        if (record.length <= VALUES) {
+            return;
+        }
+        StateChange.Action action;
+        StateChange.Entity entity;
+        try {
+            action = StateChange.Action.valueOf(record[ACTION]);
+            entity = StateChange.Entity.valueOf(record[ENTITY]);
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+
+        int valueCount = getValueCount(entity);
+        int expectedLength = VALUES + (action == StateChange.Action.EDIT ? valueCount * 2 : valueCount);
+        if (record.length < expectedLength) {
+            return;
+        }
+        String[] first = Arrays.copyOfRange(record, VALUES, VALUES + valueCount);
+        String[] second = action == StateChange.Action.EDIT
+                ? Arrays.copyOfRange(record, VALUES + valueCount, VALUES + valueCount * 2)
+                : null;
+
+        switch (entity) {
+        case GOAL:
+            applyGoal(action, first, storage);
+            break;
+        case CATEGORY:
+            applyCategory(action, first);
+            break;
+        case INCOME:
+            applyIncome(action, first, second, storage);
+            break;
+        default:
+            applyExpense(action, first, second, storage);
+            break;
+        }
+    }
+
+    private int getValueCount(StateChange.Entity entity) {
+        switch (entity) {
+        case GOAL:
+            return GOAL_VALUES;
+        case CATEGORY:
+            return CATEGORY_VALUES;
+        default:
+            return TRANSACTION_VALUES;
+        }
+    }
+
+    private void applyGoal(StateChange.Action action, String[] values, Storage storage) {
+        StateManager stateManager = StateManager.getStateManager();
+        int index = stateManager.getGoalIndex(values[0].strip());
+        if (action == StateChange.Action.ADD && index == -1) {
+            Goal goal = storage.prepareGoal(values);
+            if (goal != null) {
+                stateManager.addGoal(goal);
+            }
+        } else if (action == StateChange.Action.REMOVE && index != -1) {
+            Goal goal = stateManager.getGoal(index);
+            stateManager.unassignGoalTransactions(goal);
+            stateManager.removeGoal(goal);
+            incomeIndex = null;
+        }
+    }
+
+    private void applyCategory(StateChange.Action action, String[] values) {
+        StateManager stateManager = StateManager.getStateManager();
+        String name = values[0].strip();
+        int index = stateManager.getCategoryIndex(name);
+        if (action == StateChange.Action.ADD && index == -1 && !name.isEmpty()) {
+            stateManager.addCategory(new Category(name));
+        } else if (action == StateChange.Action.REMOVE && index != -1) {
+            Category category = stateManager.getCategory(index);
+            stateManager.unassignCategoryTransactions(category);
+            stateManager.removeCategory(category);
+            expenseIndex = null;
+        }
+    }
+
+    private void applyIncome(StateChange.Action action, String[] first, String[] second, Storage storage) {
+        StateManager stateManager = StateManager.getStateManager();
+        if (action == StateChange.Action.ADD) {
+            Income income = storage.prepareIncome(first);
+            if (income != null) {
+                stateManager.addIncome(income);
+                indexIncome(income, storage);
+            }
+            return;
+        }
+
+        Income existing = takeIncome(first, storage);
+        if (existing == null) {
+            return;
+        }
+        if (action == StateChange.Action.REMOVE) {
+            stateManager.removeIncome(existing);
+            return;
+        }
+        Income edited = storage.prepareIncome(second);
+        if (edited != null) {
+            Income previous = existing.copy();
+            existing.setTransaction(edited.getTransaction());
+            existing.setGoal(edited.getGoal());
+            stateManager.recordIncomeEdit(previous, existing);
+        }
+        indexIncome(existing, storage);
+    }
+
+    private void applyExpense(StateChange.Action action, String[] first, String[] second, Storage storage) {
+        StateManager stateManager = StateManager.getStateManager();
+        if (action == StateChange.Action.ADD) {
+            Expense expense = storage.prepareExpense(first);
+            if (expense != null) {
+                stateManager.addExpense(expense);
+                indexExpense(expense, storage);
+            }
+            return;
+        }
+
+        Expense existing = takeExpense(first, storage);
+        if (existing == null) {
+            return;
+        }
+        if (action == StateChange.Action.REMOVE) {
+            stateManager.removeExpense(existing);
+            return;
+        }
+        Expense edited = storage.prepareExpense(second);
+        if (edited != null) {
+            Expense previous = existing.copy();
+            existing.setTransaction(edited.getTransaction());
+            existing.setCategory(edited.getCategory());
+            stateManager.recordExpenseEdit(previous, existing);
+        }
+        indexExpense(existing, storage);
+    }
+
+    /**
+     * Finds and unindexes an income whose stored row matches the values.
+     * The index is built on first use, so journals with only additions never pay for it.
+     */
+    private Income takeIncome(String[] values, Storage storage) {
+        if (incomeIndex == null) {
+            incomeIndex = new HashMap<>();
+            StateManager.getStateManager().getAllIncomes().forEach(income -> indexIncome(income, storage));
+        }
+        ArrayDeque<Income> matches = incomeIndex.get(String.join(KEY_DELIMITER, normalise(values)));
+        return matches == null ? null : matches.poll();
+    }
+
+    private Expense takeExpense(String[] values, Storage storage) {
+        if (expenseIndex == null) {
+            expenseIndex = new HashMap<>();
+            StateManager.getStateManager().getAllExpenses().forEach(expense -> indexExpense(expense, storage));
+        }
+        ArrayDeque<Expense> matches = expenseIndex.get(String.join(KEY_DELIMITER, normalise(values)));
+        return matches == null ? null : matches.poll();
+    }
+
+    private void indexIncome(Income income, Storage storage) {
+        if (incomeIndex == null) {
+            return;
+        }
+        String key = String.join(KEY_DELIMITER, normalise(storage.incomeToRow(income)));
+        incomeIndex.computeIfAbsent(key, k -> new ArrayDeque<>()).add(income);
+    }
+
+    private void indexExpense(Expense expense, Storage storage) {
+        if (expenseIndex == null) {
+            return;
+        }
+        String key = String.join(KEY_DELIMITER, normalise(storage.expenseToRow(expense)));
+        expenseIndex.computeIfAbsent(key, k -> new ArrayDeque<>()).add(expense);
+    }
+
+    /**
+     * Normalises values so that a row written from memory matches the same row after it has been loaded.
+     */
+    private String[] normalise(String[] values) {
+        String[] normalised = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            normalised[i] = StateManager.foldCase(values[i].strip());
+        }
+        return normalised;
+    }
+}
@@ -0,0 +1,99 @@
+package seedu.duke.storage;
+
+import seedu.duke.classes.StateChange;
+import seedu.duke.classes.StateManager;
+import seedu.duke.exception.DukeException;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+
+/**
+ * Appends each change to a {@link Journal} instead of saving the entity it belongs to, and folds the journal back
+ * into the files of another backend once it grows large.
+ */
+class JournalBackend implements StorageBackend {
+    private final StorageBackend base;
+    private final Journal journal;
+    private final Storage storage;
+
+    /**
+     * Creates a backend that journals changes on top of another backend.
+     *
+     * @param base Backend that stores the entities.
+     * @param journal Journal the changes are appended to.
+     * @param storage Storage used to convert changes into journal records, and to save compacted state.
+     */
+    JournalBackend(StorageBackend base, Journal journal, Storage storage) {
+        this.base = base;
+        this.journal = journal;
+        this.storage = storage;
+    }
+
+    @Override
+    public boolean exists(StateChange.Entity entity) {
+        return base.exists(entity);
+    }
+
+    @Override
+    public void load(StateChange.Entity entity, StateManager stateManager) throws DukeException {
+        base.load(entity, stateManager);
+    }
+
+    /**
+     * Loads the entities that have been stored, after finishing any compaction that was interrupted. Entities
+     * that were never compacted are rebuilt from the journal alone.
+     */
+    @Override
+    public void loadAll(StateManager stateManager) throws DukeException {
+        journal.recover();
+        boolean hasAllEntities = true;
+        for (StateChange.Entity entity : StateChange.Entity.values()) {
+            hasAllEntities &= base.exists(entity);
+        }
+        if (hasAllEntities) {
+            base.loadAll(stateManager);
+            return;
+        }
+        for (StateChange.Entity entity : StateChange.Entity.values()) {
+            if (base.exists(entity)) {
+                base.load(entity, stateManager);
+            }
+        }
+    }
+
+    @Override
+    public void save(StateManager stateManager, EnumMap<StateChange.Entity, Long> savedVersions,
+            SaveBatch.CommitRecord record) throws DukeException {
+        base.save(stateManager, savedVersions, record);
+    }
+
+    @Override
+    public boolean apply(List<StateChange> changes, StateManager stateManager) throws DukeException {
+        journal.append(changes, storage);
+        journal.rethrowFailure();
+        if (journal.shouldCompact()) {
+            journal.compactInBackground(storage, stateManager.snapshot());
+        }
+        return true;
+    }
+
+    @Override
+    public void replayChanges(StateManager stateManager) throws DukeException {
+        journal.replay(storage);
+    }
+
+    @Override
+    public List<File> getFiles() {
+        ArrayList<File> files = new ArrayList<>(base.getFiles());
+        files.addAll(journal.listFiles());
+        return files;
+    }
+
+    @Override
+    public void close() {
+        journal.awaitCompaction();
+        base.close();
+    }
+}
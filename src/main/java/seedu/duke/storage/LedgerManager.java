@@ -0,0 +1,295 @@
+package seedu.duke.storage;
+
+import seedu.duke.classes.StateManager;
+import seedu.duke.exception.DukeException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Keeps track of the named ledgers, each of which has its own StateManager and its own Storage. The default
+ * ledger is stored in the data directory itself, so existing data stays where it is, and every other ledger in a
+ * directory of the same name under it.
+ *
+ * <p>A ledger is only loaded the first time it is used. Switching away from a ledger saves it, but keeps it in
+ * memory so that switching back does not read it again. Once the estimated memory of the loaded ledgers exceeds
+ * the memory cap, the least recently used ones are unloaded, apart from the ledger in use.
+ */
+public class LedgerManager {
+    public static final String DEFAULT_LEDGER = "default";
+    private static final String[] RESERVED_NAMES = {Storage.INCOME_PARTITION_DIR, Storage.EXPENSE_PARTITION_DIR,
+        BackupStore.BACKUP_DIR};
+    private static final int MAX_NAME_LENGTH = 64;
+    private static final long BYTES_PER_TRANSACTION = 200;
+    private static final long BYTES_PER_CLASSIFICATION = 100;
+    private static final String MISSING_NAME = "Please specify the name of the ledger.";
+    private static final String INVALID_NAME = "Ledger names can only contain letters, digits, '-' and '_', "
+            + "and be up to " + MAX_NAME_LENGTH + " characters long.";
+    private static LedgerManager ledgerManager = null;
+
+    private final String dataDirectory;
+    private final long memoryCap;
+    private final Function<String, Storage> storageFactory;
+    private final LinkedHashMap<String, Ledger> loadedLedgers = new LinkedHashMap<>(16, 0.75f, true);
+    private Ledger activeLedger;
+
+    /**
+     * A loaded ledger.
+     */
+    private static class Ledger {
+        private final String name;
+        private final Storage storage;
+        private final StateManager state;
+
+        Ledger(String name, Storage storage, StateManager state) {
+            this.name = name;
+            this.storage = storage;
+            this.state = state;
+        }
+    }
+
+    /**
+     * Creates a LedgerManager without loading any ledger.
+     *
+     * @param dataDirectory directory of the default ledger, which holds the directories of the other ledgers.
+     * @param memoryCap estimated memory in bytes that the loaded ledgers may take up together.
+     * @param storageFactory creates the Storage of a ledger from the directory of its storage files.
+     */
+    public LedgerManager(String dataDirectory, long memoryCap, Function<String, Storage> storageFactory) {
+        this.dataDirectory = dataDirectory;
+        this.memoryCap = memoryCap;
+        this.storageFactory = storageFactory;
+    }
+
+    public static LedgerManager getLedgerManager() {
+        return ledgerManager;
+    }
+
+    public static void setLedgerManager(LedgerManager ledgers) {
+        ledgerManager = ledgers;
+    }
+
+    /**
+     * Makes the given ledger the one in use, and its state the current StateManager. The ledger in use is saved
+     * first, and the new ledger is loaded from its storage files if it is not in memory.
+     *
+     * @param name name of the ledger, which is case-insensitive.
+     * @throws DukeException if the name is invalid, the ledger in use cannot be saved, the new ledger cannot
+     *     be fully loaded, in which case it is still used with whatever could be loaded, or an unloaded ledger
+     *     could not write its last changes.
+     */
+    public void use(String name) throws DukeException {
+        String ledgerName = normaliseName(name);
+        if (activeLedger != null && activeLedger.name.equals(ledgerName)) {
+            return;
+        }
+        if (activeLedger != null) {
+            activeLedger.storage.saveChanges();
+            activeLedger.storage.flush();
+        }
+
+        Ledger ledger = loadedLedgers.get(ledgerName);
+        DukeException loadError = null;
+        if (ledger == null) {
+            Storage storage = storageFactory.apply(getDirectory(ledgerName));
+            StateManager.clearStateManager();
+            try {
+                storage.load();
+            } catch (DukeException e) {
+                loadError = e;
+            }
+            ledger = new Ledger(ledgerName, storage, StateManager.getStateManager());
+            loadedLedgers.put(ledgerName, ledger);
+        } else {
+            StateManager.setStateManager(ledger.state);
+        }
+        activeLedger = ledger;
+        try {
+            unloadLeastRecentlyUsed();
+        } catch (DukeException e) {
+            if (loadError == null) {
+                loadError = e;
+            }
+        }
+        if (loadError != null) {
+            throw loadError;
+        }
+    }
+
+    /**
+     * Restores the ledger in use from the latest backup made at or before the given time, and loads it again
+     * from the restored storage files.
+     *
+     * @param at latest time of the backup to restore.
+     * @return time of the restored backup.
+     * @throws DukeException if no ledger is in use, there is no such backup, the backup cannot be restored, or
+     *     the restored ledger cannot be fully loaded.
+     */
+    public LocalDateTime restore(LocalDateTime at) throws DukeException {
+        if (activeLedger == null) {
+            throw new DukeException("There is no ledger in use to restore.");
+        }
+        Ledger ledger = activeLedger;
+        LocalDateTime restored = ledger.storage.restoreBackup(at);
+        DukeException closeError = null;
+        try {
+            ledger.storage.close();
+        } catch (DukeException e) {
+            closeError = e;
+        }
+        loadedLedgers.remove(ledger.name);
+        activeLedger = null;
+        use(ledger.name);
+        if (closeError != null) {
+            throw closeError;
+        }
+        return restored;
+    }
+
+    /**
+     * Checks that a ledger name can be used as the name of a directory on every platform.
+     *
+     * @param name name of the ledger.
+     * @return the name in lower case.
+     * @throws DukeException if the name is blank, too long, has other characters or is used by the storage.
+     */
+    static String normaliseName(String name) throws DukeException {
+        if (name == null || name.isBlank()) {
+            throw new DukeException(MISSING_NAME);
+        }
+        String ledgerName = name.strip().toLowerCase(Locale.ROOT);
+        if (ledgerName.length() > MAX_NAME_LENGTH) {
+            throw new DukeException(INVALID_NAME);
+        }
+        for (int i = 0; i < ledgerName.length(); i++) {
+            char c = ledgerName.charAt(i);
+            if (!(c >= 'a' && c <= 'z') && !(c >= '0' && c <= '9') && c != '-' && c != '_') {
+                throw new DukeException(INVALID_NAME);
+            }
+        }
+        for (String reserved : RESERVED_NAMES) {
+            if (ledgerName.equals(reserved)) {
+                throw new DukeException("'" + ledgerName + "' is used by the storage files and cannot be a ledger.");
+            }
+        }
+        return ledgerName;
+    }
+
+    private String getDirectory(String ledgerName) {
+        if (ledgerName.equals(DEFAULT_LEDGER)) {
+            return dataDirectory;
+        }
+        return dataDirectory + "/" + ledgerName;
+    }
+
+    /**
+     * Unloads the least recently used ledgers until the estimated memory of the loaded ledgers is within the cap.
+     * They were saved when they stopped being used, so unloading them only releases their Storage.
+     *
+     * @throws DukeException if an unloaded ledger could not write its last changes, after every ledger is unloaded.
+     */
+    private void unloadLeastRecentlyUsed() throws DukeException {
+        DukeException closeError = null;
+        long total = 0;
+        for (Ledger ledger : loadedLedgers.values()) {
+            total += estimateMemory(ledger.state);
+        }
+        Iterator<Ledger> ledgers = loadedLedgers.values().iterator();
+        while (total > memoryCap && ledgers.hasNext()) {
+            Ledger ledger = ledgers.next();
+            if (ledger == activeLedger) {
+                continue;
+            }
+            total -= estimateMemory(ledger.state);
+            ledgers.remove();
+            try {
+                ledger.storage.close();
+            } catch (DukeException e) {
+                if (closeError == null) {
+                    closeError = e;
+                }
+            }
+        }
+        if (closeError != null) {
+            throw closeError;
+        }
+    }
+
+    /**
+     * Estimates the memory taken up by a state from the number of entities it holds, which does not need to
+     * walk through the transactions.
+     *
+     * @param state state of a ledger.
+     * @return estimated memory in bytes.
+     */
+    public static long estimateMemory(StateManager state) {
+        long transactions = (long) state.getIncomesSize() + state.getExpensesSize();
+        long classifications = (long) state.getAllGoals().size() + state.getAllCategories().size();
+        return transactions * BYTES_PER_TRANSACTION + classifications * BYTES_PER_CLASSIFICATION;
+    }
+
+    /**
+     * Returns the name of the ledger in use.
+     *
+     * @return name of the ledger, or null if no ledger has been used yet.
+     */
+    public String getActiveName() {
+        return activeLedger == null ? null : activeLedger.name;
+    }
+
+    /**
+     * Returns the Storage of the ledger in use.
+     *
+     * @return the Storage, or null if no ledger has been used yet.
+     */
+    public Storage getActiveStorage() {
+        return activeLedger == null ? null : activeLedger.storage;
+    }
+
+    /**
+     * Returns the names of the ledgers in memory, from the least to the most recently used.
+     *
+     * @return names of the loaded ledgers.
+     */
+    public ArrayList<String> getLoadedLedgers() {
+        return new ArrayList<>(loadedLedgers.keySet());
+    }
+
+    /**
+     * Returns the messages for the user that the loaded ledgers recorded since the last call, and clears them.
+     *
+     * @return Messages of every loaded ledger, from the least to the most recently used ledger.
+     */
+    public ArrayList<String> takeNotices() {
+        ArrayList<String> notices = new ArrayList<>();
+        for (Ledger ledger : loadedLedgers.values()) {
+            notices.addAll(ledger.storage.takeNotices());
+        }
+        return notices;
+    }
+
+    /**
+     * Waits for the background storage work of every loaded ledger to complete.
+     *
+     * @throws DukeException if a ledger could not write its last changes, after every ledger is closed.
+     */
+    public void close() throws DukeException {
+        DukeException closeError = null;
+        for (Ledger ledger : loadedLedgers.values()) {
+            try {
+                ledger.storage.close();
+            } catch (DukeException e) {
+                if (closeError == null) {
+                    closeError = e;
+                }
+            }
+        }
+        if (closeError != null) {
+            throw closeError;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package seedu.duke.storage;
+
+import seedu.duke.classes.TransactionRecurrence;
+import seedu.duke.parser.Parser;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+
+/**
+ * Decodes the fields of a stored transaction row. The values written by {@link Storage} are parsed by hand,
+ * without regular expressions, exceptions or intermediate Strings. Any other text, such as a hand-edited row, falls
+ * back to the general parsers, so both paths accept and produce exactly the same values.
+ */
+final class RowDecoder {
+    private static final int DATE_LENGTH = 10;
+    private static final int MAX_DAY = 31;
+    private static final int MAX_MONTH = 12;
+    private static final double MAX_AMOUNT = 10_000_000.0;
+    private static final int MAX_DECIMALS = 2;
+    private static final int MAX_INTEGER_DIGITS = 9;
+    private static final double[] SCALES = {1.0, 10.0, 100.0};
+    private static final String TRUE = "true";
+    private static final String FALSE = "false";
+
+    private RowDecoder() {
+    }
+
+    /**
+     * Decodes a date in dd/MM/yyyy format. Like the date formatter, a day past the end of its month is moved to the
+     * last day of the month.
+     *
+     * @param value Text of the date.
+     * @return the date, or null if the text is not a plain dd/MM/yyyy date and has to be parsed by the formatter.
+     */
+    static LocalDate decodeDate(String value) {
+        if (value.length() != DATE_LENGTH || value.charAt(2) != '/' || value.charAt(5) != '/') {
+            return null;
+        }
+        int day = decodeDigits(value, 0, 2);
+        int month = decodeDigits(value, 3, 5);
+        int year = decodeDigits(value, 6, DATE_LENGTH);
+        if (day < 1 || day > MAX_DAY || month < 1 || month > MAX_MONTH || year < 1) {
+            return null;
+        }
+        int lastDay = Month.of(month).length(Year.isLeap(year));
+        return LocalDate.of(year, month, Math.min(day, lastDay));
+    }
+
+    /**
+     * Decodes the digits between the given positions.
+     *
+     * @return the number, or -1 if any character is not a digit.
+     */
+    private static int decodeDigits(String value, int start, int end) {
+        int number = 0;
+        for (int i = start; i < end; i++) {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            number = number * 10 + digit;
+        }
+        return number;
+    }
+
+    /**
+     * Decodes a non-negative amount below ten million with at most two decimal places. Dividing the exact number of
+     * hundredths by a power of ten rounds to the same double as {@link Double#parseDouble}.
+     *
+     * @param value Text of the amount.
+     * @return the amount, or null if it is not a valid amount.
+     */
+    static Double decodeAmount(String value) {
+        long digits = 0;
+        int integerDigits = 0;
+        int decimals = -1;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '.' && decimals < 0) {
+                decimals = 0;
+            } else if (c >= '0' && c <= '9' && decimals < MAX_DECIMALS && integerDigits <= MAX_INTEGER_DIGITS) {
+                digits = digits * 10 + (c - '0');
+                if (decimals < 0) {
+                    integerDigits++;
+                } else {
+                    decimals++;
+                }
+            } else {
+                return Parser.parseNonNegativeDouble(value);
+            }
+        }
+        if (integerDigits + Math.max(decimals, 0) == 0) {
+            return Parser.parseNonNegativeDouble(value);
+        }
+        double amount = digits / SCALES[Math.max(decimals, 0)];
+        if (amount >= MAX_AMOUNT) {
+            return null;
+        }
+        return amount;
+    }
+
+    /**
+     * Decodes the recurrence of a transaction.
+     *
+     * @param value Text of the recurrence.
+     * @return the recurrence, or null if it is not a recurrence.
+     */
+    static TransactionRecurrence decodeRecurrence(String value) {
+        switch (value) {
+        case "none":
+            return TransactionRecurrence.NONE;
+        case "daily":
+            return TransactionRecurrence.DAILY;
+        case "weekly":
+            return TransactionRecurrence.WEEKLY;
+        case "monthly":
+            return TransactionRecurrence.MONTHLY;
+        default:
+            return TransactionRecurrence.getRecurrence(value);
+        }
+    }
+
+    /**
+     * Decodes a boolean that is either true or false, ignoring case and surrounding whitespace.
+     *
+     * @param value Text of the boolean.
+     * @return the boolean, or null if it is neither true nor false.
+     */
+    static Boolean decodeBoolean(String value) {
+        if (value.equals(TRUE)) {
+            return Boolean.TRUE;
+        }
+        if (value.equals(FALSE)) {
+            return Boolean.FALSE;
+        }
+        String stripped = value.strip();
+        if (stripped.equalsIgnoreCase(TRUE)) {
+            return Boolean.TRUE;
+        }
+        if (stripped.equalsIgnoreCase(FALSE)) {
+            return Boolean.FALSE;
+        }
+        return null;
+    }
+}
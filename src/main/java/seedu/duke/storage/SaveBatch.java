@@ -0,0 +1,580 @@
+package seedu.duke.storage;
+
+import seedu.duke.csv.CsvCompression;
+import seedu.duke.csv.CsvWriter;
+import seedu.duke.exception.DukeException;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.zip.CRC32C;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes a batch of storage files crash-safely. Each file is written to a temporary file next to it, and once
+ * every file in the batch is written, the temporary files are synced to disk together and renamed over the
+ * storage files. A crash therefore leaves each storage file either fully old or fully new.
+ *
+ * <p>A batch can also replace a {@link CommitRecord}, such as the journal checkpoint, which has to change together
+ * with the storage files. The temporary record lists the files of the batch and is synced after them, and it is
+ * renamed last. Once it is synced, the batch is committed: a crash during the renames is finished by
+ * {@link #recover} instead of rolled back, so the files of the batch are replaced all together or not at all.
+ * A {@link CommitRecord#marker marker} record has no content of its own and is only written when the batch
+ * replaces more than one file.
+ *
+ * <p>Files can be compressed with GZIP while they are written. Offsets of copied rows always refer to the
+ * uncompressed content, which is how {@link seedu.duke.csv.MappedCsvReader} reports them.
+ *
+ * <p>The bytes of each file are hashed on their way to disk, so that the {@link FileHash} of every committed
+ * file is known without reading it back.
+ */
+class SaveBatch {
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String FAILED_SAVE = "Unable to save the storage files";
+    private static final String FAILED_RECOVERY = "Unable to finish saving the storage files";
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final String MOVED = "+";
+    private static final String DELETED = "-";
+    private static final String END_OF_RECORD = ".";
+
+    private final ArrayList<PendingFile> files = new ArrayList<>();
+    private final ArrayList<File> deletions = new ArrayList<>();
+    private final ArrayList<FileHash> committed = new ArrayList<>();
+    private final boolean isCompressed;
+    private final CommitRecord record;
+
+    SaveBatch() {
+        this(false);
+    }
+
+    /**
+     * Creates a batch that writes its files either plain or compressed.
+     *
+     * @param isCompressed Whether the files are compressed with GZIP.
+     */
+    SaveBatch(boolean isCompressed) {
+        this.isCompressed = isCompressed;
+        this.record = null;
+    }
+
+    /**
+     * Creates a batch that replaces the given record together with its files. A previous commit of the record
+     * that was interrupted is finished first, so that its temporary files are not overwritten.
+     *
+     * @param isCompressed Whether the files are compressed with GZIP.
+     * @param record Record to be replaced last, or null.
+     * @throws DukeException if an interrupted commit cannot be finished.
+     */
+    SaveBatch(boolean isCompressed, CommitRecord record) throws DukeException {
+        this.isCompressed = isCompressed;
+        this.record = record;
+        if (record != null) {
+            recover(record.file);
+        }
+    }
+
+    /**
+     * Opens a temporary file that replaces the given storage file when the batch is committed.
+     *
+     * @param fileName Path of the storage file.
+     * @return CsvWriter for the temporary file.
+     * @throws DukeException if the temporary file cannot be created.
+     */
+    CsvWriter open(String fileName) throws DukeException {
+        PendingFile file = openFile(fileName);
+        file.writer = new CsvWriter(new BufferedWriter(new OutputStreamWriter(file.counter)));
+        return file.writer;
+    }
+
+    /**
+     * Opens a temporary file for binary data that replaces the given storage file when the batch is committed.
+     *
+     * @param fileName Path of the storage file.
+     * @return Stream of the temporary file.
+     * @throws DukeException if the temporary file cannot be created.
+     */
+    DataOutputStream openData(String fileName) throws DukeException {
+        PendingFile file = openFile(fileName);
+        file.data = new DataOutputStream(new BufferedOutputStream(file.counter, COPY_BUFFER_SIZE));
+        return file.data;
+    }
+
+    private PendingFile openFile(String fileName) throws DukeException {
+        File target = new File(fileName);
+        File temp = getTempFile(target);
+        FileOutputStream output = null;
+        try {
+            output = new FileOutputStream(temp);
+            HashingOutputStream hashing = new HashingOutputStream(output);
+            GZIPOutputStream compressor = isCompressed ? CsvCompression.compress(hashing) : null;
+            CountingOutputStream counter = new CountingOutputStream(compressor == null ? hashing : compressor);
+            PendingFile file = new PendingFile(target, temp, output, hashing, compressor, counter);
+            files.add(file);
+            return file;
+        } catch (IOException e) {
+            closeQuietly(output);
+            temp.delete();
+            throw new DukeException("Cannot create file");
+        }
+    }
+
+    /**
+     * Deletes a storage file when the batch is committed, after the other files have been renamed into place.
+     *
+     * @param fileName Path of the storage file.
+     */
+    void delete(String fileName) {
+        deletions.add(new File(fileName));
+    }
+
+    /**
+     * Copies byte ranges of a file to the end of a temporary file that has been opened in this batch.
+     * The ranges are offsets in the uncompressed content of the source file.
+     *
+     * @param fileName Path of the storage file the temporary file replaces.
+     * @param source File to copy from, which is usually the storage file itself.
+     * @param rows Ranges to copy, in the order they are copied.
+     * @return offset of the first copied byte in the uncompressed content of the temporary file.
+     * @throws DukeException if the ranges cannot be copied.
+     */
+    long copyRows(String fileName, File source, UnloadedRows rows) throws DukeException {
+        PendingFile file = find(fileName);
+        file.flush();
+        long start = file.counter.count;
+        try {
+            if (file.compressor != null || CsvCompression.isCompressed(source)) {
+                copyStream(source, rows, file.counter);
+            } else {
+                copyChannel(source, rows, file);
+            }
+            return start;
+        } catch (IOException e) {
+            throw new DukeException(FAILED_SAVE);
+        }
+    }
+
+    private static void copyStream(File source, UnloadedRows rows, OutputStream output) throws IOException {
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        try (InputStream input = CsvCompression.openInput(source)) {
+            long position = 0;
+            for (int i = 0; i < rows.getRangeCount(); i++) {
+                skipFully(input, rows.getStart(i) - position);
+                position = rows.getStart(i);
+                while (position < rows.getEnd(i)) {
+                    int read = input.read(buffer, 0, (int) Math.min(buffer.length, rows.getEnd(i) - position));
+                    if (read < 0) {
+                        throw new IOException();
+                    }
+                    output.write(buffer, 0, read);
+                    position += read;
+                }
+            }
+        }
+    }
+
+    /**
+     * Skips bytes of the input, reading them when the input cannot skip, until all of them are skipped.
+     *
+     * @throws EOFException if the input ends first.
+     */
+    private static void skipFully(InputStream input, long count) throws IOException {
+        while (count > 0) {
+            long skipped = input.skip(count);
+            if (skipped <= 0) {
+                if (input.read() < 0) {
+                    throw new EOFException();
+                }
+                skipped = 1;
+            }
+            count -= skipped;
+        }
+    }
+
+    /**
+     * Copies the ranges between the plain files without passing them through the Java heap, which also means
+     * that they are not hashed.
+     */
+    private static void copyChannel(File source, UnloadedRows rows, PendingFile file) throws IOException {
+        file.isHashed = false;
+        try (FileChannel input = FileChannel.open(source.toPath(), StandardOpenOption.READ)) {
+            FileChannel output = file.output.getChannel();
+            for (int i = 0; i < rows.getRangeCount(); i++) {
+                long position = rows.getStart(i);
+                long end = rows.getEnd(i);
+                while (position < end) {
+                    long copied = input.transferTo(position, end - position, output);
+                    if (copied <= 0) {
+                        throw new IOException();
+                    }
+                    position += copied;
+                    file.counter.count += copied;
+                }
+            }
+        }
+    }
+
+    private PendingFile find(String fileName) {
+        File target = new File(fileName);
+        for (PendingFile file : files) {
+            if (file.target.equals(target)) {
+                return file;
+            }
+        }
+        throw new IllegalStateException(fileName + " is not opened in this batch");
+    }
+
+    /**
+     * Syncs all temporary files to disk and renames them over their storage files. The record of the batch, if
+     * any, is renamed last. The hashes of the files are kept for {@link #getCommittedFiles()}.
+     *
+     * @return true if any file was written or deleted, false if the batch was empty.
+     * @throws DukeException if any of the files cannot be written, renamed or deleted.
+     */
+    boolean commit() throws DukeException {
+        if (files.isEmpty() && deletions.isEmpty() && (record == null || record.content == null)) {
+            return false;
+        }
+        try {
+            ArrayList<File> targets = new ArrayList<>();
+            ArrayList<FileHash> hashes = new ArrayList<>();
+            for (PendingFile file : files) {
+                file.flush();
+                if (file.compressor != null) {
+                    file.compressor.finish();
+                }
+                file.output.getFD().sync();
+                file.close();
+                targets.add(file.target);
+                if (file.isHashed) {
+                    hashes.add(file.getHash());
+                }
+            }
+            ArrayList<File> deleted = new ArrayList<>(deletions);
+            boolean isRecorded = record != null && (record.content != null || targets.size() + deleted.size() > 1);
+            if (isRecorded) {
+                writeRecord(targets, deleted);
+                // The batch is committed from here on, so its files are left for recover() if a rename fails.
+                files.clear();
+                deletions.clear();
+            }
+            moveIntoPlace(targets, deleted, isRecorded ? record.file : null);
+            committed.addAll(hashes);
+            return true;
+        } catch (IOException e) {
+            throw new DukeException(FAILED_SAVE);
+        } finally {
+            abort();
+        }
+    }
+
+    /**
+     * Returns the hashes of the files that have been committed by this batch. Files with rows copied by
+     * {@link #copyRows} without passing through the Java heap are left out, as their contents were not hashed.
+     *
+     * @return Hashes of the committed files, in the order they were opened.
+     */
+    List<FileHash> getCommittedFiles() {
+        return committed;
+    }
+
+    /**
+     * Writes and syncs the temporary record, which holds the content of the record followed by the files it
+     * commits.
+     */
+    private void writeRecord(List<File> targets, List<File> deleted) throws IOException {
+        StringBuilder content = new StringBuilder(record.content == null ? "" : record.content)
+                .append(System.lineSeparator());
+        for (File target : targets) {
+            content.append(MOVED).append(target.getPath()).append(System.lineSeparator());
+        }
+        for (File deletion : deleted) {
+            content.append(DELETED).append(deletion.getPath()).append(System.lineSeparator());
+        }
+        content.append(END_OF_RECORD).append(System.lineSeparator());
+        File temp = getTempFile(record.file);
+        try (FileOutputStream output = new FileOutputStream(temp)) {
+            output.write(content.toString().getBytes(StandardCharsets.UTF_8));
+            output.getFD().sync();
+        } catch (IOException e) {
+            // A record that is not synced must not be finished by recover() without its files.
+            temp.delete();
+            throw e;
+        }
+    }
+
+    /**
+     * Renames the temporary files into place and deletes the deleted files, followed by renaming the temporary
+     * record if there is one.
+     */
+    private static void moveIntoPlace(List<File> targets, List<File> deleted, File recordFile) throws IOException {
+        LinkedHashSet<Path> directories = new LinkedHashSet<>();
+        for (File target : targets) {
+            move(getTempFile(target).toPath(), target.toPath());
+            directories.add(target.getAbsoluteFile().getParentFile().toPath());
+        }
+        for (File deletion : deleted) {
+            Files.deleteIfExists(deletion.toPath());
+            directories.add(deletion.getAbsoluteFile().getParentFile().toPath());
+        }
+        if (recordFile != null) {
+            move(getTempFile(recordFile).toPath(), recordFile.toPath());
+            directories.add(recordFile.getAbsoluteFile().getParentFile().toPath());
+        }
+        for (Path directory : directories) {
+            syncDirectory(directory);
+        }
+    }
+
+    /**
+     * Finishes a commit of the given record that was interrupted after the batch was committed, by renaming the
+     * remaining temporary files into place. A temporary record that was not fully written belongs to a batch
+     * that was never committed, and is discarded.
+     *
+     * @param recordFile File of the record.
+     * @return true if an interrupted commit was finished.
+     * @throws DukeException if the temporary files cannot be renamed.
+     */
+    static boolean recover(File recordFile) throws DukeException {
+        File temp = getTempFile(recordFile);
+        if (!temp.exists()) {
+            return false;
+        }
+        try {
+            List<String> lines = Files.readAllLines(temp.toPath(), StandardCharsets.UTF_8);
+            if (lines.isEmpty() || !lines.get(lines.size() - 1).equals(END_OF_RECORD)) {
+                Files.delete(temp.toPath());
+                return false;
+            }
+            ArrayList<File> targets = new ArrayList<>();
+            ArrayList<File> deleted = new ArrayList<>();
+            for (String line : lines.subList(1, lines.size() - 1)) {
+                File file = new File(line.substring(1));
+                if (line.startsWith(DELETED)) {
+                    deleted.add(file);
+                } else if (getTempFile(file).exists()) {
+                    targets.add(file);
+                }
+            }
+            moveIntoPlace(targets, deleted, recordFile);
+            return true;
+        } catch (IOException e) {
+            throw new DukeException(FAILED_RECOVERY);
+        }
+    }
+
+    /**
+     * Reads the content of a record that has been committed, without the files it lists.
+     *
+     * @param recordFile File of the record.
+     * @return Content of the record, or null if it does not exist.
+     * @throws IOException if the record cannot be read.
+     */
+    static String readRecord(File recordFile) throws IOException {
+        if (!recordFile.exists()) {
+            return null;
+        }
+        List<String> lines = Files.readAllLines(recordFile.toPath(), StandardCharsets.UTF_8);
+        return lines.isEmpty() ? "" : lines.get(0);
+    }
+
+    private static File getTempFile(File file) {
+        return new File(file.getPath() + TEMP_SUFFIX);
+    }
+
+    /**
+     * Discards the temporary files that have not been renamed into place.
+     */
+    void abort() {
+        for (PendingFile file : files) {
+            try {
+                file.close();
+            } catch (DukeException e) {
+                // The file is discarded anyway.
+            }
+            file.temp.delete();
+        }
+        files.clear();
+        deletions.clear();
+    }
+
+    private static void closeQuietly(OutputStream output) {
+        if (output == null) {
+            return;
+        }
+        try {
+            output.close();
+        } catch (IOException e) {
+            // The file is discarded anyway.
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Syncs the directory entries so that the renames survive a crash. Not every platform allows a directory
+     * to be opened, in which case the rename is left to the file system.
+     */
+    static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directories cannot be synced on this platform.
+        }
+    }
+
+    /**
+     * Small file that is replaced together with the files of a batch, and marks the batch as committed.
+     */
+    static class CommitRecord {
+        private final File file;
+        private final String content;
+
+        /**
+         * Creates a record with a single line of content.
+         *
+         * @param file File of the record.
+         * @param content Line that the record holds once the batch is committed.
+         */
+        CommitRecord(File file, String content) {
+            this.file = file;
+            this.content = content;
+        }
+
+        /**
+         * Creates a record that only marks a batch of several files as committed, so that an interrupted batch is
+         * finished by {@link #recover} instead of leaving some of its files old and some new.
+         *
+         * @param file File of the record.
+         * @return Record without content.
+         */
+        static CommitRecord marker(File file) {
+            return new CommitRecord(file, null);
+        }
+    }
+
+    private static class PendingFile {
+        private final File target;
+        private final File temp;
+        private final FileOutputStream output;
+        private final HashingOutputStream hashing;
+        private final GZIPOutputStream compressor;
+        private final CountingOutputStream counter;
+        private CsvWriter writer;
+        private DataOutputStream data;
+        private boolean isHashed = true;
+
+        private PendingFile(File target, File temp, FileOutputStream output, HashingOutputStream hashing,
+                GZIPOutputStream compressor, CountingOutputStream counter) {
+            this.target = target;
+            this.temp = temp;
+            this.output = output;
+            this.hashing = hashing;
+            this.compressor = compressor;
+            this.counter = counter;
+        }
+
+        private FileHash getHash() {
+            long rows = writer == null ? FileHash.UNKNOWN_ROWS : writer.getRowCount();
+            return new FileHash(target, hashing.size, hashing.checksum.getValue(), rows);
+        }
+
+        private void flush() throws DukeException {
+            try {
+                if (writer != null) {
+                    writer.flush();
+                } else if (data != null) {
+                    data.flush();
+                }
+            } catch (IOException e) {
+                throw new DukeException(FAILED_SAVE);
+            }
+        }
+
+        private void close() throws DukeException {
+            try {
+                if (writer != null) {
+                    writer.close();
+                } else if (data != null) {
+                    data.close();
+                } else {
+                    counter.close();
+                }
+            } catch (IOException e) {
+                throw new DukeException(FAILED_SAVE);
+            }
+        }
+    }
+
+    /**
+     * Hashes and counts the bytes that reach a temporary file, after any compression.
+     */
+    private static class HashingOutputStream extends FilterOutputStream {
+        private final CRC32C checksum = new CRC32C();
+        private long size = 0;
+
+        private HashingOutputStream(OutputStream output) {
+            super(output);
+        }
+
+        @Override
+        public void write(int value) throws IOException {
+            out.write(value);
+            checksum.update(value);
+            size++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+            checksum.update(bytes, offset, length);
+            size += length;
+        }
+    }
+
+    /**
+     * Counts the uncompressed bytes written to a temporary file.
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count = 0;
+
+        private CountingOutputStream(OutputStream output) {
+            super(output);
+        }
+
+        @Override
+        public void write(int value) throws IOException {
+            out.write(value);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+            count += length;
+        }
+    }
+}
@@ -1,66 +1,95 @@
 package seedu.duke.storage;
 
+import seedu.duke.classes.ArchivedTotals;
 import seedu.duke.classes.Income;
 import seedu.duke.classes.Expense;
 import seedu.duke.classes.StateManager;
 import seedu.duke.classes.Goal;
 import seedu.duke.classes.Category;
+import seedu.duke.classes.StateChange;
 import seedu.duke.classes.Transaction;
 import seedu.duke.classes.TransactionRecurrence;
-import seedu.duke.csv.CsvWriter;
 import seedu.duke.exception.DukeException;
-import seedu.duke.csv.CsvReader;
 import seedu.duke.parser.Parser;
 
 import java.io.File;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
 
 public class Storage {
 
     public static String exportStorageFileName;
     private static final String DATE_PATTERN = "dd/MM/yyyy";
-    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(DATE_PATTERN);
+    static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(DATE_PATTERN);
     private static final String FAILED_CONVERT_TO_NON_NEG_DOUBLE = "Cannot convert amount into Double type in ";
     private static final String FAILED_CONVERT_TO_LOCALDATE = "Cannot convert date into LocalDate type in ";
-    private static final String STORAGE_DIR = "./data";
-    private static final String GOAL_STORAGE_FILE_NAME = STORAGE_DIR + "/goal-store.csv";
-    private static final String CATEGORY_STORAGE_FILE_NAME = STORAGE_DIR + "/category-store.csv";
-    private static final String INCOME_STORAGE_FILE_NAME = STORAGE_DIR + "/income-store.csv";
-    private static final String EXPENSE_STORAGE_FILE_NAME = STORAGE_DIR + "/expense-store.csv";
+    public static final String STORAGE_DIR = "./data";
+    private static final String GOAL_STORAGE_FILE_NAME = "/goal-store.csv";
+    private static final String CATEGORY_STORAGE_FILE_NAME = "/category-store.csv";
+    private static final String INCOME_STORAGE_FILE_NAME = "/income-store.csv";
+    private static final String EXPENSE_STORAGE_FILE_NAME = "/expense-store.csv";
     private static final String EXPORT_STORAGE_FILE_NAME = "./Transactions.csv";
-    private static final String[] GOAL_HEADER = {"Description", "Amount"};
-    private static final String[] CATEGORY_HEADER = {"Name"};
-    private static final String[] INCOME_HEADER = {"Description", "Amount", "Date", "Goal",
-                                                   "Recurrence", "Has Next Recurrence"};
-    private static final String[] EXPENSE_HEADER = {"Description", "Amount", "Date", "Category",
-                                                    "Recurrence", "Has Next Recurrence"};
-    private static final int DESCRIPTION = 0;
-    private static final int AMOUNT = 1;
-    private static final int DATE = 2;
-    private static final int GOAL = 3;
-    private static final int CATEGORY = 3;
-    private static final int RECURRENCE = 4;
-    private static final int HAS_NEXT_RECURRENCE = 5;
-
-    private static final int CATEGORY_ROW_LENGTH = 1;
-    private static final int GOAL_ROW_LENGTH = 2;
-    private static final int TRANSACTIONS_ROW_LENGTH = 6;
-    private static final int NOT_FOUND = -1;
-
-    private static String goalStorageFileName;
-    private static String categoryStorageFileName;
-    private static String incomeStorageFileName;
-    private static String expenseStorageFileName;
+    private static final String SNAPSHOT_FILE_NAME = "state-snapshot.bin";
+    static final String COMMIT_RECORD_FILE_NAME = "store-commit";
+    static final String INCOME_PARTITION_DIR = "incomes";
+    static final String EXPENSE_PARTITION_DIR = "expenses";
+    static final int DESCRIPTION = 0;
+    static final int AMOUNT = 1;
+    static final int DATE = 2;
+    static final int GOAL = 3;
+    static final int CATEGORY = 3;
+    static final int RECURRENCE = 4;
+    static final int HAS_NEXT_RECURRENCE = 5;
+
+    static final int CATEGORY_ROW_LENGTH = 1;
+    static final int GOAL_ROW_LENGTH = 2;
+    static final int TRANSACTIONS_ROW_LENGTH = 6;
+
+    private final String goalStorageFileName;
+    private final String categoryStorageFileName;
+    private final String incomeStorageFileName;
+    private final String expenseStorageFileName;
+    private StorageBackend backend;
+    private CsvBackend csvBackend;
+    private Journal journal;
+    private WriteBehindWriter writeBehindWriter;
+    private long savedStateId = StorageBackend.UNSAVED;
+    private long savedGoalsVersion;
+    private long savedCategoriesVersion;
+    private long savedIncomesVersion;
+    private long savedExpensesVersion;
+    private boolean isBinary = false;
+    private boolean isSnapshotEnabled = false;
+    private boolean isPartitioned = false;
+    private boolean isCompressed = false;
+    private boolean isWatchEnabled = false;
+    private StoreWatcher watcher;
+    private final ArrayList<String> notices = new ArrayList<>();
+    private LocalDate windowStart;
+    private Archive archive;
+    private BackupStore backups;
+    private long autoBackupMillis = -1;
+    private LocalDateTime lastBackupTime;
 
     public Storage() {
-        goalStorageFileName = GOAL_STORAGE_FILE_NAME;
-        categoryStorageFileName = CATEGORY_STORAGE_FILE_NAME;
-        incomeStorageFileName = INCOME_STORAGE_FILE_NAME;
-        expenseStorageFileName = EXPENSE_STORAGE_FILE_NAME;
-        exportStorageFileName = EXPORT_STORAGE_FILE_NAME;
+        this(STORAGE_DIR);
+    }
+
+    /**
+     * Creates a Storage that keeps the storage files in the given directory, such as the directory of a ledger.
+     *
+     * @param storageDirectory directory of the storage files.
+     */
+    public Storage(String storageDirectory) {
+        this(storageDirectory + GOAL_STORAGE_FILE_NAME, storageDirectory + CATEGORY_STORAGE_FILE_NAME,
+                storageDirectory + INCOME_STORAGE_FILE_NAME, storageDirectory + EXPENSE_STORAGE_FILE_NAME,
+                EXPORT_STORAGE_FILE_NAME);
     }
 
     public Storage(String goalFileName, String categoryFileName, String incomeFileName, String expenseFileName,
@@ -71,14 +100,152 @@ public class Storage {
         expenseStorageFileName = expenseFileName;
         exportStorageFileName = exportFileName;
     }
+
+    /**
+     * Switches saving to journal mode, where each change is appended to a journal instead of
+     * rewriting every storage file.
+     *
+     * @param compactThreshold size in bytes after which the journal is compacted into the storage files.
+     */
+    public void enableJournal(long compactThreshold) {
+        journal = new Journal(getStorageDirectory(), compactThreshold);
+    }
+
+    /**
+     * Stores the state in binary files instead of CSV files. Binary files load and save several times faster,
+     * but cannot be edited by hand. The snapshot, history window and partitions only apply to CSV files.
+     */
+    public void enableBinaryBackend() {
+        isBinary = true;
+    }
+
+    /**
+     * Enables the binary snapshot, which is written alongside the storage files and loaded instead of them
+     * while they are unchanged.
+     */
+    public void enableSnapshot() {
+        isSnapshotEnabled = true;
+    }
+
+    /**
+     * Enables write-behind mode, where changed state is written into the storage files on a background thread.
+     * Changes made within the maximum staleness are coalesced into a single write. Journal mode takes precedence
+     * over write-behind mode if both are enabled.
+     *
+     * @param maxStalenessMillis maximum time in milliseconds before a change is written into the storage files.
+     */
+    public void enableWriteBehind(long maxStalenessMillis) {
+        writeBehindWriter = new WriteBehindWriter(this, maxStalenessMillis);
+    }
+
+    /**
+     * Only loads the transactions of the last given number of months, counted from the start of this month.
+     * Older transactions stay in the storage files until a command needs them, and are copied over unchanged
+     * whenever the storage files are rewritten. The binary snapshot is not used while older transactions are
+     * left out, and the window is ignored in journal mode, which replays changes against every transaction.
+     *
+     * @param months number of months before this month that are loaded.
+     */
+    public void enableHistoryWindow(int months) {
+        assert months > 0;
+        windowStart = LocalDate.now().withDayOfMonth(1).minusMonths(months);
+    }
+
+    /**
+     * Stores incomes and expenses as one file per month, in the {@code incomes} and {@code expenses} directories
+     * of the storage directory, so that a save only rewrites the months that changed. If the directories do not
+     * exist yet, the income and expense storage files are loaded and moved into them on the next save.
+     */
+    public void enablePartitions() {
+        isPartitioned = true;
+    }
+
+    /**
+     * Compresses the storage files with GZIP whenever they are rewritten, which makes large and archived
+     * ledgers much smaller on disk. Compressed files keep their names and are recognised when they are loaded,
+     * so plain and compressed files can be mixed, e.g. partitions of months that have not changed since.
+     */
+    public void enableCompression() {
+        isCompressed = true;
+    }
+
+    /**
+     * Watches the storage files for changes made by other programs while the program is running. The changed
+     * files are merged into the state before the next command, and a save never overwrites a file that was
+     * changed since it was last read. Watching only applies to the single CSV files of each entity, and is not
+     * used with the binary backend, journal mode, partitions or the history window.
+     */
+    public void enableWatch() {
+        isWatchEnabled = true;
+    }
+
+    /**
+     * Backs up the storage files after they are saved, once the given number of minutes has passed since the
+     * latest backup. Only the chunks of the files that changed since are written.
+     *
+     * @param intervalMinutes Minimum number of minutes between two automatic backups.
+     */
+    public void enableAutoBackup(long intervalMinutes) {
+        autoBackupMillis = Math.max(0, intervalMinutes) * 60_000;
+    }
+
+    /**
+     * Returns the backend that lays out the state on disk, which is created from the enabled options the first
+     * time it is needed.
+     *
+     * @return the storage backend.
+     */
+    synchronized StorageBackend getBackend() {
+        if (backend != null) {
+            return backend;
+        }
+        if (isBinary) {
+            backend = new BinaryBackend(getStorageDirectory(), isCompressed);
+        } else {
+            csvBackend = new CsvBackend(this, goalStorageFileName, categoryStorageFileName, incomeStorageFileName,
+                    expenseStorageFileName);
+            if (isPartitioned) {
+                csvBackend.enablePartitions(new File(getStorageDirectory(), INCOME_PARTITION_DIR),
+                        new File(getStorageDirectory(), EXPENSE_PARTITION_DIR));
+            }
+            if (isSnapshotEnabled) {
+                csvBackend.enableSnapshot(new File(getStorageDirectory(), SNAPSHOT_FILE_NAME));
+            }
+            if (windowStart != null && journal == null) {
+                csvBackend.enableHistoryWindow(windowStart);
+            }
+            if (isCompressed) {
+                csvBackend.enableCompression();
+            }
+            backend = csvBackend;
+        }
+        if (journal != null) {
+            backend = new JournalBackend(backend, journal, this);
+        }
+        return backend;
+    }
+
+    /**
+     * Returns the directory that holds the storage files.
+     *
+     * @return path of the directory.
+     */
+    public String getStorageDirectory() {
+        File parent = new File(goalStorageFileName).getParentFile();
+        if (parent == null) {
+            return STORAGE_DIR;
+        }
+        return parent.getPath();
+    }
+
     public boolean checkDirExist() {
-        return checkDirExist(STORAGE_DIR);
+        return checkDirExist(getStorageDirectory());
     }
 
     public boolean checkDirExist(String folderDirectory) {
         File directory = new File(folderDirectory);
         if (!directory.exists()) {
-            directory.mkdir();
+            directory.mkdirs();
             return false;
         }
         return true;
@@ -156,271 +323,768 @@ public class Storage {
     }
 
     /**
-     * Check if the Transaction data is valid or Invalid.
+     * Convert all the data required into a Transaction Object. The fields are decoded by {@link RowDecoder}.
      *
-     * @param description Description of the Transaction.
-     * @param recurrence Recurrence of the Transaction.
-     * @param hasRecurrence Has Recurrence for the Transaction.
-     * @return False if all is valid, else return true.
+     * @param row Current transaction row being processed
+     * @return Transaction object created, or null if the row is invalid.
      */
-    private boolean isTransactionInvalid(String description, String recurrence, String hasRecurrence) {
+    public Transaction prepareTransaction(String[] row) {
+        String description = row[DESCRIPTION];
         if (description.isBlank()) {
-            return true;
+            return null;
+        }
+        TransactionRecurrence recurrence = RowDecoder.decodeRecurrence(row[RECURRENCE]);
+        Boolean hasNextRecurrence = RowDecoder.decodeBoolean(row[HAS_NEXT_RECURRENCE]);
+        if (recurrence == null || hasNextRecurrence == null) {
+            return null;
         }
 
-        if (TransactionRecurrence.getRecurrence(recurrence) == null) {
-            return true;
+        Double parsedAmount = RowDecoder.decodeAmount(row[AMOUNT]);
+        if (parsedAmount == null) {
+            return null;
         }
 
-        if (!(validBoolean(hasRecurrence))) {
-            return true;
+        LocalDate parsedDate = RowDecoder.decodeDate(row[DATE]);
+        if (parsedDate == null) {
+            try {
+                parsedDate = validDate(row[DATE], expenseStorageFileName);
+            } catch (DukeException e) {
+                addNotice(e.getMessage());
+                return null;
+            }
         }
 
-        return false;
+        Transaction transaction = new Transaction(description.strip(), parsedAmount, parsedDate);
+        transaction.setHasGeneratedNextRecurrence(hasNextRecurrence);
+        transaction.setRecurrence(recurrence);
+        return transaction;
     }
 
     /**
-     * Convert all the data required into a Transaction Object.
+     * Converts a goal row into a Goal object.
      *
-     * @param row Current transaction row being processed
-     * @return Transaction object created.
+     * @param row Current goal row being processed.
+     * @return Goal object created, or null if the row is invalid.
      */
-    public Transaction prepareTransaction(String[] row) {
-        String description = row[DESCRIPTION];
-        String recurrence = row[RECURRENCE];
-        String hasRecurrence = row[HAS_NEXT_RECURRENCE].strip();
-        boolean parsedHasRecurrence = Boolean.parseBoolean(hasRecurrence);
-        if (isTransactionInvalid(description, recurrence, hasRecurrence)) {
+    public Goal prepareGoal(String[] row) {
+        if (!validRow(row) || row.length < GOAL_ROW_LENGTH) {
             return null;
         }
-
-        String amount = row[AMOUNT];
-        Double parsedAmount = Parser.parseNonNegativeDouble(amount);
-        if (parsedAmount == null) {
+        Double amount = Parser.parseNonNegativeDouble(row[AMOUNT]);
+        if (amount == null) {
+            addNotice(FAILED_CONVERT_TO_NON_NEG_DOUBLE + goalStorageFileName);
             return null;
         }
+        return new Goal(row[DESCRIPTION].strip(), amount);
+    }
 
-        String date = row[DATE];
-        LocalDate parsedDate;
-        try {
-            parsedDate = validDate(date, expenseStorageFileName);
-        } catch (DukeException e) {
-            System.out.println(e.getMessage());
+    /**
+     * Converts an income row into an Income object.
+     *
+     * @param row Current income row being processed.
+     * @return Income object created, or null if the row is invalid.
+     */
+    public Income prepareIncome(String[] row) {
+        if (!validRow(row) || row.length < TRANSACTIONS_ROW_LENGTH) {
             return null;
         }
+        Transaction transaction = prepareTransaction(row);
+        if (transaction == null) {
+            return null;
+        }
+        return new Income(transaction, convertToGoal(row[GOAL]));
+    }
 
-        Transaction transaction = new Transaction(description.strip(), parsedAmount, parsedDate);
-        transaction.setHasGeneratedNextRecurrence(parsedHasRecurrence);
-        if (recurrence != null) {
-            TransactionRecurrence transactionRecurrence = TransactionRecurrence.getRecurrence(recurrence);
-            transaction.setRecurrence(transactionRecurrence);
+    /**
+     * Converts an expense row into an Expense object.
+     *
+     * @param row Current expense row being processed.
+     * @return Expense object created, or null if the row is invalid.
+     */
+    public Expense prepareExpense(String[] row) {
+        if (!validRow(row) || row.length < TRANSACTIONS_ROW_LENGTH) {
+            return null;
         }
+        Transaction transaction = prepareTransaction(row);
+        if (transaction == null) {
+            return null;
+        }
+        return new Expense(transaction, convertToCategory(row[CATEGORY]));
+    }
 
-        return transaction;
+    /**
+     * Converts a Goal object into a row of the goal storage file.
+     *
+     * @param goal Goal to be converted.
+     * @return Array of String representing the goal.
+     */
+    public String[] goalToRow(Goal goal) {
+        String description = goal.getDescription();
+        String amount = Double.toString(goal.getAmount());
+        return new String[]{description, amount};
+    }
+
+    /**
+     * Converts a Category object into a row of the category storage file.
+     *
+     * @param category Category to be converted.
+     * @return Array of String representing the category.
+     */
+    public String[] categoryToRow(Category category) {
+        return new String[]{category.getName()};
+    }
+
+    /**
+     * Converts an Income object into a row of the income storage file.
+     *
+     * @param income Income to be converted.
+     * @return Array of String representing the income.
+     */
+    public String[] incomeToRow(Income income) {
+        return transactionToRow(income.getTransaction(), income.getGoal().getDescription());
     }
 
     /**
-     * Loads all Goals objects from the CSV File.
+     * Converts an Expense object into a row of the expense storage file.
      *
-     * @throws DukeException if GOAL_STORAGE_FILENAME cannot be opened.
+     * @param expense Expense to be converted.
+     * @return Array of String representing the expense.
+     */
+    public String[] expenseToRow(Expense expense) {
+        return transactionToRow(expense.getTransaction(), expense.getCategory().getName());
+    }
+
+    private String[] transactionToRow(Transaction transaction, String classification) {
+        String description = transaction.getDescription();
+        String amount = Double.toString(transaction.getAmount());
+        String date = transaction.getDate().format(FORMATTER);
+        String recurrence = transaction.getRecurrence().toString();
+        String hasNextRecurrence = Boolean.toString(transaction.getHasGeneratedNextRecurrence());
+        return new String[]{description, amount, date, classification, recurrence, hasNextRecurrence};
+    }
+
+    /**
+     * Loads all Goals objects from the storage files.
+     *
+     * @throws DukeException if the goals cannot be read.
      */
     public void loadGoal() throws DukeException {
-        CsvReader goalCsvFile = new CsvReader(goalStorageFileName);
-        String[] row;
-        Double amount;
+        getBackend().load(StateChange.Entity.GOAL, StateManager.getStateManager());
+    }
+
+    /**
+     * Loads all the Category objects from the storage files.
+     *
+     * @throws DukeException if the categories cannot be read.
+     */
+    public void loadCategory() throws DukeException {
+        getBackend().load(StateChange.Entity.CATEGORY, StateManager.getStateManager());
+    }
+
+    /**
+     * Loads all the Income objects from the storage files.
+     *
+     * @throws DukeException if the incomes cannot be read.
+     */
+    public void loadIncome() throws DukeException {
+        getBackend().load(StateChange.Entity.INCOME, StateManager.getStateManager());
+    }
+
+    /**
+     * Loads all Expense Objects from the storage files.
+     *
+     * @throws DukeException if the expenses cannot be read.
+     */
+    public void loadExpense() throws DukeException {
+        getBackend().load(StateChange.Entity.EXPENSE, StateManager.getStateManager());
+    }
+
+    /**
+     * Loads all storage files into the StateManager. In journal mode, storage files that do not exist yet are
+     * skipped and the journal is replayed on top of the loaded state.
+     *
+     * @throws DukeException if a storage file cannot be opened.
+     */
+    public void load() throws DukeException {
         StateManager stateManager = StateManager.getStateManager();
-        while ((row = goalCsvFile.readLine()) != null) {
-            if (validRow(row) && row.length >= GOAL_ROW_LENGTH) {
-                String description = row[DESCRIPTION].strip();
-                int goalIndex = stateManager.getGoalIndex(description);
-                if (description.equalsIgnoreCase(StateManager.UNCATEGORISED_CLASS) || (goalIndex != NOT_FOUND)) {
-                    continue;
-                }
-                amount = Parser.parseNonNegativeDouble(row[AMOUNT]);
-                if (amount == null) {
-                    System.out.println(FAILED_CONVERT_TO_NON_NEG_DOUBLE + goalStorageFileName);
-                    continue;
+        StorageBackend backend = getBackend();
+        stateManager.setKeepingChanges(journal != null);
+        stateManager.setRecordingChanges(false);
+        try {
+            SaveBatch.recover(getCommitRecordFile());
+            loadArchive(stateManager);
+            if (checkDirExist()) {
+                backend.loadAll(stateManager);
+                markSaved(stateManager);
+                if (csvBackend != null && csvBackend.hasUnloadedRows()) {
+                    stateManager.setHistoryLoader(this::loadHistory, csvBackend.getWindowStart());
                 }
-                Goal goal = new Goal(description, amount);
-                stateManager.addGoal(goal);
             }
+            backend.replayChanges(stateManager);
+        } finally {
+            stateManager.setRecordingChanges(true);
+            if (isWatchEnabled && canWatch()) {
+                startWatching(stateManager);
+            }
+        }
+
+        if (journal != null && !hasAllStoreFiles()) {
+            save();
         }
-        goalCsvFile.close();
     }
 
     /**
-     * Loads all the Category objects from the CSV File.
+     * Loads the transactions on or after the given date that were left out by the history window. The storage
+     * files already hold these transactions, so loading them does not count as a change.
      *
-     * @throws DukeException if CATEGORY_STORAGE_FILENAME cannot be opened.
+     * @param since Earliest date of the transactions to be loaded.
+     * @throws DukeException if a storage file cannot be read, or pending changes cannot be written.
      */
-    public void loadCategory() throws DukeException {
-        CsvReader categoryCsvFile = new CsvReader(categoryStorageFileName);
-        String[] row;
-        StateManager stateManager = StateManager.getStateManager();
-        while ((row = categoryCsvFile.readLine()) != null) {
-            if (validRow(row) && row.length >= CATEGORY_ROW_LENGTH) {
-                String description = row[DESCRIPTION].strip();
-                int categoryIndex = stateManager.getCategoryIndex(description);
-                if (description.equalsIgnoreCase(StateManager.UNCATEGORISED_CLASS) || categoryIndex != NOT_FOUND) {
-                    continue;
-                }
-                Category category = new Category(description);
-                stateManager.addCategory(category);
+    private void loadHistory(LocalDate since) throws DukeException {
+        flush();
+        synchronized (this) {
+            StateManager stateManager = StateManager.getStateManager();
+            boolean isSaved = !hasUnsavedChanges();
+            csvBackend.loadHistory(since, stateManager);
+            if (isSaved) {
+                markSaved(stateManager);
             }
         }
-        categoryCsvFile.close();
     }
 
     /**
-     * Loads all the Income objects from the CSV File.
+     * Reads the totals of the archived transactions of this ledger into the given state.
+     */
+    private synchronized void loadArchive(StateManager stateManager) throws DukeException {
+        archive = new Archive(this, getStorageDirectory(), stateManager);
+        stateManager.setArchive(archive, archive.load());
+    }
+
+    /**
+     * Moves the transactions dated before the given date out of the state and the storage files into the
+     * archive, keeping their totals. The archive is written before the storage files, so that a transaction is
+     * never lost if the program stops in between. Recurring transactions that have not generated their next
+     * recurrence yet are kept, so that they still do.
      *
-     * @throws DukeException if INCOME_STORAGE_FILENAME cannot be opened.
+     * @param before Date before which transactions are archived.
+     * @return the number of archived transactions.
+     * @throws DukeException if older transactions cannot be loaded, or the archive or storage files cannot be
+     *     written.
      */
-    public void loadIncome() throws DukeException {
-        CsvReader incomeCsvFile = new CsvReader(incomeStorageFileName);
-        String[] row;
+    public int archive(LocalDate before) throws DukeException {
         StateManager stateManager = StateManager.getStateManager();
-        while ((row = incomeCsvFile.readLine()) != null) {
-            if (validRow(row) && row.length >= TRANSACTIONS_ROW_LENGTH) {
-                Transaction transaction = prepareTransaction(row);
-                if (transaction == null) {
-                    continue;
-                }
+        stateManager.ensureAllLoaded();
+        flush();
+        ArrayList<Income> incomes = new ArrayList<>();
+        for (Income income : stateManager.getAllIncomes()) {
+            if (canArchive(income.getTransaction(), before)) {
+                incomes.add(income);
+            }
+        }
+        ArrayList<Expense> expenses = new ArrayList<>();
+        for (Expense expense : stateManager.getAllExpenses()) {
+            if (canArchive(expense.getTransaction(), before)) {
+                expenses.add(expense);
+            }
+        }
+        if (incomes.isEmpty() && expenses.isEmpty()) {
+            return 0;
+        }
 
-                Goal goal = convertToGoal(row[GOAL]);
-                Income income = new Income(transaction, goal);
-                stateManager.addIncome(income);
+        checkDirExist();
+        synchronized (this) {
+            if (archive == null) {
+                archive = new Archive(this, getStorageDirectory(), stateManager);
             }
+            ArchivedTotals totals = archive.write(incomes, expenses, before, stateManager.getArchivedTotals());
+            stateManager.removeArchived(incomes, expenses);
+            stateManager.setArchive(archive, totals);
         }
-        stateManager.sortIncomes();
-        incomeCsvFile.close();
+        save();
+        return incomes.size() + expenses.size();
+    }
+
+    private synchronized BackupStore getBackupStore() {
+        if (backups == null) {
+            backups = new BackupStore(new File(getStorageDirectory()), INCOME_PARTITION_DIR, EXPENSE_PARTITION_DIR);
+        }
+        return backups;
     }
 
     /**
-     * Loads all Expense Objects from the CSV File.
+     * Backs up the storage files as they are on disk, once any changes held by the write-behind thread are
+     * written.
      *
-     * @throws DukeException if EXPENSE_STORAGE_FILENAME cannot be opened.
+     * @return what the backup has written.
+     * @throws DukeException if the storage files cannot be written or read, or the backup cannot be written.
      */
-    public void loadExpense() throws DukeException {
-        CsvReader expenseCsvFile = new CsvReader(expenseStorageFileName);
-        String[] row;
-        StateManager stateManager = StateManager.getStateManager();
-        while ((row = expenseCsvFile.readLine()) != null) {
-            if (validRow(row) && row.length >= TRANSACTIONS_ROW_LENGTH) {
-                Transaction transaction = prepareTransaction(row);
-                if (transaction == null) {
-                    continue;
-                }
+    public BackupResult backup() throws DukeException {
+        flush();
+        checkDirExist();
+        synchronized (this) {
+            BackupResult result = getBackupStore().backup(LocalDateTime.now());
+            lastBackupTime = result.getTime();
+            return result;
+        }
+    }
+
+    /**
+     * Returns the times of the backups of the storage files.
+     *
+     * @return times from the earliest to the latest backup.
+     */
+    public synchronized ArrayList<LocalDateTime> listBackups() {
+        return getBackupStore().list();
+    }
 
-                Category category = convertToCategory(row[CATEGORY]);
-                Expense expense = new Expense(transaction, category);
-                stateManager.addExpense(expense);
+    /**
+     * Replaces the storage files with the latest backup made at or before the given time. The storage files are
+     * backed up first, so that the restore can be undone. The state is not changed, so the storage has to be
+     * loaded again afterwards.
+     *
+     * @param at Latest time of the backup to restore.
+     * @return time of the restored backup.
+     * @throws DukeException if there is no such backup, or the backups or storage files cannot be read or written.
+     */
+    public LocalDateTime restoreBackup(LocalDateTime at) throws DukeException {
+        saveChanges();
+        flush();
+        synchronized (this) {
+            BackupStore backupStore = getBackupStore();
+            LocalDateTime restored = backupStore.find(at);
+            lastBackupTime = backupStore.backup(LocalDateTime.now()).getTime();
+            backupStore.restore(restored);
+            return restored;
+        }
+    }
+
+    /**
+     * Backs up the storage files if automatic backups are enabled and the interval has passed. A failed backup
+     * does not fail the save that triggered it, and is reported as a notice instead.
+     */
+    private void backUpIfDue() {
+        if (autoBackupMillis < 0) {
+            return;
+        }
+        if (lastBackupTime == null) {
+            ArrayList<LocalDateTime> times = getBackupStore().list();
+            lastBackupTime = times.isEmpty() ? LocalDateTime.MIN : times.get(times.size() - 1);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (lastBackupTime.plus(Duration.ofMillis(autoBackupMillis)).isAfter(now)) {
+            return;
+        }
+        try {
+            lastBackupTime = getBackupStore().backup(now).getTime();
+        } catch (DukeException e) {
+            addNotice(e.getMessage());
+        }
+    }
+
+    private static boolean canArchive(Transaction transaction, LocalDate before) {
+        boolean isPendingRecurrence = transaction.getRecurrence() != TransactionRecurrence.NONE
+                && !transaction.getHasGeneratedNextRecurrence();
+        return transaction.getDate().isBefore(before) && !isPendingRecurrence;
+    }
+
+    private boolean canWatch() {
+        return csvBackend != null && journal == null && !isPartitioned && windowStart == null;
+    }
+
+    private synchronized void startWatching(StateManager stateManager) {
+        if (watcher != null) {
+            watcher.close();
+        }
+        EnumMap<StateChange.Entity, File> files = new EnumMap<>(StateChange.Entity.class);
+        files.put(StateChange.Entity.GOAL, new File(goalStorageFileName));
+        files.put(StateChange.Entity.CATEGORY, new File(categoryStorageFileName));
+        files.put(StateChange.Entity.INCOME, new File(incomeStorageFileName));
+        files.put(StateChange.Entity.EXPENSE, new File(expenseStorageFileName));
+        watcher = new StoreWatcher(this, csvBackend, files);
+        for (StateChange.Entity entity : StateChange.Entity.values()) {
+            watcher.recordStored(entity, stateManager);
+        }
+    }
+
+    /**
+     * Merges the storage files that were changed by other programs into the current state, if the storage files
+     * are watched. If the state has changes that are not saved yet, they are written straight after, so that
+     * the merged files are not overwritten with an older state.
+     *
+     * @return Descriptions of the merged files, including files merged while saving since the last call, followed
+     *     by any other notices since then.
+     * @throws DukeException if a changed file cannot be read, or the merged state cannot be saved.
+     */
+    public ArrayList<String> reloadChangedFiles() throws DukeException {
+        boolean isChanged;
+        synchronized (this) {
+            isChanged = watcher != null && watcher.pollChanges();
+        }
+        if (isChanged) {
+            flush();
+            mergeChangedFiles(StateManager.getStateManager());
+            if (hasUnsavedChanges()) {
+                save();
             }
         }
-        stateManager.sortExpenses();
-        expenseCsvFile.close();
+        return takeNotices();
     }
 
-    public void load() throws DukeException {
-        if (checkDirExist()) {
-            loadGoal();
-            loadCategory();
-            loadIncome();
-            loadExpense();
+    /**
+     * Records a message for the user about the storage files, such as a row that could not be loaded. Rows can be
+     * decoded on several threads, so the notices are guarded by their own lock.
+     *
+     * @param notice Message for the user.
+     */
+    void addNotice(String notice) {
+        synchronized (notices) {
+            notices.add(notice);
         }
     }
 
     /**
-     * Save the current state of Goal objects into the CSV File.
+     * Returns the messages for the user that were recorded since the last call, and clears them.
      *
-     * @throws DukeException if GOAL_STORAGE_FILENAME cannot be opened.
+     * @return Messages in the order they were recorded.
      */
-    public void saveGoal() throws DukeException {
-        CsvWriter goalStorageFile = new CsvWriter(goalStorageFileName);
-        StateManager stateManager = StateManager.getStateManager();
-        ArrayList<Goal> goalList = stateManager.getAllGoals();
-        goalStorageFile.write(GOAL_HEADER);
-        for (Goal goal : goalList) {
-            String description = goal.getDescription();
-            String amount = Double.toString(goal.getAmount());
-            String[] row = {description, amount};
-            goalStorageFile.write(row);
+    public ArrayList<String> takeNotices() {
+        synchronized (notices) {
+            ArrayList<String> taken = new ArrayList<>(notices);
+            notices.clear();
+            return taken;
+        }
+    }
+
+    /**
+     * Merges the changed storage files into the state. An entity that had no unsaved changes matches its file
+     * afterwards, and is marked as saved.
+     */
+    private synchronized void mergeChangedFiles(StateManager stateManager) throws DukeException {
+        for (StateChange.Entity entity : watcher.getChangedEntities()) {
+            boolean isSaved = !hasUnsavedChanges(entity, stateManager);
+            StoreWatcher.Merge merge = watcher.merge(entity, stateManager);
+            if (isSaved) {
+                markSaved(entity, stateManager);
+            }
+            if (!merge.isEmpty()) {
+                addNotice(merge.describe(getStoreFile(entity).getName()));
+            }
+        }
+    }
+
+    private File getStoreFile(StateChange.Entity entity) {
+        switch (entity) {
+        case GOAL:
+            return new File(goalStorageFileName);
+        case CATEGORY:
+            return new File(categoryStorageFileName);
+        case INCOME:
+            return new File(incomeStorageFileName);
+        default:
+            return new File(expenseStorageFileName);
+        }
+    }
+
+    private boolean hasAllStoreFiles() {
+        for (StateChange.Entity entity : StateChange.Entity.values()) {
+            if (!getBackend().exists(entity)) {
+                return false;
+            }
         }
-        goalStorageFile.close();
+        return true;
+    }
+
+    /**
+     * Save the current state of Goal objects into the storage files.
+     *
+     * @throws DukeException if the goals cannot be written.
+     */
+    public void saveGoal() throws DukeException {
+        getBackend().save(StateManager.getStateManager(), StorageBackend.only(StateChange.Entity.GOAL));
     }
 
     /**
-     * Save the current state of Category objects into the CSV File.
+     * Save the current state of Category objects into the storage files.
      *
-     * @throws DukeException if CATEGORY_STORAGE_FILENAME cannot be opened.
+     * @throws DukeException if the categories cannot be written.
      */
     public void saveCategory() throws DukeException {
-        CsvWriter categoryStorageFile = new CsvWriter(categoryStorageFileName);
-        StateManager stateManager = StateManager.getStateManager();
-        ArrayList<Category> categoryList = stateManager.getAllCategories();
-        categoryStorageFile.write(CATEGORY_HEADER);
-        for (Category category : categoryList) {
-            String name = category.getName();
-            String[] row = {name};
-            categoryStorageFile.write(row);
-        }
-        categoryStorageFile.close();
+        getBackend().save(StateManager.getStateManager(), StorageBackend.only(StateChange.Entity.CATEGORY));
     }
 
     /**
-     * Saves the current state of Income objects into the CSV File.
+     * Saves the current state of Income objects into the storage files.
      *
-     * @throws DukeException if INCOME_STORAGE_FILENAME cannot be opened.
+     * @throws DukeException if the incomes cannot be written.
      */
     public void saveIncome() throws DukeException {
-        CsvWriter incomeStorageFile = new CsvWriter(incomeStorageFileName);
-        StateManager stateManager = StateManager.getStateManager();
-        ArrayList<Income> incomesList = stateManager.getAllIncomes();
-        incomeStorageFile.write(INCOME_HEADER);
-        for (Income income : incomesList) {
-            Transaction transaction = income.getTransaction();
-            String description = transaction.getDescription();
-            String amount = Double.toString(transaction.getAmount());
-            String date = transaction.getDate().format(FORMATTER);
-            String goal = income.getGoal().getDescription();
-            String recurrence = transaction.getRecurrence().toString();
-            String hasNextRecurrence = Boolean.toString(transaction.getHasGeneratedNextRecurrence());
-            String[] row = {description, amount, date, goal, recurrence, hasNextRecurrence};
-            incomeStorageFile.write(row);
-        }
-        incomeStorageFile.close();
+        getBackend().save(StateManager.getStateManager(), StorageBackend.only(StateChange.Entity.INCOME));
     }
 
     /**
-     * Saves the current state of Expense objects into the CSV File.
+     * Saves the current state of Expense objects into the storage files.
      *
-     * @throws DukeException if EXPENSE_STORAGE_FILENAME cannot be opened.
+     * @throws DukeException if the expenses cannot be written.
      */
     public void saveExpense() throws DukeException {
-        CsvWriter expenseStorageFile = new CsvWriter(expenseStorageFileName);
+        getBackend().save(StateManager.getStateManager(), StorageBackend.only(StateChange.Entity.EXPENSE));
+    }
+
+    /**
+     * Saves the given state into the storage files. Only the entities whose collections changed since they
+     * were last saved or loaded, or that are no longer stored, are rewritten, all of them in one batch. The batch
+     * is marked by the commit record of the storage directory, so a crash while its files are renamed into place
+     * is finished on the next load.
+     *
+     * @param stateManager State to be saved.
+     * @throws DukeException if any of the storage files cannot be opened.
+     */
+    synchronized void saveStoreFiles(StateManager stateManager) throws DukeException {
+        saveStoreFiles(stateManager, SaveBatch.CommitRecord.marker(getCommitRecordFile()));
+    }
+
+    private File getCommitRecordFile() {
+        return new File(getStorageDirectory(), COMMIT_RECORD_FILE_NAME);
+    }
+
+    /**
+     * Saves the given state into the storage files, and replaces the record in the same batch.
+     *
+     * @param stateManager State to be saved.
+     * @param record Record to be replaced together with the storage files, or null.
+     * @throws DukeException if any of the storage files or the record cannot be written.
+     */
+    synchronized void saveStoreFiles(StateManager stateManager, SaveBatch.CommitRecord record)
+            throws DukeException {
+        StorageBackend backend = getBackend();
+        boolean isSavedState = stateManager.getStateId() == savedStateId;
+        long goalsVersion = stateManager.getGoalsVersion();
+        long categoriesVersion = stateManager.getCategoriesVersion();
+        long incomesVersion = stateManager.getIncomesVersion();
+        long expensesVersion = stateManager.getExpensesVersion();
+
+        EnumMap<StateChange.Entity, Long> changed = new EnumMap<>(StateChange.Entity.class);
+        if (!isSavedState || goalsVersion != savedGoalsVersion || !backend.exists(StateChange.Entity.GOAL)) {
+            changed.put(StateChange.Entity.GOAL, StorageBackend.UNSAVED);
+        }
+        if (!isSavedState || categoriesVersion != savedCategoriesVersion
+                || !backend.exists(StateChange.Entity.CATEGORY)) {
+            changed.put(StateChange.Entity.CATEGORY, StorageBackend.UNSAVED);
+        }
+        long incomesSavedVersion = isSavedState && backend.exists(StateChange.Entity.INCOME)
+                ? savedIncomesVersion : StorageBackend.UNSAVED;
+        if (incomesSavedVersion == StorageBackend.UNSAVED || incomesVersion != incomesSavedVersion) {
+            changed.put(StateChange.Entity.INCOME, incomesSavedVersion);
+        }
+        long expensesSavedVersion = isSavedState && backend.exists(StateChange.Entity.EXPENSE)
+                ? savedExpensesVersion : StorageBackend.UNSAVED;
+        if (expensesSavedVersion == StorageBackend.UNSAVED || expensesVersion != expensesSavedVersion) {
+            changed.put(StateChange.Entity.EXPENSE, expensesSavedVersion);
+        }
+        EnumSet<StateChange.Entity> skipped = EnumSet.noneOf(StateChange.Entity.class);
+        if (watcher != null) {
+            for (StateChange.Entity entity : StateChange.Entity.values()) {
+                if (changed.containsKey(entity) && watcher.isChangedExternally(entity)) {
+                    changed.remove(entity);
+                    skipped.add(entity);
+                }
+            }
+        }
+        backend.save(stateManager, changed, record);
+        if (!changed.isEmpty()) {
+            backUpIfDue();
+        }
+
+        savedStateId = stateManager.getStateId();
+        savedGoalsVersion = goalsVersion;
+        savedCategoriesVersion = categoriesVersion;
+        savedIncomesVersion = incomesVersion;
+        savedExpensesVersion = expensesVersion;
+        if (watcher != null) {
+            for (StateChange.Entity entity : changed.keySet()) {
+                watcher.recordStored(entity, stateManager);
+            }
+            // Files changed by other programs are kept until they are merged, so their entities stay unsaved.
+            for (StateChange.Entity entity : skipped) {
+                setSavedVersion(entity, StorageBackend.UNSAVED);
+            }
+        }
+    }
+
+    private boolean hasUnsavedChanges(StateChange.Entity entity, StateManager stateManager) {
+        if (stateManager.getStateId() != savedStateId) {
+            return true;
+        }
+        switch (entity) {
+        case GOAL:
+            return stateManager.getGoalsVersion() != savedGoalsVersion;
+        case CATEGORY:
+            return stateManager.getCategoriesVersion() != savedCategoriesVersion;
+        case INCOME:
+            return stateManager.getIncomesVersion() != savedIncomesVersion;
+        default:
+            return stateManager.getExpensesVersion() != savedExpensesVersion;
+        }
+    }
+
+    private void markSaved(StateChange.Entity entity, StateManager stateManager) {
+        switch (entity) {
+        case GOAL:
+            setSavedVersion(entity, stateManager.getGoalsVersion());
+            break;
+        case CATEGORY:
+            setSavedVersion(entity, stateManager.getCategoriesVersion());
+            break;
+        case INCOME:
+            setSavedVersion(entity, stateManager.getIncomesVersion());
+            break;
+        default:
+            setSavedVersion(entity, stateManager.getExpensesVersion());
+            break;
+        }
+    }
+
+    private void setSavedVersion(StateChange.Entity entity, long version) {
+        switch (entity) {
+        case GOAL:
+            savedGoalsVersion = version;
+            break;
+        case CATEGORY:
+            savedCategoriesVersion = version;
+            break;
+        case INCOME:
+            savedIncomesVersion = version;
+            break;
+        default:
+            savedExpensesVersion = version;
+            break;
+        }
+    }
+
+    private synchronized void markSaved(StateManager stateManager) {
+        savedStateId = stateManager.getStateId();
+        savedGoalsVersion = stateManager.getGoalsVersion();
+        savedCategoriesVersion = stateManager.getCategoriesVersion();
+        savedIncomesVersion = stateManager.getIncomesVersion();
+        savedExpensesVersion = stateManager.getExpensesVersion();
+    }
+
+    /**
+     * Returns whether the current state has changes that are not in the storage files yet.
+     *
+     * @return true if any collection changed since it was last saved or loaded.
+     */
+    public synchronized boolean hasUnsavedChanges() {
         StateManager stateManager = StateManager.getStateManager();
-        ArrayList<Expense> expensesList = stateManager.getAllExpenses();
-        expenseStorageFile.write(EXPENSE_HEADER);
-        for (Expense expense : expensesList) {
-            Transaction transaction = expense.getTransaction();
-            String description = transaction.getDescription();
-            String amount = Double.toString(transaction.getAmount());
-            String date = transaction.getDate().format(FORMATTER);
-            String category = expense.getCategory().getName();
-            String recurrence = transaction.getRecurrence().toString();
-            String hasNextRecurrence = Boolean.toString(transaction.getHasGeneratedNextRecurrence());
-            String[] row = {description, amount, date, category, recurrence, hasNextRecurrence};
-            expenseStorageFile.write(row);
-        }
-        expenseStorageFile.close();
+        return stateManager.getStateId() != savedStateId
+                || stateManager.getGoalsVersion() != savedGoalsVersion
+                || stateManager.getCategoriesVersion() != savedCategoriesVersion
+                || stateManager.getIncomesVersion() != savedIncomesVersion
+                || stateManager.getExpensesVersion() != savedExpensesVersion;
     }
 
+    /**
+     * Saves the full state into the storage files. In journal mode, this also marks the journal as compacted,
+     * and reports a background compaction that failed since the last save.
+     *
+     * @throws DukeException if any of the storage files cannot be opened, or a background compaction failed.
+     */
     public void save() throws DukeException {
+        if (writeBehindWriter != null) {
+            writeBehindWriter.flush();
+        }
+        checkDirExist();
+        StateManager stateManager = StateManager.getStateManager();
+        stateManager.drainChanges();
+        if (journal == null) {
+            saveStoreFiles(stateManager);
+            if (watcher != null && hasUnsavedChanges()) {
+                mergeChangedFiles(stateManager);
+                saveStoreFiles(stateManager);
+            }
+            return;
+        }
+
+        journal.awaitCompaction();
+        int compactedSegment = journal.rotate();
+        saveStoreFiles(stateManager, journal.getCheckpoint(compactedSegment));
+        journal.deleteCompacted(compactedSegment);
+        journal.rethrowFailure();
+    }
+
+    /**
+     * Saves the changes made since the last save. Backends that store changes on their own, such as the
+     * journal, are handed the changes, and the journal is compacted in the background once it grows past its
+     * threshold. In write-behind mode, a snapshot of the state is handed over to the writer thread. Otherwise,
+     * only the storage files that changed are rewritten, and nothing is written if the state did not change.
+     *
+     * @throws DukeException if the storage files or journal cannot be written, or a previous write-behind or
+     *     journal compaction failed.
+     */
+    public void saveChanges() throws DukeException {
+        if (journal == null && writeBehindWriter != null) {
+            writeBehindWriter.rethrowFailure();
+            StateManager stateManager = StateManager.getStateManager();
+            if (hasUnsavedChanges() && !writeBehindWriter.isSubmitted(stateManager)) {
+                checkDirExist();
+                stateManager.drainChanges();
+                writeBehindWriter.submit(stateManager.snapshot(writeBehindWriter.getSubmitted()));
+            }
+            return;
+        }
+        if (journal == null) {
+            if (hasUnsavedChanges()) {
+                save();
+            }
+            return;
+        }
+
+        StateManager stateManager = StateManager.getStateManager();
+        ArrayList<StateChange> changes = stateManager.drainChanges();
+        if (changes.isEmpty()) {
+            return;
+        }
         checkDirExist();
-        saveGoal();
-        saveCategory();
-        saveIncome();
-        saveExpense();
+        if (!getBackend().apply(changes, stateManager)) {
+            save();
+        }
+    }
+
+    /**
+     * Writes any changes still held by the write-behind thread into the storage files and waits for them.
+     *
+     * @throws DukeException if the storage files cannot be written.
+     */
+    public void flush() throws DukeException {
+        if (writeBehindWriter != null) {
+            writeBehindWriter.flush();
+        }
+    }
+
+    /**
+     * Waits for any background storage work to complete. The storage is closed even if the last write failed.
+     *
+     * @throws DukeException if the changes held by the write-behind thread cannot be written.
+     */
+    public void close() throws DukeException {
+        try {
+            if (writeBehindWriter != null) {
+                writeBehindWriter.close();
+            }
+        } finally {
+            StorageBackend backend;
+            synchronized (this) {
+                backend = this.backend;
+            }
+            if (backend != null) {
+                backend.close();
+            }
+            synchronized (this) {
+                if (watcher != null) {
+                    watcher.close();
+                }
+            }
+        }
     }
 
 }
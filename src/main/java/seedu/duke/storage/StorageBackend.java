@@ -0,0 +1,137 @@
+package seedu.duke.storage;
+
+import seedu.duke.classes.StateChange;
+import seedu.duke.classes.StateManager;
+import seedu.duke.exception.DukeException;
+
+import java.io.File;
+import java.util.EnumMap;
+import java.util.List;
+
+/**
+ * Lays out the goals, categories, incomes and expenses of the program on disk. {@link Storage} decides when the
+ * state is loaded and saved, and keeps track of what changed since, while a backend decides how each kind of
+ * entity is stored.
+ */
+public interface StorageBackend {
+    /**
+     * Saved version of an entity that has to be written in full.
+     */
+    long UNSAVED = -1;
+
+    /**
+     * Checks if the entity has been saved before, so that it can be loaded.
+     *
+     * @param entity Kind of entity.
+     * @return true if the entity is stored.
+     */
+    boolean exists(StateChange.Entity entity);
+
+    /**
+     * Loads the stored entities of one kind into the StateManager. Goals and categories have to be loaded before
+     * the incomes and expenses that refer to them.
+     *
+     * @param entity Kind of entity.
+     * @param stateManager State to load into.
+     * @throws DukeException if the entity is not stored or cannot be read.
+     */
+    void load(StateChange.Entity entity, StateManager stateManager) throws DukeException;
+
+    /**
+     * Loads every kind of entity into the StateManager.
+     *
+     * @param stateManager State to load into.
+     * @throws DukeException if an entity is not stored or cannot be read.
+     */
+    default void loadAll(StateManager stateManager) throws DukeException {
+        for (StateChange.Entity entity : StateChange.Entity.values()) {
+            load(entity, stateManager);
+        }
+    }
+
+    /**
+     * Saves the given kinds of entity of the state. Either all of them are replaced, or none are.
+     *
+     * @param stateManager State to save.
+     * @param savedVersions Kinds of entity to save, each with the version of its collection that is already
+     *                      stored, or {@link #UNSAVED} if the whole collection has to be written.
+     * @throws DukeException if an entity cannot be written.
+     */
+    default void save(StateManager stateManager, EnumMap<StateChange.Entity, Long> savedVersions)
+            throws DukeException {
+        save(stateManager, savedVersions, null);
+    }
+
+    /**
+     * Saves the given kinds of entity of the state, and replaces the record in the same batch, so that the record
+     * only ever changes together with the entities.
+     *
+     * @param stateManager State to save.
+     * @param savedVersions Kinds of entity to save, each with the version of its collection that is already
+     *                      stored, or {@link #UNSAVED} if the whole collection has to be written.
+     * @param record Record to be replaced together with the entities, or null.
+     * @throws DukeException if an entity or the record cannot be written.
+     */
+    void save(StateManager stateManager, EnumMap<StateChange.Entity, Long> savedVersions,
+            SaveBatch.CommitRecord record) throws DukeException;
+
+    /**
+     * Stores changes without saving the entities they belong to. Backends that do not support this return false,
+     * and the changed entities are saved instead.
+     *
+     * @param changes Changes in the order they were made.
+     * @param stateManager State after the changes.
+     * @return true if the changes were stored.
+     * @throws DukeException if the changes cannot be written.
+     */
+    default boolean apply(List<StateChange> changes, StateManager stateManager) throws DukeException {
+        return false;
+    }
+
+    /**
+     * Loads the changes that were stored by {@link #apply} since the entities were last saved.
+     *
+     * @param stateManager State that has just been loaded.
+     * @throws DukeException if the changes cannot be read.
+     */
+    default void replayChanges(StateManager stateManager) throws DukeException {
+    }
+
+    /**
+     * Lists the files that currently hold the state.
+     *
+     * @return Files of the backend, some of which might not exist yet.
+     */
+    List<File> getFiles();
+
+    /**
+     * Waits for any background work of the backend to complete.
+     */
+    default void close() {
+    }
+
+    /**
+     * Lists every kind of entity with {@link #UNSAVED}, to save the whole state.
+     *
+     * @return Every kind of entity.
+     */
+    static EnumMap<StateChange.Entity, Long> all() {
+        EnumMap<StateChange.Entity, Long> savedVersions = new EnumMap<>(StateChange.Entity.class);
+        for (StateChange.Entity entity : StateChange.Entity.values()) {
+            savedVersions.put(entity, UNSAVED);
+        }
+        return savedVersions;
+    }
+
+    /**
+     * Lists a single kind of entity with {@link #UNSAVED}, to save only that entity.
+     *
+     * @param entity Kind of entity.
+     * @return The kind of entity.
+     */
+    static EnumMap<StateChange.Entity, Long> only(StateChange.Entity entity) {
+        EnumMap<StateChange.Entity, Long> savedVersions = new EnumMap<>(StateChange.Entity.class);
+        savedVersions.put(entity, UNSAVED);
+        return savedVersions;
+    }
+}
@@ -0,0 +1,146 @@
+package seedu.duke.storage;
+
+/**
+ * Reads the storage options, which are set as system properties when launching the program,
+ * e.g. {@code java -Dfintext.storage.journal=true -jar duke.jar}.
+ */
+public class StorageConfig {
+    public static final String JOURNAL_PROPERTY = "fintext.storage.journal";
+    public static final String JOURNAL_THRESHOLD_PROPERTY = "fintext.storage.journal.threshold";
+    public static final String SNAPSHOT_PROPERTY = "fintext.storage.snapshot";
+    public static final String WRITE_BEHIND_PROPERTY = "fintext.storage.writebehind";
+    public static final String MAX_STALENESS_PROPERTY = "fintext.storage.writebehind.staleness";
+    public static final String HISTORY_WINDOW_PROPERTY = "fintext.storage.window.months";
+    public static final String PARTITIONS_PROPERTY = "fintext.storage.partitioned";
+    public static final String COMPRESSION_PROPERTY = "fintext.storage.compressed";
+    public static final String BACKEND_PROPERTY = "fintext.storage.backend";
+    public static final String BINARY_BACKEND = "binary";
+    public static final String JOURNAL_BACKEND = "journal";
+    public static final String WATCH_PROPERTY = "fintext.storage.watch";
+    public static final String LEDGER_MEMORY_PROPERTY = "fintext.ledgers.memory.mb";
+    public static final String BACKUP_INTERVAL_PROPERTY = "fintext.storage.backup.minutes";
+    private static final long DEFAULT_JOURNAL_THRESHOLD = 1024 * 1024;
+    private static final long DEFAULT_MAX_STALENESS_MILLIS = 1000;
+    private static final long DEFAULT_LEDGER_MEMORY_MB = 256;
+    private static final long BYTES_PER_MB = 1024 * 1024;
+
+    private StorageConfig() {
+    }
+
+    /**
+     * Checks if changes should be appended to a journal instead of rewriting the storage files.
+     *
+     * Selecting the journal backend enables journal mode as well.
+     *
+     * @return true if journal mode is enabled.
+     */
+    public static boolean isJournalEnabled() {
+        return Boolean.getBoolean(JOURNAL_PROPERTY) || JOURNAL_BACKEND.equalsIgnoreCase(getBackend());
+    }
+
+    /**
+     * Checks if the state should be stored in binary files instead of CSV files.
+     *
+     * @return true if the binary backend is selected.
+     */
+    public static boolean isBinaryBackend() {
+        return BINARY_BACKEND.equalsIgnoreCase(getBackend());
+    }
+
+    private static String getBackend() {
+        return System.getProperty(BACKEND_PROPERTY, "csv").strip();
+    }
+
+    /**
+     * Returns the journal size in bytes after which the journal is compacted into the storage files.
+     *
+     * @return compaction threshold in bytes.
+     */
+    public static long getJournalThreshold() {
+        return Long.getLong(JOURNAL_THRESHOLD_PROPERTY, DEFAULT_JOURNAL_THRESHOLD);
+    }
+
+    /**
+     * Checks if a binary snapshot of the state should be kept alongside the storage files for faster loading.
+     *
+     * @return true if the binary snapshot is enabled.
+     */
+    public static boolean isSnapshotEnabled() {
+        return Boolean.getBoolean(SNAPSHOT_PROPERTY);
+    }
+
+    /**
+     * Checks if the storage files should be written on a background thread instead of after each command.
+     *
+     * @return true if write-behind mode is enabled.
+     */
+    public static boolean isWriteBehindEnabled() {
+        return Boolean.getBoolean(WRITE_BEHIND_PROPERTY);
+    }
+
+    /**
+     * Returns the maximum time a change may wait before the write-behind thread writes it.
+     *
+     * @return maximum staleness in milliseconds.
+     */
+    public static long getMaxStaleness() {
+        return Long.getLong(MAX_STALENESS_PROPERTY, DEFAULT_MAX_STALENESS_MILLIS);
+    }
+
+    /**
+     * Checks if incomes and expenses should be stored as one file per month instead of a single file each.
+     *
+     * @return true if monthly partitions are enabled.
+     */
+    public static boolean isPartitioned() {
+        return Boolean.getBoolean(PARTITIONS_PROPERTY);
+    }
+
+    /**
+     * Checks if the storage files should be compressed with GZIP when they are written.
+     *
+     * @return true if compression is enabled.
+     */
+    public static boolean isCompressed() {
+        return Boolean.getBoolean(COMPRESSION_PROPERTY);
+    }
+
+    /**
+     * Returns the number of months of transactions that are loaded on start up, before the current month.
+     * Older transactions are only loaded when they are needed.
+     *
+     * @return number of months, or 0 if every transaction is loaded.
+     */
+    public static int getHistoryWindowMonths() {
+        return Math.max(0, Integer.getInteger(HISTORY_WINDOW_PROPERTY, 0));
+    }
+
+    /**
+     * Checks if the storage files should be watched for changes made by other programs while the program runs.
+     *
+     * @return true if the storage files are watched.
+     */
+    public static boolean isWatchEnabled() {
+        return Boolean.getBoolean(WATCH_PROPERTY);
+    }
+
+    /**
+     * Returns the estimated memory that the ledgers kept in memory may take up together. The least recently used
+     * ledgers are unloaded once it is exceeded, but the ledger in use always stays loaded.
+     *
+     * @return memory cap in bytes.
+     */
+    public static long getLedgerMemoryCap() {
+        return Math.max(0, Long.getLong(LEDGER_MEMORY_PROPERTY, DEFAULT_LEDGER_MEMORY_MB)) * BYTES_PER_MB;
+    }
+
+    /**
+     * Returns the minimum number of minutes between two automatic backups of the storage files, which are taken
+     * after the storage files are saved.
+     *
+     * @return interval in minutes, or -1 if automatic backups are disabled.
+     */
+    public static long getAutoBackupInterval() {
+        return Math.max(-1, Long.getLong(BACKUP_INTERVAL_PROPERTY, -1));
+    }
+}
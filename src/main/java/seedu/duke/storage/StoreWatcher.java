@@ -0,0 +1,500 @@
+package seedu.duke.storage;
+
+import seedu.duke.classes.Category;
+import seedu.duke.classes.Expense;
+import seedu.duke.classes.Goal;
+import seedu.duke.classes.Income;
+import seedu.duke.classes.StateChange.Entity;
+import seedu.duke.classes.StateManager;
+import seedu.duke.classes.Transaction;
+import seedu.duke.exception.DukeException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Watches the storage directory for storage files that are changed by other programs, such as scripts, while the
+ * program is running, and merges those changes into the state instead of overwriting them on the next save.
+ *
+ * <p>For each storage file, the watcher keeps the attributes of the file as it was last written or read by the
+ * program, which tells its own writes apart from those of other programs, and the rows it held at that point.
+ * A changed file is read again on its own and compared with those rows, and only the rows that were added,
+ * removed or updated in the file are applied to the state. Transactions have no key, so their rows are compared
+ * by hash. A change is only applied if the entry it changes is still the same in the state, and is reported as a
+ * conflict otherwise, keeping the entry of the state.
+ *
+ * <p>The watcher is not thread-safe, and is only used while holding the lock of its Storage.
+ */
+class StoreWatcher {
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    private static final String UNCATEGORISED_KEY = StateManager.foldCase(StateManager.UNCATEGORISED_CLASS);
+
+    private final Storage storage;
+    private final CsvBackend backend;
+    private final EnumMap<Entity, File> files;
+    private final WatchService watchService;
+    private final EnumMap<Entity, String> stamps = new EnumMap<>(Entity.class);
+    private final EnumMap<Entity, LinkedHashMap<String, String[]>> classificationRows = new EnumMap<>(Entity.class);
+    private final EnumMap<Entity, long[]> transactionHashes = new EnumMap<>(Entity.class);
+    private final EnumSet<Entity> changedEntities = EnumSet.noneOf(Entity.class);
+
+    /**
+     * The changes from a storage file that were applied to the state.
+     */
+    static class Merge {
+        private int added = 0;
+        private int removed = 0;
+        private int updated = 0;
+        private int conflicts = 0;
+
+        int getConflicts() {
+            return conflicts;
+        }
+
+        boolean isEmpty() {
+            return added == 0 && removed == 0 && updated == 0 && conflicts == 0;
+        }
+
+        /**
+         * Describes the merge to the user.
+         *
+         * @param fileName Name of the storage file.
+         * @return Description of the applied changes and conflicts.
+         */
+        String describe(String fileName) {
+            String message = fileName + " was changed outside FinText: " + added + " added, " + removed
+                    + " removed, " + updated + " updated.";
+            if (conflicts > 0) {
+                message += " " + conflicts + " change(s) were not applied, as the same entries were also changed "
+                        + "in FinText, whose changes were kept.";
+            }
+            return message;
+        }
+    }
+
+    /**
+     * Starts watching the directory of the storage files. If the file system cannot watch it, changed files are
+     * still found when they are about to be saved.
+     *
+     * @param storage Storage that converts the rows.
+     * @param backend Backend that reads the storage files.
+     * @param files Storage file of each kind of entity, all in the same directory.
+     */
+    StoreWatcher(Storage storage, CsvBackend backend, EnumMap<Entity, File> files) {
+        this.storage = storage;
+        this.backend = backend;
+        this.files = files;
+        Path directory = files.get(Entity.GOAL).getAbsoluteFile().getParentFile().toPath();
+        WatchService service;
+        try {
+            service = directory.getFileSystem().newWatchService();
+            directory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException | UnsupportedOperationException e) {
+            service = null;
+        }
+        watchService = service;
+    }
+
+    /**
+     * Records the entities of one kind as they are in the storage file, after the state was loaded from or
+     * saved into it.
+     *
+     * @param entity Kind of entity.
+     * @param stateManager State that was loaded or saved.
+     */
+    void recordStored(Entity entity, StateManager stateManager) {
+        stamps.put(entity, getStamp(files.get(entity)));
+        changedEntities.remove(entity);
+        switch (entity) {
+        case GOAL:
+            classificationRows.put(entity, toRows(stateManager.getAllGoals(), storage::goalToRow));
+            break;
+        case CATEGORY:
+            classificationRows.put(entity, toRows(stateManager.getAllCategories(), storage::categoryToRow));
+            break;
+        case INCOME:
+            transactionHashes.put(entity, toHashes(stateManager.getAllIncomes(), StoreWatcher::hashIncome));
+            break;
+        default:
+            transactionHashes.put(entity, toHashes(stateManager.getAllExpenses(), StoreWatcher::hashExpense));
+            break;
+        }
+    }
+
+    /**
+     * Takes the events of the storage directory reported so far, without waiting for more.
+     *
+     * @return true if any storage file was changed by another program since it was last recorded.
+     */
+    boolean pollChanges() {
+        WatchKey key;
+        while (watchService != null && (key = watchService.poll()) != null) {
+            for (WatchEvent<?> event : key.pollEvents()) {
+                boolean isOverflow = event.kind() == StandardWatchEventKinds.OVERFLOW;
+                for (Entity entity : Entity.values()) {
+                    if (isOverflow || files.get(entity).getName().equals(String.valueOf(event.context()))) {
+                        isChangedExternally(entity);
+                    }
+                }
+            }
+            key.reset();
+        }
+        return !changedEntities.isEmpty();
+    }
+
+    /**
+     * Checks if the storage file of an entity was changed by another program since it was last recorded, which
+     * is then merged by the next call to {@link #merge}. A deleted file is not a change, as it is written again
+     * on the next save.
+     *
+     * @param entity Kind of entity.
+     * @return true if the file was changed.
+     */
+    boolean isChangedExternally(Entity entity) {
+        String stamp = getStamp(files.get(entity));
+        if (stamp != null && !stamp.equals(stamps.get(entity))) {
+            changedEntities.add(entity);
+        }
+        return changedEntities.contains(entity);
+    }
+
+    /**
+     * Returns the kinds of entity whose storage files have changed, in the order they are merged, so that goals
+     * and categories are merged before the transactions that refer to them.
+     *
+     * @return Kinds of entity to merge.
+     */
+    EnumSet<Entity> getChangedEntities() {
+        return EnumSet.copyOf(changedEntities);
+    }
+
+    /**
+     * Reads the changed storage file of an entity and applies the changes made to it since it was last recorded
+     * to the state. The file is recorded as read afterwards.
+     *
+     * @param entity Kind of entity.
+     * @param stateManager State to apply the changes to.
+     * @return The applied changes.
+     * @throws DukeException if the storage file cannot be read.
+     */
+    Merge merge(Entity entity, StateManager stateManager) throws DukeException {
+        String stamp = getStamp(files.get(entity));
+        Merge merge = new Merge();
+        switch (entity) {
+        case GOAL:
+            ArrayList<Goal> goals = backend.readGoals();
+            mergeClassifications(entity, goals, stateManager.getAllGoals(), storage::goalToRow, stateManager::addGoal,
+                    goal -> {
+                        stateManager.unassignGoalTransactions(goal);
+                        stateManager.removeGoal(goal);
+                    }, (goal, stored) -> {
+                        goal.setAmount(stored.getAmount());
+                        stateManager.renameGoal(goal, stored.getDescription());
+                    }, merge);
+            classificationRows.put(entity, toRows(goals, storage::goalToRow));
+            break;
+        case CATEGORY:
+            ArrayList<Category> categories = backend.readCategories();
+            mergeClassifications(entity, categories, stateManager.getAllCategories(), storage::categoryToRow,
+                    stateManager::addCategory, category -> {
+                        stateManager.unassignCategoryTransactions(category);
+                        stateManager.removeCategory(category);
+                    }, (category, stored) -> stateManager.renameCategory(category, stored.getName()), merge);
+            classificationRows.put(entity, toRows(categories, storage::categoryToRow));
+            break;
+        case INCOME:
+            ArrayList<Income> incomes = backend.readIncomes(stateManager);
+            mergeTransactions(entity, incomes, stateManager.getAllIncomes(), StoreWatcher::hashIncome,
+                    stateManager::addIncome, stateManager::removeIncome, merge);
+            stateManager.sortIncomes();
+            break;
+        default:
+            ArrayList<Expense> expenses = backend.readExpenses(stateManager);
+            mergeTransactions(entity, expenses, stateManager.getAllExpenses(), StoreWatcher::hashExpense,
+                    stateManager::addExpense, stateManager::removeExpense, merge);
+            stateManager.sortExpenses();
+            break;
+        }
+        stamps.put(entity, stamp);
+        changedEntities.remove(entity);
+        return merge;
+    }
+
+    /**
+     * Applies the changes to goals or categories, which are matched by their name ignoring case.
+     */
+    private <T> void mergeClassifications(Entity entity, ArrayList<T> stored, ArrayList<T> current,
+            Function<T, String[]> toRow, Consumer<T> add, Consumer<T> remove, BiConsumer<T, T> update,
+            Merge merge) {
+        LinkedHashMap<String, String[]> recordedRows = classificationRows.get(entity);
+        LinkedHashMap<String, T> storedEntries = new LinkedHashMap<>();
+        for (T entry : stored) {
+            String key = getKey(toRow.apply(entry));
+            if (!key.equals(UNCATEGORISED_KEY)) {
+                storedEntries.putIfAbsent(key, entry);
+            }
+        }
+        HashMap<String, T> currentEntries = new HashMap<>();
+        for (T entry : current) {
+            currentEntries.putIfAbsent(getKey(toRow.apply(entry)), entry);
+        }
+
+        for (Map.Entry<String, T> storedEntry : storedEntries.entrySet()) {
+            String[] storedRow = toRow.apply(storedEntry.getValue());
+            String[] recordedRow = recordedRows.get(storedEntry.getKey());
+            if (Arrays.equals(storedRow, recordedRow)) {
+                continue;
+            }
+            T currentEntry = currentEntries.get(storedEntry.getKey());
+            String[] currentRow = currentEntry == null ? null : toRow.apply(currentEntry);
+            if (Arrays.equals(currentRow, storedRow)) {
+                continue;
+            }
+            if (!Arrays.equals(currentRow, recordedRow)) {
+                merge.conflicts++;
+            } else if (currentEntry == null) {
+                add.accept(storedEntry.getValue());
+                merge.added++;
+            } else {
+                update.accept(currentEntry, storedEntry.getValue());
+                merge.updated++;
+            }
+        }
+        for (Map.Entry<String, String[]> recordedRow : recordedRows.entrySet()) {
+            T currentEntry = currentEntries.get(recordedRow.getKey());
+            if (storedEntries.containsKey(recordedRow.getKey()) || currentEntry == null) {
+                continue;
+            }
+            if (Arrays.equals(toRow.apply(currentEntry), recordedRow.getValue())) {
+                remove.accept(currentEntry);
+                merge.removed++;
+            } else {
+                merge.conflicts++;
+            }
+        }
+    }
+
+    /**
+     * Applies the changes to incomes or expenses. Rows that were added to the file are added to the state, and
+     * rows that were removed from it are removed from the state if they are still there. The hashes of the file
+     * and of the recorded rows are compared in sorted order, so only the rows that differ are looked up.
+     *
+     * <p>A row that was edited in the file is removed and added between the same unchanged rows, so removed and
+     * added rows between the same unchanged rows are paired up as updates. An update is only applied if the
+     * entry it edits is still the same in the state, and is otherwise a single conflict that keeps the entry of
+     * the state.
+     */
+    private <T> void mergeTransactions(Entity entity, ArrayList<T> stored, ArrayList<T> current,
+            ToLongFunction<T> hashOf, Consumer<T> add, Predicate<T> remove, Merge merge) {
+        long[] recordedHashes = transactionHashes.get(entity);
+        long[] storedHashes = toHashes(stored, hashOf);
+        long[] sortedRecorded = recordedHashes.clone();
+        Arrays.parallelSort(sortedRecorded);
+        long[] sortedStored = storedHashes.clone();
+        Arrays.parallelSort(sortedStored);
+        HashMap<Long, Integer> addedRows = new HashMap<>();
+        HashMap<Long, Integer> removedRows = new HashMap<>();
+        int i = 0;
+        int j = 0;
+        while (i < sortedRecorded.length || j < sortedStored.length) {
+            if (j == sortedStored.length || i < sortedRecorded.length && sortedRecorded[i] < sortedStored[j]) {
+                removedRows.merge(sortedRecorded[i++], 1, Integer::sum);
+            } else if (i == sortedRecorded.length || sortedStored[j] < sortedRecorded[i]) {
+                addedRows.merge(sortedStored[j++], 1, Integer::sum);
+            } else {
+                i++;
+                j++;
+            }
+        }
+
+        // Changed rows are grouped by the number of unchanged rows before them in the file.
+        TreeMap<Integer, ArrayList<Long>> removedByGap = new TreeMap<>();
+        HashMap<Long, Integer> remainingRows = new HashMap<>(removedRows);
+        int unchanged = 0;
+        for (int k = 0; k < recordedHashes.length && !remainingRows.isEmpty(); k++) {
+            if (takeRow(remainingRows, recordedHashes[k])) {
+                removedByGap.computeIfAbsent(unchanged, gap -> new ArrayList<>()).add(recordedHashes[k]);
+            } else {
+                unchanged++;
+            }
+        }
+        TreeMap<Integer, ArrayList<T>> addedByGap = new TreeMap<>();
+        remainingRows = new HashMap<>(addedRows);
+        unchanged = 0;
+        for (int k = 0; k < storedHashes.length && !remainingRows.isEmpty(); k++) {
+            if (takeRow(remainingRows, storedHashes[k])) {
+                addedByGap.computeIfAbsent(unchanged, gap -> new ArrayList<>()).add(stored.get(k));
+            } else {
+                unchanged++;
+            }
+        }
+
+        HashMap<Long, ArrayDeque<T>> currentEntries = new HashMap<>();
+        if (!removedRows.isEmpty()) {
+            long[] currentHashes = toHashes(current, hashOf);
+            for (int k = 0; k < currentHashes.length && !removedRows.isEmpty(); k++) {
+                if (takeRow(removedRows, currentHashes[k])) {
+                    currentEntries.computeIfAbsent(currentHashes[k], hash -> new ArrayDeque<>()).add(current.get(k));
+                }
+            }
+        }
+
+        TreeSet<Integer> gaps = new TreeSet<>(removedByGap.keySet());
+        gaps.addAll(addedByGap.keySet());
+        ArrayList<T> removedEntries = new ArrayList<>();
+        ArrayList<T> addedEntries = new ArrayList<>();
+        for (int gap : gaps) {
+            ArrayList<Long> removed = removedByGap.getOrDefault(gap, new ArrayList<>());
+            ArrayList<T> added = addedByGap.getOrDefault(gap, new ArrayList<>());
+            for (int k = 0; k < Math.max(removed.size(), added.size()); k++) {
+                T entry = null;
+                if (k < removed.size()) {
+                    ArrayDeque<T> entries = currentEntries.get(removed.get(k));
+                    entry = entries == null ? null : entries.poll();
+                    if (entry == null) {
+                        merge.conflicts++;
+                        continue;
+                    }
+                    removedEntries.add(entry);
+                }
+                if (k < added.size()) {
+                    addedEntries.add(added.get(k));
+                }
+                if (entry == null) {
+                    merge.added++;
+                } else if (k < added.size()) {
+                    merge.updated++;
+                } else {
+                    merge.removed++;
+                }
+            }
+        }
+        for (T entry : removedEntries) {
+            remove.test(entry);
+        }
+        for (T entry : addedEntries) {
+            add.accept(entry);
+        }
+        transactionHashes.put(entity, storedHashes);
+    }
+
+    /**
+     * Takes one row with the given hash from the counted rows.
+     *
+     * @return true if there was such a row.
+     */
+    private static boolean takeRow(HashMap<Long, Integer> rows, long hash) {
+        Integer count = rows.get(hash);
+        if (count == null) {
+            return false;
+        }
+        if (count == 1) {
+            rows.remove(hash);
+        } else {
+            rows.put(hash, count - 1);
+        }
+        return true;
+    }
+
+    private static String getKey(String[] row) {
+        return StateManager.foldCase(row[Storage.DESCRIPTION]);
+    }
+
+    private static <T> LinkedHashMap<String, String[]> toRows(ArrayList<T> entries, Function<T, String[]> toRow) {
+        LinkedHashMap<String, String[]> rows = new LinkedHashMap<>();
+        for (T entry : entries) {
+            String[] row = toRow.apply(entry);
+            rows.putIfAbsent(getKey(row), row);
+        }
+        return rows;
+    }
+
+    /**
+     * Hashes the entries on all cores, as the time goes into fetching the fields of every entry from memory.
+     *
+     * @return Hashes in the order of the entries.
+     */
+    private static <T> long[] toHashes(ArrayList<T> entries, ToLongFunction<T> hashOf) {
+        long[] hashes = new long[entries.size()];
+        IntStream.range(0, hashes.length).parallel().forEach(i -> hashes[i] = hashOf.applyAsLong(entries.get(i)));
+        return hashes;
+    }
+
+    private static long hashIncome(Income income) {
+        return hashTransaction(income.getTransaction(), income.getGoal().getDescription());
+    }
+
+    private static long hashExpense(Expense expense) {
+        return hashTransaction(expense.getTransaction(), expense.getCategory().getName());
+    }
+
+    /**
+     * Hashes the fields of a transaction that are stored into 64 bits, so that the rows of a large file can be
+     * compared without keeping them or converting them back into text. The hashes are never stored on disk.
+     */
+    private static long hashTransaction(Transaction transaction, String classification) {
+        long hash = mix(0, transaction.getDescription().hashCode());
+        hash = mix(hash, Double.hashCode(transaction.getAmount()));
+        hash = mix(hash, Long.hashCode(transaction.getDate().toEpochDay()));
+        hash = mix(hash, classification.hashCode());
+        hash = mix(hash, transaction.getRecurrence().ordinal());
+        return mix(hash, Boolean.hashCode(transaction.getHasGeneratedNextRecurrence()));
+    }
+
+    private static long mix(long hash, int field) {
+        hash = (hash ^ field) * HASH_MULTIPLIER;
+        return hash ^ (hash >>> 32);
+    }
+
+    /**
+     * Describes the version of a file on disk by its size, modification time and identity, which change on
+     * every write, whether it is written in place or replaced by another file.
+     *
+     * @return the description, or null if the file does not exist.
+     */
+    private static String getStamp(File file) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+            return attributes.size() + "/" + attributes.lastModifiedTime() + "/" + attributes.fileKey();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Stops watching the storage directory.
+     */
+    void close() {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            // The watcher is no longer used either way.
+        }
+    }
+}
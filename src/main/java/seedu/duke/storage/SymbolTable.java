@@ -0,0 +1,116 @@
+package seedu.duke.storage;
+
+import seedu.duke.classes.Category;
+import seedu.duke.classes.Goal;
+import seedu.duke.classes.StateManager;
+import seedu.duke.classes.Transaction;
+
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the names read during a single load. Goals and categories are looked up by their case-folded name in
+ * constant time, and repeated descriptions, such as those of recurring transactions, share a single String.
+ *
+ * <p>Goals and categories are only added before the transactions are read, after which the table may be used by
+ * several threads at once.
+ */
+class SymbolTable {
+    private static final int MAX_DESCRIPTIONS = 1 << 16;
+
+    private final HashMap<String, Goal> goals = new HashMap<>();
+    private final HashMap<String, Category> categories = new HashMap<>();
+    private final ConcurrentHashMap<String, String> descriptions = new ConcurrentHashMap<>();
+    private final Goal uncategorisedGoal;
+    private final Category uncategorisedCategory;
+    private volatile boolean isFull = false;
+
+    /**
+     * Creates a table of the goals and categories that are already in the StateManager.
+     *
+     * @param stateManager State that is being loaded into.
+     */
+    SymbolTable(StateManager stateManager) {
+        uncategorisedGoal = stateManager.getUncategorisedGoal();
+        uncategorisedCategory = stateManager.getUncategorisedCategory();
+        addGoal(uncategorisedGoal);
+        addCategory(uncategorisedCategory);
+        for (Goal goal : stateManager.getAllGoals()) {
+            addGoal(goal);
+        }
+        for (Category category : stateManager.getAllCategories()) {
+            addCategory(category);
+        }
+    }
+
+    /**
+     * Checks if a goal with the given name, ignoring case, has been added. The uncategorised goal always has.
+     *
+     * @param description Name of the goal.
+     * @return true if the goal exists.
+     */
+    boolean containsGoal(String description) {
+        return goals.containsKey(StateManager.foldCase(description));
+    }
+
+    void addGoal(Goal goal) {
+        goals.putIfAbsent(StateManager.foldCase(goal.getDescription()), goal);
+    }
+
+    /**
+     * Returns the first goal added with the given name, ignoring case.
+     *
+     * @param description Name of the goal.
+     * @return the goal, or the uncategorised goal if there is none.
+     */
+    Goal getGoal(String description) {
+        return goals.getOrDefault(StateManager.foldCase(description), uncategorisedGoal);
+    }
+
+    /**
+     * Checks if a category with the given name, ignoring case, has been added. The uncategorised category always
+     * has.
+     *
+     * @param name Name of the category.
+     * @return true if the category exists.
+     */
+    boolean containsCategory(String name) {
+        return categories.containsKey(StateManager.foldCase(name));
+    }
+
+    void addCategory(Category category) {
+        categories.putIfAbsent(StateManager.foldCase(category.getName()), category);
+    }
+
+    /**
+     * Returns the first category added with the given name, ignoring case.
+     *
+     * @param name Name of the category.
+     * @return the category, or the uncategorised category if there is none.
+     */
+    Category getCategory(String name) {
+        return categories.getOrDefault(StateManager.foldCase(name), uncategorisedCategory);
+    }
+
+    /**
+     * Replaces the description of the transaction with an equal one that was read before, if any. Once the table
+     * holds a fixed number of descriptions, the ledger is taken to be of mostly unique entries and descriptions
+     * are no longer looked up.
+     *
+     * @param transaction Transaction that has just been read.
+     * @return the same transaction.
+     */
+    Transaction intern(Transaction transaction) {
+        if (isFull) {
+            return transaction;
+        }
+        String description = transaction.getDescription();
+        String interned = descriptions.putIfAbsent(description, description);
+        if (interned != null) {
+            transaction.setDescription(interned);
+        } else if (descriptions.size() >= MAX_DESCRIPTIONS) {
+            isFull = true;
+        }
+        return transaction;
+    }
+}
@@ -0,0 +1,80 @@
+package seedu.duke.storage;
+
+import java.io.File;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+
+/**
+ * Directory that stores one CSV file per month of transactions, named after the month, e.g. {@code 2024-05.csv}.
+ */
+class TransactionPartitions {
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
+    private static final String FILE_EXTENSION = ".csv";
+
+    private final File directory;
+
+    TransactionPartitions(File directory) {
+        this.directory = directory;
+    }
+
+    boolean exists() {
+        return directory.isDirectory();
+    }
+
+    void create() {
+        directory.mkdirs();
+    }
+
+    /**
+     * Returns the file that holds the transactions of the given month.
+     *
+     * @param month Month of the transactions.
+     * @return File of the month, which might not exist.
+     */
+    File getFile(YearMonth month) {
+        return new File(directory, month.format(MONTH_FORMATTER) + FILE_EXTENSION);
+    }
+
+    /**
+     * Lists the months that have a file in the directory. Files that are not named after a month are ignored.
+     *
+     * @return Months from the latest to the earliest.
+     */
+    ArrayList<YearMonth> listMonths() {
+        ArrayList<YearMonth> months = new ArrayList<>();
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return months;
+        }
+        for (File file : files) {
+            String name = file.getName();
+            if (!file.isFile() || !name.endsWith(FILE_EXTENSION)) {
+                continue;
+            }
+            try {
+                months.add(YearMonth.parse(name.substring(0, name.length() - FILE_EXTENSION.length()),
+                        MONTH_FORMATTER));
+            } catch (DateTimeParseException e) {
+                // Not a partition file.
+            }
+        }
+        months.sort(Comparator.reverseOrder());
+        return months;
+    }
+
+    /**
+     * Lists the files of all months in the directory.
+     *
+     * @return Files from the latest to the earliest month.
+     */
+    ArrayList<File> listFiles() {
+        ArrayList<File> files = new ArrayList<>();
+        for (YearMonth month : listMonths()) {
+            files.add(getFile(month));
+        }
+        return files;
+    }
+}
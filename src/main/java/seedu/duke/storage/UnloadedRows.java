@@ -0,0 +1,75 @@
+package seedu.duke.storage;
+
+import java.util.Arrays;
+
+/**
+ * Byte ranges of the rows in a storage file that have not been loaded into the StateManager. Adjacent ranges are
+ * merged, so rows that are kept together in the file only take a single range.
+ */
+class UnloadedRows {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private long[] bounds = new long[INITIAL_CAPACITY];
+    private int size = 0;
+
+    /**
+     * Adds the range of a row after the ranges that were added before it.
+     *
+     * @param start offset of the row in the file.
+     * @param end offset after the row in the file.
+     */
+    void add(long start, long end) {
+        if (start == end) {
+            return;
+        }
+        if (size > 0 && bounds[size - 1] == start) {
+            bounds[size - 1] = end;
+            return;
+        }
+        if (size == bounds.length) {
+            bounds = Arrays.copyOf(bounds, size * 2);
+        }
+        bounds[size++] = start;
+        bounds[size++] = end;
+    }
+
+    /**
+     * Adds all ranges of the given rows after the ranges that were added before them.
+     *
+     * @param rows Rows to be added.
+     */
+    void addAll(UnloadedRows rows) {
+        for (int i = 0; i < rows.getRangeCount(); i++) {
+            add(rows.getStart(i), rows.getEnd(i));
+        }
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int getRangeCount() {
+        return size / 2;
+    }
+
+    long getStart(int range) {
+        return bounds[range * 2];
+    }
+
+    long getEnd(int range) {
+        return bounds[range * 2 + 1];
+    }
+
+    /**
+     * Returns the total number of bytes in the ranges.
+     *
+     * @return number of bytes.
+     */
+    long getLength() {
+        long length = 0;
+        for (int i = 0; i < size; i += 2) {
+            length += bounds[i + 1] - bounds[i];
+        }
+        return length;
+    }
+}
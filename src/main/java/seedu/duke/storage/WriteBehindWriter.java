@@ -0,0 +1,162 @@
+package seedu.duke.storage;
+
+import seedu.duke.classes.StateManager;
+import seedu.duke.exception.DukeException;
+
+/**
+ * Writes snapshots of the state into the storage files on a dedicated thread, so that saving does not block
+ * the user. Snapshots submitted within the maximum staleness of the first pending one are coalesced, and only
+ * the latest of them is written.
+ */
+class WriteBehindWriter {
+    private static final String THREAD_NAME = "write-behind";
+
+    private final Storage storage;
+    private final long maxStalenessMillis;
+    private final Thread writerThread;
+    private StateManager pending;
+    private StateManager submitted;
+    private long deadline;
+    private boolean isWriting = false;
+    private boolean isClosed = false;
+    private DukeException failure;
+
+    /**
+     * Starts the writer thread.
+     *
+     * @param storage Storage used to write the snapshots.
+     * @param maxStalenessMillis maximum time in milliseconds a submitted snapshot waits before it is written.
+     */
+    WriteBehindWriter(Storage storage, long maxStalenessMillis) {
+        this.storage = storage;
+        this.maxStalenessMillis = maxStalenessMillis;
+        writerThread = new Thread(this::run, THREAD_NAME);
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Hands a snapshot over to the writer thread, replacing any snapshot that has not been written yet.
+     *
+     * @param snapshot Snapshot of the state that is not modified afterwards.
+     */
+    synchronized void submit(StateManager snapshot) {
+        if (pending == null) {
+            deadline = System.currentTimeMillis() + maxStalenessMillis;
+        }
+        pending = snapshot;
+        submitted = snapshot;
+        notifyAll();
+    }
+
+    /**
+     * Checks if the given state has already been handed over to the writer thread without any further changes.
+     *
+     * @param stateManager State to be checked.
+     * @return true if the last submitted snapshot has the same versions as the state.
+     */
+    synchronized boolean isSubmitted(StateManager stateManager) {
+        return submitted != null
+                && submitted.getStateId() == stateManager.getStateId()
+                && submitted.getGoalsVersion() == stateManager.getGoalsVersion()
+                && submitted.getCategoriesVersion() == stateManager.getCategoriesVersion()
+                && submitted.getIncomesVersion() == stateManager.getIncomesVersion()
+                && submitted.getExpensesVersion() == stateManager.getExpensesVersion();
+    }
+
+    /**
+     * Returns the last snapshot handed over to the writer thread, so that the next snapshot can reuse the copies
+     * of the collections that have not changed since.
+     *
+     * @return the last submitted snapshot, or null if there is none or its write failed.
+     */
+    synchronized StateManager getSubmitted() {
+        return submitted;
+    }
+
+    /**
+     * Writes the pending snapshot immediately and waits until it is in the storage files.
+     *
+     * @throws DukeException if a previous or the final write failed.
+     */
+    synchronized void flush() throws DukeException {
+        deadline = System.currentTimeMillis();
+        notifyAll();
+        try {
+            while ((pending != null || isWriting) && writerThread.isAlive()) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rethrowFailure();
+    }
+
+    /**
+     * Throws the error of the last failed write, if any. The error is only reported once.
+     *
+     * @throws DukeException if the last write failed.
+     */
+    synchronized void rethrowFailure() throws DukeException {
+        if (failure != null) {
+            DukeException error = failure;
+            failure = null;
+            throw error;
+        }
+    }
+
+    /**
+     * Flushes the pending snapshot and stops the writer thread.
+     *
+     * @throws DukeException if a previous or the final write failed.
+     */
+    void close() throws DukeException {
+        try {
+            flush();
+        } finally {
+            synchronized (this) {
+                isClosed = true;
+                notifyAll();
+            }
+        }
+    }
+
+    private void run() {
+        while (true) {
+            StateManager snapshot;
+            synchronized (this) {
+                try {
+                    while (!isClosed && !isDue()) {
+                        wait(pending == null ? 0 : Math.max(1, deadline - System.currentTimeMillis()));
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (pending == null) {
+                    return;
+                }
+                snapshot = pending;
+                pending = null;
+                isWriting = true;
+            }
+
+            try {
+                storage.saveStoreFiles(snapshot);
+            } catch (DukeException e) {
+                synchronized (this) {
+                    failure = e;
+                    submitted = null;
+                }
+            } finally {
+                synchronized (this) {
+                    isWriting = false;
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    private boolean isDue() {
+        return pending != null && System.currentTimeMillis() >= deadline;
+    }
+}
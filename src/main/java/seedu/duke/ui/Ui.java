@@ -4,17 +4,17 @@ import seedu.duke.classes.Category;
 import seedu.duke.classes.TypePrint;
 import seedu.duke.classes.Goal;
 import seedu.duke.classes.StateManager;
+import seedu.duke.classes.StatusTotals;
 
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormatSymbols;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Locale;
 import java.util.Scanner;
 import java.util.StringJoiner;
 import java.util.stream.Collectors;
@@ -34,6 +34,8 @@ public class Ui {
     private static final int PROGRESS_WIDTH = 35;
 
     private static final String AMOUNT_FORMAT = "%.2f";
+    private static final int CENTS_PER_DOLLAR = 100;
+    private static volatile Locale plainLocale;
     private static final char LINE_DELIMITER = '\n';
     private static final Integer[] TYPE_COLUMN_WIDTHS_WITH_PROGRESS = {TYPE_WIDTH, TYPE_WIDTH, PROGRESS_WIDTH};
     private static final Integer[] TYPE_COLUMN_WIDTHS_WO_PROGRESS = {TYPE_WIDTH, TYPE_WIDTH};
@@ -105,8 +107,45 @@ public class Ui {
         return colWidths;
     }
 
+    /**
+     * Formats an amount with two decimal places. Amounts that are a whole number of cents, which every valid
+     * amount is, are formatted directly from their cents, and any other value falls back to String.format.
+     *
+     * @param value Amount to format.
+     * @return the formatted amount.
+     */
     public String formatAmount(Double value) {
-        return String.format(AMOUNT_FORMAT, value);
+        if (value == null || !hasPlainDigits()) {
+            return String.format(AMOUNT_FORMAT, value);
+        }
+        double cents = Math.rint(value * CENTS_PER_DOLLAR);
+        if (cents < 0 || cents >= Long.MAX_VALUE || cents / CENTS_PER_DOLLAR != value) {
+            return String.format(AMOUNT_FORMAT, value);
+        }
+        long wholeCents = (long) cents;
+        long fraction = wholeCents % CENTS_PER_DOLLAR;
+        StringBuilder amount = new StringBuilder(24);
+        amount.append(wholeCents / CENTS_PER_DOLLAR).append('.');
+        if (fraction < 10) {
+            amount.append('0');
+        }
+        return amount.append(fraction).toString();
+    }
+
+    /**
+     * Checks if String.format writes numbers with ASCII digits and a '.' in the current locale.
+     */
+    private static boolean hasPlainDigits() {
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        if (locale.equals(plainLocale)) {
+            return true;
+        }
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+        if (symbols.getDecimalSeparator() != '.' || symbols.getZeroDigit() != '0') {
+            return false;
+        }
+        plainLocale = locale;
+        return true;
     }
 
     public void print(String value) {
@@ -264,23 +303,20 @@ public class Ui {
 
     /**
      * Prints list of active goals
-     * @param goalsMap list of goals
+     * @param goalsStatus totals of the goals
      */
-    public void printGoalsStatus(HashMap<Goal, Double> goalsMap) {
+    public void printGoalsStatus(StatusTotals<Goal> goalsStatus) {
         ArrayList<TypePrint> goalsToPrint = new ArrayList<>();
         TypePrint uncategorised = null;
         Goal uncategorisedGoal = StateManager.getStateManager().getUncategorisedGoal();
-        if (goalsMap.containsKey(uncategorisedGoal)) {
-            String description = uncategorisedGoal.getDescription();
-            double currentAmount = goalsMap.get(uncategorisedGoal);
-            uncategorised = new TypePrint(description, currentAmount);
-            goalsMap.remove(uncategorisedGoal);
-        }
-        for (Map.Entry<Goal, Double> entry : goalsMap.entrySet()) {
-            String description = entry.getKey().getDescription();
-            double currentAmount = entry.getValue();
-            double targetAmount = entry.getKey().getAmount();
-            TypePrint goalEntry = new TypePrint(description, currentAmount, targetAmount);
+        for (Goal goal : goalsStatus.getUsed()) {
+            String description = goal.getDescription();
+            double currentAmount = goalsStatus.getTotal(goal);
+            if (goal == uncategorisedGoal) {
+                uncategorised = new TypePrint(description, currentAmount);
+                continue;
+            }
+            TypePrint goalEntry = new TypePrint(description, currentAmount, goal.getAmount());
             goalsToPrint.add(goalEntry);
         }
         Comparator<TypePrint> typeComparator = Comparator.comparing(TypePrint::getDescription);
@@ -292,7 +328,7 @@ public class Ui {
         String wrapper = createWrapper(TYPE_COLUMN_WIDTHS_WITH_PROGRESS, headerMessage);
         print(wrapper);
         printStatus(goalsToPrint, true);
-        printUnusedGoals(goalsMap);
+        printUnusedGoals(goalsStatus);
         print(wrapper);
     }
 
@@ -349,14 +385,13 @@ public class Ui {
 
     /**
      * Prints list of unused goals
-     * @param goals list of goals
+     * @param goalsStatus totals of the goals
      */
-    private void printUnusedGoals(HashMap<Goal, Double> goals) {
-        HashSet<Goal> keySet = new HashSet<>(goals.keySet());
+    private void printUnusedGoals(StatusTotals<Goal> goalsStatus) {
         ArrayList<ArrayList<String>> unusedGoals = new ArrayList<>();
         ArrayList<Goal> goalList = StateManager.getStateManager().getAllGoals();
         for (Goal g : goalList) {
-            if (!keySet.contains(g)) {
+            if (!goalsStatus.isUsed(g)) {
                 ArrayList<String> unusedGoal = new ArrayList<>();
                 unusedGoal.add(g.getDescription());
                 unusedGoal.add(formatAmount(g.getAmount()));
@@ -374,22 +409,19 @@ public class Ui {
 
     /**
      * Prints list of all categories
-     * @param categoryMap hashmap of each category and the amount linked to each category
+     * @param categoriesStatus totals of the categories
      */
-    public void printCategoryStatus(HashMap<Category, Double> categoryMap) {
+    public void printCategoryStatus(StatusTotals<Category> categoriesStatus) {
         ArrayList<TypePrint> categoriesToPrint = new ArrayList<>();
         Category uncategorisedCategory = StateManager.getStateManager().getUncategorisedCategory();
         TypePrint uncategorised = null;
-        if (categoryMap.containsKey(uncategorisedCategory)) {
-            String description = uncategorisedCategory.getName();
-            double currentAmount = categoryMap.get(uncategorisedCategory);
-            uncategorised = new TypePrint(description, currentAmount);
-            categoryMap.remove(uncategorisedCategory);
-        }
-
-        for (Map.Entry<Category, Double> entry : categoryMap.entrySet()) {
-            String description = entry.getKey().getName();
-            double currentAmount = entry.getValue();
+        for (Category category : categoriesStatus.getUsed()) {
+            String description = category.getName();
+            double currentAmount = categoriesStatus.getTotal(category);
+            if (category == uncategorisedCategory) {
+                uncategorised = new TypePrint(description, currentAmount);
+                continue;
+            }
             TypePrint categoryEntry = new TypePrint(description, currentAmount);
             categoriesToPrint.add(categoryEntry);
         }
@@ -402,20 +434,19 @@ public class Ui {
         String wrapper = createWrapper(TYPE_COLUMN_WIDTHS_WO_PROGRESS, headerMessage);
         print(wrapper);
         printStatus(categoriesToPrint, false);
-        printUnusedCategories(categoryMap);
+        printUnusedCategories(categoriesStatus);
         print(wrapper);
     }
 
     /**
      * Prints list of unused categories
-     * @param categories list of categories
+     * @param categoriesStatus totals of the categories
      */
-    private void printUnusedCategories(HashMap<Category, Double> categories) {
-        HashSet<Category> keySet = new HashSet<>(categories.keySet());
+    private void printUnusedCategories(StatusTotals<Category> categoriesStatus) {
         List<String> unusedCategories = new ArrayList<>();
         ArrayList<Category> categoryList = StateManager.getStateManager().getAllCategories();
         for (Category c : categoryList) {
-            if (!keySet.contains(c)) {
+            if (!categoriesStatus.isUsed(c)) {
                 unusedCategories.add(c.getName());
             }
         }
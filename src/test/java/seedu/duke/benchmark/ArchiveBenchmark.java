@@ -0,0 +1,79 @@
+package seedu.duke.benchmark;
+
+import org.apache.commons.io.FileUtils;
+import seedu.duke.classes.Expense;
+import seedu.duke.classes.StateManager;
+import seedu.duke.classes.Transaction;
+import seedu.duke.storage.Storage;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+/**
+ * Measures loading a ledger, saving a single added expense and computing the goal status, before and after
+ * archiving the transactions older than a year, which are about nine tenths of the generated ten years.
+ * Run with {@code gradlew benchmark -Pbench=ArchiveBenchmark [-Pargs="100000 1000000"]}.
+ */
+public class ArchiveBenchmark {
+    private static final int[] DEFAULT_SIZES = {100_000, 1_000_000};
+
+    public static void main(String[] args) throws Exception {
+        for (int rows : BenchmarkData.parseSizes(args, DEFAULT_SIZES)) {
+            Path directory = Files.createTempDirectory("fintext-archive");
+            try {
+                BenchmarkData.populate(rows);
+                new Storage(directory.toString()).save();
+                timeLoad(directory);
+                double load = timeLoad(directory);
+                double save = timeSave(directory);
+                double status = timeStatus();
+
+                long start = System.nanoTime();
+                int archived = new Storage(directory.toString()).archive(LocalDate.now().minusYears(1));
+                double archive = (System.nanoTime() - start) / 1e6;
+
+                double archivedLoad = timeLoad(directory);
+                double archivedSave = timeSave(directory);
+                double archivedStatus = timeStatus();
+                start = System.nanoTime();
+                int read = StateManager.getStateManager().getArchivedExpenses(LocalDate.MIN).size();
+                double readArchive = (System.nanoTime() - start) / 1e6;
+
+                System.out.printf("%,d rows: load %.1f ms, save %.1f ms, status %.1f ms; archived %,d in %.1f ms; "
+                        + "then load %.1f ms, save %.1f ms, status %.1f ms, reading %,d archived expenses %.1f ms%n",
+                        rows, load, save, status, archived, archive, archivedLoad, archivedSave, archivedStatus,
+                        read, readArchive);
+            } finally {
+                FileUtils.deleteDirectory(directory.toFile());
+            }
+        }
+    }
+
+    private static double timeLoad(Path directory) throws Exception {
+        StateManager.clearStateManager();
+        System.gc();
+        long start = System.nanoTime();
+        new Storage(directory.toString()).load();
+        return (System.nanoTime() - start) / 1e6;
+    }
+
+    private static double timeSave(Path directory) throws Exception {
+        StateManager.clearStateManager();
+        Storage storage = new Storage(directory.toString());
+        storage.load();
+        StateManager state = StateManager.getStateManager();
+        state.addExpense(new Expense(new Transaction("coffee", 3.0, LocalDate.now()),
+                state.getUncategorisedCategory()));
+        long start = System.nanoTime();
+        storage.saveChanges();
+        return (System.nanoTime() - start) / 1e6;
+    }
+
+    private static double timeStatus() {
+        long start = System.nanoTime();
+        StateManager.getStateManager().getGoalsStatus();
+        StateManager.getStateManager().getCategoriesStatus();
+        return (System.nanoTime() - start) / 1e6;
+    }
+}
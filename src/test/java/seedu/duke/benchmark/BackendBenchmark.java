@@ -0,0 +1,97 @@
+package seedu.duke.benchmark;
+
+import org.apache.commons.io.FileUtils;
+import seedu.duke.classes.Income;
+import seedu.duke.classes.StateManager;
+import seedu.duke.classes.Transaction;
+import seedu.duke.storage.Storage;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+/**
+ * Compares the storage backends by the size of their files, the time to save and load the full state, and the
+ * time to save a single added income.
+ * Run with {@code gradlew benchmark -Pbench=BackendBenchmark [-Pargs="10000 100000 1000000"]}.
+ */
+public class BackendBenchmark {
+    private static final int[] DEFAULT_SIZES = {10_000, 100_000, 1_000_000};
+    private static final String[] BACKENDS = {"csv", "binary", "journal"};
+    private static final long JOURNAL_THRESHOLD = 1024 * 1024;
+    private static final int RUNS = 3;
+
+    public static void main(String[] args) throws Exception {
+        for (int rows : BenchmarkData.parseSizes(args, DEFAULT_SIZES)) {
+            for (String backend : BACKENDS) {
+                Path directory = Files.createTempDirectory("fintext-backend");
+                try {
+                    double save = timeSave(directory, rows, backend);
+                    double load = timeLoad(directory, backend);
+                    double change = timeChange(directory, backend);
+                    System.out.printf("%,d rows %s: %,d bytes, save %.1f ms, load %.1f ms, one change %.2f ms%n",
+                            rows, backend, FileUtils.sizeOfDirectory(directory.toFile()), save, load, change);
+                } finally {
+                    FileUtils.deleteDirectory(directory.toFile());
+                }
+            }
+        }
+    }
+
+    private static Storage createStorage(Path directory, String backend) {
+        Storage storage = BenchmarkData.createStorage(directory);
+        if (backend.equals("binary")) {
+            storage.enableBinaryBackend();
+        } else if (backend.equals("journal")) {
+            storage.enableJournal(JOURNAL_THRESHOLD);
+        }
+        return storage;
+    }
+
+    private static double timeSave(Path directory, int rows, String backend) throws Exception {
+        BenchmarkData.populate(rows);
+        long total = 0;
+        for (int i = 0; i < RUNS; i++) {
+            Storage storage = createStorage(directory, backend);
+            long start = System.nanoTime();
+            storage.save();
+            total += System.nanoTime() - start;
+            storage.close();
+        }
+        return total / RUNS / 1e6;
+    }
+
+    private static double timeLoad(Path directory, String backend) throws Exception {
+        long total = 0;
+        for (int i = 0; i < RUNS; i++) {
+            StateManager.clearStateManager();
+            Storage storage = createStorage(directory, backend);
+            long start = System.nanoTime();
+            storage.load();
+            total += System.nanoTime() - start;
+            storage.close();
+        }
+        return total / RUNS / 1e6;
+    }
+
+    /**
+     * Times saving after each of several added incomes, which only rewrites the incomes, or appends them to the
+     * journal.
+     */
+    private static double timeChange(Path directory, String backend) throws Exception {
+        StateManager.clearStateManager();
+        Storage storage = createStorage(directory, backend);
+        storage.load();
+        StateManager stateManager = StateManager.getStateManager();
+        long total = 0;
+        for (int i = 0; i < RUNS; i++) {
+            Transaction transaction = new Transaction("change " + i, 1.0, LocalDate.now());
+            stateManager.addIncome(new Income(transaction, stateManager.getUncategorisedGoal()));
+            long start = System.nanoTime();
+            storage.saveChanges();
+            total += System.nanoTime() - start;
+        }
+        storage.close();
+        return total / RUNS / 1e6;
+    }
+}
@@ -0,0 +1,73 @@
+package seedu.duke.benchmark;
+
+import org.apache.commons.io.FileUtils;
+import seedu.duke.classes.Expense;
+import seedu.duke.classes.StateManager;
+import seedu.duke.classes.Transaction;
+import seedu.duke.storage.BackupResult;
+import seedu.duke.storage.Storage;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+/**
+ * Measures a first backup of a ledger, a backup after a single added expense, and restoring the first backup,
+ * with the storage files in single files and in monthly partitions. The bytes written by each backup are
+ * compared with the size of the storage files, which a full copy would write.
+ * Run with {@code gradlew benchmark -Pbench=BackupBenchmark [-Pargs="100000 1000000"]}.
+ */
+public class BackupBenchmark {
+    private static final int[] DEFAULT_SIZES = {100_000, 1_000_000};
+
+    public static void main(String[] args) throws Exception {
+        for (int rows : BenchmarkData.parseSizes(args, DEFAULT_SIZES)) {
+            run(rows, false);
+            run(rows, true);
+        }
+    }
+
+    private static void run(int rows, boolean isPartitioned) throws Exception {
+        Path directory = Files.createTempDirectory("fintext-backup");
+        try {
+            BenchmarkData.populate(rows);
+            Storage storage = createStorage(directory, isPartitioned);
+            storage.save();
+            long storedBytes = FileUtils.sizeOf(directory.toFile());
+
+            long start = System.nanoTime();
+            BackupResult first = storage.backup();
+            double firstTime = (System.nanoTime() - start) / 1e6;
+
+            StateManager state = StateManager.getStateManager();
+            state.addExpense(new Expense(new Transaction("coffee", 3.0, LocalDate.now()),
+                    state.getUncategorisedCategory()));
+            storage.saveChanges();
+            start = System.nanoTime();
+            BackupResult second = storage.backup();
+            double secondTime = (System.nanoTime() - start) / 1e6;
+
+            start = System.nanoTime();
+            storage.restoreBackup(first.getTime());
+            double restoreTime = (System.nanoTime() - start) / 1e6;
+            storage.close();
+
+            System.out.printf("%,d rows%s (%,d KB stored): first backup %.1f ms writing %,d KB; "
+                    + "after one expense %.1f ms writing %,d KB in %d chunk(s); restore %.1f ms%n",
+                    rows, isPartitioned ? " partitioned" : "", storedBytes / 1024, firstTime,
+                    first.getWrittenBytes() / 1024, secondTime, second.getWrittenBytes() / 1024,
+                    second.getNewChunkCount(), restoreTime);
+        } finally {
+            FileUtils.deleteDirectory(directory.toFile());
+        }
+    }
+
+    private static Storage createStorage(Path directory, boolean isPartitioned) {
+        Storage storage = new Storage(new File(directory.toFile(), "ledger").getPath());
+        if (isPartitioned) {
+            storage.enablePartitions();
+        }
+        return storage;
+    }
+}
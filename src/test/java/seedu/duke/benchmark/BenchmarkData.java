@@ -0,0 +1,93 @@
+package seedu.duke.benchmark;
+
+import seedu.duke.classes.Category;
+import seedu.duke.classes.Expense;
+import seedu.duke.classes.Goal;
+import seedu.duke.classes.Income;
+import seedu.duke.classes.StateManager;
+import seedu.duke.classes.Transaction;
+import seedu.duke.storage.Storage;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Generates the ledgers used by the benchmarks.
+ */
+public class BenchmarkData {
+    private static final int GOAL_COUNT = 20;
+    private static final int CATEGORY_COUNT = 20;
+    private static final int DAYS = 3650;
+    private static final long SEED = 2113;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Parses the row counts given on the command line.
+     *
+     * @param args command line arguments.
+     * @param defaultSizes row counts used when no arguments are given.
+     * @return row counts to benchmark.
+     */
+    public static int[] parseSizes(String[] args, int[] defaultSizes) {
+        if (args.length == 0) {
+            return defaultSizes;
+        }
+        int[] sizes = new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i].replace("_", ""));
+        }
+        return sizes;
+    }
+
+    /**
+     * Replaces the state with a ledger of the given number of transactions, split evenly between incomes
+     * and expenses.
+     *
+     * @param rows number of transactions.
+     */
+    public static void populate(int rows) {
+        StateManager.clearStateManager();
+        StateManager stateManager = StateManager.getStateManager();
+        stateManager.setRecordingChanges(false);
+        Random random = new Random(SEED);
+        Goal[] goals = new Goal[GOAL_COUNT];
+        for (int i = 0; i < GOAL_COUNT; i++) {
+            goals[i] = new Goal("goal " + i, 1000 * (i + 1));
+            stateManager.addGoal(goals[i]);
+        }
+        Category[] categories = new Category[CATEGORY_COUNT];
+        for (int i = 0; i < CATEGORY_COUNT; i++) {
+            categories[i] = new Category("category " + i);
+            stateManager.addCategory(categories[i]);
+        }
+
+        LocalDate start = LocalDate.now().minusDays(DAYS);
+        for (int i = 0; i < rows; i++) {
+            Transaction transaction = new Transaction("transaction " + i, random.nextInt(100000) / 100.0,
+                    start.plusDays(random.nextInt(DAYS)));
+            if (i % 2 == 0) {
+                stateManager.addIncome(new Income(transaction, goals[random.nextInt(GOAL_COUNT)]));
+            } else {
+                stateManager.addExpense(new Expense(transaction, categories[random.nextInt(CATEGORY_COUNT)]));
+            }
+        }
+        stateManager.setRecordingChanges(true);
+    }
+
+    /**
+     * Creates a Storage that keeps its files in the given directory.
+     *
+     * @param directory directory of the storage files.
+     * @return the storage.
+     */
+    public static Storage createStorage(Path directory) {
+        return new Storage(directory.resolve("goal-store.csv").toString(),
+                directory.resolve("category-store.csv").toString(),
+                directory.resolve("income-store.csv").toString(),
+                directory.resolve("expense-store.csv").toString(),
+                directory.resolve("Transactions.csv").toString());
+    }
+}
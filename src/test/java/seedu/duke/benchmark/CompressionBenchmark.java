@@ -0,0 +1,71 @@
+package seedu.duke.benchmark;
+
+import org.apache.commons.io.FileUtils;
+import seedu.duke.classes.StateManager;
+import seedu.duke.storage.Storage;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Compares the size of the storage files and the time to save and load them, written plain and with GZIP.
+ * Run with {@code gradlew benchmark -Pbench=CompressionBenchmark [-Pargs="100000 1000000"]}.
+ */
+public class CompressionBenchmark {
+    private static final int[] DEFAULT_SIZES = {100_000, 1_000_000};
+    private static final String[] STORE_FILES = {"goal-store.csv", "category-store.csv", "income-store.csv",
+        "expense-store.csv"};
+    private static final int RUNS = 3;
+
+    public static void main(String[] args) throws Exception {
+        for (int rows : BenchmarkData.parseSizes(args, DEFAULT_SIZES)) {
+            for (boolean isCompressed : new boolean[]{false, true}) {
+                Path directory = Files.createTempDirectory("fintext-compression");
+                try {
+                    double save = timeSave(directory, rows, isCompressed);
+                    double load = timeLoad(directory);
+                    System.out.printf("%,d rows %s: %,d bytes, save %.1f ms, load %.1f ms%n", rows,
+                            isCompressed ? "GZIP" : "plain", getSize(directory), save, load);
+                } finally {
+                    FileUtils.deleteDirectory(directory.toFile());
+                }
+            }
+        }
+    }
+
+    private static double timeSave(Path directory, int rows, boolean isCompressed) throws Exception {
+        BenchmarkData.populate(rows);
+        long total = 0;
+        for (int i = 0; i < RUNS; i++) {
+            Storage storage = BenchmarkData.createStorage(directory);
+            if (isCompressed) {
+                storage.enableCompression();
+            }
+            long start = System.nanoTime();
+            storage.save();
+            total += System.nanoTime() - start;
+        }
+        return total / RUNS / 1e6;
+    }
+
+    private static double timeLoad(Path directory) throws Exception {
+        long total = 0;
+        for (int i = 0; i < RUNS; i++) {
+            StateManager.clearStateManager();
+            Storage storage = BenchmarkData.createStorage(directory);
+            long start = System.nanoTime();
+            storage.load();
+            total += System.nanoTime() - start;
+        }
+        return total / RUNS / 1e6;
+    }
+
+    private static long getSize(Path directory) {
+        long size = 0;
+        for (String fileName : STORE_FILES) {
+            size += new File(directory.toFile(), fileName).length();
+        }
+        return size;
+    }
+}
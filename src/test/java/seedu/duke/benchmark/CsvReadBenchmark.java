@@ -0,0 +1,68 @@
+package seedu.duke.benchmark;
+
+import org.apache.commons.io.FileUtils;
+import seedu.duke.csv.CsvReader;
+import seedu.duke.csv.MappedCsvReader;
+import seedu.duke.storage.Storage;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Compares the throughput of reading the expense store with the opencsv based {@link CsvReader} and the
+ * memory-mapped {@link MappedCsvReader}. Run with {@code gradlew benchmark -Pbench=CsvReadBenchmark}.
+ */
+public class CsvReadBenchmark {
+    private static final int[] DEFAULT_SIZES = {100_000, 1_000_000};
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) throws Exception {
+        for (int rows : BenchmarkData.parseSizes(args, DEFAULT_SIZES)) {
+            Path directory = Files.createTempDirectory("fintext-read");
+            try {
+                BenchmarkData.populate(rows * 2);
+                Storage storage = BenchmarkData.createStorage(directory);
+                storage.save();
+                String fileName = directory.resolve("expense-store.csv").toString();
+                double megabytes = new File(fileName).length() / 1e6;
+
+                long opencsv = 0;
+                long mapped = 0;
+                for (int i = 0; i < RUNS; i++) {
+                    opencsv += timeOpenCsv(fileName);
+                    mapped += timeMapped(fileName);
+                }
+                System.out.printf("%,d rows (%.1f MB): opencsv %.1f MB/s, mapped %.1f MB/s%n", rows, megabytes,
+                        megabytes * RUNS / (opencsv / 1e9), megabytes * RUNS / (mapped / 1e9));
+            } finally {
+                FileUtils.deleteDirectory(directory.toFile());
+            }
+        }
+    }
+
+    private static long timeOpenCsv(String fileName) throws Exception {
+        long start = System.nanoTime();
+        CsvReader reader = new CsvReader(fileName);
+        long fields = 0;
+        String[] row;
+        while ((row = reader.readLine()) != null) {
+            fields += row.length;
+        }
+        reader.close();
+        assert fields > 0;
+        return System.nanoTime() - start;
+    }
+
+    private static long timeMapped(String fileName) throws Exception {
+        long start = System.nanoTime();
+        MappedCsvReader reader = new MappedCsvReader(fileName);
+        long fields = 0;
+        while (reader.nextRow()) {
+            fields += reader.getFields().length;
+        }
+        reader.close();
+        assert fields > 0;
+        return System.nanoTime() - start;
+    }
+}
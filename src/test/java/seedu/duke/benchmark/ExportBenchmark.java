@@ -0,0 +1,52 @@
+package seedu.duke.benchmark;
+
+import org.apache.commons.io.FileUtils;
+import seedu.duke.parser.Parser;
+import seedu.duke.ui.Ui;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Measures exporting every transaction of the ledger into the export CSV file and into columns.
+ * Run with {@code gradlew benchmark -Pbench=ExportBenchmark [-Pargs="100000 1000000"]}.
+ */
+public class ExportBenchmark {
+    private static final int[] DEFAULT_SIZES = {100_000, 1_000_000};
+    private static final int WARMUP_RUNS = 2;
+    private static final int RUNS = 3;
+
+    public static void main(String[] args) throws Exception {
+        Ui ui = new Ui(OutputStream.nullOutputStream());
+        for (int rows : BenchmarkData.parseSizes(args, DEFAULT_SIZES)) {
+            Path directory = Files.createTempDirectory("fintext-export");
+            try {
+                BenchmarkData.populate(rows);
+                BenchmarkData.createStorage(directory);
+                double csvExport = timeExport("export", ui);
+                double columnarExport = timeExport("export /format columnar", ui);
+                long csvSize = new File(directory.toFile(), "Transactions.csv").length();
+                long columnarSize = FileUtils.sizeOfDirectory(directory.resolve("Transactions-columns").toFile());
+                System.out.printf("%,d rows: CSV export %.1f ms (%,d bytes), columnar export %.1f ms (%,d bytes)%n",
+                        rows, csvExport, csvSize, columnarExport, columnarSize);
+            } finally {
+                FileUtils.deleteDirectory(directory.toFile());
+            }
+        }
+    }
+
+    private static double timeExport(String command, Ui ui) throws Exception {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            new Parser().parse(command).execute(ui);
+        }
+        long total = 0;
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            new Parser().parse(command).execute(ui);
+            total += System.nanoTime() - start;
+        }
+        return total / RUNS / 1e6;
+    }
+}
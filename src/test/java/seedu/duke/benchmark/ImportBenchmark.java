@@ -0,0 +1,80 @@
+package seedu.duke.benchmark;
+
+import org.apache.commons.io.FileUtils;
+import seedu.duke.parser.Parser;
+import seedu.duke.storage.Storage;
+import seedu.duke.ui.Ui;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Compares adding the rows of a statement to a ledger of 10,000 transactions with one in command each, saving
+ * after every command like the main loop does, with importing the whole statement with one import command.
+ * Run with {@code gradlew benchmark -Pbench=ImportBenchmark [-Pargs="1000 5000"]}.
+ */
+public class ImportBenchmark {
+    private static final int[] DEFAULT_SIZES = {1_000, 5_000};
+    private static final int LEDGER_ROWS = 10_000;
+    private static final int DAYS = 365;
+    private static final long SEED = 2113;
+
+    public static void main(String[] args) throws Exception {
+        Ui ui = new Ui(OutputStream.nullOutputStream());
+        for (int rows : BenchmarkData.parseSizes(args, DEFAULT_SIZES)) {
+            Path directory = Path.of(".").relativize(Files.createTempDirectory(Path.of("."), "fintext-import"));
+            try {
+                String[] commands = createStatement(rows, directory.resolve("statement.csv"));
+
+                Storage storage = createLedger(directory);
+                long start = System.nanoTime();
+                for (String command : commands) {
+                    new Parser().parse(command).execute(ui);
+                    storage.saveChanges();
+                }
+                long commandTime = System.nanoTime() - start;
+
+                storage = createLedger(directory);
+                start = System.nanoTime();
+                new Parser().parse("import " + directory.resolve("statement.csv") + " /type in").execute(ui);
+                storage.saveChanges();
+                long importTime = System.nanoTime() - start;
+
+                System.out.printf("%,d rows: in commands %.1f ms, import %.1f ms%n", rows, commandTime / 1e6,
+                        importTime / 1e6);
+            } finally {
+                FileUtils.deleteDirectory(directory.toFile());
+            }
+        }
+    }
+
+    private static Storage createLedger(Path directory) throws Exception {
+        BenchmarkData.populate(LEDGER_ROWS);
+        Storage storage = BenchmarkData.createStorage(directory);
+        storage.save();
+        return storage;
+    }
+
+    /**
+     * Writes a statement of the given number of rows and returns the in commands that add the same rows.
+     */
+    private static String[] createStatement(int rows, Path file) throws Exception {
+        Random random = new Random(SEED);
+        LocalDate start = LocalDate.now().minusDays(DAYS);
+        String[] commands = new String[rows];
+        StringBuilder statement = new StringBuilder("Description,Amount,Date\n");
+        for (int i = 0; i < rows; i++) {
+            String description = "statement entry " + i;
+            String amount = Double.toString(random.nextInt(100000) / 100.0);
+            String date = start.plusDays(random.nextInt(DAYS)).format(Parser.DATE_INPUT_FORMATTER);
+            statement.append(description).append(',').append(amount).append(',').append(date).append('\n');
+            commands[i] = "in " + description + " /amount " + amount + " /date " + date;
+        }
+        FileUtils.writeStringToFile(file.toFile(), statement.toString(), StandardCharsets.UTF_8);
+        return commands;
+    }
+}
@@ -0,0 +1,51 @@
+package seedu.duke.benchmark;
+
+import org.apache.commons.io.FileUtils;
+import seedu.duke.classes.StateManager;
+import seedu.duke.storage.LedgerManager;
+import seedu.duke.storage.Storage;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Measures switching between two ledgers of the given number of transactions each, when both stay in memory and
+ * when the memory cap only fits one of them, so every switch loads the other ledger again.
+ * Run with {@code gradlew benchmark -Pbench=LedgerBenchmark [-Pargs="10000 100000"]}.
+ */
+public class LedgerBenchmark {
+    private static final int[] DEFAULT_SIZES = {10_000, 100_000};
+    private static final int SWITCHES = 20;
+
+    public static void main(String[] args) throws Exception {
+        for (int rows : BenchmarkData.parseSizes(args, DEFAULT_SIZES)) {
+            Path directory = Files.createTempDirectory("fintext-ledgers");
+            try {
+                for (String ledger : new String[]{"household", "business"}) {
+                    BenchmarkData.populate(rows);
+                    new Storage(directory.resolve(ledger).toString()).save();
+                }
+                double resident = timeSwitches(directory, Long.MAX_VALUE);
+                long oneLedger = LedgerManager.estimateMemory(StateManager.getStateManager());
+                double reloaded = timeSwitches(directory, oneLedger);
+                System.out.printf("%,d rows per ledger: switch in memory %.3f ms, switch with reload %.1f ms%n",
+                        rows, resident, reloaded);
+            } finally {
+                FileUtils.deleteDirectory(directory.toFile());
+            }
+        }
+    }
+
+    private static double timeSwitches(Path directory, long memoryCap) throws Exception {
+        LedgerManager ledgers = new LedgerManager(directory.toString(), memoryCap, Storage::new);
+        ledgers.use("household");
+        ledgers.use("business");
+        long start = System.nanoTime();
+        for (int i = 0; i < SWITCHES; i++) {
+            ledgers.use(i % 2 == 0 ? "household" : "business");
+        }
+        long elapsed = System.nanoTime() - start;
+        ledgers.close();
+        return elapsed / 1e6 / SWITCHES;
+    }
+}
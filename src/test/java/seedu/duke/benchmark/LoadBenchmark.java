@@ -0,0 +1,52 @@
+package seedu.duke.benchmark;
+
+import org.apache.commons.io.FileUtils;
+import seedu.duke.classes.StateManager;
+import seedu.duke.storage.Storage;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Compares loading the ledger from the CSV storage files with loading it from the binary snapshot.
+ * Run with {@code gradlew benchmark -Pbench=LoadBenchmark [-Pargs="10000 100000"]}.
+ */
+public class LoadBenchmark {
+    private static final int[] DEFAULT_SIZES = {10_000, 100_000, 1_000_000};
+    private static final int RUNS = 3;
+
+    public static void main(String[] args) throws Exception {
+        for (int rows : BenchmarkData.parseSizes(args, DEFAULT_SIZES)) {
+            Path directory = Files.createTempDirectory("fintext-load");
+            try {
+                BenchmarkData.populate(rows);
+                Storage storage = BenchmarkData.createStorage(directory);
+                storage.enableSnapshot();
+                storage.save();
+
+                double csvLoad = timeLoad(directory, false);
+                double snapshotLoad = timeLoad(directory, true);
+                System.out.printf("%,d rows: CSV load %.1f ms, snapshot load %.1f ms (snapshot %,d bytes)%n",
+                        rows, csvLoad, snapshotLoad, new File(directory.toFile(), "state-snapshot.bin").length());
+            } finally {
+                FileUtils.deleteDirectory(directory.toFile());
+            }
+        }
+    }
+
+    private static double timeLoad(Path directory, boolean isSnapshotEnabled) throws Exception {
+        long total = 0;
+        for (int i = 0; i < RUNS; i++) {
+            StateManager.clearStateManager();
+            Storage storage = BenchmarkData.createStorage(directory);
+            if (isSnapshotEnabled) {
+                storage.enableSnapshot();
+            }
+            long start = System.nanoTime();
+            storage.load();
+            total += System.nanoTime() - start;
+        }
+        return total / RUNS / 1e6;
+    }
+}
@@ -0,0 +1,60 @@
+package seedu.duke.benchmark;
+
+import seedu.duke.classes.Category;
+import seedu.duke.classes.StateManager;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Measures finding categories by name ignoring case through {@link StateManager#getCategoryIndex(String)},
+ * compared with scanning the categories, with a thousand and ten thousand categories.
+ * Run with {@code gradlew benchmark -Pbench=LookupBenchmark [-Pargs="1000 10000"]}.
+ */
+public class LookupBenchmark {
+    private static final int[] DEFAULT_SIZES = {1_000, 10_000};
+    private static final int LOOKUPS = 100_000;
+    private static final long SEED = 2113;
+
+    public static void main(String[] args) {
+        for (int count : BenchmarkData.parseSizes(args, DEFAULT_SIZES)) {
+            StateManager.clearStateManager();
+            StateManager state = StateManager.getStateManager();
+            state.setRecordingChanges(false);
+            for (int i = 0; i < count; i++) {
+                state.addCategory(new Category("Category " + i));
+            }
+            Random random = new Random(SEED);
+            String[] names = new String[LOOKUPS];
+            for (int i = 0; i < LOOKUPS; i++) {
+                names[i] = "CATEGORY " + random.nextInt(count + count / 10);
+            }
+
+            long found = 0;
+            long start = System.nanoTime();
+            for (String name : names) {
+                found += state.getCategoryIndex(name) >= 0 ? 1 : 0;
+            }
+            double indexed = (System.nanoTime() - start) / 1e6;
+
+            start = System.nanoTime();
+            for (String name : names) {
+                found -= scan(state.getAllCategories(), name) >= 0 ? 1 : 0;
+            }
+            double scanned = (System.nanoTime() - start) / 1e6;
+            assert found == 0;
+
+            System.out.printf("%,d categories, %,d lookups: index %.1f ms, scan %.1f ms%n", count, LOOKUPS,
+                    indexed, scanned);
+        }
+    }
+
+    private static int scan(ArrayList<Category> categories, String name) {
+        for (int i = 0; i < categories.size(); i++) {
+            if (categories.get(i).getName().equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
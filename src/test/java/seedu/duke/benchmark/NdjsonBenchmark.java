@@ -0,0 +1,71 @@
+package seedu.duke.benchmark;
+
+import org.apache.commons.io.FileUtils;
+import seedu.duke.json.NdjsonReader;
+import seedu.duke.parser.Parser;
+import seedu.duke.ui.Ui;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Measures exporting the ledger as newline-delimited JSON, streaming the file back through the reader alone, and
+ * importing it into an empty ledger with the same goals and categories. The heap in use after the reader pass
+ * shows that reading does not grow with the file.
+ * Run with {@code gradlew benchmark -Pbench=NdjsonBenchmark [-Pargs="100000 1000000"]}.
+ */
+public class NdjsonBenchmark {
+    private static final int[] DEFAULT_SIZES = {100_000, 1_000_000};
+    private static final String[] FIELDS = {"type", "description", "date", "amount", "goal", "category",
+        "recurrence", "hasGeneratedNextRecurrence"};
+
+    public static void main(String[] args) throws Exception {
+        Ui ui = new Ui(OutputStream.nullOutputStream());
+        for (int rows : BenchmarkData.parseSizes(args, DEFAULT_SIZES)) {
+            Path directory = Path.of(".").relativize(Files.createTempDirectory(Path.of("."), "fintext-ndjson"));
+            try {
+                BenchmarkData.populate(rows);
+                BenchmarkData.createStorage(directory);
+                long start = System.nanoTime();
+                new Parser().parse("export /format ndjson").execute(ui);
+                long exportTime = System.nanoTime() - start;
+                File file = directory.resolve("Transactions.ndjson").toFile();
+
+                BenchmarkData.populate(0);
+                System.gc();
+                start = System.nanoTime();
+                long records = readAll(file.getPath());
+                long readTime = System.nanoTime() - start;
+                Runtime runtime = Runtime.getRuntime();
+                long heapInUse = runtime.totalMemory() - runtime.freeMemory();
+
+                start = System.nanoTime();
+                new Parser().parse("import " + file.getPath() + " /format ndjson").execute(ui);
+                long importTime = System.nanoTime() - start;
+
+                System.out.printf("%,d rows (%,d bytes): export %.1f ms, read %,d records %.1f ms "
+                        + "(%,d bytes heap in use), import %.1f ms%n", rows, file.length(), exportTime / 1e6,
+                        records, readTime / 1e6, heapInUse, importTime / 1e6);
+            } finally {
+                FileUtils.deleteDirectory(directory.toFile());
+            }
+        }
+    }
+
+    private static long readAll(String filePath) throws Exception {
+        NdjsonReader reader = new NdjsonReader(filePath, FIELDS);
+        long records = 0;
+        try {
+            while (reader.nextRecord()) {
+                if (reader.getValues()[0] != null) {
+                    records++;
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return records;
+    }
+}
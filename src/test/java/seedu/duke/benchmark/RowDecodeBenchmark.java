@@ -0,0 +1,97 @@
+package seedu.duke.benchmark;
+
+import seedu.duke.classes.Transaction;
+import seedu.duke.classes.TransactionRecurrence;
+import seedu.duke.parser.Parser;
+import seedu.duke.storage.Storage;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+
+/**
+ * Compares the rows per second decoded by {@link Storage#prepareTransaction} with the general parsers it used
+ * before, which parse the date with a formatter, the amount with a regular expression, and the recurrence and
+ * boolean after stripping them.
+ * Run with {@code gradlew benchmark -Pbench=RowDecodeBenchmark [-Pargs="1000000"]}.
+ */
+public class RowDecodeBenchmark {
+    private static final int[] DEFAULT_SIZES = {1_000_000};
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final int DAYS = 3650;
+    private static final long SEED = 2113;
+    private static final int WARMUP_RUNS = 3;
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) {
+        Storage storage = new Storage();
+        for (int rows : BenchmarkData.parseSizes(args, DEFAULT_SIZES)) {
+            String[][] table = createRows(rows);
+            for (int i = 0; i < WARMUP_RUNS; i++) {
+                decode(table, storage, false);
+                decode(table, storage, true);
+            }
+            long general = 0;
+            long decoder = 0;
+            for (int i = 0; i < RUNS; i++) {
+                general += decode(table, storage, false);
+                decoder += decode(table, storage, true);
+            }
+            System.out.printf("%,d rows: general parsers %,.0f rows/s, row decoder %,.0f rows/s%n", rows,
+                    rows * RUNS / (general / 1e9), rows * RUNS / (decoder / 1e9));
+        }
+    }
+
+    private static String[][] createRows(int rows) {
+        Random random = new Random(SEED);
+        LocalDate start = LocalDate.now().minusDays(DAYS);
+        TransactionRecurrence[] recurrences = TransactionRecurrence.values();
+        String[][] table = new String[rows][];
+        for (int i = 0; i < rows; i++) {
+            table[i] = new String[]{"transaction " + i, Double.toString(random.nextInt(100000) / 100.0),
+                start.plusDays(random.nextInt(DAYS)).format(FORMATTER), "goal",
+                recurrences[random.nextInt(recurrences.length)].toString(), Boolean.toString(random.nextBoolean())};
+        }
+        return table;
+    }
+
+    private static long decode(String[][] table, Storage storage, boolean isDecoder) {
+        long start = System.nanoTime();
+        long checksum = 0;
+        for (String[] row : table) {
+            Transaction transaction = isDecoder ? storage.prepareTransaction(row) : parseWithGeneralParsers(row);
+            checksum += transaction.getDate().toEpochDay();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (checksum == 0) {
+            System.out.println();
+        }
+        return elapsed;
+    }
+
+    /**
+     * Decodes a row the way {@link Storage#prepareTransaction} did before the row decoder.
+     */
+    private static Transaction parseWithGeneralParsers(String[] row) {
+        String hasRecurrence = row[5].strip();
+        if (row[0].isBlank() || TransactionRecurrence.getRecurrence(row[4]) == null
+                || !(hasRecurrence.equalsIgnoreCase("true") || hasRecurrence.equalsIgnoreCase("false"))) {
+            return null;
+        }
+        Double amount = Parser.parseNonNegativeDouble(row[1]);
+        if (amount == null) {
+            return null;
+        }
+        LocalDate date;
+        try {
+            date = LocalDate.parse(row[2], FORMATTER);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+        Transaction transaction = new Transaction(row[0].strip(), amount, date);
+        transaction.setHasGeneratedNextRecurrence(Boolean.parseBoolean(hasRecurrence));
+        transaction.setRecurrence(TransactionRecurrence.getRecurrence(row[4]));
+        return transaction;
+    }
+}
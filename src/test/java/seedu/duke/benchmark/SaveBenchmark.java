@@ -0,0 +1,54 @@
+package seedu.duke.benchmark;
+
+import org.apache.commons.io.FileUtils;
+import seedu.duke.classes.Expense;
+import seedu.duke.classes.StateManager;
+import seedu.duke.classes.Transaction;
+import seedu.duke.storage.Storage;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+/**
+ * Measures the latency of saving the storage files, which are synced to disk once per save.
+ * Run with {@code gradlew benchmark -Pbench=SaveBenchmark [-Pargs="10000 100000"]}.
+ */
+public class SaveBenchmark {
+    private static final int[] DEFAULT_SIZES = {10_000, 100_000, 1_000_000};
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) throws Exception {
+        for (int rows : BenchmarkData.parseSizes(args, DEFAULT_SIZES)) {
+            Path directory = Files.createTempDirectory("fintext-save");
+            try {
+                BenchmarkData.populate(rows);
+                StateManager stateManager = StateManager.getStateManager();
+
+                long fullSave = 0;
+                for (int i = 0; i < RUNS; i++) {
+                    Storage storage = BenchmarkData.createStorage(directory);
+                    long start = System.nanoTime();
+                    storage.save();
+                    fullSave += System.nanoTime() - start;
+                }
+
+                Storage storage = BenchmarkData.createStorage(directory);
+                storage.save();
+                long commandSave = 0;
+                for (int i = 0; i < RUNS; i++) {
+                    stateManager.addExpense(new Expense(new Transaction("benchmark", 1.0, LocalDate.now()),
+                            stateManager.getUncategorisedCategory()));
+                    long start = System.nanoTime();
+                    storage.saveChanges();
+                    commandSave += System.nanoTime() - start;
+                }
+
+                System.out.printf("%,d rows: full save %.1f ms, save after one command %.1f ms%n",
+                        rows, fullSave / RUNS / 1e6, commandSave / RUNS / 1e6);
+            } finally {
+                FileUtils.deleteDirectory(directory.toFile());
+            }
+        }
+    }
+}
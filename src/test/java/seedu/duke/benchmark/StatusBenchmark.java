@@ -0,0 +1,90 @@
+package seedu.duke.benchmark;
+
+import seedu.duke.classes.Category;
+import seedu.duke.classes.Expense;
+import seedu.duke.classes.Goal;
+import seedu.duke.classes.Income;
+import seedu.duke.classes.StateManager;
+import seedu.duke.classes.Transaction;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Random;
+
+/**
+ * Measures totalling the transactions of each goal and category through {@link StateManager#getGoalsStatus()} and
+ * {@link StateManager#getCategoriesStatus()}, compared with totalling them in a {@code HashMap} keyed by goal and
+ * category, with two thousand goals and categories.
+ * Run with {@code gradlew benchmark -Pbench=StatusBenchmark [-Pargs="100000 1000000"]}.
+ */
+public class StatusBenchmark {
+    private static final int[] DEFAULT_SIZES = {100_000, 1_000_000};
+    private static final int CLASSIFICATION_COUNT = 2000;
+    private static final int DAYS = 3650;
+    private static final long SEED = 2113;
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) {
+        for (int rows : BenchmarkData.parseSizes(args, DEFAULT_SIZES)) {
+            populate(rows);
+            StateManager state = StateManager.getStateManager();
+            double sum = 0;
+            long arrayTime = 0;
+            long mapTime = 0;
+            for (int run = 0; run <= RUNS; run++) {
+                long start = System.nanoTime();
+                sum += state.getGoalsStatus().getTotal(state.getGoal(0));
+                sum += state.getCategoriesStatus().getTotal(state.getCategory(0));
+                long end = System.nanoTime();
+                sum -= totalInMaps(state);
+                long mapEnd = System.nanoTime();
+                if (run > 0) {
+                    arrayTime += end - start;
+                    mapTime += mapEnd - end;
+                }
+            }
+            System.out.printf("%,d rows: array totals %.1f ms, map totals %.1f ms (difference %.2f)%n", rows,
+                    arrayTime / RUNS / 1e6, mapTime / RUNS / 1e6, sum);
+        }
+    }
+
+    private static double totalInMaps(StateManager state) {
+        HashMap<Goal, Double> goals = new HashMap<>();
+        for (Income income : state.getAllIncomes()) {
+            Goal key = income.getGoal();
+            goals.put(key, goals.getOrDefault(key, 0.0) + income.getTransaction().getAmount());
+        }
+        HashMap<Category, Double> categories = new HashMap<>();
+        for (Expense expense : state.getAllExpenses()) {
+            Category key = expense.getCategory();
+            categories.put(key, categories.getOrDefault(key, 0.0) + expense.getTransaction().getAmount());
+        }
+        return goals.getOrDefault(state.getGoal(0), 0.0) + categories.getOrDefault(state.getCategory(0), 0.0);
+    }
+
+    private static void populate(int rows) {
+        StateManager.clearStateManager();
+        StateManager stateManager = StateManager.getStateManager();
+        stateManager.setRecordingChanges(false);
+        Random random = new Random(SEED);
+        Goal[] goals = new Goal[CLASSIFICATION_COUNT];
+        Category[] categories = new Category[CLASSIFICATION_COUNT];
+        for (int i = 0; i < CLASSIFICATION_COUNT; i++) {
+            goals[i] = new Goal("goal " + i, 1000);
+            stateManager.addGoal(goals[i]);
+            categories[i] = new Category("category " + i);
+            stateManager.addCategory(categories[i]);
+        }
+        LocalDate start = LocalDate.now().minusDays(DAYS);
+        for (int i = 0; i < rows; i++) {
+            Transaction transaction = new Transaction("entry " + i, random.nextInt(100000) / 100.0,
+                    start.plusDays(random.nextInt(DAYS)));
+            if (i % 2 == 0) {
+                stateManager.addIncome(new Income(transaction, goals[random.nextInt(CLASSIFICATION_COUNT)]));
+            } else {
+                stateManager.addExpense(new Expense(transaction, categories[random.nextInt(CLASSIFICATION_COUNT)]));
+            }
+        }
+        stateManager.setRecordingChanges(true);
+    }
+}
@@ -0,0 +1,85 @@
+package seedu.duke.benchmark;
+
+import org.apache.commons.io.FileUtils;
+import seedu.duke.classes.Category;
+import seedu.duke.classes.Expense;
+import seedu.duke.classes.Goal;
+import seedu.duke.classes.Income;
+import seedu.duke.classes.StateManager;
+import seedu.duke.classes.Transaction;
+import seedu.duke.storage.Storage;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Measures the load time and the heap retained by a repetitive ledger with many goals and categories, where most
+ * transactions share one of a few descriptions.
+ * Run with {@code gradlew benchmark -Pbench=SymbolTableBenchmark [-Pargs="100000 1000000"]}.
+ */
+public class SymbolTableBenchmark {
+    private static final int[] DEFAULT_SIZES = {100_000, 1_000_000};
+    private static final int CLASSIFICATION_COUNT = 2000;
+    private static final int DESCRIPTION_COUNT = 200;
+    private static final int DAYS = 3650;
+    private static final long SEED = 2113;
+    private static final int RUNS = 3;
+
+    public static void main(String[] args) throws Exception {
+        for (int rows : BenchmarkData.parseSizes(args, DEFAULT_SIZES)) {
+            Path directory = Files.createTempDirectory("fintext-symbols");
+            try {
+                populate(rows);
+                BenchmarkData.createStorage(directory).save();
+                long total = 0;
+                for (int i = 0; i < RUNS; i++) {
+                    StateManager.clearStateManager();
+                    System.gc();
+                    Storage storage = BenchmarkData.createStorage(directory);
+                    long start = System.nanoTime();
+                    storage.load();
+                    total += System.nanoTime() - start;
+                }
+                System.out.printf("%,d rows: load %.1f ms, %.1f MB retained%n", rows, total / RUNS / 1e6,
+                        getUsedHeap() / 1e6);
+            } finally {
+                FileUtils.deleteDirectory(directory.toFile());
+            }
+        }
+    }
+
+    private static void populate(int rows) {
+        StateManager.clearStateManager();
+        StateManager stateManager = StateManager.getStateManager();
+        stateManager.setRecordingChanges(false);
+        Random random = new Random(SEED);
+        Goal[] goals = new Goal[CLASSIFICATION_COUNT];
+        Category[] categories = new Category[CLASSIFICATION_COUNT];
+        for (int i = 0; i < CLASSIFICATION_COUNT; i++) {
+            goals[i] = new Goal("goal " + i, 1000);
+            stateManager.addGoal(goals[i]);
+            categories[i] = new Category("category " + i);
+            stateManager.addCategory(categories[i]);
+        }
+        LocalDate start = LocalDate.now().minusDays(DAYS);
+        for (int i = 0; i < rows; i++) {
+            Transaction transaction = new Transaction("recurring entry " + random.nextInt(DESCRIPTION_COUNT),
+                    random.nextInt(100000) / 100.0, start.plusDays(random.nextInt(DAYS)));
+            if (i % 2 == 0) {
+                stateManager.addIncome(new Income(transaction, goals[random.nextInt(CLASSIFICATION_COUNT)]));
+            } else {
+                stateManager.addExpense(new Expense(transaction,
+                        categories[random.nextInt(CLASSIFICATION_COUNT)]));
+            }
+        }
+        stateManager.setRecordingChanges(true);
+    }
+
+    private static long getUsedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
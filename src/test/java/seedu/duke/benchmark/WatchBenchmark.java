@@ -0,0 +1,73 @@
+package seedu.duke.benchmark;
+
+import org.apache.commons.io.FileUtils;
+import seedu.duke.classes.StateManager;
+import seedu.duke.storage.Storage;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+/**
+ * Measures loading a ledger with and without watching its storage files, and merging a single row appended to the
+ * expense file by another program, from the write until the merge is reported, compared to loading the ledger
+ * again.
+ * Run with {@code gradlew benchmark -Pbench=WatchBenchmark [-Pargs="100000 1000000"]}.
+ */
+public class WatchBenchmark {
+    private static final int[] DEFAULT_SIZES = {100_000, 1_000_000};
+    private static final String ADDED_ROW = "\"external\",\"1.0\",\"01/01/2020\",\"Uncategorised\",\"none\","
+            + "\"false\"\n";
+
+    public static void main(String[] args) throws Exception {
+        for (int rows : BenchmarkData.parseSizes(args, DEFAULT_SIZES)) {
+            Path directory = Files.createTempDirectory("fintext-watch");
+            try {
+                BenchmarkData.populate(rows);
+                new Storage(directory.toString()).save();
+
+                timeLoad(createStorage(directory, false));
+                double plainLoad = timeLoad(createStorage(directory, false));
+                Storage storage = createStorage(directory, true);
+                timeLoad(storage);
+                storage.close();
+                storage = createStorage(directory, true);
+                double watchedLoad = timeLoad(storage);
+
+                File expenseFile = directory.resolve("expense-store.csv").toFile();
+                long start = System.nanoTime();
+                FileUtils.writeStringToFile(expenseFile, ADDED_ROW, StandardCharsets.UTF_8, true);
+                ArrayList<String> notices = storage.reloadChangedFiles();
+                while (notices.isEmpty()) {
+                    notices = storage.reloadChangedFiles();
+                }
+                double merge = (System.nanoTime() - start) / 1e6;
+                storage.close();
+
+                System.out.printf("%,d rows: load %.1f ms, load while watching %.1f ms, "
+                        + "external row merged after %.1f ms (%s)%n", rows, plainLoad, watchedLoad, merge,
+                        notices.get(0));
+            } finally {
+                FileUtils.deleteDirectory(directory.toFile());
+            }
+        }
+    }
+
+    private static Storage createStorage(Path directory, boolean isWatched) {
+        Storage storage = new Storage(directory.toString());
+        if (isWatched) {
+            storage.enableWatch();
+        }
+        return storage;
+    }
+
+    private static double timeLoad(Storage storage) throws Exception {
+        StateManager.clearStateManager();
+        System.gc();
+        long start = System.nanoTime();
+        storage.load();
+        return (System.nanoTime() - start) / 1e6;
+    }
+}
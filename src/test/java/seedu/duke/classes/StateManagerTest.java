@@ -0,0 +1,187 @@
+package seedu.duke.classes;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StateManagerTest {
+    private StateManager state;
+
+    @BeforeEach
+    void initialise() {
+        StateManager.clearStateManager();
+        state = StateManager.getStateManager();
+        state.addGoal(new Goal("Car", 1000));
+        state.addGoal(new Goal("House", 5000));
+        state.addGoal(new Goal("car", 200));
+        state.addCategory(new Category("Food"));
+        state.addCategory(new Category("Transport"));
+    }
+
+    /**
+     * Clears the StateManager after each test to ensure a clean slate for the next test.
+     */
+    @AfterEach
+    void clearStateManager() {
+        StateManager.clearStateManager();
+    }
+
+    /**
+     * Test if goals and categories are found ignoring case, with the first of any duplicates found.
+     */
+    @Test
+    void lookupIgnoresCase() {
+        assertEquals(0, state.getGoalIndex("CAR"));
+        assertEquals(1, state.getGoalIndex("house"));
+        assertEquals(1, state.getCategoryIndex("tRaNsPoRt"));
+        assertEquals(-1, state.getGoalIndex("boat"));
+        assertEquals(-1, state.getCategoryIndex(null));
+    }
+
+    /**
+     * Test if the indexes follow removed goals and categories.
+     */
+    @Test
+    void removalShiftsIndexes() {
+        state.removeGoal(0);
+        assertEquals(0, state.getGoalIndex("house"));
+        assertEquals(1, state.getGoalIndex("Car"));
+        assertEquals(200, state.getGoal(state.getGoalIndex("car")).getAmount());
+        state.removeCategory(state.getCategory(0));
+        assertEquals(-1, state.getCategoryIndex("food"));
+        assertEquals(0, state.getCategoryIndex("transport"));
+    }
+
+    /**
+     * Test if renamed goals and categories are found by their new name only, and snapshots keep the indexes.
+     */
+    @Test
+    void renameUpdatesIndexes() {
+        state.renameGoal(state.getGoal(1), "Flat");
+        state.renameCategory(state.getCategory(0), "Groceries");
+        assertEquals(-1, state.getGoalIndex("house"));
+        assertEquals(1, state.getGoalIndex("FLAT"));
+        assertEquals(0, state.getCategoryIndex("groceries"));
+
+        StateManager snapshot = state.snapshot();
+        assertEquals(1, snapshot.getGoalIndex("flat"));
+        assertEquals(0, snapshot.getCategoryIndex("Groceries"));
+    }
+
+    /**
+     * Test if renaming a goal away from or onto a duplicate name keeps the first goal of each name findable.
+     */
+    @Test
+    void renameKeepsFirstOfDuplicates() {
+        state.renameGoal(state.getGoal(0), "Boat");
+        assertEquals(0, state.getGoalIndex("boat"));
+        assertEquals(2, state.getGoalIndex("car"));
+        state.renameGoal(state.getGoal(1), "CAR");
+        assertEquals(1, state.getGoalIndex("car"));
+        state.removeGoal(1);
+        assertEquals(1, state.getGoalIndex("car"));
+        assertEquals(-1, state.getGoalIndex("house"));
+    }
+
+    /**
+     * Test if goals get dense ids after the uncategorised goal, and the id of a removed goal is reused.
+     */
+    @Test
+    void idsAreDenseAndReused() {
+        assertEquals(0, state.getGoalId(state.getUncategorisedGoal()));
+        assertEquals(1, state.getGoalId(state.getGoal(0)));
+        assertEquals(3, state.getGoalId(state.getGoal(2)));
+        Goal car = state.getGoal(0);
+        state.removeGoal(0);
+        assertEquals(-1, state.getGoalId(car));
+        Goal boat = new Goal("Boat", 300);
+        state.addGoal(boat);
+        assertEquals(1, state.getGoalId(boat));
+        assertEquals(2, state.getCategoryId(state.getCategory(1)));
+    }
+
+    /**
+     * Test if a snapshot gives ids to its own goals without changing the ids of the live goals.
+     */
+    @Test
+    void snapshotKeepsItsOwnIds() {
+        Goal house = state.getGoal(1);
+        StateManager copy = state.snapshot();
+        assertEquals(2, copy.getGoalId(copy.getGoal(1)));
+        assertEquals(-1, copy.getGoalId(house));
+        copy.removeGoal(1);
+        assertEquals(2, state.getGoalId(house));
+    }
+
+    /**
+     * Test if the status totals every goal, including the uncategorised goal and a goal that is not in the state.
+     */
+    @Test
+    void statusTotalsEveryGoal() {
+        Goal car = state.getGoal(0);
+        Goal removed = new Goal("Removed", 10);
+        state.addIncome(new Income(new Transaction("salary", 100.0, LocalDate.now()), car));
+        state.addIncome(new Income(new Transaction("bonus", 50.5, LocalDate.now()), car));
+        state.addIncome(new Income(new Transaction("gift", 20.0, LocalDate.now()), state.getUncategorisedGoal()));
+        state.addIncome(new Income(new Transaction("refund", 5.0, LocalDate.now()), removed));
+
+        StatusTotals<Goal> status = state.getGoalsStatus();
+        assertEquals(150.5, status.getTotal(car));
+        assertEquals(20, status.getTotal(state.getUncategorisedGoal()));
+        assertEquals(5, status.getTotal(removed));
+        assertTrue(status.isUsed(removed));
+        assertFalse(status.isUsed(state.getGoal(1)));
+        assertEquals(3, status.getUsed().size());
+        assertEquals(0, state.getCategoriesStatus().getUsed().size());
+    }
+
+    /**
+     * Test if changes are only kept while a journal needs them, while the versions still follow every change.
+     */
+    @Test
+    void changesAreOnlyKeptWhenNeeded() {
+        state.drainChanges();
+        state.setKeepingChanges(false);
+        long version = state.getIncomesVersion();
+        state.addIncome(new Income(new Transaction("salary", 10.0, LocalDate.now()), state.getUncategorisedGoal()));
+        assertTrue(state.drainChanges().isEmpty());
+        assertEquals(version + 1, state.getIncomesVersion());
+
+        state.setKeepingChanges(true);
+        state.removeIncome(0);
+        assertEquals(1, state.drainChanges().size());
+    }
+
+    /**
+     * Test if a snapshot reuses the copies of an earlier snapshot for the collections that have not changed, and
+     * copies the others again.
+     */
+    @Test
+    void snapshotReusesUnchangedCollections() {
+        state.addIncome(new Income(new Transaction("salary", 100.0, LocalDate.now()), state.getGoal(0)));
+        state.addExpense(new Expense(new Transaction("lunch", 5.0, LocalDate.now()), state.getCategory(0)));
+        StateManager first = state.snapshot();
+
+        state.addExpense(new Expense(new Transaction("bus", 2.0, LocalDate.now()), state.getCategory(1)));
+        StateManager second = state.snapshot(first);
+        assertSame(first.getAllIncomes(), second.getAllIncomes());
+        assertSame(first.getGoal(0), second.getGoal(0));
+        assertNotSame(first.getAllExpenses(), second.getAllExpenses());
+        assertEquals(2, second.getExpensesSize());
+        assertSame(second.getCategory(1), second.getExpense(1).getCategory());
+
+        state.renameGoal(state.getGoal(0), "Bike");
+        StateManager third = state.snapshot(second);
+        assertNotSame(second.getAllIncomes(), third.getAllIncomes());
+        assertEquals("Bike", third.getIncome(0).getGoal().getDescription());
+        assertSame(second.getAllExpenses(), third.getAllExpenses());
+    }
+}
@@ -0,0 +1,164 @@
+package seedu.duke.command;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+import seedu.duke.classes.Goal;
+import seedu.duke.classes.Income;
+import seedu.duke.classes.StateManager;
+import seedu.duke.exception.DukeException;
+import seedu.duke.storage.LedgerManager;
+import seedu.duke.storage.Storage;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArchiveCommandTest extends LedgerFixture {
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("ddMMyyyy");
+
+    private void addTransactions() throws DukeException {
+        execute("goal /add car /amount 1000");
+        execute("in salary /amount 100 /goal car /date 05012023");
+        execute("in bonus /amount 50 /goal car /date 20012023");
+        execute("in salary /amount 200 /goal car /date 05022023");
+        execute("out lunch /amount 10 /date 10012023");
+        execute("out dinner /amount 20 /date 10022023");
+    }
+
+    private static double getGoalStatus(String description) {
+        StateManager state = StateManager.getStateManager();
+        Goal goal = state.getGoal(state.getGoalIndex(description));
+        return goal == null ? 0 : state.getGoalsStatus().getTotal(goal);
+    }
+
+    /**
+     * Test if archived transactions leave the state, while the summary and the goal status still include them.
+     * @throws DukeException if the commands cannot be executed.
+     */
+    @Test
+    void archiveKeepsTotals() throws DukeException {
+        addTransactions();
+        assertEquals("Archived 3 transaction(s) dated before 2023-02-01.\n", execute("archive /before 01022023"));
+
+        StateManager state = StateManager.getStateManager();
+        assertEquals(1, state.getIncomesSize());
+        assertEquals(1, state.getExpensesSize());
+        assertEquals(350, getGoalStatus("car"));
+        assertEquals("Good job! Total income so far: $350.00\n", execute("summary /type in"));
+        assertEquals("Wise spending! Total expense so far: $30.00\n", execute("summary /type out"));
+        assertEquals("There are no transactions dated before 2023-02-01 to archive.\n",
+                execute("archive /before 01022023"));
+    }
+
+    /**
+     * Test if the archive and its totals are loaded again, and archived transactions are only listed on request.
+     * @throws DukeException if the commands cannot be executed or the storage cannot be loaded.
+     */
+    @Test
+    void archiveIsLoadedAgain() throws DukeException {
+        addTransactions();
+        execute("archive /before 01022023");
+        execute("archive /before 15022023");
+        LedgerManager.getLedgerManager().close();
+
+        StateManager.clearStateManager();
+        new Storage(TEST_DIR).load();
+        StateManager state = StateManager.getStateManager();
+        assertEquals(0, state.getIncomesSize());
+        assertEquals(350, getGoalStatus("car"));
+        ArrayList<Income> archived = state.getArchivedIncomes(LocalDate.MIN);
+        assertEquals(3, archived.size());
+        assertEquals("salary", archived.get(0).getTransaction().getDescription());
+        assertEquals(state.getAllGoals().get(0), archived.get(0).getGoal());
+        assertEquals(2, state.getArchivedIncomes(LocalDate.of(2023, 1, 6)).size());
+        assertEquals(250, state.getArchivedIncomeTotal(LocalDate.of(2023, 1, 6)));
+        assertEquals(200, state.getArchivedIncomeTotal(LocalDate.of(2023, 2, 1)));
+
+        assertThrows(DukeException.class, () -> execute("list /type in"));
+        String listed = execute("list /type in /archived");
+        assertTrue(listed.contains("ARCHIVED IN TRANSACTIONS"));
+        assertTrue(listed.contains("bonus"));
+    }
+
+    /**
+     * Test if an invalid row of the archived totals is skipped and reported as a notice of the storage.
+     * @throws DukeException if the commands cannot be executed or the storage cannot be loaded.
+     * @throws IOException if the totals file cannot be written.
+     */
+    @Test
+    void invalidTotalsRowIsReported() throws DukeException, IOException {
+        addTransactions();
+        execute("archive /before 01022023");
+        LedgerManager.getLedgerManager().close();
+        File totals = new File(TEST_DIR, "archive-totals.csv");
+        String rows;
+        try (InputStream input = new GZIPInputStream(new FileInputStream(totals))) {
+            rows = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try (OutputStream output = new GZIPOutputStream(new FileOutputStream(totals))) {
+            output.write((rows + "\"Income\",\"2023-13\",\"car\",\"10.0\",\"1\"\n").getBytes(StandardCharsets.UTF_8));
+        }
+
+        StateManager.clearStateManager();
+        Storage storage = new Storage(TEST_DIR);
+        storage.load();
+        assertTrue(storage.takeNotices().contains("Skipping an invalid row of archive-totals.csv"));
+        assertEquals(350, getGoalStatus("car"));
+    }
+
+    /**
+     * Test if importing a transaction that has already been archived skips it as a duplicate.
+     * @throws DukeException if the commands cannot be executed.
+     * @throws IOException if the statement cannot be written.
+     */
+    @Test
+    void importSkipsArchivedDuplicates() throws DukeException, IOException {
+        addTransactions();
+        execute("archive /before 01022023");
+        String statement = TEST_DIR + "/statement.csv";
+        FileUtils.writeStringToFile(new File(statement), "Description,Amount,Date\n"
+                + "lunch,10,10012023\n"
+                + "snack,3,11012023\n", StandardCharsets.UTF_8);
+
+        assertEquals("Imported 1 expense(s) from " + statement + ". Skipped 1 duplicate(s) and 0 invalid row(s).\n",
+                execute("import " + statement + " /type out"));
+        assertEquals(2, StateManager.getStateManager().getExpensesSize());
+    }
+
+    /**
+     * Test if recurring transactions that still have to generate their next recurrence are not archived.
+     * @throws DukeException if the commands cannot be executed.
+     */
+    @Test
+    void pendingRecurrenceIsKept() throws DukeException {
+        LocalDate today = LocalDate.now();
+        execute("out rent /amount 500 /date " + today.minusDays(1).format(DATE_FORMAT) + " /recurrence monthly");
+        assertEquals("There are no transactions dated before " + today + " to archive.\n",
+                execute("archive /before " + today.format(DATE_FORMAT)));
+        assertFalse(StateManager.getStateManager().getAllExpenses().isEmpty());
+    }
+
+    /**
+     * Test if a missing, invalid or future date is rejected.
+     */
+    @Test
+    void invalidDateIsRejected() {
+        assertThrows(DukeException.class, () -> execute("archive"));
+        assertThrows(DukeException.class, () -> execute("archive /before 32012023"));
+        assertThrows(DukeException.class, () -> execute("archive /before 01012999"));
+    }
+}
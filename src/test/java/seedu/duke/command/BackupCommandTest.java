@@ -0,0 +1,111 @@
+package seedu.duke.command;
+
+import org.junit.jupiter.api.Test;
+import seedu.duke.classes.StateManager;
+import seedu.duke.exception.DukeException;
+import seedu.duke.storage.LedgerManager;
+import seedu.duke.storage.Storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BackupCommandTest extends LedgerFixture {
+    private static ArrayList<LocalDateTime> listBackups() {
+        return LedgerManager.getLedgerManager().getActiveStorage().listBackups();
+    }
+
+    /**
+     * Test if an earlier backup is restored, and the restore itself can be undone from the backup taken before it.
+     * @throws DukeException if the commands cannot be executed.
+     */
+    @Test
+    void restoreEarlierBackup() throws DukeException {
+        execute("goal /add car /amount 1000");
+        execute("in salary /amount 100 /goal car /date 05012023");
+        execute("backup");
+        execute("in bonus /amount 50 /goal car /date 20012023");
+        execute("backup");
+        execute("in salary /amount 200 /goal car /date 05022023");
+
+        ArrayList<LocalDateTime> times = listBackups();
+        assertEquals(2, times.size());
+        assertEquals(times.get(0), LedgerManager.getLedgerManager().restore(times.get(0)));
+        assertEquals(1, StateManager.getStateManager().getIncomesSize());
+        assertEquals("car", StateManager.getStateManager().getAllGoals().get(0).getDescription());
+
+        times = listBackups();
+        assertEquals(3, times.size());
+        LedgerManager.getLedgerManager().restore(times.get(2));
+        assertEquals(3, StateManager.getStateManager().getIncomesSize());
+    }
+
+    /**
+     * Test if a backup only writes the chunks of files that changed, and files missing from a backup are
+     * deleted when it is restored.
+     * @throws DukeException if the commands cannot be executed.
+     */
+    @Test
+    void backupIsIncremental() throws DukeException {
+        assertEquals("There are no backups yet.\n", execute("backup /list"));
+        for (int i = 1; i <= 28; i++) {
+            execute(String.format("out lunch %d /amount 10 /date %02d012023", i, i));
+        }
+        String first = execute("backup");
+        assertTrue(first.startsWith("Backed up 4 file(s) at "));
+        assertTrue(execute("backup").contains("writing 0 new chunk(s)"));
+        execute("goal /add car /amount 1000");
+        assertTrue(execute("backup").contains("writing 1 new chunk(s)"));
+
+        execute("archive /before 15012023");
+        assertTrue(new File(TEST_DIR, "archive-totals.csv").exists());
+        LedgerManager.getLedgerManager().restore(listBackups().get(0));
+        assertFalse(new File(TEST_DIR, "archive-totals.csv").exists());
+        assertEquals(28, StateManager.getStateManager().getExpensesSize());
+    }
+
+    /**
+     * Test if a damaged backup is rejected without changing the storage files.
+     * @throws DukeException if the commands cannot be executed.
+     * @throws IOException if the pack cannot be damaged.
+     */
+    @Test
+    void damagedBackupIsRejected() throws DukeException, IOException {
+        execute("goal /add car /amount 1000");
+        execute("backup");
+        execute("goal /add house /amount 5000");
+        File[] packs = new File(TEST_DIR, "backups/packs").listFiles();
+        assertEquals(1, packs.length);
+        try (RandomAccessFile pack = new RandomAccessFile(packs[0], "rw")) {
+            pack.seek(pack.length() / 2);
+            int value = pack.read();
+            pack.seek(pack.length() / 2);
+            pack.write(value ^ 0xff);
+        }
+
+        LocalDateTime time = listBackups().get(0);
+        assertThrows(DukeException.class, () -> LedgerManager.getLedgerManager().restore(time));
+        StateManager.clearStateManager();
+        new Storage(TEST_DIR).load();
+        assertTrue(StateManager.getStateManager().getGoalIndex("house") >= 0);
+    }
+
+    /**
+     * Test if a missing or invalid time, or a time before every backup, is rejected.
+     */
+    @Test
+    void invalidTimeIsRejected() {
+        assertThrows(DukeException.class, () -> execute("restore"));
+        assertThrows(DukeException.class, () -> execute("restore /at 32012023"));
+        assertThrows(DukeException.class, () -> execute("restore /at 01012023 2460"));
+        assertThrows(DukeException.class, () -> execute("restore /at 01012023"));
+        assertThrows(DukeException.class, () -> execute("ledger /use backups"));
+    }
+}
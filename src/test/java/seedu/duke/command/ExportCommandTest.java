@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.condition.EnabledOnOs;
 import org.junit.jupiter.api.condition.OS;
 import seedu.duke.classes.StateManager;
+import seedu.duke.classes.TransactionRecurrence;
 import seedu.duke.exception.DukeException;
 import seedu.duke.parser.Parser;
 import seedu.duke.storage.Storage;
@@ -16,9 +17,15 @@ import seedu.duke.ui.Ui;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 
 public class ExportCommandTest {
@@ -467,4 +474,226 @@ public class ExportCommandTest {
                     , outputStream.toString());
         }
     }
+
+    @Nested
+    class Filters {
+
+        /**
+         * Populate the state manager with transactions on different dates before the test.
+         * @throws DukeException if a command cannot be executed.
+         */
+        @BeforeEach
+        void populateStateManager() throws DukeException {
+            outputStream = new ByteArrayOutputStream();
+            Ui ui = new Ui(outputStream);
+            parser.parse("goal /add car /amount 1000").execute(ui);
+            parser.parse("in part-time job /amount 1000 /goal car /date 01102023").execute(ui);
+            parser.parse("in allowance /amount 500 /date 15102023").execute(ui);
+            parser.parse("in sell stuff /amount 50.5 /goal car /date 29102023").execute(ui);
+            parser.parse("out buy dinner /amount 15 /category food /date 14102023").execute(ui);
+            parser.parse("out popmart /amount 12 /category toy /date 16102023").execute(ui);
+        }
+
+        /**
+         * Reset the state to original after each test.
+         */
+        @AfterEach
+        void clearStateManager() {
+            File file = new File(EXPORT_STORAGE_FILENAME);
+            file.delete();
+            StateManager.clearStateManager();
+        }
+
+        private List<String> export(String userInput) throws DukeException, IOException {
+            parser.parse(userInput).execute(new Ui(new ByteArrayOutputStream()));
+            return FileUtils.readLines(new File(EXPORT_STORAGE_FILENAME), StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Test if only the transactions within the date range are exported.
+         * @throws DukeException if command fails to execute.
+         * @throws IOException if the export file cannot be read.
+         */
+        @Test
+        public void exportDateRange() throws DukeException, IOException {
+            List<String> lines = export("export /from 14102023 /to 15102023");
+            assertEquals(List.of(
+                    "\"Type\",\"Description\",\"Date\",\"Amount\",\"Goal\",\"Category\",\"Recurrence\"",
+                    "\"Income\",\"allowance\",\"2023-10-15\",\"500.00\",\"Uncategorised\",,\"none\"",
+                    "\"Expense\",\"buy dinner\",\"2023-10-14\",\"15.00\",,\"food\",\"none\""), lines);
+        }
+
+        /**
+         * Test if a goal or category filter only exports the matching incomes or expenses.
+         * @throws DukeException if command fails to execute.
+         * @throws IOException if the export file cannot be read.
+         */
+        @Test
+        public void exportGoalAndCategory() throws DukeException, IOException {
+            List<String> lines = export("export /goal CAR /from 02102023");
+            assertEquals(2, lines.size());
+            assertEquals("\"Income\",\"sell stuff\",\"2023-10-29\",\"50.50\",\"car\",,\"none\"", lines.get(1));
+
+            lines = export("export /type out /category toy");
+            assertEquals(2, lines.size());
+            assertEquals("\"Expense\",\"popmart\",\"2023-10-16\",\"12.00\",,\"toy\",\"none\"", lines.get(1));
+        }
+
+        /**
+         * Test if invalid filters are rejected without touching the previous export.
+         * @throws DukeException if command fails to execute.
+         * @throws IOException if the export file cannot be read.
+         */
+        @Test
+        public void invalidFiltersKeepPreviousExport() throws DukeException, IOException {
+            List<String> previous = export("export");
+            String[] invalidInputs = {"export /from 32102023", "export /from 16102023 /to 15102023",
+                "export /goal house", "export /type out /goal car", "export /goal car /category food",
+                "export /category"};
+            for (String userInput : invalidInputs) {
+                assertThrows(DukeException.class, () -> export(userInput), userInput);
+            }
+            parser.parse("export /type both").execute(new Ui(new ByteArrayOutputStream()));
+            assertEquals(previous, FileUtils.readLines(new File(EXPORT_STORAGE_FILENAME), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Nested
+    class Columnar {
+        private final File columns = new File(TEST_DIR + "/Transactions-columns");
+
+        /**
+         * Populate the state manager with values before the test.
+         * @throws DukeException if a command cannot be executed.
+         */
+        @BeforeEach
+        void populateStateManager() throws DukeException {
+            Ui ui = new Ui(new ByteArrayOutputStream());
+            parser.parse("goal /add car /amount 1000").execute(ui);
+            parser.parse("in part-time job /amount 1000 /goal car /date 01102023").execute(ui);
+            parser.parse("in allowance /amount 500.25 /date 15102023").execute(ui);
+            parser.parse("in bonus /amount 50 /goal car /date 29102023").execute(ui);
+            parser.parse("out caf\u00e9 /amount 4.5 /category food /date 14102023").execute(ui);
+            StateManager.getStateManager().getExpense(0).getTransaction()
+                    .setRecurrence(TransactionRecurrence.MONTHLY);
+        }
+
+        /**
+         * Reset the state to original after each test.
+         * @throws IOException if the columns cannot be removed.
+         */
+        @AfterEach
+        void clearStateManager() throws IOException {
+            FileUtils.deleteDirectory(columns);
+            StateManager.clearStateManager();
+        }
+
+        private ByteBuffer readColumn(String name) throws IOException {
+            byte[] bytes = FileUtils.readFileToByteArray(new File(columns, name));
+            return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        /**
+         * Test if every column holds one value per exported transaction, in the same order.
+         * @throws DukeException if command fails to execute.
+         * @throws IOException if a column cannot be read.
+         */
+        @Test
+        public void exportColumns() throws DukeException, IOException {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            parser.parse("export /format columnar").execute(new Ui(output));
+            assertEquals("Transaction Data extracted into " + columns.getPath() + "\n", output.toString());
+
+            assertEquals(4, new File(columns, "type.bin").length());
+            ByteBuffer types = readColumn("type.bin");
+            assertEquals(0, types.get(0));
+            assertEquals(1, types.get(3));
+            ByteBuffer dates = readColumn("date.bin");
+            assertEquals(LocalDate.of(2023, 10, 29).toEpochDay(), dates.getInt(0));
+            assertEquals(LocalDate.of(2023, 10, 14).toEpochDay(), dates.getInt(12));
+            ByteBuffer amounts = readColumn("amount.bin");
+            assertEquals(5000, amounts.getLong(0));
+            assertEquals(50025, amounts.getLong(8));
+            assertEquals(450, amounts.getLong(24));
+            ByteBuffer classifications = readColumn("classification.bin");
+            assertEquals(0, classifications.getInt(0));
+            assertEquals(1, classifications.getInt(4));
+            assertEquals(0, classifications.getInt(8));
+            assertEquals(2, classifications.getInt(12));
+            assertEquals(3, readColumn("recurrence.bin").get(3));
+
+            ByteBuffer offsets = readColumn("description-offsets.bin");
+            byte[] descriptions = FileUtils.readFileToByteArray(new File(columns, "description.bin"));
+            int start = (int) offsets.getLong(24);
+            int end = (int) offsets.getLong(32);
+            assertEquals("caf\u00e9", new String(descriptions, start, end - start, StandardCharsets.UTF_8));
+            assertEquals(descriptions.length, end);
+
+            assertEquals(List.of("\"Id\",\"Type\",\"Name\"", "\"0\",\"Goal\",\"car\"",
+                    "\"1\",\"Goal\",\"Uncategorised\"", "\"2\",\"Category\",\"food\""),
+                    FileUtils.readLines(new File(columns, "dictionary.csv"), StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Test if the filters apply to the columnar format and an unknown format is rejected.
+         * @throws DukeException if command fails to execute.
+         */
+        @Test
+        public void exportFilteredColumns() throws DukeException {
+            parser.parse("export /format COLUMNAR /goal car /to 28102023")
+                    .execute(new Ui(new ByteArrayOutputStream()));
+            assertEquals(1, new File(columns, "type.bin").length());
+            assertEquals(8, new File(columns, "amount.bin").length());
+            assertThrows(DukeException.class, () -> parser.parse("export /format parquet")
+                    .execute(new Ui(new ByteArrayOutputStream())));
+        }
+    }
+
+    @Nested
+    class Ndjson {
+        private final File ndjsonFile = new File(TEST_DIR + "/Transactions.ndjson");
+
+        /**
+         * Populate the state manager with values before the test.
+         * @throws DukeException if a command cannot be executed.
+         */
+        @BeforeEach
+        void populateStateManager() throws DukeException {
+            Ui ui = new Ui(new ByteArrayOutputStream());
+            parser.parse("goal /add car /amount 1000").execute(ui);
+            parser.parse("in part-time job /amount 1000 /goal car /date 01102023").execute(ui);
+            parser.parse("out \"quoted\" caf\u00e9 /amount 4.5 /date 14102023").execute(ui);
+            StateManager.getStateManager().getExpense(0).getTransaction()
+                    .setRecurrence(TransactionRecurrence.MONTHLY);
+            StateManager.getStateManager().getExpense(0).getTransaction().setHasGeneratedNextRecurrence(true);
+        }
+
+        /**
+         * Reset the state to original after each test.
+         */
+        @AfterEach
+        void clearStateManager() {
+            ndjsonFile.delete();
+            StateManager.clearStateManager();
+        }
+
+        /**
+         * Test if every transaction is written as one JSON object per line.
+         * @throws DukeException if command fails to execute.
+         * @throws IOException if the JSON File cannot be read.
+         */
+        @Test
+        public void exportNdjson() throws DukeException, IOException {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            parser.parse("export /format ndjson").execute(new Ui(output));
+            assertEquals("Transaction Data extracted into " + ndjsonFile.getPath() + "\n", output.toString());
+            assertEquals(List.of("{\"type\":\"Income\",\"description\":\"part-time job\",\"date\":\"2023-10-01\","
+                    + "\"amount\":1000.00,\"goal\":\"car\",\"recurrence\":\"none\","
+                    + "\"hasGeneratedNextRecurrence\":false}",
+                    "{\"type\":\"Expense\",\"description\":\"\\\"quoted\\\" caf\u00e9\",\"date\":\"2023-10-14\","
+                    + "\"amount\":4.50,\"category\":\"Uncategorised\",\"recurrence\":\"monthly\","
+                    + "\"hasGeneratedNextRecurrence\":true}"),
+                    FileUtils.readLines(ndjsonFile, StandardCharsets.UTF_8));
+        }
+    }
 }
@@ -44,8 +44,13 @@ public class HelpCommandTest {
                 "goal              Add or remove goals\n" +
                 "export            Exports the transactions stored into a CSV File. " +
                 "By Default, it will export ALL transactions\n" +
+                "import            Imports the transactions of a CSV File, such as a bank statement\n" +
                 "edit              Edits an existing transaction\n" +
                 "summary           Shows the summarised total of transactions\n" +
+                "ledger            Switches to another ledger, or shows the ledger in use\n" +
+                "archive           Moves older transactions into a compressed archive\n" +
+                "backup            Backs up the ledger in use, or lists its backups\n" +
+                "restore           Restores the ledger in use from an earlier backup\n" +
                 "bye               Exits the program\n\n", outputStream.toString());
     }
 
@@ -73,8 +78,13 @@ public class HelpCommandTest {
                 "goal              Add or remove goals\n" +
                 "export            Exports the transactions stored into a CSV File. " +
                 "By Default, it will export ALL transactions\n" +
+                "import            Imports the transactions of a CSV File, such as a bank statement\n" +
                 "edit              Edits an existing transaction\n" +
                 "summary           Shows the summarised total of transactions\n" +
+                "ledger            Switches to another ledger, or shows the ledger in use\n" +
+                "archive           Moves older transactions into a compressed archive\n" +
+                "backup            Backs up the ledger in use, or lists its backups\n" +
+                "restore           Restores the ledger in use from an earlier backup\n" +
                 "bye               Exits the program\n\n", outputStream.toString());
     }
 
@@ -221,13 +231,14 @@ public class HelpCommandTest {
         HelpCommand command = new HelpCommand(commandWord, args);
         command.execute(ui);
         assertEquals("\nUsage: list (goal | category)\n" +
-                "Usage: list /type (in | out) [/goal GOAL] [/category CATEGORY] [/week] [/month]\n" +
+                "Usage: list /type (in | out) [/goal GOAL] [/category CATEGORY] [/week] [/month] [/archived]\n" +
                 "Option            Description\n" +
                 "/type             To set whether to display \"in\" or \"out\" transactions\n" +
                 "/goal             The goal which it is classified under\n" +
                 "/category         The spending category which it is classified under\n" +
                 "/week             To filter the transactions to those in the current week\n" +
-                "/month            To filter the transactions to those in the current month\n\n"
+                "/month            To filter the transactions to those in the current month\n" +
+                "/archived         To also list the archived transactions\n\n"
                 , outputStream.toString());
     }
 
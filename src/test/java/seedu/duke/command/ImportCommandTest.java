@@ -0,0 +1,240 @@
+package seedu.duke.command;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import seedu.duke.classes.StateManager;
+import seedu.duke.classes.Transaction;
+import seedu.duke.classes.TransactionRecurrence;
+import seedu.duke.exception.DukeException;
+import seedu.duke.storage.Storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImportCommandTest {
+    private static final String TEST_DIR = "./TestFiles";
+    private static final String STATEMENT_FILENAME = TEST_DIR + "/statement.csv";
+    private static final String NDJSON_FILENAME = TEST_DIR + "/Transactions.ndjson";
+
+    /**
+     * Before each test, start with an empty directory for the files to import.
+     * @throws IOException if the directory cannot be cleaned.
+     */
+    @BeforeEach
+    void initialise() throws IOException {
+        FileUtils.deleteDirectory(new File(TEST_DIR));
+        new File(TEST_DIR).mkdir();
+        StateManager.clearStateManager();
+    }
+
+    /**
+     * Clears the StateManager and the files to import after each test to ensure a clean slate for the next test.
+     * @throws IOException if the directory cannot be removed.
+     */
+    @AfterEach
+    void cleanUp() throws IOException {
+        FileUtils.deleteDirectory(new File(TEST_DIR));
+        StateManager.clearStateManager();
+    }
+
+    private void writeStatement(String contents) throws IOException {
+        FileUtils.writeStringToFile(new File(STATEMENT_FILENAME), contents, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Test if incomes are imported through the column mapping and sorted once at the end.
+     * @throws IOException if the statement cannot be written.
+     */
+    @Test
+    void importsMappedColumns() throws IOException {
+        new CommandTestCase("goal /add car /amount 1000").evaluate();
+        writeStatement("Posted,Details,Credit,Goal\n"
+                + "02/10/2023,salary,3000,car\n"
+                + "01/10/2023,interest,1.25,\n");
+        new CommandTestCase(
+                "import " + STATEMENT_FILENAME + " /type in /date Posted /description Details "
+                        + "/amount Credit /goal Goal /dateformat dd/MM/yyyy",
+                "Imported 2 income(s) from " + STATEMENT_FILENAME
+                        + ". Skipped 0 duplicate(s) and 0 invalid row(s).\n"
+        ).evaluate();
+
+        StateManager state = StateManager.getStateManager();
+        assertEquals(2, state.getIncomesSize());
+        assertEquals("salary", state.getIncome(0).getTransaction().getDescription());
+        assertEquals(LocalDate.of(2023, 10, 2), state.getIncome(0).getTransaction().getDate());
+        assertTrue(state.getGoal(0) == state.getIncome(0).getGoal());
+        assertEquals(1.25, state.getIncome(1).getTransaction().getAmount());
+        assertTrue(state.getUncategorisedGoal() == state.getIncome(1).getGoal());
+    }
+
+    /**
+     * Test if importing a statement again skips every row, while identical rows are imported the first time.
+     * @throws IOException if the statement cannot be written.
+     */
+    @Test
+    void skipsDuplicates() throws IOException {
+        writeStatement("Description,Amount,Date,Category\n"
+                + "coffee,4.50,18102023,drinks\n"
+                + "coffee,4.50,18102023,drinks\n"
+                + "lunch,12,18102023,food\n");
+        CommandTestCase[] testCases = new CommandTestCase[]{
+            new CommandTestCase(
+                    "import " + STATEMENT_FILENAME + " /type out /category Category",
+                    "Imported 3 expense(s) from " + STATEMENT_FILENAME
+                            + ". Skipped 0 duplicate(s) and 0 invalid row(s).\n"
+            ),
+            new CommandTestCase(
+                    "import " + STATEMENT_FILENAME + " /type out /category Category",
+                    "Imported 0 expense(s) from " + STATEMENT_FILENAME
+                            + ". Skipped 3 duplicate(s) and 0 invalid row(s).\n"
+            ),
+        };
+        CommandTestCase.runTestCases(testCases);
+
+        StateManager state = StateManager.getStateManager();
+        assertEquals(3, state.getExpensesSize());
+        assertEquals(2, state.getAllCategories().size());
+    }
+
+    /**
+     * Test if rows that the in command would reject are reported and skipped.
+     * @throws IOException if the statement cannot be written.
+     */
+    @Test
+    void skipsInvalidRows() throws IOException {
+        writeStatement("Description,Amount,Date,Goal\n"
+                + "salary,-5,18102023,\n"
+                + ",10,18102023,\n"
+                + "bonus,10,31132023,\n"
+                + "gift,10,18102023,house\n"
+                + "allowance,10,18102023,\n");
+        new CommandTestCase(
+                "import " + STATEMENT_FILENAME + " /type in /goal Goal",
+                "Row 2: Invalid amount value specified...\n"
+                        + "Row 3: Description cannot be empty...\n"
+                        + "Row 4: Invalid date specified...\n"
+                        + "Row 5: Please add 'house' as a goal first.\n"
+                        + "Imported 1 income(s) from " + STATEMENT_FILENAME
+                        + ". Skipped 0 duplicate(s) and 4 invalid row(s).\n"
+        ).evaluate();
+        assertEquals(1, StateManager.getStateManager().getIncomesSize());
+    }
+
+    /**
+     * Test if invalid arguments are rejected before anything is imported.
+     * @throws IOException if the statement cannot be written.
+     */
+    @Test
+    void rejectsInvalidArguments() throws IOException {
+        writeStatement("Description,Amount,Date\n");
+        CommandTestCase[] testCases = new CommandTestCase[]{
+            new CommandTestCase(
+                    "import /type in",
+                    new DukeException("Please specify the CSV file to import.")
+            ),
+            new CommandTestCase(
+                    "import " + STATEMENT_FILENAME,
+                    new DukeException("Please indicate the transaction type.")
+            ),
+            new CommandTestCase(
+                    "import " + STATEMENT_FILENAME + " /type both",
+                    new DukeException("Please indicate either /type in or /type out.")
+            ),
+            new CommandTestCase(
+                    "import " + STATEMENT_FILENAME + " /type out /goal Goal",
+                    new DukeException("/goal can only be used with /type in.")
+            ),
+            new CommandTestCase(
+                    "import " + TEST_DIR + "/missing.csv /type in",
+                    new DukeException("Cannot read file " + TEST_DIR + "/missing.csv")
+            ),
+            new CommandTestCase(
+                    "import " + STATEMENT_FILENAME + " /type in /amount Credit",
+                    new DukeException("Column 'Credit' not found in " + STATEMENT_FILENAME)
+            ),
+        };
+        CommandTestCase.runTestCases(testCases);
+    }
+
+    /**
+     * Test if an ndjson export is imported back with its recurrence, and again only as duplicates.
+     */
+    @Test
+    void importsNdjsonExport() {
+        new Storage(TEST_DIR + "/goal-store.csv", TEST_DIR + "/category-store.csv", TEST_DIR + "/income-store.csv",
+                TEST_DIR + "/expense-store.csv", TEST_DIR + "/Transactions.csv");
+        new CommandTestCase("goal /add car /amount 1000").evaluate();
+        new CommandTestCase("in salary /amount 3000 /goal car /date 02102023").evaluate();
+        new CommandTestCase("out \"rent\" /amount 1200.5 /category housing /date 01102023").evaluate();
+        Transaction rent = StateManager.getStateManager().getExpense(0).getTransaction();
+        rent.setRecurrence(TransactionRecurrence.MONTHLY);
+        rent.setHasGeneratedNextRecurrence(true);
+        new CommandTestCase("export /format ndjson").evaluate();
+
+        StateManager.getStateManager().removeIncome(0);
+        StateManager.getStateManager().removeExpense(0);
+        new CommandTestCase(
+                "import " + NDJSON_FILENAME + " /format ndjson",
+                "Imported 1 income(s) and 1 expense(s) from " + NDJSON_FILENAME
+                        + ". Skipped 0 duplicate(s) and 0 invalid row(s).\n"
+        ).evaluate();
+
+        StateManager state = StateManager.getStateManager();
+        assertTrue(state.getGoal(0) == state.getIncome(0).getGoal());
+        Transaction imported = state.getExpense(0).getTransaction();
+        assertEquals("\"rent\"", imported.getDescription());
+        assertEquals(1200.5, imported.getAmount());
+        assertEquals(LocalDate.of(2023, 10, 1), imported.getDate());
+        assertEquals(TransactionRecurrence.MONTHLY, imported.getRecurrence());
+        assertTrue(imported.getHasGeneratedNextRecurrence());
+        assertEquals("housing", state.getExpense(0).getCategory().getName());
+
+        new CommandTestCase(
+                "import " + NDJSON_FILENAME + " /format ndjson /type out",
+                "Imported 0 expense(s) from " + NDJSON_FILENAME
+                        + ". Skipped 1 duplicate(s) and 0 invalid row(s).\n"
+        ).evaluate();
+    }
+
+    /**
+     * Test if invalid ndjson records are reported by line and skipped.
+     * @throws IOException if the file cannot be written.
+     */
+    @Test
+    void skipsInvalidNdjsonRecords() throws IOException {
+        FileUtils.writeStringToFile(new File(NDJSON_FILENAME),
+                "{\"type\":\"Transfer\",\"description\":\"a\",\"amount\":1}\n"
+                + "{\"type\":\"Income\",\"description\":\"b\",\"amount\":1,\"date\":\"18/10/2023\"}\n"
+                + "{\"type\":\"Income\",\"description\":\"c\",\"amount\":1,\"recurrence\":\"yearly\"}\n"
+                + "{\"type\":\"Income\",\"description\":\"d\",\"amount\":1\n"
+                + "{\"type\":\"Income\",\"description\":\"e\",\"amount\":1,\"date\":\"2023-10-18\"}\n",
+                StandardCharsets.UTF_8);
+        CommandTestCase[] testCases = new CommandTestCase[]{
+            new CommandTestCase(
+                    "import " + NDJSON_FILENAME + " /format ndjson /type in",
+                    "Line 1: Invalid transaction type specified...\n"
+                            + "Line 2: Invalid date specified...\n"
+                            + "Line 3: Invalid recurrence period specified...\n"
+                            + "Line 4: Invalid JSON record...\n"
+                            + "Imported 1 income(s) from " + NDJSON_FILENAME
+                            + ". Skipped 0 duplicate(s) and 4 invalid row(s).\n"
+            ),
+            new CommandTestCase(
+                    "import " + NDJSON_FILENAME + " /format ndjson /goal car",
+                    new DukeException("/goal can only be used with /format csv.")
+            ),
+            new CommandTestCase(
+                    "import " + NDJSON_FILENAME + " /format xml /type in",
+                    new DukeException("Please indicate either /format csv or /format ndjson.")
+            ),
+        };
+        CommandTestCase.runTestCases(testCases);
+    }
+}
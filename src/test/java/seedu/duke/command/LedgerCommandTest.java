@@ -0,0 +1,22 @@
+package seedu.duke.command;
+
+import org.junit.jupiter.api.Test;
+import seedu.duke.exception.DukeException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LedgerCommandTest extends LedgerFixture {
+    /**
+     * Test if the command switches ledgers and prints the ledger in use.
+     * @throws DukeException if the command cannot be executed.
+     */
+    @Test
+    void switchesLedger() throws DukeException {
+        assertEquals("Using ledger default\n", execute("ledger"));
+        assertEquals("Switched to ledger business\n", execute("ledger /use business"));
+        assertEquals("Using ledger business\n", execute("ledger"));
+        assertThrows(DukeException.class, () -> execute("ledger /use"));
+        assertEquals("Using ledger business\n", execute("ledger"));
+    }
+}
@@ -0,0 +1,70 @@
+package seedu.duke.command;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import seedu.duke.classes.StateManager;
+import seedu.duke.exception.DukeException;
+import seedu.duke.parser.Parser;
+import seedu.duke.storage.LedgerManager;
+import seedu.duke.storage.Storage;
+import seedu.duke.ui.Ui;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Default ledger in an empty test directory, shared by the tests of the commands that work through the
+ * LedgerManager. Each test class extends this class and runs its commands with {@link #execute}.
+ */
+abstract class LedgerFixture {
+    static final String TEST_DIR = "./TestFiles";
+
+    private final Parser parser = new Parser();
+
+    /**
+     * Before each test, use the default ledger in an empty test directory.
+     * @throws IOException if the directory cannot be cleaned.
+     * @throws DukeException if the ledger cannot be loaded.
+     */
+    @BeforeEach
+    void openLedger() throws IOException, DukeException {
+        FileUtils.deleteDirectory(new File(TEST_DIR));
+        StateManager.clearStateManager();
+        LedgerManager ledgers = new LedgerManager(TEST_DIR, Long.MAX_VALUE, Storage::new);
+        LedgerManager.setLedgerManager(ledgers);
+        ledgers.use(LedgerManager.DEFAULT_LEDGER);
+    }
+
+    /**
+     * Closes the ledgers after each test, which stops their background threads and file watchers, and restores
+     * the state back to the original.
+     * @throws IOException if the directory cannot be removed.
+     * @throws DukeException if a ledger could not write its last changes.
+     */
+    @AfterEach
+    void closeLedger() throws IOException, DukeException {
+        try {
+            LedgerManager.getLedgerManager().close();
+        } finally {
+            LedgerManager.setLedgerManager(null);
+            FileUtils.deleteDirectory(new File(TEST_DIR));
+            StateManager.clearStateManager();
+        }
+    }
+
+    /**
+     * Executes a command and saves the changes it made to the ledger in use.
+     *
+     * @param input Command to execute.
+     * @return Output of the command.
+     * @throws DukeException if the command cannot be executed or the changes cannot be saved.
+     */
+    String execute(String input) throws DukeException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        parser.parse(input).execute(new Ui(outputStream));
+        LedgerManager.getLedgerManager().getActiveStorage().saveChanges();
+        return outputStream.toString();
+    }
+}
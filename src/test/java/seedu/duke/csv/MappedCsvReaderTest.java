@@ -0,0 +1,178 @@
+package seedu.duke.csv;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import seedu.duke.exception.DukeException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MappedCsvReaderTest {
+    private static final String TEST_DIR = "./TestFiles";
+    private static final String CSV_FILENAME = TEST_DIR + "/mapped.csv";
+
+    /**
+     * Before each test, create the test directory.
+     */
+    @BeforeEach
+    void initialise() {
+        new File(TEST_DIR).mkdir();
+    }
+
+    /**
+     * Remove the test directory after each test.
+     * @throws IOException if the directory cannot be removed.
+     */
+    @AfterEach
+    void cleanUp() throws IOException {
+        FileUtils.deleteDirectory(new File(TEST_DIR));
+    }
+
+    private void writeFile(String content) throws IOException {
+        FileUtils.writeStringToFile(new File(CSV_FILENAME), content, Charset.defaultCharset());
+    }
+
+    /**
+     * Test if the rows written by CsvWriter are read back with the header skipped.
+     * @throws DukeException if the file cannot be read or written.
+     */
+    @Test
+    void readRowsWrittenByCsvWriter() throws DukeException {
+        String[] header = {"Description", "Amount"};
+        String[] quoted = {"say \"hi\", then\nleave", "1.5"};
+        String[] empty = {"", "2.0"};
+        CsvWriter writer = new CsvWriter(CSV_FILENAME);
+        writer.write(header);
+        writer.write(quoted);
+        writer.write(empty);
+        writer.close();
+
+        MappedCsvReader reader = new MappedCsvReader(CSV_FILENAME);
+        assertArrayEquals(quoted, reader.readLine());
+        assertArrayEquals(empty, reader.readLine());
+        assertNull(reader.readLine());
+        reader.close();
+    }
+
+    /**
+     * Test if unquoted fields, carriage returns and a missing final line break are handled.
+     * @throws DukeException if the file cannot be read.
+     * @throws IOException if the file cannot be written.
+     */
+    @Test
+    void readUnquotedFields() throws DukeException, IOException {
+        writeFile("a,b,c\r\n1,,3\r\nlast,row,");
+        MappedCsvReader reader = new MappedCsvReader(CSV_FILENAME);
+        assertTrue(reader.nextRow());
+        assertEquals(3, reader.getFieldCount());
+        assertEquals("1", reader.getField(0));
+        assertTrue(reader.isFieldBlank(1));
+        assertTrue(reader.hasBlankField());
+        assertEquals("3", reader.getField(2));
+        assertArrayEquals(new String[]{"last", "row", ""}, reader.readLine());
+        assertFalse(reader.nextRow());
+        reader.close();
+    }
+
+    /**
+     * Test if splitting keeps every row intact, including quoted fields with line breaks and quotes.
+     * @throws DukeException if the file cannot be read or written.
+     */
+    @Test
+    void splitAtRowBoundaries() throws DukeException {
+        CsvWriter writer = new CsvWriter(CSV_FILENAME);
+        writer.write(new String[]{"Description", "Amount"});
+        for (int i = 0; i < 200; i++) {
+            writer.write(new String[]{"row " + i + "\n\"quoted\",\n" + i, Integer.toString(i)});
+        }
+        writer.close();
+
+        MappedCsvReader reader = new MappedCsvReader(CSV_FILENAME);
+        int rowCount = 0;
+        for (MappedCsvReader chunk : reader.split(7)) {
+            while (chunk.nextRow()) {
+                assertEquals(2, chunk.getFieldCount());
+                assertEquals("row " + rowCount + "\n\"quoted\",\n" + rowCount, chunk.getField(0));
+                assertEquals(Integer.toString(rowCount), chunk.getField(1));
+                rowCount++;
+            }
+        }
+        assertEquals(200, rowCount);
+        reader.close();
+    }
+
+    /**
+     * Test if a file larger than the window is read one window at a time, with rows that cross the end of a window
+     * read whole and offsets that are offsets in the file.
+     * @throws DukeException if the file cannot be read or written.
+     */
+    @Test
+    void readAcrossWindows() throws DukeException {
+        CsvWriter writer = new CsvWriter(CSV_FILENAME);
+        writer.write(new String[]{"Description", "Amount"});
+        for (int i = 0; i < 100; i++) {
+            writer.write(new String[]{"row " + i + "\r\n\"quoted\",", Integer.toString(i)});
+        }
+        writer.close();
+
+        MappedCsvReader whole = new MappedCsvReader(CSV_FILENAME);
+        MappedCsvReader windowed = new MappedCsvReader(CSV_FILENAME, 64);
+        assertEquals(whole.getLength(), windowed.getLength());
+        long rowStart = 0;
+        long rowEnd = 0;
+        MappedCsvReader[] chunks = windowed.split(4);
+        assertEquals(1, chunks.length);
+        while (whole.nextRow()) {
+            assertTrue(chunks[0].nextRow());
+            assertArrayEquals(whole.getFields(), chunks[0].getFields());
+            assertEquals(whole.getRowStart(), chunks[0].getRowStart());
+            assertEquals(whole.getRowEnd(), chunks[0].getRowEnd());
+            if (rowStart == 0) {
+                rowStart = whole.getRowStart();
+            }
+            rowEnd = whole.getRowEnd();
+        }
+        assertFalse(chunks[0].nextRow());
+
+        MappedCsvReader slice = windowed.slice(rowStart, rowEnd);
+        int rowCount = 0;
+        while (slice.nextRow()) {
+            assertEquals(Integer.toString(rowCount), slice.getField(1));
+            rowCount++;
+        }
+        assertEquals(100, rowCount);
+        whole.close();
+        windowed.close();
+    }
+
+    /**
+     * Test if an empty file has no rows.
+     * @throws DukeException if the file cannot be read.
+     * @throws IOException if the file cannot be written.
+     */
+    @Test
+    void readEmptyFile() throws DukeException, IOException {
+        writeFile("");
+        MappedCsvReader reader = new MappedCsvReader(CSV_FILENAME);
+        assertFalse(reader.nextRow());
+        reader.close();
+    }
+
+    /**
+     * Test if a missing file throws an exception.
+     */
+    @Test
+    void readMissingFile() {
+        assertThrows(DukeException.class, () -> new MappedCsvReader(TEST_DIR + "/missing.csv"));
+    }
+}
@@ -0,0 +1,119 @@
+package seedu.duke.json;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import seedu.duke.exception.DukeException;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NdjsonReaderTest {
+    private static final String TEST_DIR = "./TestFiles";
+    private static final String JSON_FILENAME = TEST_DIR + "/records.ndjson";
+    private static final String[] FIELDS = {"name", "amount", "flag"};
+
+    /**
+     * Before each test, create the test directory.
+     */
+    @BeforeEach
+    void initialise() {
+        new File(TEST_DIR).mkdir();
+    }
+
+    /**
+     * Remove the test directory after each test.
+     * @throws IOException if the directory cannot be removed.
+     */
+    @AfterEach
+    void cleanUp() throws IOException {
+        FileUtils.deleteDirectory(new File(TEST_DIR));
+    }
+
+    private void writeFile(String contents) throws IOException {
+        FileUtils.writeStringToFile(new File(JSON_FILENAME), contents, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Test if strings written with escapes are read back as they were written.
+     * @throws DukeException if the file cannot be written or read.
+     * @throws IOException if the file cannot be created.
+     */
+    @Test
+    void readsWrittenRecords() throws DukeException, IOException {
+        String name = "quote \" backslash \\ tab \t line \n bell \u0007 caf\u00e9";
+        NdjsonWriter writer = new NdjsonWriter(new FileWriter(JSON_FILENAME, StandardCharsets.UTF_8));
+        writer.startRecord();
+        writer.writeString("name", name);
+        writer.writeNumber("amount", "12.50");
+        writer.writeBoolean("flag", true);
+        writer.endRecord();
+        writer.startRecord();
+        writer.writeString("name", null);
+        writer.endRecord();
+        writer.close();
+
+        NdjsonReader reader = new NdjsonReader(JSON_FILENAME, FIELDS);
+        assertTrue(reader.nextRecord());
+        assertArrayEquals(new String[]{name, "12.50", "true"}, reader.getValues());
+        assertTrue(reader.nextRecord());
+        assertArrayEquals(new String[]{null, null, null}, reader.getValues());
+        assertFalse(reader.nextRecord());
+        reader.close();
+    }
+
+    /**
+     * Test if other fields are skipped, even when nested, and fields may come in any order.
+     * @throws DukeException if the file cannot be read.
+     * @throws IOException if the file cannot be written.
+     */
+    @Test
+    void skipsOtherFields() throws DukeException, IOException {
+        writeFile("{ \"tags\" : [\"a\", {\"b\": [1, 2.5e3, null]}], \"flag\": false, \"name\": \"\\u0041\\/B\","
+                + " \"id\": -3, \"amount\": 0.5 }\r\n");
+        NdjsonReader reader = new NdjsonReader(JSON_FILENAME, FIELDS);
+        assertTrue(reader.nextRecord());
+        assertArrayEquals(new String[]{"A/B", "0.5", "false"}, reader.getValues());
+        assertFalse(reader.nextRecord());
+        reader.close();
+    }
+
+    /**
+     * Test if a malformed record is reported with its line number and reading continues with the next line.
+     * @throws DukeException if the file cannot be read.
+     * @throws IOException if the file cannot be written.
+     */
+    @Test
+    void recoversFromMalformedRecords() throws DukeException, IOException {
+        writeFile("{\"name\": \"first\"}\n"
+                + "\n"
+                + "{\"name\": \"unterminated}\n"
+                + "{\"amount\": 01}\n"
+                + "{\"name\": {\"nested\": true}}\n"
+                + "{\"name\": \"last\"} trailing\n"
+                + "{\"name\": \"end\"}");
+        NdjsonReader reader = new NdjsonReader(JSON_FILENAME, FIELDS);
+        assertTrue(reader.nextRecord());
+        assertEquals("first", reader.getValues()[0]);
+        assertEquals(1, reader.getLineNumber());
+        for (int line = 3; line <= 6; line++) {
+            assertTrue(reader.nextRecord());
+            assertEquals(line, reader.getLineNumber());
+            assertThrows(DukeException.class, reader::getValues);
+        }
+        assertTrue(reader.nextRecord());
+        assertEquals(7, reader.getLineNumber());
+        assertEquals("end", reader.getValues()[0]);
+        assertFalse(reader.nextRecord());
+        reader.close();
+    }
+}
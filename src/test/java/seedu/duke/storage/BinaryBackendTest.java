@@ -0,0 +1,8 @@
+package seedu.duke.storage;
+
+public class BinaryBackendTest extends StorageBackendConformance {
+    @Override
+    void enableBackend(Storage storage) {
+        storage.enableBinaryBackend();
+    }
+}
@@ -0,0 +1,159 @@
+package seedu.duke.storage;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import seedu.duke.classes.Income;
+import seedu.duke.classes.StateManager;
+import seedu.duke.classes.TransactionRecurrence;
+import seedu.duke.exception.DukeException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BinarySnapshotTest extends StorageFixture {
+    private static final String SNAPSHOT_FILENAME = TEST_DIR + "/state-snapshot.bin";
+
+    /**
+     * Before each test, fill the storage files and snapshot with a few transactions.
+     * @throws DukeException if a command cannot be executed.
+     */
+    @BeforeEach
+    void initialise() throws DukeException {
+        parser.parse("goal /add car /amount 1000.50").execute(ui);
+        parser.parse("in part-time job /amount 12.34 /goal car /date 29102023").execute(ui);
+        parser.parse("in allowance /amount 500 /date 28102023").execute(ui);
+        parser.parse("out popmart /amount 0.1 /category toy /date 30102023").execute(ui);
+        StateManager.getStateManager().getIncome(1).getTransaction()
+                .setRecurrence(TransactionRecurrence.WEEKLY);
+        createStorage().save();
+    }
+
+    private Storage createStorage() {
+        Storage storage = newStorage();
+        storage.enableSnapshot();
+        return storage;
+    }
+
+    private BinarySnapshot createSnapshot() {
+        return new BinarySnapshot(new File(SNAPSHOT_FILENAME), () -> List.of(
+                new File(GOAL_STORAGE_FILENAME), new File(CATEGORY_STORAGE_FILENAME),
+                new File(INCOME_STORAGE_FILENAME), new File(EXPENSE_STORAGE_FILENAME)));
+    }
+
+    private StateManager reload() throws DukeException {
+        StateManager.clearStateManager();
+        createStorage().load();
+        return StateManager.getStateManager();
+    }
+
+    /**
+     * Test if the snapshot restores the same state as the storage files.
+     * @throws DukeException if the storage cannot be loaded.
+     */
+    @Test
+    void snapshotRestoresState() throws DukeException {
+        BinarySnapshot snapshot = createSnapshot();
+        StateManager.clearStateManager();
+        StateManager stateManager = StateManager.getStateManager();
+        assertTrue(snapshot.read(stateManager));
+
+        assertEquals(1, stateManager.getAllGoals().size());
+        assertEquals(1000.5, stateManager.getGoal(0).getAmount());
+        assertEquals("toy", stateManager.getCategory(0).getName());
+        Income income = stateManager.getIncome(0);
+        assertEquals("part-time job", income.getTransaction().getDescription());
+        assertEquals(12.34, income.getTransaction().getAmount());
+        assertEquals(LocalDate.of(2023, 10, 29), income.getTransaction().getDate());
+        assertTrue(stateManager.getGoal(0) == income.getGoal());
+        assertTrue(stateManager.getUncategorisedGoal() == stateManager.getIncome(1).getGoal());
+        assertEquals(TransactionRecurrence.WEEKLY, stateManager.getIncome(1).getTransaction().getRecurrence());
+        assertEquals(0.1, stateManager.getExpense(0).getTransaction().getAmount());
+    }
+
+    /**
+     * Test if the snapshot still matches the storage files after a save that only rewrote some of them.
+     * @throws DukeException if a command cannot be executed or the storage cannot be saved.
+     */
+    @Test
+    void snapshotMatchesAfterPartialSave() throws DukeException {
+        StateManager.clearStateManager();
+        Storage storage = createStorage();
+        storage.load();
+        parser.parse("in bonus /amount 20 /date 31102023").execute(ui);
+        storage.save();
+
+        StateManager.clearStateManager();
+        StateManager stateManager = StateManager.getStateManager();
+        assertTrue(createSnapshot().read(stateManager));
+        assertEquals(3, stateManager.getIncomesSize());
+        assertEquals(1, stateManager.getExpensesSize());
+    }
+
+    /**
+     * Test if the storage files are loaded instead of the snapshot once they have been changed.
+     * @throws DukeException if the storage cannot be loaded.
+     * @throws IOException if the storage file cannot be written.
+     */
+    @Test
+    void changedStorageFileTakesPrecedence() throws DukeException, IOException {
+        FileUtils.writeStringToFile(new File(INCOME_STORAGE_FILENAME),
+                "\"bonus\",\"20.0\",\"01/11/2023\",\"Uncategorised\",\"NONE\",\"false\"\n",
+                StandardCharsets.UTF_8, true);
+        StateManager stateManager = reload();
+        assertEquals(3, stateManager.getIncomesSize());
+        assertEquals("bonus", stateManager.getIncome(0).getTransaction().getDescription());
+    }
+
+    /**
+     * Test if the snapshot is still used when a storage file has only been touched.
+     */
+    @Test
+    void touchedStorageFileKeepsSnapshot() {
+        File income = new File(INCOME_STORAGE_FILENAME);
+        assertTrue(income.setLastModified(income.lastModified() - 60_000));
+        StateManager.clearStateManager();
+        assertTrue(createSnapshot().read(StateManager.getStateManager()));
+        assertEquals(2, StateManager.getStateManager().getIncomesSize());
+    }
+
+    /**
+     * Test if an edit that keeps the size and modification time of a storage file is still noticed.
+     * @throws DukeException if the storage cannot be loaded.
+     * @throws IOException if the storage file cannot be written.
+     */
+    @Test
+    void sameSizeEditTakesPrecedence() throws DukeException, IOException {
+        File income = new File(INCOME_STORAGE_FILENAME);
+        long lastModified = income.lastModified();
+        String contents = FileUtils.readFileToString(income, StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(income, contents.replace("12.34", "12.35"), StandardCharsets.UTF_8);
+        assertTrue(income.setLastModified(lastModified));
+
+        StateManager stateManager = reload();
+        assertEquals(12.35, stateManager.getIncome(0).getTransaction().getAmount());
+    }
+
+    /**
+     * Test if a corrupted snapshot is ignored.
+     * @throws DukeException if the storage cannot be loaded.
+     * @throws IOException if the snapshot cannot be written.
+     */
+    @Test
+    void corruptedSnapshotIsIgnored() throws DukeException, IOException {
+        byte[] bytes = FileUtils.readFileToByteArray(new File(SNAPSHOT_FILENAME));
+        byte[] truncated = new byte[bytes.length / 2];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+        FileUtils.writeByteArrayToFile(new File(SNAPSHOT_FILENAME), truncated);
+
+        StateManager stateManager = reload();
+        assertEquals(2, stateManager.getIncomesSize());
+        assertEquals(1, stateManager.getExpensesSize());
+    }
+}
@@ -0,0 +1,102 @@
+package seedu.duke.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import seedu.duke.classes.StateManager;
+import seedu.duke.csv.CsvCompression;
+import seedu.duke.exception.DukeException;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompressedStorageTest extends StorageFixture {
+    private static final DateTimeFormatter INPUT_DATE = DateTimeFormatter.ofPattern("ddMMyyyy");
+
+    /**
+     * Before each test, fill the storage files with recent transactions and transactions from years ago,
+     * written compressed.
+     * @throws DukeException if a command cannot be executed.
+     */
+    @BeforeEach
+    void initialise() throws DukeException {
+        LocalDate today = LocalDate.now();
+        parser.parse("goal /add car /amount 1000").execute(ui);
+        parser.parse("category /add food").execute(ui);
+        parser.parse("in salary /amount 100 /date " + today.format(INPUT_DATE)).execute(ui);
+        parser.parse("in bonus, yearly /amount 20 /goal car /date "
+                + today.minusYears(2).format(INPUT_DATE)).execute(ui);
+        parser.parse("out lunch /amount 5 /category food /date " + today.format(INPUT_DATE)).execute(ui);
+        parser.parse("out phone /amount 300 /date " + today.minusYears(2).format(INPUT_DATE)).execute(ui);
+        createStorage(true).save();
+        StateManager.clearStateManager();
+    }
+
+    private Storage createStorage(boolean isCompressed) {
+        Storage storage = newStorage();
+        if (isCompressed) {
+            storage.enableCompression();
+        }
+        return storage;
+    }
+
+    private void reload() throws DukeException {
+        StateManager.clearStateManager();
+        createStorage(false).load();
+    }
+
+    /**
+     * Test if compressed storage files are recognised and loaded without enabling compression.
+     * @throws DukeException if the storage files cannot be loaded.
+     */
+    @Test
+    void loadsCompressedStoreFiles() throws DukeException {
+        assertTrue(CsvCompression.isCompressed(new File(GOAL_STORAGE_FILENAME)));
+        assertTrue(CsvCompression.isCompressed(new File(INCOME_STORAGE_FILENAME)));
+        reload();
+        StateManager stateManager = StateManager.getStateManager();
+        assertEquals(2, stateManager.getIncomesSize());
+        assertEquals(2, stateManager.getExpensesSize());
+        assertEquals("bonus, yearly", stateManager.getIncome(1).getTransaction().getDescription());
+        assertEquals("car", stateManager.getIncome(1).getGoal().getDescription());
+        assertEquals("food", stateManager.getExpense(0).getCategory().getName());
+    }
+
+    /**
+     * Test if compressed storage files are written plain again once compression is disabled.
+     * @throws DukeException if the storage files cannot be loaded or saved.
+     */
+    @Test
+    void rewritesCompressedFilesPlain() throws DukeException {
+        reload();
+        createStorage(false).save();
+        assertFalse(CsvCompression.isCompressed(new File(INCOME_STORAGE_FILENAME)));
+        reload();
+        assertEquals(2, StateManager.getStateManager().getIncomesSize());
+    }
+
+    /**
+     * Test if transactions outside the history window are kept when a compressed storage file is rewritten.
+     * @throws DukeException if a command cannot be executed.
+     */
+    @Test
+    void keepsUnloadedRowsOfCompressedFiles() throws DukeException {
+        Storage storage = createStorage(true);
+        storage.enableHistoryWindow(12);
+        storage.load();
+        assertEquals(1, StateManager.getStateManager().getIncomesSize());
+        parser.parse("in refund /amount 7 /date " + LocalDate.now().format(INPUT_DATE)).execute(ui);
+        storage.saveChanges();
+        parser.parse("in gift /amount 3 /date " + LocalDate.now().format(INPUT_DATE)).execute(ui);
+        storage.saveChanges();
+
+        reload();
+        StateManager stateManager = StateManager.getStateManager();
+        assertEquals(4, stateManager.getIncomesSize());
+        assertEquals("bonus, yearly", stateManager.getIncome(3).getTransaction().getDescription());
+    }
+}
@@ -0,0 +1,7 @@
+package seedu.duke.storage;
+
+public class CsvBackendTest extends StorageBackendConformance {
+    @Override
+    void enableBackend(Storage storage) {
+    }
+}
@@ -0,0 +1,116 @@
+package seedu.duke.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import seedu.duke.classes.StateManager;
+import seedu.duke.exception.DukeException;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class HistoryWindowTest extends StorageFixture {
+    private static final DateTimeFormatter INPUT_DATE = DateTimeFormatter.ofPattern("ddMMyyyy");
+    private static final int WINDOW_MONTHS = 12;
+
+    /**
+     * Before each test, fill the storage files with recent transactions and transactions from years ago.
+     * @throws DukeException if a command cannot be executed.
+     */
+    @BeforeEach
+    void initialise() throws DukeException {
+        LocalDate today = LocalDate.now();
+        parser.parse("goal /add car /amount 1000").execute(ui);
+        parser.parse("in salary /amount 100 /date " + today.format(INPUT_DATE)).execute(ui);
+        parser.parse("in bonus /amount 20 /goal car /date " + today.minusYears(2).format(INPUT_DATE)).execute(ui);
+        parser.parse("in gift /amount 3 /date " + today.minusYears(3).format(INPUT_DATE)).execute(ui);
+        parser.parse("out lunch /amount 5 /date " + today.format(INPUT_DATE)).execute(ui);
+        parser.parse("out phone /amount 300 /date " + today.minusYears(2).format(INPUT_DATE)).execute(ui);
+        createStorage(false).save();
+        StateManager.clearStateManager();
+    }
+
+    private Storage createStorage(boolean isWindowed) {
+        Storage storage = newStorage();
+        if (isWindowed) {
+            storage.enableHistoryWindow(WINDOW_MONTHS);
+        }
+        return storage;
+    }
+
+    private void reloadAll() throws DukeException {
+        StateManager.clearStateManager();
+        createStorage(false).load();
+    }
+
+    /**
+     * Test if only the transactions within the window are loaded until older ones are needed.
+     * @throws DukeException if the storage files cannot be loaded.
+     */
+    @Test
+    void loadsOlderTransactionsOnDemand() throws DukeException {
+        createStorage(true).load();
+        StateManager stateManager = StateManager.getStateManager();
+        assertEquals(1, stateManager.getIncomesSize());
+        assertEquals(1, stateManager.getExpensesSize());
+
+        stateManager.ensureLoadedSince(LocalDate.now().minusYears(2).minusDays(1));
+        assertEquals(2, stateManager.getIncomesSize());
+        assertEquals("car", stateManager.getIncome(1).getGoal().getDescription());
+        stateManager.ensureAllLoaded();
+        assertEquals(3, stateManager.getIncomesSize());
+        assertEquals(2, stateManager.getExpensesSize());
+        assertEquals("gift", stateManager.getIncome(2).getTransaction().getDescription());
+    }
+
+    /**
+     * Test if saving keeps the transactions that were never loaded, without duplicating them across saves.
+     * @throws DukeException if a command cannot be executed.
+     */
+    @Test
+    void saveKeepsUnloadedTransactions() throws DukeException {
+        Storage storage = createStorage(true);
+        storage.load();
+        parser.parse("in allowance /amount 50 /date " + LocalDate.now().format(INPUT_DATE)).execute(ui);
+        storage.saveChanges();
+        parser.parse("delete 1 /type out").execute(ui);
+        storage.saveChanges();
+        StateManager.getStateManager().ensureLoadedSince(LocalDate.now().minusYears(2).minusDays(1));
+        parser.parse("in refund /amount 7 /date " + LocalDate.now().format(INPUT_DATE)).execute(ui);
+        storage.saveChanges();
+
+        reloadAll();
+        StateManager stateManager = StateManager.getStateManager();
+        assertEquals(5, stateManager.getIncomesSize());
+        assertEquals(1, stateManager.getExpensesSize());
+        assertEquals("phone", stateManager.getExpense(0).getTransaction().getDescription());
+    }
+
+    /**
+     * Test if loading older transactions does not count as a change to be saved.
+     * @throws DukeException if the storage files cannot be loaded.
+     */
+    @Test
+    void loadingOlderTransactionsIsNotAChange() throws DukeException {
+        Storage storage = createStorage(true);
+        storage.load();
+        StateManager.getStateManager().ensureAllLoaded();
+        assertEquals(false, storage.hasUnsavedChanges());
+    }
+
+    /**
+     * Test if commands that need every transaction load the older ones first.
+     * @throws DukeException if a command cannot be executed.
+     */
+    @Test
+    void commandsLoadOlderTransactions() throws DukeException {
+        createStorage(true).load();
+        parser.parse("list /type in /week").execute(ui);
+        assertEquals(1, StateManager.getStateManager().getIncomesSize());
+        parser.parse("delete 2 /type out").execute(ui);
+        assertEquals(1, StateManager.getStateManager().getExpensesSize());
+        parser.parse("list /type in").execute(ui);
+        assertEquals(3, StateManager.getStateManager().getIncomesSize());
+    }
+}
@@ -0,0 +1,10 @@
+package seedu.duke.storage;
+
+public class JournalBackendTest extends StorageBackendConformance {
+    private static final long LARGE_THRESHOLD = 1024 * 1024;
+
+    @Override
+    void enableBackend(Storage storage) {
+        storage.enableJournal(LARGE_THRESHOLD);
+    }
+}
@@ -0,0 +1,197 @@
+package seedu.duke.storage;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+import seedu.duke.classes.StateManager;
+import seedu.duke.exception.DukeException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JournalTest extends StorageFixture {
+    private static final String CHECKPOINT_FILENAME = TEST_DIR + "/journal-checkpoint";
+    private static final long LARGE_THRESHOLD = 1024 * 1024;
+
+    private Storage createStorage(long threshold) {
+        Storage storage = newStorage();
+        storage.enableJournal(threshold);
+        return storage;
+    }
+
+    private Storage reload(long threshold) throws DukeException {
+        StateManager.clearStateManager();
+        Storage storage = createStorage(threshold);
+        storage.load();
+        return storage;
+    }
+
+    /**
+     * Test if changes appended to the journal are replayed on the next load.
+     * @throws DukeException if a command cannot be executed.
+     */
+    @Test
+    void replayAddedTransactions() throws DukeException {
+        Storage storage = createStorage(LARGE_THRESHOLD);
+        storage.load();
+        execute(storage, "goal /add car /amount 1000");
+        execute(storage, "in part-time job /amount 1000 /goal car /date 29102023");
+        execute(storage, "out popmart /amount 12 /category toy /date 30102023");
+
+        reload(LARGE_THRESHOLD);
+        StateManager stateManager = StateManager.getStateManager();
+        assertEquals(1, stateManager.getAllGoals().size());
+        assertEquals(1, stateManager.getIncomesSize());
+        assertEquals("car", stateManager.getIncome(0).getGoal().getDescription());
+        assertEquals(1, stateManager.getExpensesSize());
+        assertEquals("toy", stateManager.getExpense(0).getCategory().getName());
+    }
+
+    /**
+     * Test if edits and removals are replayed onto the matching transactions.
+     * @throws DukeException if a command cannot be executed.
+     */
+    @Test
+    void replayEditsAndRemovals() throws DukeException {
+        Storage storage = createStorage(LARGE_THRESHOLD);
+        storage.load();
+        execute(storage, "in first /amount 10 /date 29102023");
+        execute(storage, "in second /amount 20 /date 28102023");
+        execute(storage, "in third /amount 30 /date 27102023");
+        execute(storage, "edit 2 /type in /description changed /amount 25");
+        execute(storage, "delete 1 /type in");
+
+        reload(LARGE_THRESHOLD);
+        StateManager stateManager = StateManager.getStateManager();
+        assertEquals(2, stateManager.getIncomesSize());
+        assertEquals("changed", stateManager.getIncome(0).getTransaction().getDescription());
+        assertEquals(25.0, stateManager.getIncome(0).getTransaction().getAmount());
+        assertEquals("third", stateManager.getIncome(1).getTransaction().getDescription());
+    }
+
+    /**
+     * Test if removing a goal during replay moves its incomes to the uncategorised goal.
+     * @throws DukeException if a command cannot be executed.
+     */
+    @Test
+    void replayGoalRemoval() throws DukeException {
+        Storage storage = createStorage(LARGE_THRESHOLD);
+        storage.load();
+        execute(storage, "goal /add car /amount 1000");
+        execute(storage, "in salary /amount 10 /goal car /date 29102023");
+        execute(storage, "goal /remove car");
+
+        reload(LARGE_THRESHOLD);
+        StateManager stateManager = StateManager.getStateManager();
+        assertTrue(stateManager.getAllGoals().isEmpty());
+        assertEquals(stateManager.getUncategorisedGoal(), stateManager.getIncome(0).getGoal());
+    }
+
+    /**
+     * Test if the journal is compacted into the storage files once it passes the threshold.
+     * @throws DukeException if a command cannot be executed.
+     */
+    @Test
+    void compactionFoldsJournalIntoStorageFiles() throws DukeException {
+        Storage storage = createStorage(1);
+        storage.load();
+        execute(storage, "in salary /amount 10 /date 29102023");
+        storage.close();
+        assertFalse(new File(TEST_DIR + "/journal-2.csv").exists());
+
+        execute(storage, "in bonus /amount 20 /date 30102023");
+        storage.close();
+
+        reload(LARGE_THRESHOLD);
+        assertEquals(2, StateManager.getStateManager().getIncomesSize());
+        assertEquals("bonus", StateManager.getStateManager().getIncome(0).getTransaction().getDescription());
+    }
+
+    /**
+     * Test if a compaction that crashed after the storage files were renamed, but before the checkpoint was, is
+     * finished on the next load instead of replaying the compacted segment again.
+     * @throws DukeException if a command cannot be executed.
+     * @throws IOException if the files cannot be arranged.
+     */
+    @Test
+    void interruptedCompactionIsFinishedOnLoad() throws DukeException, IOException {
+        Storage storage = createStorage(LARGE_THRESHOLD);
+        storage.load();
+        execute(storage, "in salary /amount 10 /date 29102023");
+        File segment = new File(TEST_DIR + "/journal-2.csv");
+        byte[] segmentContent = Files.readAllBytes(segment.toPath());
+        storage.save();
+        assertFalse(segment.exists());
+
+        Files.write(segment.toPath(), segmentContent);
+        File checkpoint = new File(CHECKPOINT_FILENAME);
+        assertTrue(checkpoint.renameTo(new File(CHECKPOINT_FILENAME + ".tmp")));
+
+        reload(LARGE_THRESHOLD);
+        assertEquals(1, StateManager.getStateManager().getIncomesSize());
+        assertTrue(checkpoint.exists());
+        assertFalse(segment.exists());
+    }
+
+    /**
+     * Test if a checkpoint that was not fully written is discarded together with its compaction.
+     * @throws DukeException if a command cannot be executed.
+     * @throws IOException if the files cannot be arranged.
+     */
+    @Test
+    void unfinishedCheckpointIsDiscarded() throws DukeException, IOException {
+        Storage storage = createStorage(LARGE_THRESHOLD);
+        storage.load();
+        execute(storage, "in salary /amount 10 /date 29102023");
+        FileUtils.writeStringToFile(new File(INCOME_STORAGE_FILENAME + ".tmp"), "partial", StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(new File(CHECKPOINT_FILENAME + ".tmp"), "2\n+" + INCOME_STORAGE_FILENAME,
+                StandardCharsets.UTF_8);
+
+        reload(LARGE_THRESHOLD);
+        assertEquals(1, StateManager.getStateManager().getIncomesSize());
+        assertFalse(new File(CHECKPOINT_FILENAME + ".tmp").exists());
+    }
+
+    /**
+     * Test if a damaged checkpoint stops the journal from being replayed onto the storage files.
+     * @throws DukeException if a command cannot be executed.
+     * @throws IOException if the checkpoint cannot be written.
+     */
+    @Test
+    void damagedCheckpointIsReported() throws DukeException, IOException {
+        Storage storage = createStorage(LARGE_THRESHOLD);
+        storage.load();
+        execute(storage, "in salary /amount 10 /date 29102023");
+        FileUtils.writeStringToFile(new File(CHECKPOINT_FILENAME), "", StandardCharsets.UTF_8);
+
+        StateManager.clearStateManager();
+        assertThrows(DukeException.class, () -> createStorage(LARGE_THRESHOLD).load());
+    }
+
+    /**
+     * Test if a failed background compaction is reported on the next save, and its segment is kept.
+     * @throws DukeException if a command cannot be executed.
+     */
+    @Test
+    void failedCompactionIsReportedOnNextSave() throws DukeException {
+        Storage storage = createStorage(1);
+        storage.load();
+        assertTrue(new File(INCOME_STORAGE_FILENAME + ".tmp").mkdir());
+        execute(storage, "in salary /amount 10 /date 29102023");
+        storage.close();
+        assertTrue(new File(TEST_DIR + "/journal-2.csv").exists());
+
+        assertThrows(DukeException.class, () -> execute(storage, "in bonus /amount 20 /date 30102023"));
+        new File(INCOME_STORAGE_FILENAME + ".tmp").delete();
+        storage.close();
+
+        reload(LARGE_THRESHOLD);
+        assertEquals(2, StateManager.getStateManager().getIncomesSize());
+    }
+}
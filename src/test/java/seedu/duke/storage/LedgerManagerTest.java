@@ -0,0 +1,145 @@
+package seedu.duke.storage;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import seedu.duke.classes.StateManager;
+import seedu.duke.exception.DukeException;
+import seedu.duke.parser.Parser;
+import seedu.duke.ui.Ui;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LedgerManagerTest {
+    private static final String TEST_DIR = "./TestFiles";
+
+    private final Parser parser = new Parser();
+    private final Ui ui = new Ui(new ByteArrayOutputStream());
+
+    /**
+     * Before each test, start from an empty data directory.
+     * @throws IOException if the directory cannot be cleaned.
+     */
+    @BeforeEach
+    void initialise() throws IOException {
+        FileUtils.deleteDirectory(new File(TEST_DIR));
+        StateManager.clearStateManager();
+    }
+
+    /**
+     * Restore the state back to the original after each test.
+     * @throws IOException if the directory cannot be removed.
+     */
+    @AfterEach
+    void cleanUp() throws IOException {
+        FileUtils.deleteDirectory(new File(TEST_DIR));
+        StateManager.clearStateManager();
+    }
+
+    private void addGoal(LedgerManager ledgers, String name) throws DukeException {
+        parser.parse("goal /add " + name + " /amount 100").execute(ui);
+        ledgers.getActiveStorage().saveChanges();
+    }
+
+    /**
+     * Test if each ledger has its own state and storage files, and a ledger is only loaded when it is first used.
+     * @throws DukeException if a ledger cannot be used.
+     */
+    @Test
+    void keepsLedgersSeparate() throws DukeException {
+        LedgerManager ledgers = new LedgerManager(TEST_DIR, Long.MAX_VALUE, Storage::new);
+        ledgers.use(LedgerManager.DEFAULT_LEDGER);
+        addGoal(ledgers, "car");
+        StateManager defaultState = StateManager.getStateManager();
+        assertFalse(new File(TEST_DIR, "household").exists());
+
+        ledgers.use("Household");
+        assertEquals("household", ledgers.getActiveName());
+        assertEquals(0, StateManager.getStateManager().getAllGoals().size());
+        addGoal(ledgers, "house");
+        assertTrue(new File(TEST_DIR, "household/goal-store.csv").exists());
+
+        ledgers.use(LedgerManager.DEFAULT_LEDGER);
+        assertSame(defaultState, StateManager.getStateManager());
+        assertEquals("car", StateManager.getStateManager().getGoal(0).getDescription());
+        assertEquals(List.of("household", LedgerManager.DEFAULT_LEDGER), ledgers.getLoadedLedgers());
+    }
+
+    /**
+     * Test if the least recently used ledgers are unloaded once the cap is exceeded, and are loaded again with
+     * the changes that were made to them.
+     * @throws DukeException if a ledger cannot be used.
+     */
+    @Test
+    void unloadsLeastRecentlyUsed() throws DukeException {
+        LedgerManager ledgers = new LedgerManager(TEST_DIR, 250, Storage::new);
+        ledgers.use("business");
+        addGoal(ledgers, "office");
+        StateManager businessState = StateManager.getStateManager();
+        ledgers.use("client");
+        addGoal(ledgers, "retainer");
+        assertEquals(List.of("business", "client"), ledgers.getLoadedLedgers());
+
+        ledgers.use("household");
+        addGoal(ledgers, "house");
+        ledgers.use("client");
+        assertEquals(List.of("household", "client"), ledgers.getLoadedLedgers());
+
+        ledgers.use("business");
+        assertNotSame(businessState, StateManager.getStateManager());
+        assertEquals("office", StateManager.getStateManager().getGoal(0).getDescription());
+        assertEquals(List.of("client", "business"), ledgers.getLoadedLedgers());
+    }
+
+    /**
+     * Test if the notices of every loaded ledger are returned once, including those of a ledger not in use.
+     * @throws DukeException if a ledger cannot be used.
+     * @throws IOException if the goal file cannot be rewritten.
+     */
+    @Test
+    void takesNoticesOfLoadedLedgers() throws DukeException, IOException {
+        LedgerManager ledgers = new LedgerManager(TEST_DIR, Long.MAX_VALUE, Storage::new);
+        ledgers.use("household");
+        addGoal(ledgers, "house");
+        ledgers.close();
+        File goals = new File(TEST_DIR, "household/goal-store.csv");
+        String rows = FileUtils.readFileToString(goals, StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(goals, rows.replace("100", "-100"), StandardCharsets.UTF_8);
+
+        StateManager.clearStateManager();
+        ledgers = new LedgerManager(TEST_DIR, Long.MAX_VALUE, Storage::new);
+        ledgers.use("household");
+        ledgers.use("business");
+        List<String> notices = ledgers.takeNotices();
+        assertEquals(1, notices.size());
+        assertTrue(notices.get(0).contains("goal-store.csv"));
+        assertTrue(ledgers.takeNotices().isEmpty());
+        ledgers.close();
+    }
+
+    /**
+     * Test if names that cannot be used as a directory, or that are used by the storage files, are rejected.
+     */
+    @Test
+    void rejectsInvalidNames() {
+        LedgerManager ledgers = new LedgerManager(TEST_DIR, Long.MAX_VALUE, Storage::new);
+        assertThrows(DukeException.class, () -> ledgers.use(" "));
+        assertThrows(DukeException.class, () -> ledgers.use("../household"));
+        assertThrows(DukeException.class, () -> ledgers.use("my ledger"));
+        assertThrows(DukeException.class, () -> ledgers.use("Incomes"));
+        assertThrows(DukeException.class, () -> ledgers.use("a".repeat(65)));
+        assertEquals(null, ledgers.getActiveName());
+    }
+}
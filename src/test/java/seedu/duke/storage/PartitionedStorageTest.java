@@ -0,0 +1,113 @@
+package seedu.duke.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import seedu.duke.classes.StateManager;
+import seedu.duke.exception.DukeException;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PartitionedStorageTest extends StorageFixture {
+    private static final String INCOME_JANUARY = TEST_DIR + "/incomes/2023-01.csv";
+    private static final String INCOME_FEBRUARY = TEST_DIR + "/incomes/2023-02.csv";
+    private static final String EXPENSE_JANUARY = TEST_DIR + "/expenses/2023-01.csv";
+    private static final DateTimeFormatter INPUT_DATE = DateTimeFormatter.ofPattern("ddMMyyyy");
+
+    /**
+     * Before each test, fill the single income and expense storage files with transactions of two months.
+     * @throws DukeException if a command cannot be executed.
+     */
+    @BeforeEach
+    void initialise() throws DukeException {
+        parser.parse("in salary /amount 100 /date 15012023").execute(ui);
+        parser.parse("in bonus /amount 20 /date 20022023").execute(ui);
+        parser.parse("in allowance /amount 30 /date 21022023").execute(ui);
+        parser.parse("out lunch /amount 5 /date 16012023").execute(ui);
+        createStorage(false).save();
+        StateManager.clearStateManager();
+    }
+
+    private Storage createStorage(boolean isPartitioned) {
+        Storage storage = newStorage();
+        if (isPartitioned) {
+            storage.enablePartitions();
+        }
+        return storage;
+    }
+
+    private Storage loadPartitioned() throws DukeException {
+        StateManager.clearStateManager();
+        Storage storage = createStorage(true);
+        storage.load();
+        return storage;
+    }
+
+    /**
+     * Test if the single storage files are moved into monthly partitions on the first save.
+     * @throws DukeException if the storage cannot be loaded or saved.
+     */
+    @Test
+    void movesStoreFilesIntoPartitions() throws DukeException {
+        loadPartitioned().save();
+        assertTrue(new File(INCOME_JANUARY).exists());
+        assertTrue(new File(INCOME_FEBRUARY).exists());
+        assertTrue(new File(EXPENSE_JANUARY).exists());
+        assertFalse(new File(INCOME_STORAGE_FILENAME).exists());
+        assertFalse(new File(EXPENSE_STORAGE_FILENAME).exists());
+
+        loadPartitioned();
+        StateManager stateManager = StateManager.getStateManager();
+        assertEquals(3, stateManager.getIncomesSize());
+        assertEquals("allowance", stateManager.getIncome(0).getTransaction().getDescription());
+        assertEquals(1, stateManager.getExpensesSize());
+    }
+
+    /**
+     * Test if a change only rewrites the partition of its month, and an emptied partition is deleted.
+     * @throws DukeException if a command cannot be executed.
+     */
+    @Test
+    void rewritesChangedMonthsOnly() throws DukeException {
+        loadPartitioned().save();
+        Storage storage = loadPartitioned();
+        new File(INCOME_JANUARY).setLastModified(0);
+
+        parser.parse("in refund /amount 7 /date 25022023").execute(ui);
+        storage.saveChanges();
+        assertEquals(0, new File(INCOME_JANUARY).lastModified());
+        parser.parse("delete 1 /type out").execute(ui);
+        storage.saveChanges();
+        assertFalse(new File(EXPENSE_JANUARY).exists());
+
+        loadPartitioned();
+        assertEquals(4, StateManager.getStateManager().getIncomesSize());
+        assertEquals(0, StateManager.getStateManager().getExpensesSize());
+    }
+
+    /**
+     * Test if partitions before the history window are not read, and keep their rows when their month changes.
+     * @throws DukeException if a command cannot be executed.
+     */
+    @Test
+    void keepsPartitionsBeforeHistoryWindow() throws DukeException {
+        Storage partitioned = loadPartitioned();
+        parser.parse("in recent /amount 1 /date " + LocalDate.now().format(INPUT_DATE)).execute(ui);
+        partitioned.save();
+        StateManager.clearStateManager();
+        Storage storage = createStorage(true);
+        storage.enableHistoryWindow(1);
+        storage.load();
+        assertEquals(1, StateManager.getStateManager().getIncomesSize());
+
+        parser.parse("in late fee /amount 2 /date 28022023").execute(ui);
+        storage.saveChanges();
+        loadPartitioned();
+        assertEquals(5, StateManager.getStateManager().getIncomesSize());
+    }
+}
@@ -0,0 +1,73 @@
+package seedu.duke.storage;
+
+import org.junit.jupiter.api.Test;
+import seedu.duke.classes.TransactionRecurrence;
+import seedu.duke.parser.Parser;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class RowDecoderTest {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    /**
+     * Test if dates are decoded like the date formatter, including days past the end of their month.
+     */
+    @Test
+    void decodesDatesLikeFormatter() {
+        String[] dates = {"18/10/2023", "01/01/0001", "29/02/2024", "29/02/2023", "31/04/2023", "31/12/9999"};
+        for (String date : dates) {
+            assertEquals(LocalDate.parse(date, FORMATTER), RowDecoder.decodeDate(date), date);
+        }
+    }
+
+    /**
+     * Test if text that is not a plain date is left to the date formatter.
+     */
+    @Test
+    void leavesOtherDatesToFormatter() {
+        String[] dates = {"00/01/2023", "32/01/2023", "01/13/2023", "01/01/0000", "1/01/2023", "01-01-2023",
+            "01/01/20231", " 01/01/2023", "ab/cd/efgh", ""};
+        for (String date : dates) {
+            assertNull(RowDecoder.decodeDate(date), date);
+        }
+    }
+
+    /**
+     * Test if amounts are decoded exactly like the general parser, whether valid or not.
+     */
+    @Test
+    void decodesAmountsLikeParser() {
+        String[] amounts = {"0", "0.0", "12.34", "12.3", "12.", ".5", "0.1", "0.07", "9999999.99", "10000000",
+            "10000000.0", "1.234", "-1", "1e3", "1.0E7", ".", "", " 12", "12 ", "12x34", "007.10", "1.2.3",
+            "0000000000012.5", "123456789.5"};
+        for (String amount : amounts) {
+            assertEquals(Parser.parseNonNegativeDouble(amount), RowDecoder.decodeAmount(amount), amount);
+        }
+    }
+
+    /**
+     * Test if recurrences are decoded in any case and with surrounding whitespace.
+     */
+    @Test
+    void decodesRecurrences() {
+        assertEquals(TransactionRecurrence.WEEKLY, RowDecoder.decodeRecurrence("weekly"));
+        assertEquals(TransactionRecurrence.MONTHLY, RowDecoder.decodeRecurrence(" Monthly "));
+        assertEquals(TransactionRecurrence.NONE, RowDecoder.decodeRecurrence("none"));
+        assertNull(RowDecoder.decodeRecurrence("yearly"));
+    }
+
+    /**
+     * Test if booleans are decoded in any case and with surrounding whitespace.
+     */
+    @Test
+    void decodesBooleans() {
+        assertEquals(Boolean.TRUE, RowDecoder.decodeBoolean("true"));
+        assertEquals(Boolean.FALSE, RowDecoder.decodeBoolean(" FALSE "));
+        assertNull(RowDecoder.decodeBoolean("yes"));
+        assertNull(RowDecoder.decodeBoolean(""));
+    }
+}
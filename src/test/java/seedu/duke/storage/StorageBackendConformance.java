@@ -0,0 +1,184 @@
+package seedu.duke.storage;
+
+import org.junit.jupiter.api.Test;
+import seedu.duke.classes.Expense;
+import seedu.duke.classes.Income;
+import seedu.duke.classes.StateChange;
+import seedu.duke.classes.StateManager;
+import seedu.duke.classes.TransactionRecurrence;
+import seedu.duke.exception.DukeException;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that every storage backend has to pass. Each backend extends this class and enables itself on the
+ * storage under test.
+ */
+public abstract class StorageBackendConformance extends StorageFixture {
+    private static final DateTimeFormatter INPUT_DATE = DateTimeFormatter.ofPattern("ddMMyyyy");
+
+    /**
+     * Enables the backend under test.
+     *
+     * @param storage Storage that has not been loaded yet.
+     */
+    abstract void enableBackend(Storage storage);
+
+    private Storage createStorage() {
+        Storage storage = newStorage();
+        enableBackend(storage);
+        return storage;
+    }
+
+    private Storage reload(Storage storage) throws DukeException {
+        storage.close();
+        StateManager.clearStateManager();
+        Storage reloaded = createStorage();
+        reloaded.load();
+        return reloaded;
+    }
+
+    /**
+     * Test if every kind of entity is loaded back as it was saved.
+     * @throws DukeException if a command cannot be executed.
+     */
+    @Test
+    void roundTripsEveryEntity() throws DukeException {
+        Storage storage = createStorage();
+        String today = LocalDate.now().format(INPUT_DATE);
+        parser.parse("goal /add car /amount 1000.5").execute(ui);
+        parser.parse("category /add food").execute(ui);
+        parser.parse("in salary /amount 100 /goal car /recurrence weekly /date " + today).execute(ui);
+        parser.parse("in bonus, yearly /amount 20.25 /date " + today).execute(ui);
+        parser.parse("out lunch /amount 5.5 /category food /date " + today).execute(ui);
+        parser.parse("out phone /amount 300 /date " + today).execute(ui);
+        storage.save();
+
+        reload(storage);
+        StateManager stateManager = StateManager.getStateManager();
+        assertEquals(0, stateManager.getGoalIndex("car"));
+        assertEquals(1000.5, stateManager.getGoal(0).getAmount());
+        assertEquals(0, stateManager.getCategoryIndex("food"));
+        assertEquals(2, stateManager.getIncomesSize());
+        assertEquals(2, stateManager.getExpensesSize());
+
+        Income salary = findIncome(stateManager, "salary");
+        assertEquals(100, salary.getTransaction().getAmount());
+        assertEquals(LocalDate.now(), salary.getTransaction().getDate());
+        assertEquals(TransactionRecurrence.WEEKLY, salary.getTransaction().getRecurrence());
+        assertEquals(stateManager.getGoal(0), salary.getGoal());
+        Income bonus = findIncome(stateManager, "bonus, yearly");
+        assertEquals(20.25, bonus.getTransaction().getAmount());
+        assertEquals(stateManager.getUncategorisedGoal(), bonus.getGoal());
+
+        Expense lunch = findExpense(stateManager, "lunch");
+        assertEquals(5.5, lunch.getTransaction().getAmount());
+        assertEquals(stateManager.getCategory(0), lunch.getCategory());
+        assertEquals(stateManager.getUncategorisedCategory(), findExpense(stateManager, "phone").getCategory());
+    }
+
+    /**
+     * Test if saving one kind of entity does not store any other.
+     * @throws DukeException if a command cannot be executed.
+     */
+    @Test
+    void savesOnlyTheGivenEntity() throws DukeException {
+        Storage storage = createStorage();
+        parser.parse("goal /add car /amount 1000").execute(ui);
+        parser.parse("in salary /amount 100 /goal car").execute(ui);
+        storage.saveGoal();
+
+        StorageBackend backend = storage.getBackend();
+        assertTrue(backend.exists(StateChange.Entity.GOAL));
+        assertFalse(backend.exists(StateChange.Entity.CATEGORY));
+        assertFalse(backend.exists(StateChange.Entity.INCOME));
+        assertFalse(backend.exists(StateChange.Entity.EXPENSE));
+
+        StateManager.clearStateManager();
+        storage.loadGoal();
+        assertEquals(0, StateManager.getStateManager().getGoalIndex("car"));
+    }
+
+    /**
+     * Test if transactions added and removed after each command are loaded back.
+     * @throws DukeException if a command cannot be executed.
+     */
+    @Test
+    void savesChangesAfterEachCommand() throws DukeException {
+        Storage storage = createStorage();
+        execute(storage, "in salary /amount 100");
+        execute(storage, "in bonus /amount 20");
+        execute(storage, "out lunch /amount 5");
+        execute(storage, "out dinner /amount 8");
+        execute(storage, "delete 1 /type out");
+
+        storage = reload(storage);
+        StateManager stateManager = StateManager.getStateManager();
+        assertEquals(2, stateManager.getIncomesSize());
+        assertEquals(1, stateManager.getExpensesSize());
+
+        execute(storage, "delete 1 /type in");
+        reload(storage);
+        assertEquals(1, StateManager.getStateManager().getIncomesSize());
+    }
+
+    /**
+     * Test if incomes of a removed goal are loaded back without a goal.
+     * @throws DukeException if a command cannot be executed.
+     */
+    @Test
+    void unassignsTransactionsOfRemovedGoal() throws DukeException {
+        Storage storage = createStorage();
+        execute(storage, "goal /add car /amount 1000");
+        execute(storage, "in salary /amount 100 /goal car");
+        execute(storage, "goal /remove car");
+
+        reload(storage);
+        StateManager stateManager = StateManager.getStateManager();
+        assertEquals(-1, stateManager.getGoalIndex("car"));
+        assertEquals(stateManager.getUncategorisedGoal(), stateManager.getIncome(0).getGoal());
+    }
+
+    /**
+     * Test if transactions with the same description share it after loading the saved state.
+     * @throws DukeException if a command cannot be executed.
+     */
+    @Test
+    void sharesRepeatedDescriptions() throws DukeException {
+        Storage storage = createStorage();
+        parser.parse("in salary /amount 100").execute(ui);
+        parser.parse("in salary /amount 100").execute(ui);
+        parser.parse("out salary /amount 5").execute(ui);
+        storage.save();
+
+        reload(storage);
+        StateManager stateManager = StateManager.getStateManager();
+        String description = stateManager.getIncome(0).getTransaction().getDescription();
+        assertSame(description, stateManager.getIncome(1).getTransaction().getDescription());
+        assertSame(description, stateManager.getExpense(0).getTransaction().getDescription());
+    }
+
+    private static Income findIncome(StateManager stateManager, String description) {
+        for (Income income : stateManager.getAllIncomes()) {
+            if (income.getTransaction().getDescription().equals(description)) {
+                return income;
+            }
+        }
+        throw new AssertionError("No income " + description);
+    }
+
+    private static Expense findExpense(StateManager stateManager, String description) {
+        for (Expense expense : stateManager.getAllExpenses()) {
+            if (expense.getTransaction().getDescription().equals(description)) {
+                return expense;
+            }
+        }
+        throw new AssertionError("No expense " + description);
+    }
+}
@@ -0,0 +1,72 @@
+package seedu.duke.storage;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import seedu.duke.classes.StateManager;
+import seedu.duke.exception.DukeException;
+import seedu.duke.parser.Parser;
+import seedu.duke.ui.Ui;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Storage files in an empty test directory, shared by the tests of the storage features. Each test class extends
+ * this class and enables its feature on the storage it creates.
+ */
+abstract class StorageFixture {
+    static final String TEST_DIR = "./TestFiles";
+    static final String GOAL_STORAGE_FILENAME = TEST_DIR + "/goal-store.csv";
+    static final String CATEGORY_STORAGE_FILENAME = TEST_DIR + "/category-store.csv";
+    static final String INCOME_STORAGE_FILENAME = TEST_DIR + "/income-store.csv";
+    static final String EXPENSE_STORAGE_FILENAME = TEST_DIR + "/expense-store.csv";
+    static final String EXPORT_STORAGE_FILENAME = TEST_DIR + "/Transactions.csv";
+
+    final Parser parser = new Parser();
+    final Ui ui = new Ui(new ByteArrayOutputStream());
+
+    /**
+     * Before each test, start with an empty storage directory. Runs before the setup of the test class.
+     * @throws IOException if the directory cannot be cleaned.
+     */
+    @BeforeEach
+    void createTestDirectory() throws IOException {
+        FileUtils.deleteDirectory(new File(TEST_DIR));
+        new File(TEST_DIR).mkdir();
+        StateManager.clearStateManager();
+    }
+
+    /**
+     * Restore the state back to the original after each test.
+     * @throws IOException if the directory cannot be removed.
+     */
+    @AfterEach
+    void cleanUp() throws IOException {
+        FileUtils.deleteDirectory(new File(TEST_DIR));
+        StateManager.clearStateManager();
+    }
+
+    /**
+     * Creates a storage over the files in the test directory, without any feature enabled.
+     *
+     * @return Storage that has not been loaded yet.
+     */
+    static Storage newStorage() {
+        return new Storage(GOAL_STORAGE_FILENAME, CATEGORY_STORAGE_FILENAME, INCOME_STORAGE_FILENAME,
+                EXPENSE_STORAGE_FILENAME, EXPORT_STORAGE_FILENAME);
+    }
+
+    /**
+     * Executes a command and saves the changes it made.
+     *
+     * @param storage Storage to save the changes to.
+     * @param userInput Command to execute.
+     * @throws DukeException if the command cannot be executed or the changes cannot be saved.
+     */
+    void execute(Storage storage, String userInput) throws DukeException {
+        parser.parse(userInput).execute(ui);
+        storage.saveChanges();
+    }
+}
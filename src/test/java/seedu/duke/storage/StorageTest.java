@@ -6,6 +6,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.condition.EnabledOnOs;
 import org.junit.jupiter.api.condition.OS;
+import seedu.duke.classes.Income;
 import seedu.duke.classes.StateManager;
 import seedu.duke.command.ListCommand;
 import seedu.duke.exception.DukeException;
@@ -24,6 +25,7 @@ import org.apache.commons.io.FileUtils;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class StorageTest {
     private static final String DATE_PATTERN = "dd/MM/yyyy";
@@ -34,6 +36,7 @@ public class StorageTest {
     private static final String INCOME_STORAGE_FILENAME = TEST_DIR + "/income-store.csv";
     private static final String EXPENSE_STORAGE_FILENAME = TEST_DIR + "/expense-store.csv";
     private static final String EXPORT_STORAGE_FILENAME = TEST_DIR + "/Transactions.csv";
+    private static final String COMMIT_RECORD_FILENAME = TEST_DIR + "/store-commit";
 
     private Storage storage;
 
@@ -436,6 +439,18 @@ public class StorageTest {
                             "=============================\n"
                     , outputStream.toString());
         }
+
+        /**
+         * Test if rows that cannot be loaded are reported as notices instead of being printed.
+         * @throws DukeException if the command cannot be executed.
+         */
+        @Test
+        void loadWithErrorColumnsReportsNotices() throws DukeException {
+            storage.load();
+            assertTrue(storage.takeNotices().contains("Cannot convert amount into Double type in "
+                    + GOAL_STORAGE_FILENAME));
+            assertTrue(storage.takeNotices().isEmpty());
+        }
     }
 
     @Nested
@@ -478,6 +493,8 @@ public class StorageTest {
             file.delete();
             file = new File(INCOME_STORAGE_FILENAME);
             file.delete();
+            file = new File(COMMIT_RECORD_FILENAME);
+            file.delete();
             StateManager.clearStateManager();
         }
 
@@ -552,5 +569,87 @@ public class StorageTest {
             testFile = new File("./TestCSV/Linux/valid/expense-store.csv");
             assertEquals(true, FileUtils.contentEquals(output, testFile));
         }
+
+        /**
+         * Test if the temporary files are renamed into place once the storage files are saved.
+         * @throws DukeException if command cannot execute.
+         */
+        @Test
+        void saveLeavesNoTemporaryFiles() throws DukeException {
+            storage.save();
+            assertEquals(true, new File(INCOME_STORAGE_FILENAME).exists());
+            assertEquals(false, new File(INCOME_STORAGE_FILENAME + ".tmp").exists());
+            assertEquals(false, new File(EXPENSE_STORAGE_FILENAME + ".tmp").exists());
+        }
+
+        /**
+         * Test if a save that crashed after only some of its files were renamed into place is finished on the
+         * next load, so that the incomes never refer to a goal that is missing from the goals.
+         * @throws DukeException if command cannot execute.
+         * @throws IOException if file cannot be read or written.
+         */
+        @Test
+        void interruptedSaveIsFinishedOnLoad() throws DukeException, IOException {
+            storage.save();
+            File goalFile = new File(GOAL_STORAGE_FILENAME);
+            byte[] oldGoals = Files.readAllBytes(goalFile.toPath());
+            Parser parser = new Parser();
+            Ui ui = new Ui(new ByteArrayOutputStream());
+            parser.parse("goal /add boat /amount 300").execute(ui);
+            parser.parse("in bonus /amount 10 /goal boat /date 29102023").execute(ui);
+            storage.saveChanges();
+
+            Files.move(goalFile.toPath(), new File(GOAL_STORAGE_FILENAME + ".tmp").toPath());
+            Files.write(goalFile.toPath(), oldGoals);
+            FileUtils.writeStringToFile(new File(COMMIT_RECORD_FILENAME + ".tmp"), "\n+" + GOAL_STORAGE_FILENAME
+                    + "\n+" + INCOME_STORAGE_FILENAME + "\n.\n", "UTF-8");
+
+            StateManager.clearStateManager();
+            storage.load();
+            StateManager stateManager = StateManager.getStateManager();
+            assertEquals(3, stateManager.getAllGoals().size());
+            Income bonus = stateManager.getAllIncomes().stream()
+                    .filter(income -> income.getTransaction().getDescription().equals("bonus"))
+                    .findFirst().orElseThrow();
+            assertEquals(stateManager.getGoal(2), bonus.getGoal());
+            assertEquals(false, new File(GOAL_STORAGE_FILENAME + ".tmp").exists());
+            assertEquals(false, new File(COMMIT_RECORD_FILENAME + ".tmp").exists());
+        }
+
+        /**
+         * Test if only the storage files of the changed collections are rewritten.
+         * @throws DukeException if command cannot execute.
+         * @throws IOException if file cannot be read or written.
+         */
+        @Test
+        void saveChangesRewritesChangedStoresOnly() throws DukeException, IOException {
+            storage.save();
+            File goalFile = new File(GOAL_STORAGE_FILENAME);
+            File incomeFile = new File(INCOME_STORAGE_FILENAME);
+            FileUtils.writeStringToFile(goalFile, "untouched", "UTF-8");
+            FileUtils.writeStringToFile(incomeFile, "untouched", "UTF-8");
+
+            new Parser().parse("in bonus /amount 10 /date 29102023").execute(new Ui(new ByteArrayOutputStream()));
+            storage.saveChanges();
+            assertEquals("untouched", FileUtils.readFileToString(goalFile, "UTF-8"));
+            assertEquals(false, FileUtils.readFileToString(incomeFile, "UTF-8").equals("untouched"));
+        }
+
+        /**
+         * Test if nothing is written when a command does not change the state.
+         * @throws DukeException if command cannot execute.
+         * @throws IOException if file cannot be read or written.
+         */
+        @Test
+        void saveChangesSkipsUnchangedState() throws DukeException, IOException {
+            storage.save();
+            File expenseFile = new File(EXPENSE_STORAGE_FILENAME);
+            FileUtils.writeStringToFile(expenseFile, "untouched", "UTF-8");
+
+            new Parser().parse("help").execute(new Ui(new ByteArrayOutputStream()));
+            storage.saveChanges();
+            assertEquals(false, storage.hasUnsavedChanges());
+            assertEquals("untouched", FileUtils.readFileToString(expenseFile, "UTF-8"));
+        }
     }
 }
@@ -0,0 +1,197 @@
+package seedu.duke.storage;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+import seedu.duke.classes.Expense;
+import seedu.duke.classes.StateManager;
+import seedu.duke.exception.DukeException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StoreWatcherTest extends StorageFixture {
+    private static final long EVENT_TIMEOUT_MILLIS = 30 * 1000;
+
+    private Storage createStorage() {
+        Storage storage = newStorage();
+        storage.enableWatch();
+        return storage;
+    }
+
+    private Storage createEmptyStorage() throws DukeException {
+        Storage storage = createStorage();
+        storage.save();
+        storage.load();
+        return storage;
+    }
+
+    private static void editFile(String fileName, String removedLine, String addedLine) throws IOException {
+        File file = new File(fileName);
+        List<String> lines = new ArrayList<>(FileUtils.readLines(file, StandardCharsets.UTF_8));
+        if (removedLine != null) {
+            assertTrue(lines.removeIf(line -> line.startsWith(removedLine)));
+        }
+        if (addedLine != null) {
+            lines.add(addedLine);
+        }
+        FileUtils.writeLines(file, StandardCharsets.UTF_8.name(), lines);
+    }
+
+    private static void replaceLine(String fileName, String replacedLine, String line) throws IOException {
+        File file = new File(fileName);
+        List<String> lines = new ArrayList<>(FileUtils.readLines(file, StandardCharsets.UTF_8));
+        int index = IntStream.range(0, lines.size()).filter(i -> lines.get(i).startsWith(replacedLine))
+                .findFirst().orElseThrow();
+        lines.set(index, line);
+        FileUtils.writeLines(file, StandardCharsets.UTF_8.name(), lines);
+    }
+
+    private static ArrayList<String> getExpenseDescriptions() {
+        ArrayList<String> descriptions = new ArrayList<>();
+        for (Expense expense : StateManager.getStateManager().getAllExpenses()) {
+            descriptions.add(expense.getTransaction().getDescription());
+        }
+        descriptions.sort(String::compareTo);
+        return descriptions;
+    }
+
+    /**
+     * Test if rows added to and removed from a storage file by another program are applied to the state once the
+     * change is reported, and are still there after the next command is saved.
+     * @throws DukeException if the storage files cannot be read or written.
+     * @throws IOException if a storage file cannot be edited.
+     * @throws InterruptedException if the test is interrupted while waiting for the change.
+     */
+    @Test
+    void mergesExternalEdits() throws DukeException, IOException, InterruptedException {
+        Storage storage = createEmptyStorage();
+        execute(storage, "out lunch /amount 10 /category food /date 29102023");
+        execute(storage, "out taxi /amount 20 /category transport /date 29102023");
+        editFile(EXPENSE_STORAGE_FILENAME, "\"lunch\"", "\"groceries\",\"35.5\",\"28/10/2023\",\"food\",\"none\","
+                + "\"false\"");
+
+        ArrayList<String> notices = new ArrayList<>();
+        long deadline = System.currentTimeMillis() + EVENT_TIMEOUT_MILLIS;
+        while (notices.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            notices = storage.reloadChangedFiles();
+        }
+        assertEquals(List.of("expense-store.csv was changed outside FinText: 1 added, 1 removed, 0 updated."),
+                notices);
+        assertEquals(List.of("groceries", "taxi"), getExpenseDescriptions());
+        for (Expense expense : StateManager.getStateManager().getAllExpenses()) {
+            if (expense.getTransaction().getDescription().equals("groceries")) {
+                assertEquals("food", expense.getCategory().getName());
+            }
+        }
+
+        execute(storage, "out bus /amount 2 /category transport /date 29102023");
+        storage.close();
+        StateManager.clearStateManager();
+        createStorage().load();
+        assertEquals(List.of("bus", "groceries", "taxi"), getExpenseDescriptions());
+    }
+
+    /**
+     * Test if a storage file changed by another program after it was last written is merged instead of being
+     * overwritten by the next save.
+     * @throws DukeException if the storage files cannot be read or written.
+     * @throws IOException if a storage file cannot be edited.
+     */
+    @Test
+    void saveKeepsExternalEdits() throws DukeException, IOException {
+        Storage storage = createEmptyStorage();
+        execute(storage, "goal /add car /amount 1000");
+        execute(storage, "out lunch /amount 10 /date 29102023");
+        editFile(EXPENSE_STORAGE_FILENAME, null, "\"snack\",\"3.0\",\"29/10/2023\",\"Uncategorised\",\"none\","
+                + "\"false\"");
+        editFile(GOAL_STORAGE_FILENAME, "\"car\"", "\"car\",\"2000.0\"");
+
+        execute(storage, "out dinner /amount 15 /date 29102023");
+        assertTrue(storage.reloadChangedFiles()
+                .contains("expense-store.csv was changed outside FinText: 1 added, 0 removed, 0 updated."));
+        storage.close();
+        StateManager.clearStateManager();
+        Storage reloaded = createStorage();
+        reloaded.load();
+        assertEquals(List.of("dinner", "lunch", "snack"), getExpenseDescriptions());
+        assertEquals(2000, StateManager.getStateManager().getAllGoals().get(0).getAmount());
+        assertFalse(reloaded.hasUnsavedChanges());
+    }
+
+    /**
+     * Test if an external change to an entry that was also changed in the program is reported instead of
+     * replacing the change of the program.
+     * @throws DukeException if the storage files cannot be read or written.
+     * @throws IOException if a storage file cannot be edited.
+     */
+    @Test
+    void reportsConflictingEdits() throws DukeException, IOException {
+        Storage storage = createEmptyStorage();
+        execute(storage, "out lunch /amount 10 /date 29102023");
+        editFile(EXPENSE_STORAGE_FILENAME, "\"lunch\"", null);
+
+        execute(storage, "edit 1 /type out /amount 12");
+        assertEquals(List.of("expense-store.csv was changed outside FinText: 0 added, 0 removed, 0 updated. "
+                + "1 change(s) were not applied, as the same entries were also changed in FinText, whose changes "
+                + "were kept."), storage.reloadChangedFiles());
+        storage.close();
+        StateManager.clearStateManager();
+        createStorage().load();
+        assertEquals(List.of("lunch"), getExpenseDescriptions());
+        assertEquals(12, StateManager.getStateManager().getExpense(0).getTransaction().getAmount());
+    }
+
+    /**
+     * Test if a row edited in place by another program is applied as a single update.
+     * @throws DukeException if the storage files cannot be read or written.
+     * @throws IOException if a storage file cannot be edited.
+     */
+    @Test
+    void mergesExternalUpdate() throws DukeException, IOException {
+        Storage storage = createEmptyStorage();
+        execute(storage, "out lunch /amount 10 /date 29102023");
+        execute(storage, "out taxi /amount 20 /date 28102023");
+        replaceLine(EXPENSE_STORAGE_FILENAME, "\"lunch\"", "\"lunch\",\"11.0\",\"29/10/2023\",\"Uncategorised\","
+                + "\"none\",\"false\"");
+
+        execute(storage, "out bus /amount 2 /date 27102023");
+        assertEquals(List.of("expense-store.csv was changed outside FinText: 0 added, 0 removed, 1 updated."),
+                storage.reloadChangedFiles());
+        assertEquals(List.of("bus", "lunch", "taxi"), getExpenseDescriptions());
+        assertEquals(11, StateManager.getStateManager().getExpense(0).getTransaction().getAmount());
+    }
+
+    /**
+     * Test if a row edited both by another program and in the program is a single conflict, keeping the edit
+     * of the program instead of adding the edited row of the file next to it.
+     * @throws DukeException if the storage files cannot be read or written.
+     * @throws IOException if a storage file cannot be edited.
+     */
+    @Test
+    void reportsConcurrentEditAsOneConflict() throws DukeException, IOException {
+        Storage storage = createEmptyStorage();
+        execute(storage, "out lunch /amount 10 /date 29102023");
+        execute(storage, "out taxi /amount 20 /date 28102023");
+        replaceLine(EXPENSE_STORAGE_FILENAME, "\"lunch\"", "\"lunch\",\"11.0\",\"29/10/2023\",\"Uncategorised\","
+                + "\"none\",\"false\"");
+
+        execute(storage, "edit 1 /type out /amount 12");
+        assertEquals(List.of("expense-store.csv was changed outside FinText: 0 added, 0 removed, 0 updated. "
+                + "1 change(s) were not applied, as the same entries were also changed in FinText, whose changes "
+                + "were kept."), storage.reloadChangedFiles());
+        storage.close();
+        StateManager.clearStateManager();
+        createStorage().load();
+        assertEquals(List.of("lunch", "taxi"), getExpenseDescriptions());
+        assertEquals(12, StateManager.getStateManager().getExpense(0).getTransaction().getAmount());
+    }
+}
@@ -0,0 +1,97 @@
+package seedu.duke.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import seedu.duke.classes.Category;
+import seedu.duke.classes.Goal;
+import seedu.duke.classes.StateManager;
+import seedu.duke.classes.Transaction;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SymbolTableTest {
+    @BeforeEach
+    void initialise() {
+        StateManager.clearStateManager();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        StateManager.clearStateManager();
+    }
+
+    /**
+     * Test if goals and categories are found by their name in any case, and the first one added is kept.
+     */
+    @Test
+    void resolvesNamesIgnoringCase() {
+        StateManager stateManager = StateManager.getStateManager();
+        Goal car = new Goal("Car", 1000.0);
+        stateManager.addGoal(car);
+        SymbolTable symbols = new SymbolTable(stateManager);
+        symbols.addGoal(new Goal("CAR", 5.0));
+        Category food = new Category("food");
+        symbols.addCategory(food);
+
+        assertSame(car, symbols.getGoal("cAr"));
+        assertSame(food, symbols.getCategory("FOOD"));
+        assertTrue(symbols.containsGoal("car"));
+        assertFalse(symbols.containsCategory("transport"));
+    }
+
+    /**
+     * Test if names are resolved the same way as the state finds them, whatever the default locale is.
+     */
+    @Test
+    void resolvesNamesInAnyLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            StateManager stateManager = StateManager.getStateManager();
+            Goal tire = new Goal("TIRE", 100.0);
+            stateManager.addGoal(tire);
+            SymbolTable symbols = new SymbolTable(stateManager);
+            assertSame(tire, symbols.getGoal("tire"));
+            assertEquals(0, stateManager.getGoalIndex("tire"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    /**
+     * Test if unknown names resolve to the uncategorised goal or category, which always exist.
+     */
+    @Test
+    void resolvesUnknownNamesToUncategorised() {
+        StateManager stateManager = StateManager.getStateManager();
+        SymbolTable symbols = new SymbolTable(stateManager);
+        assertSame(stateManager.getUncategorisedGoal(), symbols.getGoal("house"));
+        assertSame(stateManager.getUncategorisedCategory(), symbols.getCategory("rent"));
+        assertTrue(symbols.containsGoal("uncategorised"));
+        assertTrue(symbols.containsCategory("UNCATEGORISED"));
+    }
+
+    /**
+     * Test if equal descriptions end up as the same String.
+     */
+    @Test
+    void internsDescriptions() {
+        SymbolTable symbols = new SymbolTable(StateManager.getStateManager());
+        String first = new String("rent");
+        String second = new String("rent");
+        assertNotSame(first, second);
+        Transaction transaction = new Transaction(first, 1.0, LocalDate.now());
+        assertSame(transaction, symbols.intern(transaction));
+        Transaction repeated = symbols.intern(new Transaction(second, 2.0, LocalDate.now()));
+        assertSame(first, repeated.getDescription());
+        assertEquals("rent", repeated.getDescription());
+    }
+}
@@ -0,0 +1,71 @@
+package seedu.duke.storage;
+
+import org.junit.jupiter.api.Test;
+import seedu.duke.classes.StateManager;
+import seedu.duke.exception.DukeException;
+
+import java.io.File;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class WriteBehindTest extends StorageFixture {
+    private static final long LONG_STALENESS = 60 * 1000;
+
+    private Storage createStorage(long maxStaleness) {
+        Storage storage = newStorage();
+        storage.enableWriteBehind(maxStaleness);
+        return storage;
+    }
+
+    /**
+     * Test if changes are only written once they are flushed when the staleness has not passed yet.
+     * @throws DukeException if a command cannot be executed.
+     */
+    @Test
+    void flushWritesCoalescedChanges() throws DukeException {
+        Storage storage = createStorage(LONG_STALENESS);
+        execute(storage, "in first /amount 10 /date 29102023");
+        execute(storage, "in second /amount 20 /date 28102023");
+        assertFalse(new File(INCOME_STORAGE_FILENAME).exists());
+
+        storage.flush();
+        StateManager.clearStateManager();
+        createStorage(LONG_STALENESS).load();
+        assertEquals(2, StateManager.getStateManager().getIncomesSize());
+    }
+
+    /**
+     * Test if closing the storage writes the pending changes.
+     * @throws DukeException if a command cannot be executed.
+     */
+    @Test
+    void closeWritesPendingChanges() throws DukeException {
+        Storage storage = createStorage(LONG_STALENESS);
+        execute(storage, "goal /add car /amount 1000");
+        execute(storage, "out popmart /amount 12 /category toy /date 30102023");
+        storage.close();
+
+        StateManager.clearStateManager();
+        createStorage(LONG_STALENESS).load();
+        StateManager stateManager = StateManager.getStateManager();
+        assertEquals(1, stateManager.getAllGoals().size());
+        assertEquals("toy", stateManager.getExpense(0).getCategory().getName());
+    }
+
+    /**
+     * Test if changes are written by the writer thread once the staleness has passed.
+     * @throws DukeException if a command cannot be executed.
+     * @throws InterruptedException if the test is interrupted while waiting.
+     */
+    @Test
+    void writesChangesAfterStaleness() throws DukeException, InterruptedException {
+        Storage storage = createStorage(0);
+        execute(storage, "in salary /amount 10 /date 29102023");
+        for (int i = 0; i < 100 && !new File(INCOME_STORAGE_FILENAME).exists(); i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(true, new File(INCOME_STORAGE_FILENAME).exists());
+        storage.close();
+    }
+}
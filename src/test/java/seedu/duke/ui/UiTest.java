@@ -95,4 +95,21 @@ class UiTest {
                 outputStream.toString()
         );
     }
+
+    /**
+     * Test if amounts are formatted like String.format, including amounts that are not whole cents.
+     */
+    @Test
+    public void formatAmountLikeStringFormat() {
+        Ui ui = new Ui(new ByteArrayOutputStream());
+        double[] amounts = {0, 0.01, 0.07, 0.1, 1, 12.34, 100.5, 1000, 9999999.99, 0.005, 1.005, 2.675, 1e-9,
+            123456789012.34, -3.5, Double.NaN};
+        for (double amount : amounts) {
+            assertEquals(String.format("%.2f", amount), ui.formatAmount(amount), Double.toString(amount));
+        }
+        for (long cents = 0; cents < 100_000; cents += 7) {
+            double amount = cents / 100.0;
+            assertEquals(String.format("%.2f", amount), ui.formatAmount(amount), Double.toString(amount));
+        }
+    }
 }